@@ -125,7 +125,12 @@ public final class HttpJsonClient {
             final var response = Io.withReturn(() -> client.send(request, HttpResponse.BodyHandlers.ofInputStream()));
             final var code = response.statusCode();
             if ((code < HttpURLConnection.HTTP_OK) || (code >= HttpURLConnection.HTTP_MULT_CHOICE)) {
-                final var content = Pipes.charsSupplier().read(() -> HttpResponseCharset.getReader(response));
+                final var content = Io.withReturn(() -> {
+                    try (var body = response.body()) {
+                        return Pipes.charset(HttpResponseCharset.parse(response))
+                                .read(body);
+                    }
+                });
                 throw new HttpException(code, content);
             }
             return response;
@@ -12,6 +12,9 @@ public final class IoConstants {
     /** Default buffer length to use for streams. (4 kB) */
     public static final int DEFAULT_BUFFER_LENGTH = 1024;
 
+    /** Largest buffer an adaptive pipe grows to by default. (256 kB) */
+    public static final int MAX_ADAPTIVE_BUFFER_LENGTH = 256 * 1024;
+
     /** Normal maximum size for a large object. (64 mB) */
     public static final int DEFAULT_LOB_BUFFER_LENGTH = 1024 * 1024 * 64;
 
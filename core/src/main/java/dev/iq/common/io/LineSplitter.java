@@ -0,0 +1,232 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Splits a memory-mapped text file into ranges aligned to line boundaries, so that large files
+ * can be processed line by line on several cores without a line ever being split between workers.
+ * lines() returns a parallel stream whose spliterator divides its range near the middle at the
+ * next newline, which lets the fork/join pool balance the work; ranges() returns a fixed number
+ * of roughly equal ranges for callers that schedule the work themselves. <br>
+ * Lines end at '\n', and a '\r' before it is removed; a final line without a newline is still
+ * returned. The charset must encode '\n' as the single byte 0x0a and never use that byte within
+ * another character (UTF-8, US-ASCII, ISO-8859-1 and similar). <br>
+ * The splitter reads the mapped file directly and must not be used after the file is closed.
+ */
+public final class LineSplitter {
+
+    /** Smallest range a line spliterator still splits. (64 KB) */
+    static final long MIN_SPLIT_LENGTH = 64 * 1024;
+
+    /** Line terminator searched for. */
+    private static final byte NEWLINE = '\n';
+
+    /** Carriage return removed before a newline. */
+    private static final byte RETURN = '\r';
+
+    /** File to split. */
+    private final MappedFile file;
+
+    /** Charset the lines are decoded with. */
+    private final Charset charset;
+
+    /** Smallest range split by line spliterators. */
+    private final long minSplitLength;
+
+    /**
+     * Creates a splitter over a mapped file.
+     *
+     * @param file Mapped file to split
+     * @param charset Charset of the text, which must encode '\n' as a single 0x0a byte
+     */
+    public LineSplitter(final MappedFile file, final Charset charset) {
+
+        this(file, charset, MIN_SPLIT_LENGTH);
+    }
+
+    /**
+     * Creates a splitter with the specified smallest split length.
+     *
+     * @param file Mapped file to split
+     * @param charset Charset of the text
+     * @param minSplitLength Smallest range a line spliterator still splits
+     */
+    LineSplitter(final MappedFile file, final Charset charset, final long minSplitLength) {
+
+        if (!Arrays.equals("\n".getBytes(charset), new byte[] {NEWLINE})) {
+            throw new IllegalArgumentException("Charset %s does not encode newline as one byte".formatted(charset));
+        }
+        if (minSplitLength <= 0) {
+            throw new IllegalArgumentException("Minimum split length must be positive");
+        }
+        this.file = Objects.requireNonNull(file);
+        this.charset = charset;
+        this.minSplitLength = minSplitLength;
+    }
+
+    /**
+     * Divides the file into at most the specified number of ranges of roughly equal length, each
+     * ending just after a newline (or at the end of the file). Fewer ranges are returned when lines
+     * are too long, or the file too short, to fill them all; an empty file has no ranges.
+     *
+     * @param count Number of ranges wanted
+     * @return List Non-empty, contiguous ranges covering the whole file
+     */
+    @SuppressWarnings("ReassignedVariable")
+    public List<Range> ranges(final int count) {
+
+        if (count <= 0) {
+            throw new IllegalArgumentException("Range count must be positive");
+        }
+        final var size = file.size();
+        final var ranges = new ArrayList<Range>(count);
+        var start = 0L;
+        for (var i = 1; (i < count) && (start < size); i++) {
+            final var end = lineEnd(Math.max(start, (size * i) / count), size);
+            if (end > start) {
+                ranges.add(new Range(start, end));
+                start = end;
+            }
+        }
+        if (start < size) {
+            ranges.add(new Range(start, size));
+        }
+        return ranges;
+    }
+
+    /** Returns a parallel stream of every line of the file, in order. */
+    public Stream<String> lines() {
+
+        return StreamSupport.stream(new LineSpliterator(0L, file.size()), true);
+    }
+
+    /**
+     * Returns a sequential stream of the lines in a range, typically one returned by ranges().
+     *
+     * @param range Range starting at the beginning of a line
+     * @return Stream Lines of the range, in order
+     */
+    public Stream<String> lines(final Range range) {
+
+        Objects.checkFromToIndex(range.start(), range.end(), file.size());
+        return StreamSupport.stream(new LineSpliterator(range.start(), range.end()), false);
+    }
+
+    /** Returns the position just after the first newline at or after the position, or the end. */
+    private long lineEnd(final long position, final long end) {
+
+        final var newline = file.indexOf(NEWLINE, position, end);
+        return (newline < 0) ? end : (newline + 1);
+    }
+
+    /**
+     * Range of bytes in the file.
+     *
+     * @param start Position of the first byte
+     * @param end Position after the last byte
+     */
+    public record Range(long start, long end) {
+
+        /** Validates the range. */
+        public Range {
+
+            if ((start < 0) || (end < start)) {
+                throw new IllegalArgumentException("Invalid range %d to %d".formatted(start, end));
+            }
+        }
+
+        /** Returns the number of bytes in the range. */
+        public long length() {
+
+            return end - start;
+        }
+    }
+
+    /** Spliterator over the lines of a range, splitting near the middle at a newline. */
+    private final class LineSpliterator implements Spliterator<String> {
+
+        /** Position of the next line. */
+        private long position;
+
+        /** Position after the last byte of the range. */
+        private final long end;
+
+        /**
+         * Creates a spliterator over a range starting at the beginning of a line.
+         *
+         * @param position Position of the first line
+         * @param end Position after the last byte
+         */
+        LineSpliterator(final long position, final long end) {
+
+            this.position = position;
+            this.end = end;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        @SuppressWarnings("ReassignedVariable")
+        public boolean tryAdvance(final Consumer<? super String> action) {
+
+            if (position >= end) {
+                return false;
+            }
+            final var newline = file.indexOf(NEWLINE, position, end);
+            final var next = (newline < 0) ? end : (newline + 1);
+            var length = ((newline < 0) ? end : newline) - position;
+            if ((newline >= 0) && (length > 0) && (file.get(newline - 1) == RETURN)) {
+                length--;
+            }
+            final var bytes = new byte[Math.toIntExact(length)];
+            file.get(position, bytes);
+            position = next;
+            action.accept(new String(bytes, charset));
+            return true;
+        }
+
+        /** {@inheritDoc} Splits off the first half, ending at the newline after the middle. */
+        @Override
+        public Spliterator<String> trySplit() {
+
+            final var remaining = end - position;
+            if (remaining < minSplitLength) {
+                return null;
+            }
+            final var split = lineEnd(position + (remaining / 2), end);
+            if (split >= end) {
+                return null;
+            }
+            final var prefix = new LineSpliterator(position, split);
+            position = split;
+            return prefix;
+        }
+
+        /** {@inheritDoc} Estimated from the bytes remaining, as line lengths are unknown. */
+        @Override
+        public long estimateSize() {
+
+            return end - position;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int characteristics() {
+
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io;
+
+import static dev.iq.common.io.IoConstants.INT_MASK;
+
+import dev.iq.common.fp.Io;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Read-only, memory-mapped view of a whole file, for scanning large files without copying them
+ * into the heap. Files larger than a single MappedByteBuffer are mapped as a sequence of regions
+ * and addressed with long positions; reads that cross a region boundary are handled transparently.
+ * Slices are zero-copy views unless they cross a boundary. <br>
+ * Closing the file ends its lifetime: any later access throws IllegalStateException and the
+ * mappings are released to the garbage collector, which unmaps them. The mapping is not unmapped
+ * eagerly, since the JDK offers no safe way to do so. <br>
+ * Reads are absolute, so a file may be read from several threads at once, but it must not be
+ * closed while other threads are still reading. Streams returned by newInputStream() are not
+ * thread-safe.
+ */
+public final class MappedFile implements AutoCloseable {
+
+    /** Length of each mapped region, except possibly the last. (1 GB) */
+    static final int REGION_LENGTH = 1 << 30;
+
+    /** Length of the file. */
+    private final long size;
+
+    /** Length of each region. */
+    private final int regionLength;
+
+    /** Mapped regions, or null once closed. */
+    private MappedByteBuffer[] regions;
+
+    /**
+     * Maps the file in regions of the specified length.
+     *
+     * @param path File to map
+     * @param regionLength Length of each region
+     */
+    MappedFile(final Path path, final int regionLength) {
+
+        if (regionLength <= 0) {
+            throw new IllegalArgumentException("Region length must be positive");
+        }
+        this.regionLength = regionLength;
+        regions = Io.withReturn(() -> {
+            try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                final var length = channel.size();
+                final var count = (int) ((length + regionLength - 1) / regionLength);
+                final var mapped = new MappedByteBuffer[count];
+                for (var i = 0; i < count; i++) {
+                    final var start = (long) i * regionLength;
+                    mapped[i] =
+                            channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(regionLength, length - start));
+                }
+                return mapped;
+            }
+        });
+        size = Arrays.stream(regions).mapToLong(Buffer::capacity).sum();
+    }
+
+    /**
+     * Maps the specified file for reading. The file is not held open once mapped.
+     *
+     * @param path File to map
+     * @return MappedFile Mapped view of the file, to be closed when no longer needed
+     */
+    public static MappedFile open(final Path path) {
+
+        return new MappedFile(path, REGION_LENGTH);
+    }
+
+    /** Returns the length of the file when it was mapped. */
+    public long size() {
+
+        return size;
+    }
+
+    /** Returns the byte at the specified position. */
+    public byte get(final long position) {
+
+        Objects.checkIndex(position, size);
+        return regions()[(int) (position / regionLength)].get((int) (position % regionLength));
+    }
+
+    /**
+     * Copies bytes starting at the specified position into the array.
+     *
+     * @param position Position in the file of the first byte
+     * @param target Array to fill
+     * @param offset Offset in the array of the first byte
+     * @param length Number of bytes to copy
+     */
+    @SuppressWarnings("ReassignedVariable")
+    public void get(final long position, final byte[] target, final int offset, final int length) {
+
+        Objects.checkFromIndexSize(position, length, size);
+        Objects.checkFromIndexSize(offset, length, target.length);
+        final var mapped = regions();
+        var from = position;
+        var to = offset;
+        var remaining = length;
+        while (remaining > 0) {
+            final var index = (int) (from % regionLength);
+            final var count = Math.min(remaining, regionLength - index);
+            mapped[(int) (from / regionLength)].get(index, target, to, count);
+            from += count;
+            to += count;
+            remaining -= count;
+        }
+    }
+
+    /** Copies bytes starting at the specified position into the whole array. */
+    public void get(final long position, final byte[] target) {
+
+        get(position, target, 0, target.length);
+    }
+
+    /** Returns the big-endian int at the specified position. */
+    public int getInt(final long position) {
+
+        Objects.checkFromIndexSize(position, Integer.BYTES, size);
+        final var index = (int) (position % regionLength);
+        if (index <= (regionLength - Integer.BYTES)) {
+            return regions()[(int) (position / regionLength)].getInt(index);
+        }
+        final var bytes = new byte[Integer.BYTES];
+        get(position, bytes);
+        return ByteBuffer.wrap(bytes).getInt();
+    }
+
+    /** Returns the big-endian long at the specified position. */
+    public long getLong(final long position) {
+
+        Objects.checkFromIndexSize(position, Long.BYTES, size);
+        final var index = (int) (position % regionLength);
+        if (index <= (regionLength - Long.BYTES)) {
+            return regions()[(int) (position / regionLength)].getLong(index);
+        }
+        final var bytes = new byte[Long.BYTES];
+        get(position, bytes);
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+
+    /**
+     * Returns a read-only buffer over part of the file. The buffer is a view of the mapping unless
+     * the range crosses a region boundary, in which case it is copied into the heap.
+     *
+     * @param position Position in the file of the first byte
+     * @param length Number of bytes in the slice
+     * @return ByteBuffer Read-only buffer positioned at 0
+     */
+    public ByteBuffer slice(final long position, final int length) {
+
+        Objects.checkFromIndexSize(position, length, size);
+        final var index = (int) (position % regionLength);
+        if (index <= (regionLength - length)) {
+            return regions()[(int) (position / regionLength)]
+                    .slice(index, length)
+                    .asReadOnlyBuffer();
+        }
+        final var bytes = new byte[length];
+        get(position, bytes);
+        return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns the position of the first occurrence of the byte in a range of the file, scanning the
+     * regions directly rather than byte by byte through get(long).
+     *
+     * @param value Byte to find
+     * @param from Position to start at (inclusive)
+     * @param to Position to stop at (exclusive)
+     * @return long Position of the byte, or -1 if it does not occur in the range
+     */
+    @SuppressWarnings("ReassignedVariable")
+    long indexOf(final byte value, final long from, final long to) {
+
+        Objects.checkFromToIndex(from, to, size);
+        final var mapped = regions();
+        var position = from;
+        while (position < to) {
+            final var region = mapped[(int) (position / regionLength)];
+            final var start = (int) (position % regionLength);
+            final var end = (int) Math.min(region.capacity(), start + (to - position));
+            for (var i = start; i < end; i++) {
+                if (region.get(i) == value) {
+                    return position + (i - start);
+                }
+            }
+            position += end - start;
+        }
+        return -1L;
+    }
+
+    /** Returns a stream over the whole file. */
+    public InputStream newInputStream() {
+
+        return newInputStream(0L, size);
+    }
+
+    /**
+     * Returns a stream over part of the file. The stream reads straight from the mapping and does
+     * not need to be closed, but it fails once this file is closed.
+     *
+     * @param position Position in the file of the first byte
+     * @param length Number of bytes to read
+     * @return InputStream Stream over the range
+     */
+    public InputStream newInputStream(final long position, final long length) {
+
+        Objects.checkFromIndexSize(position, length, size);
+        regions();
+        return new MappedInputStream(position, position + length);
+    }
+
+    /** Ends the lifetime of the mapping; later access throws IllegalStateException. */
+    @Override
+    public void close() {
+
+        regions = null;
+    }
+
+    /** Returns the mapped regions, or throws if closed. */
+    private MappedByteBuffer[] regions() {
+
+        final var mapped = regions;
+        if (mapped == null) {
+            throw new IllegalStateException("Mapped file is closed");
+        }
+        return mapped;
+    }
+
+    /** Input stream over a range of the mapped file. */
+    private final class MappedInputStream extends InputStream {
+
+        /** Position of the next byte to read. */
+        private long position;
+
+        /** Position after the last byte to read. */
+        private final long end;
+
+        /** Position saved by mark(). */
+        private long mark;
+
+        /**
+         * Creates a stream over the range.
+         *
+         * @param position Position of the first byte
+         * @param end Position after the last byte
+         */
+        MappedInputStream(final long position, final long end) {
+
+            this.position = position;
+            this.end = end;
+            mark = position;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int read() {
+
+            if (position >= end) {
+                return -1;
+            }
+            final var value = get(position) & INT_MASK;
+            position++;
+            return value;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int read(final byte @NotNull [] buffer, final int offset, final int length) {
+
+            Objects.checkFromIndexSize(offset, length, buffer.length);
+            if (length == 0) {
+                return 0;
+            }
+            if (position >= end) {
+                return -1;
+            }
+            final var count = (int) Math.min(length, end - position);
+            get(position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public long skip(final long count) {
+
+            final var skipped = Math.max(0L, Math.min(count, end - position));
+            position += skipped;
+            return skipped;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int available() {
+
+            return (int) Math.min(end - position, Integer.MAX_VALUE);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean markSupported() {
+
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void mark(final int readLimit) {
+
+            mark = position;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void reset() {
+
+            position = mark;
+        }
+    }
+}
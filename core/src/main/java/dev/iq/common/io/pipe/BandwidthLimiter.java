@@ -0,0 +1,147 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket limiting the combined rate at which bytes pass through every pipe sharing it, so
+ * that background transfers keep within one budget however many run at once. The bucket holds up
+ * to the burst size and starts full, letting an idle limiter pass a burst at once; after that,
+ * bytes are released at the configured rate. <br>
+ * A caller that takes more than is available reserves the shortfall and sleeps once for exactly
+ * as long as the rate requires, rather than polling in small sleeps. Later callers queue behind
+ * earlier reservations, so the budget holds across threads. A request larger than the burst is
+ * allowed and simply waits longer. <br>
+ * The rate may be changed at any time; callers already sleeping keep the wait they reserved. This
+ * type is thread-safe.
+ */
+public final class BandwidthLimiter {
+
+    /** Nanoseconds per second, as a double for rate arithmetic. */
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /** Fraction of a second's bytes allowed as a burst by default. */
+    private static final int DEFAULT_BURST_DIVISOR = 10;
+
+    /** Most bytes the bucket holds. */
+    private final long burst;
+
+    /** Bytes released per second. */
+    private long bytesPerSecond;
+
+    /** Bytes in the bucket; negative when callers have reserved more than it held. */
+    private double available;
+
+    /** Time the bucket was last refilled. */
+    private long updated;
+
+    /**
+     * Creates a limiter allowing bursts of a tenth of a second's bytes.
+     *
+     * @param bytesPerSecond Rate at which bytes are released
+     */
+    public BandwidthLimiter(final long bytesPerSecond) {
+
+        this(bytesPerSecond, Math.max(1L, bytesPerSecond / DEFAULT_BURST_DIVISOR));
+    }
+
+    /**
+     * Creates a limiter with the specified burst size.
+     *
+     * @param bytesPerSecond Rate at which bytes are released
+     * @param burst Most bytes released at once after the limiter has been idle
+     */
+    public BandwidthLimiter(final long bytesPerSecond, final long burst) {
+
+        checkRate(bytesPerSecond);
+        if (burst <= 0) {
+            throw new IllegalArgumentException("Burst must be positive");
+        }
+        this.bytesPerSecond = bytesPerSecond;
+        this.burst = burst;
+        available = burst;
+        updated = System.nanoTime();
+    }
+
+    /** Returns the rate at which bytes are released. */
+    public synchronized long rate() {
+
+        return bytesPerSecond;
+    }
+
+    /** Changes the rate at which bytes are released, from now on. */
+    public synchronized void setRate(final long bytesPerSecond) {
+
+        checkRate(bytesPerSecond);
+        refill(System.nanoTime());
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    /** Returns the most bytes released at once after the limiter has been idle. */
+    public long burst() {
+
+        return burst;
+    }
+
+    /**
+     * Takes the specified number of bytes from the budget, sleeping until the rate allows them.
+     *
+     * @param bytes Number of bytes about to pass (or just passed)
+     * @throws InterruptedException If interrupted while sleeping; the bytes stay reserved
+     */
+    public void acquire(final long bytes) throws InterruptedException {
+
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Byte count must not be negative");
+        }
+        final var wait = reserve(bytes);
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    /**
+     * Takes the specified number of bytes from the budget if they are available now, without
+     * waiting.
+     *
+     * @param bytes Number of bytes about to pass
+     * @return boolean True if the bytes were taken
+     */
+    public synchronized boolean tryAcquire(final long bytes) {
+
+        refill(System.nanoTime());
+        if (available < bytes) {
+            return false;
+        }
+        available -= bytes;
+        return true;
+    }
+
+    /** Takes the bytes from the bucket and returns how many nanoseconds the caller must wait. */
+    private synchronized long reserve(final long bytes) {
+
+        refill(System.nanoTime());
+        available -= bytes;
+        return (available >= 0) ? 0L : (long) Math.ceil((-available * NANOS_PER_SECOND) / bytesPerSecond);
+    }
+
+    /** Adds the bytes released since the last refill, up to the burst size. */
+    private void refill(final long now) {
+
+        available = Math.min(burst, available + (((now - updated) * (double) bytesPerSecond) / NANOS_PER_SECOND));
+        updated = now;
+    }
+
+    /** Throws if the rate is not positive. */
+    private static void checkRate(final long bytesPerSecond) {
+
+        if (bytesPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import dev.iq.common.io.stream.ByteBufferOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded pool of reusable buffers in power-of-two size classes. Buffers are cached in a fixed
+ * number of stripes chosen from the identity of the current thread, with lock-free slots in each
+ * stripe. Unlike a ThreadLocal cache, this stays bounded and effective with many short-lived
+ * virtual threads. <br>
+ * A borrowed buffer has at least the requested capacity and is rounded up to its size class.
+ * Requests above the largest class are allocated without pooling. Buffers are not cleared when
+ * returned, so callers must not rely on their content. <br>
+ * Borrowing and releasing are limited to this package, whose pipes release each buffer they
+ * borrowed exactly once; the pool trusts them and does not check released buffers for being
+ * foreign, read-only, slices or already released. Other code can read the counters of the shared
+ * pools, and can collect data in pooled direct buffers through {@link #directOutputStream()}.
+ *
+ * @param <T> Type of buffer pooled
+ */
+public final class BufferPool<T> {
+
+    /** Smallest size class (in elements). */
+    static final int MIN_CLASS_SIZE = 512;
+
+    /** Largest size class (in elements). */
+    static final int MAX_CLASS_SIZE = 256 * 1024;
+
+    /** Length of each buffer of a pooled ByteBufferOutputStream (a size class). */
+    static final int STREAM_BUFFER_LENGTH = 64 * 1024;
+
+    /** Number of buffers cached per size class in each stripe. */
+    static final int SLOTS_PER_STRIPE = 2;
+
+    /** Number of size classes between the smallest and largest. */
+    private static final int CLASS_COUNT =
+            Integer.numberOfTrailingZeros(MAX_CLASS_SIZE) - Integer.numberOfTrailingZeros(MIN_CLASS_SIZE) + 1;
+
+    /** Number of stripes (a power of two at least the number of processors). */
+    private static final int STRIPES =
+            Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1);
+
+    /** Shared pool of heap byte arrays. */
+    private static final BufferPool<byte[]> BYTES = new BufferPool<>(byte[]::new, b -> b.length, b -> b);
+
+    /** Shared pool of heap char arrays. */
+    private static final BufferPool<char[]> CHARS = new BufferPool<>(char[]::new, c -> c.length, c -> c);
+
+    /** Shared pool of direct byte buffers. */
+    private static final BufferPool<ByteBuffer> DIRECT =
+            new BufferPool<>(ByteBuffer::allocateDirect, ByteBuffer::capacity, ByteBuffer::clear);
+
+    /** Creates a buffer of a given capacity. */
+    private final IntFunction<T> allocator;
+
+    /** Returns the capacity of a buffer. */
+    private final ToIntFunction<T> capacity;
+
+    /** Resets a buffer before it is handed out again. */
+    private final UnaryOperator<T> reset;
+
+    /** Cached buffers, indexed by stripe, then size class, then slot. */
+    private final AtomicReferenceArray<T> slots = new AtomicReferenceArray<>(STRIPES * CLASS_COUNT * SLOTS_PER_STRIPE);
+
+    /** Borrows satisfied from the pool. */
+    private final LongAdder hits = new LongAdder();
+
+    /** Borrows that had to allocate. */
+    private final LongAdder misses = new LongAdder();
+
+    /** Returned buffers that were dropped because their slots were full or they were not poolable. */
+    private final LongAdder discards = new LongAdder();
+
+    /**
+     * Counters describing the effectiveness of a pool.
+     *
+     * @param hits Borrows satisfied from the pool
+     * @param misses Borrows that had to allocate
+     * @param discards Returned buffers that were dropped
+     */
+    public record Stats(long hits, long misses, long discards) {
+
+        /** Returns the fraction of borrows satisfied from the pool (0 when nothing was borrowed). */
+        public double hitRate() {
+
+            final var total = hits + misses;
+            return (total == 0) ? 0.0 : ((double) hits / total);
+        }
+    }
+
+    /**
+     * Creates a pool.
+     *
+     * @param allocator Creates a buffer of a given capacity
+     * @param capacity Returns the capacity of a buffer
+     * @param reset Resets a buffer before it is reused
+     */
+    BufferPool(final IntFunction<T> allocator, final ToIntFunction<T> capacity, final UnaryOperator<T> reset) {
+
+        this.allocator = allocator;
+        this.capacity = capacity;
+        this.reset = reset;
+    }
+
+    /** Returns the shared pool of heap byte arrays. */
+    public static BufferPool<byte[]> bytes() {
+
+        return BYTES;
+    }
+
+    /** Returns the shared pool of heap char arrays. */
+    public static BufferPool<char[]> chars() {
+
+        return CHARS;
+    }
+
+    /** Returns the shared pool of direct byte buffers (returned cleared). */
+    public static BufferPool<ByteBuffer> direct() {
+
+        return DIRECT;
+    }
+
+    /**
+     * Returns a stream collecting its data in direct buffers borrowed from the shared direct pool.
+     * The stream returns each buffer to the pool exactly once, when it is closed, so its data must
+     * be read before then.
+     *
+     * @return ByteBufferOutputStream Stream writing into pooled direct buffers
+     */
+    public static ByteBufferOutputStream directOutputStream() {
+
+        return new ByteBufferOutputStream(STREAM_BUFFER_LENGTH, DIRECT::borrow, DIRECT::release);
+    }
+
+    /**
+     * Borrows a buffer with at least the specified capacity. The buffer should be returned with
+     * {@link #release(Object)} once it is no longer used.
+     *
+     * @param minimum Minimum capacity required
+     * @return T Buffer to use
+     */
+    T borrow(final int minimum) {
+
+        if (minimum <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        if (minimum > MAX_CLASS_SIZE) {
+            misses.increment();
+            return allocator.apply(minimum);
+        }
+        final var sizeClass = sizeClass(minimum);
+        final var base = base(sizeClass);
+        for (var i = 0; i < SLOTS_PER_STRIPE; i++) {
+            final var buffer = slots.getAndSet(base + i, null);
+            if (buffer != null) {
+                hits.increment();
+                return reset.apply(buffer);
+            }
+        }
+        misses.increment();
+        return allocator.apply(MIN_CLASS_SIZE << sizeClass);
+    }
+
+    /**
+     * Returns a buffer to the pool. Buffers whose capacity is not a size class, or for which no
+     * slot is free, are left to the garbage collector.
+     *
+     * @param buffer Buffer previously borrowed (must no longer be used by the caller)
+     */
+    void release(final T buffer) {
+
+        final var size = capacity.applyAsInt(buffer);
+        if ((size < MIN_CLASS_SIZE) || (size > MAX_CLASS_SIZE) || (Integer.bitCount(size) != 1)) {
+            discards.increment();
+            return;
+        }
+        final var base = base(sizeClass(size));
+        for (var i = 0; i < SLOTS_PER_STRIPE; i++) {
+            if (slots.compareAndSet(base + i, null, buffer)) {
+                return;
+            }
+        }
+        discards.increment();
+    }
+
+    /** Returns a snapshot of the pool counters. */
+    public Stats stats() {
+
+        return new Stats(hits.sum(), misses.sum(), discards.sum());
+    }
+
+    /** Returns the index of the smallest size class holding the specified capacity. */
+    static int sizeClass(final int size) {
+
+        final var rounded = Math.max(MIN_CLASS_SIZE, Integer.highestOneBit(size - 1) << 1);
+        return Integer.numberOfTrailingZeros(rounded) - Integer.numberOfTrailingZeros(MIN_CLASS_SIZE);
+    }
+
+    /** Returns the first slot of the size class in the current thread's stripe. */
+    private static int base(final int sizeClass) {
+
+        final var hash = System.identityHashCode(Thread.currentThread());
+        final var stripe = (hash ^ (hash >>> 16)) & (STRIPES - 1);
+        return ((stripe * CLASS_COUNT) + sizeClass) * SLOTS_PER_STRIPE;
+    }
+}
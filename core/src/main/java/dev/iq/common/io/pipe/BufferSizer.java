@@ -0,0 +1,123 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+/**
+ * Chooses the buffer size for an adaptive pipe. Starting small, the size is doubled after each
+ * window of transfers in which every read filled the buffer and throughput improved on the
+ * previous window, up to a maximum. Once a window shows short reads or no improvement the size is
+ * settled (falling back to the previous size if the larger one was slower) and timing stops. This
+ * type is not thread-safe; each transfer uses its own instance.
+ */
+final class BufferSizer {
+
+    /** Number of transfers measured at each size before deciding whether to grow. */
+    static final int WINDOW = 16;
+
+    /** Largest size the buffer may grow to. */
+    private final int max;
+
+    /** Current buffer size. */
+    private int size;
+
+    /** Whether the size has been settled (no more measurement). */
+    private boolean settled;
+
+    /** Transfers measured in the current window. */
+    private int transfers = 0;
+
+    /** Transfers in the current window that filled the buffer. */
+    private int full = 0;
+
+    /** Bytes (or chars) moved in the current window. */
+    private long moved = 0L;
+
+    /** Time spent in the current window. */
+    private long nanos = 0L;
+
+    /** Throughput of the previous window (units per nanosecond). */
+    private double lastRate = 0.0;
+
+    /**
+     * Creates a sizer.
+     *
+     * @param initial Starting buffer size
+     * @param max Largest size the buffer may grow to
+     */
+    BufferSizer(final int initial, final int max) {
+
+        if ((initial <= 0) || (max < initial)) {
+            throw new IllegalArgumentException("Buffer sizes must satisfy 0 < initial <= max");
+        }
+        this.max = max;
+        size = initial;
+        settled = initial == max;
+    }
+
+    /** Returns the buffer size to use for the next transfer. */
+    int size() {
+
+        return size;
+    }
+
+    /** Returns whether the size has stopped changing. */
+    boolean settled() {
+
+        return settled;
+    }
+
+    /** Returns the start time of a transfer, or 0 if the size is settled and nothing is timed. */
+    long start() {
+
+        return settled ? 0L : System.nanoTime();
+    }
+
+    /**
+     * Records a completed transfer (a read and the matching write).
+     *
+     * @param count Number of units read
+     * @param started Value returned by {@link #start()} before the transfer
+     * @return boolean True if the buffer size changed
+     */
+    boolean record(final int count, final long started) {
+
+        if (settled) {
+            return false;
+        }
+        nanos += System.nanoTime() - started;
+        moved += count;
+        transfers++;
+        if (count == size) {
+            full++;
+        }
+        return (transfers == WINDOW) && decide();
+    }
+
+    /** Grows or settles the size at the end of a window, returning true if the size changed. */
+    private boolean decide() {
+
+        final var rate = moved / (double) Math.max(nanos, 1L);
+        final var allFull = full == transfers;
+        transfers = 0;
+        full = 0;
+        moved = 0L;
+        nanos = 0L;
+        if (allFull && (rate > lastRate)) {
+            lastRate = rate;
+            size = (int) Math.min((long) size * 2, max);
+            settled = size == max;
+            return true;
+        }
+        settled = true;
+        if (allFull && (lastRate > 0.0)) {
+            // The larger buffer was slower than the previous size, so step back
+            size /= 2;
+            return true;
+        }
+        return false;
+    }
+}
@@ -6,9 +6,11 @@
 
 package dev.iq.common.io.pipe;
 
+import static dev.iq.common.io.IoConstants.DEFAULT_BUFFER_LENGTH;
+
 import dev.iq.common.fp.Io;
+import dev.iq.common.io.stream.SegmentedOutputStream;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
 
@@ -19,15 +21,17 @@ import java.io.OutputStream;
  */
 final class BytesPipe implements Pipe<byte[], InputStream, OutputStream> {
 
-    /** {@inheritDoc} */
+    /**
+     * {@inheritDoc} The bytes are accumulated in segments, presized from the stream's available()
+     * estimate (exact for files and byte arrays), so they are copied at most once more at the end.
+     */
     @Override
     public byte[] read(final InputStream in) {
 
         return Io.withReturn(() -> {
-            try (var out = new ByteArrayOutputStream()) {
-                go(in, out);
-                return out.toByteArray();
-            }
+            final var out = new SegmentedOutputStream(in.available());
+            go(in, out);
+            return out.toByteArray();
         });
     }
 
@@ -44,22 +48,53 @@ final class BytesPipe implements Pipe<byte[], InputStream, OutputStream> {
 
     /** {@inheritDoc} */
     @Override
-    @SuppressWarnings("ReassignedVariable")
     public long go(final InputStream in, final OutputStream out, final int bufferSize) {
 
+        return go(in, out, new BufferSizer(bufferSize, bufferSize));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long goAdaptive(final InputStream in, final OutputStream out, final int maxBufferSize) {
+
+        return go(in, out, new BufferSizer(Math.min(DEFAULT_BUFFER_LENGTH, maxBufferSize), maxBufferSize));
+    }
+
+    /**
+     * Pipes all data using a pooled buffer whose size is chosen by the sizer.
+     *
+     * @param in Stream to read
+     * @param out Stream to write
+     * @param sizer Chooses the buffer size
+     * @return long Total number of bytes piped
+     */
+    @SuppressWarnings("ReassignedVariable")
+    long go(final InputStream in, final OutputStream out, final BufferSizer sizer) {
+
         return Io.withReturn(() -> {
-            var total = 0L;
-            final var buffer = new byte[bufferSize];
-            var bytesRead = in.read(buffer);
-            while (bytesRead >= 0) {
-                if (bytesRead > 0) {
-                    out.write(buffer, 0, bytesRead);
-                    total += bytesRead;
+            var buffer = BufferPool.bytes().borrow(sizer.size());
+            try {
+                var total = 0L;
+                var started = sizer.start();
+                var bytesRead = in.read(buffer, 0, sizer.size());
+                while (bytesRead >= 0) {
+                    if (bytesRead > 0) {
+                        out.write(buffer, 0, bytesRead);
+                        total += bytesRead;
+                    }
+                    if (sizer.record(bytesRead, started) && (buffer.length < sizer.size())) {
+                        final var larger = BufferPool.bytes().borrow(sizer.size());
+                        BufferPool.bytes().release(buffer);
+                        buffer = larger;
+                    }
+                    started = sizer.start();
+                    bytesRead = in.read(buffer, 0, sizer.size());
                 }
-                bytesRead = in.read(buffer);
+                out.flush();
+                return total;
+            } finally {
+                BufferPool.bytes().release(buffer);
             }
-            out.flush();
-            return total;
         });
     }
 }
@@ -54,4 +54,17 @@ final class BytesSupplierPipe implements Pipe<byte[], Fn0<? extends InputStream>
             }
         });
     }
+
+    /** {@inheritDoc} */
+    @Override
+    public long goAdaptive(
+            final Fn0<? extends InputStream> in, final Fn0<? extends OutputStream> out, final int maxBufferSize) {
+
+        return Io.withReturn(() -> {
+            try (var streamIn = in.get();
+                    var streamOut = out.get()) {
+                return delegate.goAdaptive(streamIn, streamOut, maxBufferSize);
+            }
+        });
+    }
 }
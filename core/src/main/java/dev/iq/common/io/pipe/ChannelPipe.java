@@ -0,0 +1,165 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import static dev.iq.common.io.IoConstants.DEFAULT_BUFFER_LENGTH;
+
+import dev.iq.common.fp.Io;
+import dev.iq.common.io.stream.SegmentedOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Pipe implementation that reads from a ReadableByteChannel, writes to a WritableByteChannel and
+ * works with byte[] values. When the input is a FileChannel the data is moved with transferTo, and
+ * when only the output is a FileChannel with transferFrom, so the kernel can copy without the data
+ * passing through the Java heap (sendfile, copy_file_range). Otherwise, or once a transfer stops
+ * making progress, the remaining data is copied through a direct buffer. <br>
+ * Channels are expected to be in blocking mode. This implementation does not close the channels
+ * passed in.
+ */
+final class ChannelPipe implements Pipe<byte[], ReadableByteChannel, WritableByteChannel> {
+
+    /** Most bytes requested from a single transferFrom call. (1 GB) */
+    private static final long TRANSFER_COUNT = 1024L * 1024 * 1024;
+
+    /** {@inheritDoc} The bytes are accumulated in segments, presized exactly for a file. */
+    @Override
+    public byte[] read(final ReadableByteChannel in) {
+
+        final var out = new SegmentedOutputStream(Io.withReturn(() -> lengthHint(in)));
+        go(in, Channels.newChannel(out));
+        return out.toByteArray();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(final byte[] value, final WritableByteChannel out) {
+
+        Io.withVoid(() -> writeFully(ByteBuffer.wrap(value), out));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long go(final ReadableByteChannel in, final WritableByteChannel out, final int bufferSize) {
+
+        return go(in, out, new BufferSizer(bufferSize, bufferSize));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long goAdaptive(final ReadableByteChannel in, final WritableByteChannel out, final int maxBufferSize) {
+
+        return go(in, out, new BufferSizer(Math.min(DEFAULT_BUFFER_LENGTH, maxBufferSize), maxBufferSize));
+    }
+
+    /**
+     * Transfers what the channels allow, then copies the remainder through a buffer whose size is
+     * chosen by the sizer.
+     */
+    private static long go(final ReadableByteChannel in, final WritableByteChannel out, final BufferSizer sizer) {
+
+        return Io.withReturn(() -> {
+            var total = 0L;
+            if (in instanceof final FileChannel file) {
+                total += transferTo(file, out);
+            } else if (out instanceof final FileChannel file) {
+                total += transferFrom(in, file);
+            }
+            return total + copy(in, out, sizer);
+        });
+    }
+
+    /**
+     * Moves the input file from its current position to the output with transferTo, leaving the
+     * input positioned after the data moved.
+     */
+    @SuppressWarnings("ReassignedVariable")
+    private static long transferTo(final FileChannel in, final WritableByteChannel out) throws IOException {
+
+        final var start = in.position();
+        final var size = in.size();
+        var position = start;
+        while (position < size) {
+            final var moved = in.transferTo(position, size - position, out);
+            if (moved <= 0) {
+                break;
+            }
+            position += moved;
+        }
+        in.position(position);
+        return position - start;
+    }
+
+    /**
+     * Moves the input to the output file at its current position with transferFrom, leaving the
+     * output positioned after the data moved. Each call asks for a large fixed count, as the length
+     * of the input is unknown, so the buffer size only applies to the copy that follows. Stops when
+     * a transfer moves nothing, which is either the end of the input or a source that cannot be
+     * transferred.
+     */
+    @SuppressWarnings("ReassignedVariable")
+    private static long transferFrom(final ReadableByteChannel in, final FileChannel out) throws IOException {
+
+        final var start = out.position();
+        var position = start;
+        var moved = out.transferFrom(in, position, TRANSFER_COUNT);
+        while (moved > 0) {
+            position += moved;
+            moved = out.transferFrom(in, position, TRANSFER_COUNT);
+        }
+        out.position(position);
+        return position - start;
+    }
+
+    /** Copies whatever remains of the input through a pooled direct buffer. */
+    @SuppressWarnings("ReassignedVariable")
+    private static long copy(final ReadableByteChannel in, final WritableByteChannel out, final BufferSizer sizer)
+            throws IOException {
+
+        var buffer = BufferPool.direct().borrow(sizer.size());
+        try {
+            var total = 0L;
+            var started = sizer.start();
+            var bytesRead = in.read(buffer.limit(sizer.size()));
+            while (bytesRead >= 0) {
+                if (bytesRead > 0) {
+                    writeFully(buffer.flip(), out);
+                    total += bytesRead;
+                }
+                if (sizer.record(bytesRead, started) && (buffer.capacity() < sizer.size())) {
+                    final var larger = BufferPool.direct().borrow(sizer.size());
+                    BufferPool.direct().release(buffer);
+                    buffer = larger;
+                }
+                started = sizer.start();
+                bytesRead = in.read(buffer.clear().limit(sizer.size()));
+            }
+            return total;
+        } finally {
+            BufferPool.direct().release(buffer);
+        }
+    }
+
+    /** Returns the bytes remaining in a file, or 0 if the length of the input is unknown. */
+    private static long lengthHint(final ReadableByteChannel in) throws IOException {
+
+        return (in instanceof final FileChannel file) ? Math.max(file.size() - file.position(), 0L) : 0L;
+    }
+
+    /** Writes all remaining bytes of the buffer. */
+    private static void writeFully(final ByteBuffer buffer, final WritableByteChannel out) throws IOException {
+
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+}
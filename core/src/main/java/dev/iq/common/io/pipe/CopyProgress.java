@@ -0,0 +1,28 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+/**
+ * Progress of a copy, reported to a listener as the copy advances.
+ *
+ * @param copied Number of bytes copied so far
+ * @param total Total number of bytes to copy
+ */
+public record CopyProgress(long copied, long total) {
+
+    /** Returns the fraction of the bytes copied so far (1 when there is nothing to copy). */
+    public double fraction() {
+
+        return (total == 0) ? 1.0 : ((double) copied / total);
+    }
+
+    /** Returns whether all bytes have been copied. */
+    public boolean done() {
+
+        return copied == total;
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+/**
+ * Adapters between blocking streams and java.util.concurrent.Flow, for handing data to and from
+ * asynchronous consumers such as HTTP bodies and message producers without ad hoc threads. In both
+ * directions back-pressure is honored: data is only read once it has been requested, so memory use
+ * is bounded by the demand (chunk length times prefetch) rather than by the data.
+ */
+public final class Flows {
+
+    /** Length of the chunks published unless otherwise specified. (16 kB) */
+    public static final int DEFAULT_CHUNK_LENGTH = 16 * 1024;
+
+    /** Number of buffers requested ahead unless otherwise specified. */
+    public static final int DEFAULT_PREFETCH = 4;
+
+    /** Runs each drain loop on a new virtual thread. */
+    private static final Executor VIRTUAL_THREADS =
+            task -> Thread.ofVirtual().name("flow-publisher").start(task);
+
+    /** Type contains only static members. */
+    private Flows() {}
+
+    /**
+     * Returns a publisher of the content of the stream, in chunks of the default length read on
+     * virtual threads. See publisher(InputStream, int, Executor).
+     *
+     * @param in Stream to publish
+     * @return Flow.Publisher Publisher accepting a single subscriber
+     */
+    public static Flow.Publisher<ByteBuffer> publisher(final InputStream in) {
+
+        return publisher(in, DEFAULT_CHUNK_LENGTH, VIRTUAL_THREADS);
+    }
+
+    /**
+     * Returns a publisher of the content of the stream. Each chunk is read only once the subscriber
+     * has requested it, on the executor, and is a new buffer the subscriber may keep. The publisher
+     * accepts a single subscriber. <br>
+     * The stream is closed once it is exhausted, fails or the subscription is cancelled.
+     *
+     * @param in Stream to publish
+     * @param chunkLength Largest number of bytes in each buffer
+     * @param executor Runs the blocking reads
+     * @return Flow.Publisher Publisher accepting a single subscriber
+     */
+    public static Flow.Publisher<ByteBuffer> publisher(
+            final InputStream in, final int chunkLength, final Executor executor) {
+
+        checkChunkLength(chunkLength);
+        return new StreamPublisher(new StreamSource(in, chunkLength), executor);
+    }
+
+    /**
+     * Returns a publisher of the content of the channel, in chunks of the default length read on
+     * virtual threads. See publisher(InputStream, int, Executor).
+     *
+     * @param in Channel to publish, in blocking mode
+     * @return Flow.Publisher Publisher accepting a single subscriber
+     */
+    public static Flow.Publisher<ByteBuffer> publisher(final ReadableByteChannel in) {
+
+        return publisher(in, DEFAULT_CHUNK_LENGTH, VIRTUAL_THREADS);
+    }
+
+    /**
+     * Returns a publisher of the content of the channel, as for an InputStream. The channel must be
+     * in blocking mode, and is closed once it is exhausted, fails or the subscription is cancelled.
+     *
+     * @param in Channel to publish
+     * @param chunkLength Largest number of bytes in each buffer
+     * @param executor Runs the blocking reads
+     * @return Flow.Publisher Publisher accepting a single subscriber
+     */
+    public static Flow.Publisher<ByteBuffer> publisher(
+            final ReadableByteChannel in, final int chunkLength, final Executor executor) {
+
+        checkChunkLength(chunkLength);
+        return new StreamPublisher(new ChannelSource(in, chunkLength), executor);
+    }
+
+    /**
+     * Returns a stream over the buffers of the publisher, requesting the default number of buffers
+     * ahead. See inputStream(Flow.Publisher, int).
+     *
+     * @param publisher Publisher to subscribe to
+     * @return InputStream Stream to read, closing it to cancel the subscription
+     */
+    public static InputStream inputStream(final Flow.Publisher<ByteBuffer> publisher) {
+
+        return inputStream(publisher, DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Subscribes to the publisher and returns a stream over the buffers it publishes. Reads block
+     * until data arrives, and a failure of the publisher is thrown by the read that reaches it. No
+     * more than the prefetch number of buffers is held at any time; another is requested as each
+     * one is read. Closing the stream cancels the subscription.
+     *
+     * @param publisher Publisher to subscribe to
+     * @param prefetch Number of buffers requested ahead of the reader
+     * @return InputStream Stream to read from a single thread
+     */
+    public static InputStream inputStream(final Flow.Publisher<ByteBuffer> publisher, final int prefetch) {
+
+        final var in = new PublisherInputStream(prefetch);
+        publisher.subscribe(in);
+        return in;
+    }
+
+    /**
+     * Writes the buffers of the publisher to the stream, requesting the default number of buffers
+     * ahead. See writeTo(Flow.Publisher, OutputStream, int).
+     *
+     * @param publisher Publisher to subscribe to
+     * @param out Stream to write to
+     * @return CompletableFuture Completes with the number of bytes written
+     */
+    public static CompletableFuture<Long> writeTo(final Flow.Publisher<ByteBuffer> publisher, final OutputStream out) {
+
+        return writeTo(publisher, out, DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Subscribes to the publisher and writes each buffer it publishes to the stream, on the
+     * publisher's thread, requesting another as each one is written. The future completes with the
+     * number of bytes written once the stream has been flushed after the last buffer, or
+     * exceptionally if the publisher or a write fails; a failed write cancels the subscription. <br>
+     * The stream is not closed.
+     *
+     * @param publisher Publisher to subscribe to
+     * @param out Stream to write to
+     * @param prefetch Number of buffers requested ahead of the writes
+     * @return CompletableFuture Completes with the number of bytes written
+     */
+    public static CompletableFuture<Long> writeTo(
+            final Flow.Publisher<ByteBuffer> publisher, final OutputStream out, final int prefetch) {
+
+        final var subscriber = new OutputStreamSubscriber(out, prefetch);
+        publisher.subscribe(subscriber);
+        return subscriber.result();
+    }
+
+    /** Rejects a chunk length that is not positive. */
+    private static void checkChunkLength(final int chunkLength) {
+
+        if (chunkLength <= 0) {
+            throw new IllegalArgumentException("Chunk length must be positive");
+        }
+    }
+
+    /**
+     * Chunks read from a stream.
+     *
+     * @param in Stream to read
+     * @param chunkLength Largest number of bytes in each chunk
+     */
+    private record StreamSource(InputStream in, int chunkLength) implements StreamPublisher.Source {
+
+        /** {@inheritDoc} */
+        @Override
+        public ByteBuffer read() throws IOException {
+
+            final var chunk = new byte[chunkLength];
+            final var count = in.read(chunk, 0, chunkLength);
+            return (count < 0) ? null : ByteBuffer.wrap(chunk, 0, count);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() throws IOException {
+
+            in.close();
+        }
+    }
+
+    /**
+     * Chunks read from a channel in blocking mode.
+     *
+     * @param in Channel to read
+     * @param chunkLength Largest number of bytes in each chunk
+     */
+    private record ChannelSource(ReadableByteChannel in, int chunkLength) implements StreamPublisher.Source {
+
+        /** {@inheritDoc} */
+        @Override
+        @SuppressWarnings("ReassignedVariable")
+        public ByteBuffer read() throws IOException {
+
+            final var chunk = ByteBuffer.allocate(chunkLength);
+            var count = in.read(chunk);
+            while (count == 0) {
+                count = in.read(chunk);
+            }
+            return (count < 0) ? null : chunk.flip();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() throws IOException {
+
+            in.close();
+        }
+    }
+}
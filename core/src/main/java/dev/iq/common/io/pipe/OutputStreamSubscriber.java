@@ -0,0 +1,134 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import dev.iq.common.error.IoException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * Subscriber that writes the buffers it receives to an OutputStream, on the publisher's thread.
+ * It keeps a fixed number of buffers requested and asks for another as each one is written, so the
+ * publisher can never run further ahead than the prefetch. The result completes with the number of
+ * bytes written once the publisher completes and the stream is flushed, or exceptionally if either
+ * side fails; a failure to write cancels the subscription. <br>
+ * The stream is not closed.
+ */
+final class OutputStreamSubscriber implements Flow.Subscriber<ByteBuffer> {
+
+    /** Stream written to. */
+    private final OutputStream out;
+
+    /** Number of buffers kept requested. */
+    private final int prefetch;
+
+    /** Number of bytes written, or the failure. */
+    private final CompletableFuture<Long> result = new CompletableFuture<>();
+
+    /** Subscription, once received. */
+    private Flow.Subscription subscription = null;
+
+    /** Bytes written so far. */
+    private long total = 0L;
+
+    /**
+     * Creates a subscriber.
+     *
+     * @param out Stream to write to
+     * @param prefetch Number of buffers kept requested
+     */
+    OutputStreamSubscriber(final OutputStream out, final int prefetch) {
+
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("Prefetch must be positive");
+        }
+        this.out = out;
+        this.prefetch = prefetch;
+    }
+
+    /** Returns the result, completed with the number of bytes written. */
+    CompletableFuture<Long> result() {
+
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onSubscribe(final Flow.Subscription value) {
+
+        if (subscription != null) {
+            value.cancel();
+            return;
+        }
+        subscription = value;
+        value.request(prefetch);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onNext(final ByteBuffer item) {
+
+        if (result.isDone()) {
+            return;
+        }
+        try {
+            total += write(item);
+        } catch (final IOException | RuntimeException e) {
+            subscription.cancel();
+            result.completeExceptionally(new IoException(e));
+            return;
+        }
+        subscription.request(1);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onError(final Throwable throwable) {
+
+        result.completeExceptionally(throwable);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onComplete() {
+
+        try {
+            out.flush();
+            result.complete(total);
+        } catch (final IOException e) {
+            result.completeExceptionally(new IoException(e));
+        }
+    }
+
+    /** Writes the remaining bytes of the buffer, returning how many were written. */
+    private int write(final ByteBuffer buffer) throws IOException {
+
+        final var length = buffer.remaining();
+        if (length == 0) {
+            return 0;
+        }
+        if (buffer.hasArray()) {
+            out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+            buffer.position(buffer.limit());
+            return length;
+        }
+        final var chunk = BufferPool.bytes().borrow(Math.min(length, BufferPool.MAX_CLASS_SIZE));
+        try {
+            while (buffer.hasRemaining()) {
+                final var count = Math.min(chunk.length, buffer.remaining());
+                buffer.get(chunk, 0, count);
+                out.write(chunk, 0, count);
+            }
+        } finally {
+            BufferPool.bytes().release(chunk);
+        }
+        return length;
+    }
+}
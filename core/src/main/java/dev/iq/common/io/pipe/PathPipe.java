@@ -0,0 +1,77 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import dev.iq.common.fp.Io;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Pipe implementation that reads from a file, writes to a file and works with byte[] values. File
+ * to file copies are moved with FileChannel.transferTo, so the kernel can copy the data without it
+ * passing through the Java heap. The target file is created if needed and truncated. <br>
+ * This implementation opens and fully closes the files passed in.
+ */
+final class PathPipe implements Pipe<byte[], Path, Path> {
+
+    /** Pipe used once the files are open. */
+    private final ChannelPipe pipe = new ChannelPipe();
+
+    /** {@inheritDoc} */
+    @Override
+    public byte[] read(final Path in) {
+
+        return Io.withReturn(() -> {
+            try (var channel = FileChannel.open(in, StandardOpenOption.READ)) {
+                return pipe.read(channel);
+            }
+        });
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(final byte[] value, final Path out) {
+
+        Io.withVoid(() -> {
+            try (var channel = openTarget(out)) {
+                pipe.write(value, channel);
+            }
+        });
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long go(final Path in, final Path out, final int bufferSize) {
+
+        return Io.withReturn(() -> {
+            try (var source = FileChannel.open(in, StandardOpenOption.READ);
+                    var target = openTarget(out)) {
+                return pipe.go(source, target, bufferSize);
+            }
+        });
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long goAdaptive(final Path in, final Path out, final int maxBufferSize) {
+
+        return Io.withReturn(() -> {
+            try (var source = FileChannel.open(in, StandardOpenOption.READ);
+                    var target = openTarget(out)) {
+                return pipe.goAdaptive(source, target, maxBufferSize);
+            }
+        });
+    }
+
+    /** Opens the target file for writing, creating or truncating it. */
+    private static FileChannel openTarget(final Path path) {
+
+        return Io.withReturn(() -> FileChannel.open(
+                path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+    }
+}
@@ -7,6 +7,7 @@
 package dev.iq.common.io.pipe;
 
 import static dev.iq.common.io.IoConstants.DEFAULT_BUFFER_LENGTH;
+import static dev.iq.common.io.IoConstants.MAX_ADAPTIVE_BUFFER_LENGTH;
 
 /**
  * Encapsualtes an InputStrem and an OutputStream and allows all the data from the former to be
@@ -60,4 +61,33 @@ public interface Pipe<R, I, O> {
      * @return long Total number of bytes piped
      */
     long go(I in, O out, int bufferSize);
+
+    /**
+     * Pipes all data like {@link #go(Object, Object)}, but adapts the buffer size to the streams,
+     * growing it up to a default maximum while that improves throughput.
+     *
+     * @param in Input to read
+     * @param out Output to write
+     * @return long Number of bytes or chars piped
+     */
+    default long goAdaptive(final I in, final O out) {
+
+        return goAdaptive(in, out, MAX_ADAPTIVE_BUFFER_LENGTH);
+    }
+
+    /**
+     * Pipes all data like {@link #go(Object, Object, int)}, but starts with the default buffer size
+     * and doubles it while every read fills the buffer and throughput keeps improving, never
+     * exceeding the maximum specified. Implementations that cannot adapt use the maximum as a fixed
+     * buffer size.
+     *
+     * @param in Input to read
+     * @param out Output to write
+     * @param maxBufferSize Largest buffer size to use
+     * @return long Number of bytes or chars piped
+     */
+    default long goAdaptive(final I in, final O out, final int maxBufferSize) {
+
+        return go(in, out, maxBufferSize);
+    }
 }
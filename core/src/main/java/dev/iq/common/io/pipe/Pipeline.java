@@ -0,0 +1,206 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import dev.iq.common.fp.Io;
+import dev.iq.common.io.stream.SegmentedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Pipe that passes the bytes read through a chain of transform stages before writing them, such as
+ * checksums, compression, byte counts, size limits and throttling. Each chunk read is handed down
+ * the chain in a single pass: stages that only observe the data pass the same buffer on, and only
+ * stages that transform it (compression) fill a buffer of their own. <br>
+ * Stages are created afresh for every operation, so a pipeline can be reused and shared between
+ * threads. The results of an operation, such as checksums and counts recorded by the stages,
+ * together with the bytes read and written and the elapsed time, are returned by run(). Instances
+ * are created with Pipes.pipeline(). <br>
+ * This implementation does not close the streams passed in.
+ */
+public final class Pipeline implements Pipe<byte[], InputStream, OutputStream> {
+
+    /** Size of the chunks read unless otherwise specified. */
+    static final int DEFAULT_CHUNK_LENGTH = 64 * 1024;
+
+    /** Creates the stages, in order, for each operation. */
+    private final List<Supplier<? extends Stage>> stages;
+
+    /**
+     * Creates a pipeline.
+     *
+     * @param stages Creates the stages in the order data passes through them
+     */
+    Pipeline(final List<Supplier<? extends Stage>> stages) {
+
+        this.stages = List.copyOf(stages);
+    }
+
+    /**
+     * Pipes all data from the input through the stages to the output.
+     *
+     * @param in Stream to read
+     * @param out Stream to write
+     * @return PipelineResult Sizes, elapsed time and the values recorded by the stages
+     */
+    public PipelineResult run(final InputStream in, final OutputStream out) {
+
+        return run(in, out, DEFAULT_CHUNK_LENGTH);
+    }
+
+    /**
+     * Pipes all data from the input through the stages to the output, reading chunks of the
+     * specified size.
+     *
+     * @param in Stream to read
+     * @param out Stream to write
+     * @param chunkLength Size of the chunks read
+     * @return PipelineResult Sizes, elapsed time and the values recorded by the stages
+     */
+    public PipelineResult run(final InputStream in, final OutputStream out, final int chunkLength) {
+
+        final var chain = new ArrayList<Stage>(stages.size());
+        try {
+            stages.forEach(stage -> chain.add(stage.get()));
+            return Io.withReturn(() -> run(chain, in, out, chunkLength));
+        } finally {
+            chain.forEach(Stage::close);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public byte[] read(final InputStream in) {
+
+        final var out = new SegmentedOutputStream();
+        run(in, out);
+        return out.toByteArray();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(final byte[] value, final OutputStream out) {
+
+        run(new ByteArrayInputStream(value), out);
+    }
+
+    /** {@inheritDoc} Reads chunks of the pipeline's default size. */
+    @Override
+    public long go(final InputStream in, final OutputStream out) {
+
+        return run(in, out).bytesRead();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long go(final InputStream in, final OutputStream out, final int bufferSize) {
+
+        return run(in, out, bufferSize).bytesRead();
+    }
+
+    /** Wires the stages together, pipes the data and collects the results. */
+    @SuppressWarnings("ReassignedVariable")
+    private static PipelineResult run(
+            final List<Stage> chain, final InputStream in, final OutputStream out, final int chunkLength)
+            throws IOException {
+
+        final var start = System.nanoTime();
+        final var written = new long[1];
+        final var outputs = new Output[chain.size() + 1];
+        outputs[chain.size()] = (buffer, offset, length) -> {
+            out.write(buffer, offset, length);
+            written[0] += length;
+        };
+        for (var i = chain.size() - 1; i >= 0; i--) {
+            final var stage = chain.get(i);
+            final var next = outputs[i + 1];
+            outputs[i] = (buffer, offset, length) -> stage.write(buffer, offset, length, next);
+        }
+        final var buffer = BufferPool.bytes().borrow(chunkLength);
+        try {
+            var read = 0L;
+            var count = in.read(buffer, 0, chunkLength);
+            while (count >= 0) {
+                if (count > 0) {
+                    outputs[0].write(buffer, 0, count);
+                    read += count;
+                }
+                count = in.read(buffer, 0, chunkLength);
+            }
+            for (var i = 0; i < chain.size(); i++) {
+                chain.get(i).finish(outputs[i + 1]);
+            }
+            out.flush();
+            final var values = new HashMap<String, Object>();
+            chain.forEach(stage -> stage.results(values));
+            return new PipelineResult(read, written[0], Duration.ofNanos(System.nanoTime() - start), values);
+        } finally {
+            BufferPool.bytes().release(buffer);
+        }
+    }
+
+    /**
+     * Step of a pipeline. A stage receives every chunk of data in order, and passes what it
+     * produces on to the next stage. It is created for a single operation and used from a single
+     * thread.
+     */
+    public interface Stage {
+
+        /**
+         * Processes a chunk, passing any output on. The buffer is only valid during the call, and
+         * may be passed on as is when the stage does not change the data.
+         *
+         * @param buffer Buffer holding the chunk
+         * @param offset Offset of the chunk in the buffer
+         * @param length Length of the chunk
+         * @param next Receives the output of this stage
+         * @throws IOException If the chunk cannot be processed
+         */
+        void write(byte[] buffer, int offset, int length, Output next) throws IOException;
+
+        /**
+         * Called once all data has been written, to pass on any output still held.
+         *
+         * @param next Receives the output of this stage
+         * @throws IOException If the remaining output cannot be produced
+         */
+        default void finish(final Output next) throws IOException {}
+
+        /**
+         * Adds the values recorded by this stage to the results, once the operation completes.
+         *
+         * @param values Values keyed by name
+         */
+        default void results(final Map<String, Object> values) {}
+
+        /** Releases any resources held by the stage, whether or not the operation completed. */
+        default void close() {}
+    }
+
+    /** Receives the output of a stage. */
+    @FunctionalInterface
+    public interface Output {
+
+        /**
+         * Accepts a chunk of output.
+         *
+         * @param buffer Buffer holding the chunk
+         * @param offset Offset of the chunk in the buffer
+         * @param length Length of the chunk
+         * @throws IOException If the chunk cannot be processed
+         */
+        void write(byte[] buffer, int offset, int length) throws IOException;
+    }
+}
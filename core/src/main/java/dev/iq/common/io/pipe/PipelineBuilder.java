@@ -0,0 +1,141 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import dev.iq.common.adt.Builder;
+import dev.iq.common.fp.Io;
+import dev.iq.common.io.pipe.Pipeline.Stage;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
+import java.util.zip.Deflater;
+
+/**
+ * Builds a Pipeline by adding stages in the order the data passes through them. For example, a
+ * pipeline that records the CRC32C of the raw data and the size of the compressed data is built
+ * with checksum("crc").deflate(Deflater.BEST_SPEED).count("compressed"). <br>
+ * Stages that record a value take the name the value is reported under in the PipelineResult.
+ * This type is not thread-safe, but the pipelines it builds are.
+ */
+public final class PipelineBuilder implements Builder<Pipeline> {
+
+    /** Creates the stages in order. */
+    private final List<Supplier<? extends Stage>> stages = new ArrayList<>();
+
+    /** Creates an empty builder; use Pipes.pipeline(). */
+    PipelineBuilder() {}
+
+    /** Adds a stage recording the CRC32C of the data under the specified name. */
+    public PipelineBuilder checksum(final String name) {
+
+        return checksum(name, CRC32C::new);
+    }
+
+    /** Adds a stage recording a checksum of the data under the specified name. */
+    public PipelineBuilder checksum(final String name, final Supplier<? extends Checksum> checksum) {
+
+        return stage(() -> new PipelineStages.ChecksumStage(name, checksum.get()));
+    }
+
+    /**
+     * Adds a stage recording the message digest of the data, as a byte[], under the specified name.
+     *
+     * @param name Name of the value recorded
+     * @param algorithm Digest algorithm, such as SHA-256
+     * @return PipelineBuilder This builder
+     */
+    public PipelineBuilder digest(final String name, final String algorithm) {
+
+        // Fail now rather than on first use if the algorithm is unknown
+        Io.withReturn(() -> MessageDigest.getInstance(algorithm));
+        return stage(
+                () -> new PipelineStages.DigestStage(name, Io.withReturn(() -> MessageDigest.getInstance(algorithm))));
+    }
+
+    /** Adds a stage recording the number of bytes reaching it under the specified name. */
+    public PipelineBuilder count(final String name) {
+
+        return stage(() -> new PipelineStages.CountStage(name));
+    }
+
+    /** Adds a stage that fails the operation if more than the specified number of bytes reach it. */
+    public PipelineBuilder limit(final long maxBytes) {
+
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Limit must not be negative");
+        }
+        return stage(() -> new PipelineStages.LimitStage(maxBytes));
+    }
+
+    /** Adds a stage that delays the data so that it passes no faster than the specified rate. */
+    public PipelineBuilder throttle(final long bytesPerSecond) {
+
+        if (bytesPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        // A limiter per run without burst, so each run is held to the rate from its first byte
+        return stage(() -> new PipelineStages.ThrottleStage(new BandwidthLimiter(bytesPerSecond, 1L)));
+    }
+
+    /**
+     * Adds a stage that delays the data so that, together with every other pipe sharing the
+     * limiter, it passes no faster than the limiter's rate.
+     *
+     * @param limiter Limiter shared by the pipes whose combined rate is bounded
+     * @return PipelineBuilder This builder
+     */
+    public PipelineBuilder throttle(final BandwidthLimiter limiter) {
+
+        Objects.requireNonNull(limiter);
+        return stage(() -> new PipelineStages.ThrottleStage(limiter));
+    }
+
+    /** Adds a stage compressing the data (zlib format) with the default level. */
+    public PipelineBuilder deflate() {
+
+        return deflate(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /** Adds a stage compressing the data (zlib format) with the specified level. */
+    public PipelineBuilder deflate(final int level) {
+
+        if ((level < Deflater.DEFAULT_COMPRESSION) || (level > Deflater.BEST_COMPRESSION)) {
+            throw new IllegalArgumentException("Invalid compression level %d".formatted(level));
+        }
+        return stage(() -> new PipelineStages.DeflateStage(level));
+    }
+
+    /** Adds a stage decompressing data in zlib format. */
+    public PipelineBuilder inflate() {
+
+        return stage(PipelineStages.InflateStage::new);
+    }
+
+    /**
+     * Adds a custom stage. The supplier is called for every operation, so that each has its own
+     * stage.
+     *
+     * @param stage Creates the stage
+     * @return PipelineBuilder This builder
+     */
+    public PipelineBuilder stage(final Supplier<? extends Stage> stage) {
+
+        stages.add(stage);
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Pipeline build() {
+
+        return new Pipeline(stages);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Results of a single pass through a Pipeline.
+ *
+ * @param bytesRead Number of bytes read from the input
+ * @param bytesWritten Number of bytes written to the output
+ * @param elapsed Time taken by the whole operation
+ * @param values Values recorded by the stages, keyed by the names given when building
+ */
+public record PipelineResult(long bytesRead, long bytesWritten, Duration elapsed, Map<String, Object> values) {
+
+    /** Copies the values so that the result is immutable. */
+    public PipelineResult {
+
+        values = Map.copyOf(values);
+    }
+
+    /** Returns a numeric value recorded by a stage, such as a checksum or a count. */
+    public long getLong(final String name) {
+
+        return get(name, Long.class);
+    }
+
+    /** Returns a byte[] value recorded by a stage, such as a message digest. */
+    public byte[] getBytes(final String name) {
+
+        return get(name, byte[].class).clone();
+    }
+
+    /** Returns a value of the specified type, or throws if there is none. */
+    private <T> T get(final String name, final Class<T> type) {
+
+        final var value = values.get(name);
+        if (!type.isInstance(value)) {
+            throw new IllegalArgumentException("No %s value named %s".formatted(type.getSimpleName(), name));
+        }
+        return type.cast(value);
+    }
+}
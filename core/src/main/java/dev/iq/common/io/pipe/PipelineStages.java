@@ -0,0 +1,315 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import dev.iq.common.io.pipe.Pipeline.Output;
+import dev.iq.common.io.pipe.Pipeline.Stage;
+import java.io.EOFException;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.zip.Checksum;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/** Stages provided by PipelineBuilder. */
+final class PipelineStages {
+
+    /** Size of the output buffer of the compression stages. */
+    static final int OUTPUT_LENGTH = 64 * 1024;
+
+    /** Type contains only static members. */
+    private PipelineStages() {}
+
+    /** Updates a checksum with the data and records its value. */
+    static final class ChecksumStage implements Stage {
+
+        /** Name of the value recorded. */
+        private final String name;
+
+        /** Checksum updated. */
+        private final Checksum checksum;
+
+        /**
+         * Creates a stage.
+         *
+         * @param name Name of the value recorded
+         * @param checksum Checksum to update
+         */
+        ChecksumStage(final String name, final Checksum checksum) {
+
+            this.name = name;
+            this.checksum = checksum;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void write(final byte[] buffer, final int offset, final int length, final Output next)
+                throws IOException {
+
+            checksum.update(buffer, offset, length);
+            next.write(buffer, offset, length);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void results(final Map<String, Object> values) {
+
+            values.put(name, checksum.getValue());
+        }
+    }
+
+    /** Updates a message digest with the data and records its value. */
+    static final class DigestStage implements Stage {
+
+        /** Name of the value recorded. */
+        private final String name;
+
+        /** Digest updated. */
+        private final MessageDigest digest;
+
+        /**
+         * Creates a stage.
+         *
+         * @param name Name of the value recorded
+         * @param digest Digest to update
+         */
+        DigestStage(final String name, final MessageDigest digest) {
+
+            this.name = name;
+            this.digest = digest;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void write(final byte[] buffer, final int offset, final int length, final Output next)
+                throws IOException {
+
+            digest.update(buffer, offset, length);
+            next.write(buffer, offset, length);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void results(final Map<String, Object> values) {
+
+            values.put(name, digest.digest());
+        }
+    }
+
+    /** Counts the bytes passing through and records the count. */
+    static final class CountStage implements Stage {
+
+        /** Name of the value recorded. */
+        private final String name;
+
+        /** Bytes counted so far. */
+        private long count = 0L;
+
+        /**
+         * Creates a stage.
+         *
+         * @param name Name of the value recorded
+         */
+        CountStage(final String name) {
+
+            this.name = name;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void write(final byte[] buffer, final int offset, final int length, final Output next)
+                throws IOException {
+
+            count += length;
+            next.write(buffer, offset, length);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void results(final Map<String, Object> values) {
+
+            values.put(name, count);
+        }
+    }
+
+    /** Fails the operation once more than a maximum number of bytes passes through. */
+    static final class LimitStage implements Stage {
+
+        /** Largest number of bytes allowed. */
+        private final long limit;
+
+        /** Bytes passed so far. */
+        private long count = 0L;
+
+        /**
+         * Creates a stage.
+         *
+         * @param limit Largest number of bytes allowed
+         */
+        LimitStage(final long limit) {
+
+            this.limit = limit;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void write(final byte[] buffer, final int offset, final int length, final Output next)
+                throws IOException {
+
+            count += length;
+            if (count > limit) {
+                throw new IOException("Size limit of %d bytes exceeded".formatted(limit));
+            }
+            next.write(buffer, offset, length);
+        }
+    }
+
+    /** Delays the data so that it passes no faster than a given rate. */
+    static final class ThrottleStage implements Stage {
+
+        /** Limiter the data is counted against. */
+        private final BandwidthLimiter limiter;
+
+        /**
+         * Creates a stage.
+         *
+         * @param limiter Limiter the data is counted against, possibly shared with other pipes
+         */
+        ThrottleStage(final BandwidthLimiter limiter) {
+
+            this.limiter = limiter;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void write(final byte[] buffer, final int offset, final int length, final Output next)
+                throws IOException {
+
+            try {
+                limiter.acquire(length);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while throttling", e);
+            }
+            next.write(buffer, offset, length);
+        }
+    }
+
+    /** Compresses the data with a Deflater (zlib format). */
+    static final class DeflateStage implements Stage {
+
+        /** Compressor. */
+        private final Deflater deflater;
+
+        /** Buffer the compressed data is written to. */
+        private final byte[] output = BufferPool.bytes().borrow(OUTPUT_LENGTH);
+
+        /**
+         * Creates a stage.
+         *
+         * @param level Compression level (0-9 or Deflater.DEFAULT_COMPRESSION)
+         */
+        DeflateStage(final int level) {
+
+            deflater = new Deflater(level);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void write(final byte[] buffer, final int offset, final int length, final Output next)
+                throws IOException {
+
+            deflater.setInput(buffer, offset, length);
+            while (!deflater.needsInput()) {
+                drain(next);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void finish(final Output next) throws IOException {
+
+            deflater.finish();
+            while (!deflater.finished()) {
+                drain(next);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() {
+
+            deflater.end();
+            BufferPool.bytes().release(output);
+        }
+
+        /** Passes on whatever the deflater produces. */
+        private void drain(final Output next) throws IOException {
+
+            final var count = deflater.deflate(output);
+            if (count > 0) {
+                next.write(output, 0, count);
+            }
+        }
+    }
+
+    /** Decompresses data in zlib format with an Inflater. */
+    static final class InflateStage implements Stage {
+
+        /** Decompressor. */
+        private final Inflater inflater = new Inflater();
+
+        /** Buffer the decompressed data is written to. */
+        private final byte[] output = BufferPool.bytes().borrow(OUTPUT_LENGTH);
+
+        /** {@inheritDoc} */
+        @Override
+        public void write(final byte[] buffer, final int offset, final int length, final Output next)
+                throws IOException {
+
+            if (inflater.finished()) {
+                throw new ZipException("Data after the end of the compressed stream");
+            }
+            inflater.setInput(buffer, offset, length);
+            try {
+                while (!inflater.needsInput() && !inflater.finished()) {
+                    final var count = inflater.inflate(output);
+                    if (count > 0) {
+                        next.write(output, 0, count);
+                    } else if (inflater.needsDictionary()) {
+                        throw new ZipException("Compressed stream needs a preset dictionary");
+                    }
+                }
+                if (inflater.finished() && (inflater.getRemaining() > 0)) {
+                    throw new ZipException("Data after the end of the compressed stream");
+                }
+            } catch (final DataFormatException e) {
+                throw new ZipException(e.getMessage());
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void finish(final Output next) throws IOException {
+
+            if (!inflater.finished()) {
+                throw new EOFException("Unexpected end of the compressed stream");
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() {
+
+            inflater.end();
+            BufferPool.bytes().release(output);
+        }
+    }
+}
@@ -6,11 +6,16 @@
 
 package dev.iq.common.io.pipe;
 
+import dev.iq.common.event.Listener;
 import dev.iq.common.fp.Fn0;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -68,13 +73,42 @@ public final class Pipes {
         return new StringSupplierPipe();
     }
 
+    /**
+     * Returns a pipe that reads bytes in one charset from an InputStream and writes them, converted
+     * to another charset, to an OutputStream. Values are Strings decoded from the source charset
+     * and encoded to the target charset. Conversion uses pooled buffers without intermediate
+     * Strings, with fast paths for ASCII, ISO-8859-1 and UTF-8. Malformed input is replaced. <br>
+     * The pipe will not close the streams passed into its operations.
+     *
+     * @param source Charset of the bytes read
+     * @param target Charset of the bytes written
+     * @return Pipe Pipe to use
+     */
+    public static Pipe<String, InputStream, OutputStream> transcode(final Charset source, final Charset target) {
+
+        return new TranscodingPipe(source, target);
+    }
+
+    /**
+     * Returns a pipe that decodes Strings from an InputStream and encodes them to an OutputStream in
+     * the specified charset, without the overhead of InputStreamReader and OutputStreamWriter. <br>
+     * The pipe will not close the streams passed into its operations.
+     *
+     * @param charset Charset of the bytes read and written
+     * @return Pipe Pipe to use
+     */
+    public static Pipe<String, InputStream, OutputStream> charset(final Charset charset) {
+
+        return new TranscodingPipe(charset, charset);
+    }
+
     /**
      * Returns a "reverse" Pipe where data is "read" from an output stream and "written" to an input
      * stream. This is useful in a number of situations, such as where one is producing output on
      * the fly that needs to be read in by another process. <br>
-     * Note that this implementation uses PipedInputStream and PipedOutputStream, so an extra thread
-     * is created transparently in the background to buffer the output and input. This thread does
-     * not need to be separately managed. <br>
+     * Note that the producer runs on a virtual thread created for each operation, handing data over
+     * through a lock-free ring buffer. Exceptions thrown by the producer are rethrown to the reader.
+     * This thread does not need to be separately managed. <br>
      * The pipe will not close the streams passed into its operations.
      *
      * @return Pipe Pipe to use
@@ -83,4 +117,129 @@ public final class Pipes {
 
         return new ReversePipe();
     }
+
+    /**
+     * Returns a "reverse" Pipe as above, buffering up to the specified number of bytes between the
+     * producer and the reader. A larger capacity lets a bursty producer run further ahead.
+     *
+     * @param capacity Ring buffer capacity in bytes, rounded up to a power of two
+     * @return Pipe Pipe to use
+     */
+    public static Pipe<byte[], Consumer<OutputStream>, Function<InputStream, Long>> reverse(final int capacity) {
+
+        return new ReversePipe(capacity);
+    }
+
+    /**
+     * Returns a pipe that works like bytes() but holds the data to the rate of the limiter. The
+     * limiter may be shared by any number of pipes, running at the same time, whose combined rate
+     * it then bounds; this suits background transfers that must not starve foreground work. <br>
+     * The pipe will not close the streams passed into its operations.
+     *
+     * @param limiter Limiter the data is counted against
+     * @return Pipe Pipe to use
+     */
+    public static Pipe<byte[], InputStream, OutputStream> throttled(final BandwidthLimiter limiter) {
+
+        return new ThrottledPipe(limiter);
+    }
+
+    /**
+     * Returns a pipe that reads from a ReadableByteChannel, writes to a WritableByteChannel and
+     * operates with byte[] values. When either side is a FileChannel the data is moved with
+     * transferTo/transferFrom so the kernel can copy it without passing through the Java heap;
+     * otherwise a direct buffer is used. <br>
+     * The pipe will not close the channels passed into its operations.
+     *
+     * @return Pipe Pipe to use
+     */
+    public static Pipe<byte[], ReadableByteChannel, WritableByteChannel> channels() {
+
+        return new ChannelPipe();
+    }
+
+    /**
+     * Returns a pipe that reads from a file, writes to a file and operates with byte[] values. File
+     * to file copies are moved with FileChannel.transferTo. The target file is created or
+     * truncated. <br>
+     * The pipe will close the files passed into its operations.
+     *
+     * @return Pipe Pipe to use
+     */
+    public static Pipe<byte[], Path, Path> paths() {
+
+        return new PathPipe();
+    }
+
+    /**
+     * Returns a pipe that copies a file to a file by splitting it into ranges copied concurrently
+     * with positional reads and writes, one worker per processor. This suits very large files on
+     * storage that serves many requests in parallel. The target file is created or truncated,
+     * preallocated, and verified once the copy completes. <br>
+     * The pipe will close the files passed into its operations.
+     *
+     * @return Pipe Pipe to use
+     */
+    public static Pipe<byte[], Path, Path> pathsParallel() {
+
+        return pathsParallel(Runtime.getRuntime().availableProcessors(), progress -> true);
+    }
+
+    /**
+     * Returns a pipe that copies a file to a file by splitting it into ranges copied concurrently,
+     * as above, with the specified number of workers. The listener is notified as each range
+     * completes; notifications are never concurrent. <br>
+     * The pipe will close the files passed into its operations.
+     *
+     * @param parallelism Maximum number of ranges copied at the same time
+     * @param listener Listener notified of the progress of each copy
+     * @return Pipe Pipe to use
+     */
+    public static Pipe<byte[], Path, Path> pathsParallel(final int parallelism, final Listener<CopyProgress> listener) {
+
+        return new ParallelPathPipe(parallelism, ParallelPathPipe.DEFAULT_RANGE_LENGTH, listener);
+    }
+
+    /**
+     * Returns a pipe that copies a file to a file so that a copy that fails part way can be resumed
+     * by running it again. Every 64 MB the target is forced to storage and a checkpoint of the
+     * offset and a CRC32C of the data so far is written beside it. A later copy to the same target
+     * validates the checkpoint against the source and the target and resumes from its offset,
+     * otherwise it starts over. The checkpoint is deleted when the copy completes. <br>
+     * The pipe will close the files passed into its operations.
+     *
+     * @return Pipe Pipe to use
+     */
+    public static Pipe<byte[], Path, Path> pathsResumable() {
+
+        return pathsResumable(ResumablePathPipe.DEFAULT_CHECKPOINT_INTERVAL, progress -> true);
+    }
+
+    /**
+     * Returns a pipe that copies a file to a file resumably, as above, checkpointing after the
+     * specified number of bytes. The listener is notified after each checkpoint and when the copy
+     * completes. <br>
+     * The pipe will close the files passed into its operations.
+     *
+     * @param checkpointInterval Number of bytes copied between checkpoints
+     * @param listener Listener notified of the progress of each copy
+     * @return Pipe Pipe to use
+     */
+    public static Pipe<byte[], Path, Path> pathsResumable(
+            final long checkpointInterval, final Listener<CopyProgress> listener) {
+
+        return new ResumablePathPipe(checkpointInterval, listener);
+    }
+
+    /**
+     * Returns a builder for a pipeline: a pipe that passes the data through a chain of stages, such
+     * as checksums, compression, counts, size limits and throttling, in a single pass. <br>
+     * The pipelines built will not close the streams passed into their operations.
+     *
+     * @return PipelineBuilder Builder to add stages to
+     */
+    public static PipelineBuilder pipeline() {
+
+        return new PipelineBuilder();
+    }
 }
@@ -0,0 +1,181 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import static dev.iq.common.io.IoConstants.INT_MASK;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * InputStream over the buffers of a Flow.Publisher. The stream subscribes with a fixed prefetch
+ * and requests one more buffer each time it has read one, so no more than the prefetch is ever
+ * held in memory. Reads block until a buffer arrives; a failure of the publisher is thrown by the
+ * read that reaches it. Closing the stream cancels the subscription. <br>
+ * The stream must be read from a single thread.
+ */
+final class PublisherInputStream extends InputStream implements Flow.Subscriber<ByteBuffer> {
+
+    /** Marks the end of the buffers in the queue. */
+    private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+    /** Number of buffers requested ahead of the reader. */
+    private final int prefetch;
+
+    /** Buffers received but not yet read, followed by END once the publisher terminates. */
+    private final BlockingQueue<ByteBuffer> queue = new LinkedBlockingQueue<>();
+
+    /** Subscription, once received. */
+    private final CompletableFuture<Flow.Subscription> subscription = new CompletableFuture<>();
+
+    /** Failure reported by the publisher, if any; set before END is queued. */
+    private volatile Throwable failure = null;
+
+    /** Buffer being read, or null before the first. */
+    private ByteBuffer current = null;
+
+    /** Whether END has been reached. */
+    private boolean ended = false;
+
+    /** Whether the stream has been closed. */
+    private boolean closed = false;
+
+    /**
+     * Creates a stream; it must then be subscribed to a publisher.
+     *
+     * @param prefetch Number of buffers requested ahead of the reader
+     */
+    PublisherInputStream(final int prefetch) {
+
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("Prefetch must be positive");
+        }
+        this.prefetch = prefetch;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onSubscribe(final Flow.Subscription value) {
+
+        if (subscription.complete(value)) {
+            value.request(prefetch);
+        } else {
+            value.cancel();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onNext(final ByteBuffer item) {
+
+        queue.add(item);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onError(final Throwable throwable) {
+
+        failure = throwable;
+        queue.add(END);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onComplete() {
+
+        queue.add(END);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read() throws IOException {
+
+        return next() ? (current.get() & INT_MASK) : -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read(final byte @NotNull [] buffer, final int offset, final int length) throws IOException {
+
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        if (length == 0) {
+            return 0;
+        }
+        if (!next()) {
+            return -1;
+        }
+        final var count = Math.min(length, current.remaining());
+        current.get(buffer, offset, count);
+        return count;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int available() {
+
+        return ((current == null) || closed) ? 0 : current.remaining();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+
+        if (!closed) {
+            closed = true;
+            subscription.thenAccept(Flow.Subscription::cancel);
+            queue.clear();
+            current = null;
+        }
+    }
+
+    /** Makes sure the current buffer has data, waiting for the next one; false at the end. */
+    private boolean next() throws IOException {
+
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        while ((current == null) || !current.hasRemaining()) {
+            if (ended) {
+                return false;
+            }
+            final var item = take();
+            if (item == END) {
+                ended = true;
+                final var cause = failure;
+                if (cause != null) {
+                    throw new IOException("Publisher failed", cause);
+                }
+                return false;
+            }
+            if (current != null) {
+                // The previous buffer has been read, so there is room for one more
+                subscription.join().request(1);
+            }
+            current = item;
+        }
+        return true;
+    }
+
+    /** Waits for the next buffer. */
+    private ByteBuffer take() throws InterruptedIOException {
+
+        try {
+            return queue.take();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the publisher");
+        }
+    }
+}
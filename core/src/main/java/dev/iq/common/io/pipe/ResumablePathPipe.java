@@ -0,0 +1,281 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import dev.iq.common.event.Listener;
+import dev.iq.common.fp.Io;
+import dev.iq.common.log.Log;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Pipe implementation that copies a file to a file so that an interrupted copy can be resumed.
+ * While copying, a small checkpoint holding the offset reached and a CRC32C of everything copied
+ * so far is written beside the target (the target name plus CHECKPOINT_SUFFIX) at a fixed
+ * interval, after the target has been forced to storage. <br>
+ * When a copy starts and a checkpoint exists, it is validated: the source must have the same size
+ * and modification time, and the CRC32C of the target up to the offset must match. The copy then
+ * resumes from that offset; otherwise it starts again from the beginning. The checkpoint is
+ * deleted once the copy completes. <br>
+ * This implementation opens and fully closes the files passed in.
+ */
+final class ResumablePathPipe implements Pipe<byte[], Path, Path> {
+
+    /** Suffix appended to the target file name to name its checkpoint. */
+    static final String CHECKPOINT_SUFFIX = ".checkpoint";
+
+    /** Default number of bytes copied between checkpoints. (64 MB) */
+    static final long DEFAULT_CHECKPOINT_INTERVAL = 64L * 1024 * 1024;
+
+    /** Smallest chunk copied at once, whatever the buffer size requested. */
+    private static final int MIN_CHUNK_LENGTH = 64 * 1024;
+
+    /** Marks a checkpoint file and its format version. */
+    private static final long MAGIC = 0x6971_6370_0000_0001L;
+
+    /** Number of long values in a checkpoint. */
+    private static final int CHECKPOINT_LONGS = 5;
+
+    /** Pipe used for reads and writes, which have nothing to resume. */
+    private final PathPipe pipe = new PathPipe();
+
+    /** Number of bytes copied between checkpoints. */
+    private final long checkpointInterval;
+
+    /** Notified after each checkpoint and when the copy completes. */
+    private final Listener<CopyProgress> listener;
+
+    /**
+     * Creates a pipe.
+     *
+     * @param checkpointInterval Number of bytes copied between checkpoints
+     * @param listener Notified after each checkpoint and when the copy completes
+     */
+    ResumablePathPipe(final long checkpointInterval, final Listener<CopyProgress> listener) {
+
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        this.checkpointInterval = checkpointInterval;
+        this.listener = listener;
+    }
+
+    /** Returns the checkpoint file of the specified target. */
+    static Path checkpointOf(final Path target) {
+
+        return target.resolveSibling(target.getFileName() + CHECKPOINT_SUFFIX);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public byte[] read(final Path in) {
+
+        return pipe.read(in);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(final byte[] value, final Path out) {
+
+        pipe.write(value, out);
+    }
+
+    /**
+     * {@inheritDoc} The buffer size is the size of each read, with a minimum. The count returned is
+     * the number of bytes copied by this call, which is less than the file size when it resumes.
+     */
+    @Override
+    public long go(final Path in, final Path out, final int bufferSize) {
+
+        final var chunkLength = Math.max(bufferSize, MIN_CHUNK_LENGTH);
+        return Io.withReturn(() -> {
+            try (var source = FileChannel.open(in, StandardOpenOption.READ);
+                    var target = FileChannel.open(
+                            out, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                final var copy = new Copy(source, target, checkpointOf(out), source.size(), lastModified(in));
+                final var buffer = BufferPool.direct().borrow(chunkLength);
+                try {
+                    return copy(copy, resume(copy, buffer), buffer);
+                } finally {
+                    BufferPool.direct().release(buffer);
+                }
+            }
+        });
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long goAdaptive(final Path in, final Path out, final int maxBufferSize) {
+
+        return go(in, out, maxBufferSize);
+    }
+
+    /** Copies from the offset to the end, checkpointing at each interval, and returns the bytes copied. */
+    @SuppressWarnings("ReassignedVariable")
+    private long copy(final Copy copy, final long offset, final ByteBuffer buffer) throws IOException {
+
+        final var total = copy.sourceSize;
+        var position = offset;
+        var nextCheckpoint = position + checkpointInterval;
+        while (position < total) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), total - position));
+            final var read = copy.source.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Source ended at %d of %d bytes".formatted(position, total));
+            }
+            copy.crc.update(buffer.flip().duplicate());
+            var written = position;
+            while (buffer.hasRemaining()) {
+                written += copy.target.write(buffer, written);
+            }
+            position += read;
+            if ((position >= nextCheckpoint) && (position < total)) {
+                checkpoint(copy, position);
+                nextCheckpoint = position + checkpointInterval;
+                listener.notify(new CopyProgress(position, total));
+            }
+        }
+        // A longer target left by an earlier copy must not keep its tail
+        copy.target.truncate(total);
+        copy.target.force(false);
+        Files.deleteIfExists(copy.checkpoint);
+        listener.notify(new CopyProgress(total, total));
+        return total - offset;
+    }
+
+    /**
+     * Returns the offset to resume from and brings the checksum up to it. The offset is that of the
+     * checkpoint if it matches the source and the target; otherwise the checkpoint is discarded and
+     * the copy starts from the beginning.
+     */
+    private static long resume(final Copy copy, final ByteBuffer buffer) throws IOException {
+
+        if (!Files.exists(copy.checkpoint)) {
+            return 0L;
+        }
+        final var saved = readCheckpoint(copy.checkpoint);
+        if ((saved.length == CHECKPOINT_LONGS)
+                && (saved[0] == MAGIC)
+                && (saved[1] == copy.sourceSize)
+                && (saved[2] == copy.sourceModified)
+                && (saved[3] <= copy.target.size())) {
+            update(copy.crc, copy.target, saved[3], buffer);
+            if (copy.crc.getValue() == saved[4]) {
+                return saved[3];
+            }
+            copy.crc.reset();
+        }
+        Log.warn(ResumablePathPipe.class, () -> "Discarding checkpoint %s that does not match"
+                .formatted(copy.checkpoint));
+        Files.delete(copy.checkpoint);
+        return 0L;
+    }
+
+    /**
+     * Forces the target to storage and then records the offset and checksum, replacing the
+     * previous checkpoint atomically so that a crash leaves either the old or the new one.
+     */
+    private static void checkpoint(final Copy copy, final long offset) throws IOException {
+
+        copy.target.force(false);
+        final var values = ByteBuffer.allocate(CHECKPOINT_LONGS * Long.BYTES)
+                .putLong(MAGIC)
+                .putLong(copy.sourceSize)
+                .putLong(copy.sourceModified)
+                .putLong(offset)
+                .putLong(copy.crc.getValue());
+        final var temporary = copy.checkpoint.resolveSibling(copy.checkpoint.getFileName() + ".tmp");
+        Files.write(temporary, values.array());
+        Files.move(temporary, copy.checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Returns the values stored in a checkpoint, or an empty array if it is not one. */
+    private static long[] readCheckpoint(final Path checkpoint) throws IOException {
+
+        final var bytes = Files.readAllBytes(checkpoint);
+        if (bytes.length != (CHECKPOINT_LONGS * Long.BYTES)) {
+            return new long[0];
+        }
+        final var values = new long[CHECKPOINT_LONGS];
+        ByteBuffer.wrap(bytes).asLongBuffer().get(values);
+        return values;
+    }
+
+    /** Updates the checksum with the first bytes of the file. */
+    @SuppressWarnings("ReassignedVariable")
+    private static void update(final CRC32C crc, final FileChannel file, final long length, final ByteBuffer buffer)
+            throws IOException {
+
+        var position = 0L;
+        while (position < length) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), length - position));
+            final var read = file.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Target ended at %d of %d bytes".formatted(position, length));
+            }
+            crc.update(buffer.flip());
+            position += read;
+        }
+    }
+
+    /** Returns the modification time of the file in milliseconds. */
+    private static long lastModified(final Path path) throws IOException {
+
+        return Files.getLastModifiedTime(path).toMillis();
+    }
+
+    /** Channels, checkpoint and running checksum of a single copy. */
+    private static final class Copy {
+
+        /** File copied from. */
+        private final FileChannel source;
+
+        /** File copied to. */
+        private final FileChannel target;
+
+        /** Checkpoint file of the target. */
+        private final Path checkpoint;
+
+        /** Length of the source when the copy started. */
+        private final long sourceSize;
+
+        /** Modification time of the source when the copy started. */
+        private final long sourceModified;
+
+        /** Checksum of the bytes copied so far. */
+        private final CRC32C crc = new CRC32C();
+
+        /**
+         * Creates a copy.
+         *
+         * @param source File copied from
+         * @param target File copied to
+         * @param checkpoint Checkpoint file of the target
+         * @param sourceSize Length of the source
+         * @param sourceModified Modification time of the source
+         */
+        Copy(
+                final FileChannel source,
+                final FileChannel target,
+                final Path checkpoint,
+                final long sourceSize,
+                final long sourceModified) {
+
+            this.source = source;
+            this.target = target;
+            this.checkpoint = checkpoint;
+            this.sourceSize = sourceSize;
+            this.sourceModified = sourceModified;
+        }
+    }
+}
@@ -7,12 +7,10 @@
 package dev.iq.common.io.pipe;
 
 import dev.iq.common.fp.Io;
+import dev.iq.common.io.stream.SegmentedOutputStream;
 import dev.iq.common.log.Log;
-import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -20,31 +18,51 @@ import java.util.function.Function;
  * Returns a "reverse" Pipe where data is "read" from an output stream and "written" to an input
  * stream. This is useful in a number of situations, such as where one is producing output on the
  * fly that needs to be read in by another process. <br>
- * Note that this implementation uses PipedInputStream and PipedOutputStream, so an extra thread is
- * created transparently in the background to buffer the output and input. This thread does not need
- * to be separately managed. <br>
+ * The producer runs on a virtual thread created for each operation and hands its bytes to the
+ * caller through a lock-free ring buffer of configurable capacity, parking only while the ring is
+ * full or empty. The producer's stream is closed when it returns, and an exception it throws is
+ * rethrown to the reader. If the reader stops early, further writes by the producer fail rather
+ * than block. The thread does not need to be separately managed. <br>
  * The pipe will not close the streams passed into its operations.
  */
 final class ReversePipe implements Pipe<byte[], Consumer<OutputStream>, Function<InputStream, Long>> {
 
-    /** Output stream to "read" from. */
-    private final PipedOutputStream pipedOut = new PipedOutputStream();
-
-    /** Input stream to "write to. */
-    private final PipedInputStream pipedIn = new PipedInputStream();
+    /** Capacity of the ring buffer unless otherwise specified. */
+    static final int DEFAULT_CAPACITY = 64 * 1024;
 
     /** Delegate to use for operations. */
     private static final Pipe<byte[], InputStream, OutputStream> delegate = new BytesPipe();
 
+    /** Capacity of the ring buffer between producer and reader. */
+    private final int capacity;
+
+    /** Creates a pipe with the default capacity. */
+    ReversePipe() {
+
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a pipe buffering up to the specified number of bytes between producer and reader.
+     *
+     * @param capacity Ring buffer capacity, rounded up to a power of two
+     */
+    ReversePipe(final int capacity) {
+
+        if ((capacity <= 0) || (capacity > RingBuffer.MAX_CAPACITY)) {
+            throw new IllegalArgumentException("Capacity must be between 1 and %d".formatted(RingBuffer.MAX_CAPACITY));
+        }
+        this.capacity = capacity;
+    }
+
     /** {@inheritDoc} */
     @Override
     public byte[] read(final Consumer<OutputStream> in) {
 
         return Io.withReturn(() -> {
-            try (var byteOut = new ByteArrayOutputStream()) {
-                go(in, i -> delegate.go(i, byteOut));
-                return byteOut.toByteArray();
-            }
+            final var byteOut = new SegmentedOutputStream();
+            go(in, i -> delegate.go(i, byteOut));
+            return byteOut.toByteArray();
         });
     }
 
@@ -55,17 +73,38 @@ final class ReversePipe implements Pipe<byte[], Consumer<OutputStream>, Function
         go(o -> delegate.write(value, o), out);
     }
 
-    /** {@inheritDoc} */
+    /**
+     * {@inheritDoc} The buffer size is ignored, as the bytes in flight are bounded by the capacity
+     * of the ring buffer given when the pipe was created.
+     */
     @Override
     public long go(final Consumer<OutputStream> in, final Function<InputStream, Long> out, final int bufferSize) {
 
-        final var writer = new Thread(() -> in.accept(pipedOut));
+        final var ring = new RingBuffer(capacity);
+        final var writer = Thread.ofVirtual().name("reverse-pipe-writer").start(() -> produce(in, ring));
         try {
-            Io.withVoid(() -> pipedIn.connect(pipedOut));
-            writer.start();
-            return out.apply(pipedIn);
+            return out.apply(ring.input());
         } finally {
+            ring.closeReader();
             Io.withVoid(writer::join, e -> Log.error(getClass(), () -> "Unable to join reverse pipe writer thread", e));
         }
     }
+
+    /**
+     * Runs the producer, then ends the data, recording any failure for the reader so that it is
+     * not mistaken for the end of the data. Errors are rethrown once recorded.
+     */
+    private static void produce(final Consumer<OutputStream> in, final RingBuffer ring) {
+
+        try {
+            in.accept(ring.output());
+        } catch (final Throwable t) {
+            ring.fail(t);
+            if (t instanceof final Error error) {
+                throw error;
+            }
+        } finally {
+            ring.closeWriter();
+        }
+    }
 }
@@ -0,0 +1,278 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Bounded byte queue between exactly one producer thread and one consumer thread. Neither side
+ * takes a lock: each only advances its own counter, and a side that finds the ring full or empty
+ * parks until the other side makes progress or closes. A failure recorded by the producer is
+ * rethrown to the consumer on its next read. <br>
+ * The producer writes through output() and the consumer reads through input(); each stream must
+ * only be used from a single thread.
+ */
+final class RingBuffer {
+
+    /** Largest capacity supported (the next power of two would overflow). */
+    static final int MAX_CAPACITY = 1 << 30;
+
+    /** Storage, with a power of two length so positions wrap with a mask. */
+    private final byte[] ring;
+
+    /** Mask to turn a position into an index. */
+    private final int mask;
+
+    /** Stream the producer writes to. */
+    private final OutputStream output = new RingOutputStream();
+
+    /** Stream the consumer reads from. */
+    private final InputStream input = new RingInputStream();
+
+    /** Total number of bytes read, only advanced by the consumer. */
+    private volatile long head = 0L;
+
+    /** Total number of bytes written, only advanced by the producer. */
+    private volatile long tail = 0L;
+
+    /** Whether the producer has finished; set after its last write. */
+    private volatile boolean writerClosed = false;
+
+    /** Whether the consumer has stopped reading. */
+    private volatile boolean readerClosed = false;
+
+    /** Failure of the producer, if any; set before the writer is closed. */
+    private volatile Throwable failure = null;
+
+    /** Consumer thread while it is parked waiting for data. */
+    private volatile Thread parkedReader = null;
+
+    /** Producer thread while it is parked waiting for space. */
+    private volatile Thread parkedWriter = null;
+
+    /**
+     * Creates a ring holding at least the specified number of bytes.
+     *
+     * @param capacity Minimum capacity, rounded up to a power of two
+     */
+    RingBuffer(final int capacity) {
+
+        if ((capacity <= 0) || (capacity > MAX_CAPACITY)) {
+            throw new IllegalArgumentException("Capacity must be between 1 and %d".formatted(MAX_CAPACITY));
+        }
+        ring = new byte[1 << (Integer.SIZE - Integer.numberOfLeadingZeros(capacity - 1))];
+        mask = ring.length - 1;
+    }
+
+    /** Returns the number of bytes the ring holds. */
+    int capacity() {
+
+        return ring.length;
+    }
+
+    /** Returns the stream the producer writes to; closing it ends the data. */
+    OutputStream output() {
+
+        return output;
+    }
+
+    /** Returns the stream the consumer reads from; closing it makes further writes fail. */
+    InputStream input() {
+
+        return input;
+    }
+
+    /** Records a producer failure and ends the data; the consumer's next read throws it. */
+    void fail(final Throwable cause) {
+
+        failure = cause;
+        closeWriter();
+    }
+
+    /** Ends the data, waking the consumer. */
+    void closeWriter() {
+
+        writerClosed = true;
+        unpark(parkedReader);
+    }
+
+    /** Stops the consumer, waking the producer so that it fails instead of waiting for space. */
+    void closeReader() {
+
+        readerClosed = true;
+        unpark(parkedWriter);
+    }
+
+    /** Waits until there is space at the position and returns how much, or throws if closed. */
+    @SuppressWarnings("ReassignedVariable")
+    private int awaitSpace(final long position) throws IOException {
+
+        var free = free(position);
+        if ((free == 0) && !readerClosed) {
+            parkedWriter = Thread.currentThread();
+            while (((free = free(position)) == 0) && !readerClosed) {
+                LockSupport.park(this);
+            }
+            parkedWriter = null;
+        }
+        if (readerClosed) {
+            throw new IOException("Reverse pipe reader closed");
+        }
+        if (writerClosed) {
+            throw new IOException("Reverse pipe writer closed");
+        }
+        return free;
+    }
+
+    /** Waits until there is data at the position and returns how much, or -1 at the end. */
+    @SuppressWarnings("ReassignedVariable")
+    private int awaitData(final long position) throws IOException {
+
+        if (readerClosed) {
+            throw new IOException("Reverse pipe reader closed");
+        }
+        var available = available(position);
+        if ((available == 0) && !writerClosed) {
+            parkedReader = Thread.currentThread();
+            while (((available = available(position)) == 0) && !writerClosed) {
+                LockSupport.park(this);
+            }
+            parkedReader = null;
+        }
+        final var cause = failure;
+        if (cause != null) {
+            throw new IOException("Reverse pipe writer failed", cause);
+        }
+        // The writer closes after its last write, so once closed the count read now is final
+        available = available(position);
+        return (available == 0) ? -1 : available;
+    }
+
+    /** Returns the number of bytes free for the producer at the position. */
+    private int free(final long position) {
+
+        return ring.length - (int) (position - head);
+    }
+
+    /** Returns the number of bytes available to the consumer at the position. */
+    private int available(final long position) {
+
+        return (int) (tail - position);
+    }
+
+    /** Wakes the thread, if any. */
+    private static void unpark(final Thread thread) {
+
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /** Producer side of the ring. */
+    private final class RingOutputStream extends OutputStream {
+
+        /** {@inheritDoc} */
+        @Override
+        public void write(final int value) throws IOException {
+
+            final var position = tail;
+            awaitSpace(position);
+            ring[(int) position & mask] = (byte) value;
+            tail = position + 1;
+            unpark(parkedReader);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        @SuppressWarnings("ReassignedVariable")
+        public void write(final byte @NotNull [] buffer, final int offset, final int length) throws IOException {
+
+            Objects.checkFromIndexSize(offset, length, buffer.length);
+            var from = offset;
+            var remaining = length;
+            while (remaining > 0) {
+                final var position = tail;
+                final var count = Math.min(awaitSpace(position), remaining);
+                final var index = (int) position & mask;
+                final var first = Math.min(count, ring.length - index);
+                System.arraycopy(buffer, from, ring, index, first);
+                System.arraycopy(buffer, from + first, ring, 0, count - first);
+                tail = position + count;
+                unpark(parkedReader);
+                from += count;
+                remaining -= count;
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() {
+
+            closeWriter();
+        }
+    }
+
+    /** Consumer side of the ring. */
+    private final class RingInputStream extends InputStream {
+
+        /** {@inheritDoc} */
+        @Override
+        public int read() throws IOException {
+
+            final var position = head;
+            if (awaitData(position) < 0) {
+                return -1;
+            }
+            final var value = ring[(int) position & mask] & 0xff;
+            head = position + 1;
+            unpark(parkedWriter);
+            return value;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int read(final byte @NotNull [] buffer, final int offset, final int length) throws IOException {
+
+            Objects.checkFromIndexSize(offset, length, buffer.length);
+            if (length == 0) {
+                return 0;
+            }
+            final var position = head;
+            final var available = awaitData(position);
+            if (available < 0) {
+                return -1;
+            }
+            final var count = Math.min(available, length);
+            final var index = (int) position & mask;
+            final var first = Math.min(count, ring.length - index);
+            System.arraycopy(ring, index, buffer, offset, first);
+            System.arraycopy(ring, 0, buffer, offset + first, count - first);
+            head = position + count;
+            unpark(parkedWriter);
+            return count;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int available() {
+
+            return RingBuffer.this.available(head);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() {
+
+            closeReader();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import dev.iq.common.fp.Io;
+import dev.iq.common.log.Log;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publisher of the chunks of a blocking source, such as an InputStream or a channel. A chunk is
+ * only read once the subscriber has requested it, so at most the requested number of chunks is
+ * ever held in memory. Reads run on the executor, one drain loop at a time, and never on the
+ * thread calling request(). <br>
+ * The publisher accepts a single subscriber. The source is closed once it is exhausted, fails or
+ * the subscription is cancelled, including by the subscriber throwing from onNext.
+ */
+final class StreamPublisher implements Flow.Publisher<ByteBuffer> {
+
+    /** Source of the chunks. */
+    private final Source source;
+
+    /** Runs the drain loop. */
+    private final Executor executor;
+
+    /** Whether a subscriber has been accepted. */
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * Creates a publisher.
+     *
+     * @param source Source of the chunks
+     * @param executor Runs the blocking reads
+     */
+    StreamPublisher(final Source source, final Executor executor) {
+
+        this.source = source;
+        this.executor = executor;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void subscribe(final Flow.Subscriber<? super ByteBuffer> subscriber) {
+
+        Objects.requireNonNull(subscriber);
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+
+                @Override
+                public void request(final long n) {}
+
+                @Override
+                public void cancel() {}
+            });
+            subscriber.onError(new IllegalStateException("Publisher accepts a single subscriber"));
+            return;
+        }
+        final var subscription = new StreamSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    /** Blocking source of chunks. */
+    interface Source extends Closeable {
+
+        /**
+         * Reads the next chunk, blocking until at least one byte is available.
+         *
+         * @return ByteBuffer Chunk read, ready to be read itself, or null at the end
+         * @throws IOException If the source cannot be read
+         */
+        ByteBuffer read() throws IOException;
+    }
+
+    /** Subscription that reads chunks as they are requested. */
+    private final class StreamSubscription implements Flow.Subscription {
+
+        /** Subscriber receiving the chunks. */
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+
+        /** Chunks requested but not yet delivered (Long.MAX_VALUE for unbounded). */
+        private final AtomicLong demand = new AtomicLong();
+
+        /** Number of signals to process; the drain loop runs while this is not 0. */
+        private final AtomicInteger pending = new AtomicInteger();
+
+        /** Whether the subscription has been cancelled. */
+        private volatile boolean cancelled = false;
+
+        /** Invalid request, reported by the drain loop. */
+        private volatile IllegalArgumentException invalid = null;
+
+        /** Whether a terminal signal has been sent; only used by the drain loop. */
+        private boolean done = false;
+
+        /**
+         * Creates a subscription.
+         *
+         * @param subscriber Subscriber receiving the chunks
+         */
+        StreamSubscription(final Flow.Subscriber<? super ByteBuffer> subscriber) {
+
+            this.subscriber = subscriber;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void request(final long n) {
+
+            if (n <= 0) {
+                invalid = new IllegalArgumentException("Request must be positive (3.9), was %d".formatted(n));
+            } else {
+                demand.getAndUpdate(d -> ((d + n) < 0) ? Long.MAX_VALUE : (d + n));
+            }
+            schedule();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void cancel() {
+
+            cancelled = true;
+            schedule();
+        }
+
+        /** Starts the drain loop unless it is already running. */
+        private void schedule() {
+
+            if (pending.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        /** Delivers chunks while there is demand, until the source ends or the subscriber leaves. */
+        @SuppressWarnings("ReassignedVariable")
+        private void drain() {
+
+            var missed = 1;
+            do {
+                while (!done) {
+                    if (cancelled) {
+                        terminate();
+                        break;
+                    }
+                    if (invalid != null) {
+                        terminate();
+                        subscriber.onError(invalid);
+                        break;
+                    }
+                    if (demand.get() == 0) {
+                        break;
+                    }
+                    final ByteBuffer chunk;
+                    try {
+                        chunk = source.read();
+                    } catch (final IOException | RuntimeException e) {
+                        terminate();
+                        subscriber.onError(e);
+                        break;
+                    }
+                    if (chunk == null) {
+                        terminate();
+                        subscriber.onComplete();
+                        break;
+                    }
+                    if (demand.get() != Long.MAX_VALUE) {
+                        demand.decrementAndGet();
+                    }
+                    if (!deliver(chunk)) {
+                        break;
+                    }
+                }
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * Passes the chunk to the subscriber, returning whether it accepted it. A subscriber that
+         * throws is treated as having cancelled (2.13): the subscription ends and the source is
+         * closed without further signals, and an Error is rethrown once it has.
+         */
+        private boolean deliver(final ByteBuffer chunk) {
+
+            try {
+                subscriber.onNext(chunk);
+                return true;
+            } catch (final Throwable t) {
+                cancelled = true;
+                terminate();
+                Log.warn(StreamPublisher.class, () -> "Subscriber failed in onNext; subscription cancelled", t);
+                if (t instanceof final Error error) {
+                    throw error;
+                }
+                return false;
+            }
+        }
+
+        /** Marks the subscription done and closes the source. */
+        private void terminate() {
+
+            done = true;
+            Io.withVoid(
+                    source::close, e -> Log.warn(StreamPublisher.class, () -> "Unable to close publisher source", e));
+        }
+    }
+}
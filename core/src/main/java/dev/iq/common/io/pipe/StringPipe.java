@@ -6,6 +6,8 @@
 
 package dev.iq.common.io.pipe;
 
+import static dev.iq.common.io.IoConstants.DEFAULT_BUFFER_LENGTH;
+
 import dev.iq.common.fp.Io;
 import java.io.Reader;
 import java.io.StringReader;
@@ -43,22 +45,53 @@ final class StringPipe implements Pipe<String, Reader, Writer> {
 
     /** {@inheritDoc} */
     @Override
-    @SuppressWarnings("ReassignedVariable")
     public long go(final Reader reader, final Writer writer, final int bufferSize) {
 
+        return go(reader, writer, new BufferSizer(bufferSize, bufferSize));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long goAdaptive(final Reader reader, final Writer writer, final int maxBufferSize) {
+
+        return go(reader, writer, new BufferSizer(Math.min(DEFAULT_BUFFER_LENGTH, maxBufferSize), maxBufferSize));
+    }
+
+    /**
+     * Pipes all data using a pooled buffer whose size is chosen by the sizer.
+     *
+     * @param reader Reader to read
+     * @param writer Writer to write
+     * @param sizer Chooses the buffer size
+     * @return long Total number of chars piped
+     */
+    @SuppressWarnings("ReassignedVariable")
+    long go(final Reader reader, final Writer writer, final BufferSizer sizer) {
+
         return Io.withReturn(() -> {
-            var total = 0L;
-            final var buffer = new char[bufferSize];
-            var bytesRead = reader.read(buffer);
-            while (bytesRead >= 0) {
-                if (bytesRead > 0) {
-                    writer.write(buffer, 0, bytesRead);
-                    total += bytesRead;
+            var buffer = BufferPool.chars().borrow(sizer.size());
+            try {
+                var total = 0L;
+                var started = sizer.start();
+                var charsRead = reader.read(buffer, 0, sizer.size());
+                while (charsRead >= 0) {
+                    if (charsRead > 0) {
+                        writer.write(buffer, 0, charsRead);
+                        total += charsRead;
+                    }
+                    if (sizer.record(charsRead, started) && (buffer.length < sizer.size())) {
+                        final var larger = BufferPool.chars().borrow(sizer.size());
+                        BufferPool.chars().release(buffer);
+                        buffer = larger;
+                    }
+                    started = sizer.start();
+                    charsRead = reader.read(buffer, 0, sizer.size());
                 }
-                bytesRead = reader.read(buffer);
+                writer.flush();
+                return total;
+            } finally {
+                BufferPool.chars().release(buffer);
             }
-            writer.flush();
-            return total;
         });
     }
 }
@@ -54,4 +54,17 @@ final class StringSupplierPipe implements Pipe<String, Fn0<? extends Reader>, Fn
             }
         });
     }
+
+    /** {@inheritDoc} */
+    @Override
+    public long goAdaptive(
+            final Fn0<? extends Reader> reader, final Fn0<? extends Writer> writer, final int maxBufferSize) {
+
+        return Io.withReturn(() -> {
+            try (var r = reader.get();
+                    var w = writer.get()) {
+                return delegate.goAdaptive(r, w, maxBufferSize);
+            }
+        });
+    }
 }
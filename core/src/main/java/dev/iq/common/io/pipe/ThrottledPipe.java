@@ -0,0 +1,137 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Pipe implementation that works like BytesPipe but counts every byte read against a bandwidth
+ * limiter, which may be shared with other pipes so that their combined rate stays within its
+ * budget. Since the limiter is charged as the data is read, the writes follow at the same rate.
+ * <br>
+ * This implementation does not close the streams passed in.
+ */
+final class ThrottledPipe implements Pipe<byte[], InputStream, OutputStream> {
+
+    /** Pipe doing the copying. */
+    private final BytesPipe bytes = new BytesPipe();
+
+    /** Limiter the data is counted against. */
+    private final BandwidthLimiter limiter;
+
+    /**
+     * Creates a pipe.
+     *
+     * @param limiter Limiter the data is counted against
+     */
+    ThrottledPipe(final BandwidthLimiter limiter) {
+
+        this.limiter = Objects.requireNonNull(limiter);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public byte[] read(final InputStream in) {
+
+        return bytes.read(new ThrottledInputStream(in));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(final byte[] value, final OutputStream out) {
+
+        go(new ByteArrayInputStream(value), out);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long go(final InputStream in, final OutputStream out, final int bufferSize) {
+
+        return bytes.go(new ThrottledInputStream(in), out, bufferSize);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long goAdaptive(final InputStream in, final OutputStream out, final int maxBufferSize) {
+
+        return bytes.goAdaptive(new ThrottledInputStream(in), out, maxBufferSize);
+    }
+
+    /** Input stream charging the limiter for every byte read. Closing it does not close the source. */
+    private final class ThrottledInputStream extends FilterInputStream {
+
+        /**
+         * Creates a stream.
+         *
+         * @param in Stream to read
+         */
+        ThrottledInputStream(final InputStream in) {
+
+            super(in);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int read() throws IOException {
+
+            final var value = in.read();
+            if (value >= 0) {
+                acquire(1);
+            }
+            return value;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int read(final byte @NotNull [] buffer, final int offset, final int length) throws IOException {
+
+            final var count = in.read(buffer, offset, length);
+            if (count > 0) {
+                acquire(count);
+            }
+            return count;
+        }
+
+        /** {@inheritDoc} Charges the limiter for the bytes skipped, as they are taken from the source. */
+        @Override
+        public long skip(final long count) throws IOException {
+
+            final var skipped = in.skip(count);
+            if (skipped > 0) {
+                acquire(skipped);
+            }
+            return skipped;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() {
+
+            // The source belongs to the caller
+        }
+
+        /** Waits until the limiter allows the bytes just read or skipped. */
+        private void acquire(final long count) throws InterruptedIOException {
+
+            try {
+                limiter.acquire(count);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                final var interrupted = new InterruptedIOException("Interrupted while throttling");
+                interrupted.initCause(e);
+                throw interrupted;
+            }
+        }
+    }
+}
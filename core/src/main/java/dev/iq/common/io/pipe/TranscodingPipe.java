@@ -0,0 +1,364 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import static dev.iq.common.io.IoConstants.DEFAULT_BUFFER_LENGTH;
+import static dev.iq.common.io.IoConstants.EMPTY_BYTE_ARRAY;
+import static dev.iq.common.io.IoConstants.INT_MASK;
+
+import dev.iq.common.fp.Io;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * Pipe implementation that reads bytes in a source charset from an InputStream and writes bytes in
+ * a target charset to an OutputStream, working with String values. The data is converted with a
+ * CharsetDecoder and CharsetEncoder over pooled byte and char buffers, so no intermediate String
+ * is created and there is none of the per-call overhead of InputStreamReader and
+ * OutputStreamWriter. Malformed and unmappable input is replaced, as those classes do. <br>
+ * Several cases avoid the decoder and encoder altogether: bytes are copied verbatim when both
+ * charsets are the same, a buffer of ASCII is copied as is between ASCII-compatible charsets
+ * (US-ASCII, ISO-8859-1 and UTF-8), and ISO-8859-1 is widened to chars or UTF-8 directly. <br>
+ * The number returned by go() is the number of bytes read. This implementation does not close the
+ * streams passed in.
+ */
+final class TranscodingPipe implements Pipe<String, InputStream, OutputStream> {
+
+    /** Charsets in which every ASCII char is encoded as the same single byte. */
+    private static final Set<Charset> ASCII_COMPATIBLE =
+            Set.of(StandardCharsets.US_ASCII, StandardCharsets.ISO_8859_1, StandardCharsets.UTF_8);
+
+    /** Pipe used when no conversion is needed. */
+    private static final BytesPipe delegate = new BytesPipe();
+
+    /** Charset of the bytes read. */
+    private final Charset source;
+
+    /** Charset of the bytes written. */
+    private final Charset target;
+
+    /** Whether ASCII input can be copied as is. */
+    private final boolean asciiCopy;
+
+    /**
+     * Creates a pipe.
+     *
+     * @param source Charset of the bytes read
+     * @param target Charset of the bytes written
+     */
+    TranscodingPipe(final Charset source, final Charset target) {
+
+        this.source = source;
+        this.target = target;
+        asciiCopy = ASCII_COMPATIBLE.contains(source) && ASCII_COMPATIBLE.contains(target);
+    }
+
+    /** {@inheritDoc} The bytes are decoded with the source charset. */
+    @Override
+    @SuppressWarnings("ReassignedVariable")
+    public String read(final InputStream in) {
+
+        return Io.withReturn(() -> {
+            final var decoder = decoder();
+            final var builder = new StringBuilder(Math.max(in.available(), DEFAULT_BUFFER_LENGTH));
+            final var bytes = BufferPool.bytes().borrow(DEFAULT_BUFFER_LENGTH);
+            final var chars = BufferPool.chars().borrow(DEFAULT_BUFFER_LENGTH);
+            try {
+                final var input = ByteBuffer.wrap(bytes);
+                final var output = CharBuffer.wrap(chars);
+                var end = false;
+                while (!end) {
+                    end = fill(in, input);
+                    input.flip();
+                    if (widens(bytes, input.limit())) {
+                        widen(bytes, input.limit(), chars);
+                        builder.append(chars, 0, input.limit());
+                        input.clear();
+                        continue;
+                    }
+                    var result = decoder.decode(input, output, end);
+                    builder.append(chars, 0, output.position());
+                    output.clear();
+                    while (result.isOverflow()) {
+                        result = decoder.decode(input, output, end);
+                        builder.append(chars, 0, output.position());
+                        output.clear();
+                    }
+                    input.compact();
+                }
+                finish(decoder, output);
+                builder.append(chars, 0, output.position());
+                return builder.toString();
+            } finally {
+                BufferPool.bytes().release(bytes);
+                BufferPool.chars().release(chars);
+            }
+        });
+    }
+
+    /** {@inheritDoc} The value is encoded with the target charset. */
+    @Override
+    @SuppressWarnings("ReassignedVariable")
+    public void write(final String value, final OutputStream out) {
+
+        Io.withVoid(() -> {
+            final var encoder = encoder();
+            final var chars = BufferPool.chars().borrow(DEFAULT_BUFFER_LENGTH);
+            final var bytes = BufferPool.bytes().borrow(outputLength(encoder, DEFAULT_BUFFER_LENGTH));
+            try {
+                final var input = CharBuffer.wrap(chars);
+                final var output = ByteBuffer.wrap(bytes);
+                var from = 0;
+                while (from < value.length()) {
+                    final var count = Math.min(input.remaining(), value.length() - from);
+                    value.getChars(from, from + count, chars, input.position());
+                    input.position(input.position() + count);
+                    from += count;
+                    input.flip();
+                    if (narrows(chars, input.limit())) {
+                        narrow(chars, input.limit(), bytes);
+                        out.write(bytes, 0, input.limit());
+                        input.clear();
+                        continue;
+                    }
+                    encode(encoder, input, output, out, from == value.length());
+                    input.compact();
+                }
+                input.flip();
+                encode(encoder, input, output, out, true);
+                flush(encoder, output, out);
+                out.flush();
+            } finally {
+                BufferPool.chars().release(chars);
+                BufferPool.bytes().release(bytes);
+            }
+        });
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long go(final InputStream in, final OutputStream out, final int bufferSize) {
+
+        if (source.equals(target)) {
+            return delegate.go(in, out, bufferSize);
+        }
+        return Io.withReturn(() -> transcode(in, out, bufferSize));
+    }
+
+    /** {@inheritDoc} Conversion uses the largest buffer size. */
+    @Override
+    public long goAdaptive(final InputStream in, final OutputStream out, final int maxBufferSize) {
+
+        if (source.equals(target)) {
+            return delegate.goAdaptive(in, out, maxBufferSize);
+        }
+        return go(in, out, maxBufferSize);
+    }
+
+    /** Converts all input, chunk by chunk, returning the number of bytes read. */
+    @SuppressWarnings("ReassignedVariable")
+    private long transcode(final InputStream in, final OutputStream out, final int bufferSize) throws IOException {
+
+        final var decoder = decoder();
+        final var encoder = encoder();
+        final var bytesIn = BufferPool.bytes().borrow(bufferSize);
+        final var chars = BufferPool.chars().borrow(bufferSize);
+        final var bytesOut = BufferPool.bytes().borrow(outputLength(encoder, chars.length));
+        try {
+            final var input = ByteBuffer.wrap(bytesIn);
+            final var decoded = CharBuffer.wrap(chars);
+            final var output = ByteBuffer.wrap(bytesOut);
+            final var latin1ToUtf8 =
+                    source.equals(StandardCharsets.ISO_8859_1) && target.equals(StandardCharsets.UTF_8);
+            var total = 0L;
+            var end = false;
+            while (!end) {
+                final var leftover = input.position();
+                end = fill(in, input);
+                total += input.position() - leftover;
+                input.flip();
+                if (latin1ToUtf8) {
+                    out.write(bytesOut, 0, latin1ToUtf8(bytesIn, input.limit(), bytesOut));
+                    input.clear();
+                    continue;
+                }
+                if (asciiCopy && (decoded.position() == 0) && isAscii(bytesIn, input.limit())) {
+                    out.write(bytesIn, 0, input.limit());
+                    input.clear();
+                    continue;
+                }
+                var result = decoder.decode(input, decoded, end);
+                decoded.flip();
+                encode(encoder, decoded, output, out, false);
+                decoded.compact();
+                while (result.isOverflow()) {
+                    result = decoder.decode(input, decoded, end);
+                    decoded.flip();
+                    encode(encoder, decoded, output, out, false);
+                    decoded.compact();
+                }
+                input.compact();
+            }
+            finish(decoder, decoded);
+            decoded.flip();
+            encode(encoder, decoded, output, out, true);
+            flush(encoder, output, out);
+            out.flush();
+            return total;
+        } finally {
+            BufferPool.bytes().release(bytesIn);
+            BufferPool.chars().release(chars);
+            BufferPool.bytes().release(bytesOut);
+        }
+    }
+
+    /** Returns a decoder for the source charset that replaces bad input. */
+    private CharsetDecoder decoder() {
+
+        return source.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /** Returns an encoder for the target charset that replaces bad input. */
+    private CharsetEncoder encoder() {
+
+        return target.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /** Returns whether the bytes can be widened to chars without the decoder. */
+    private boolean widens(final byte[] bytes, final int length) {
+
+        return source.equals(StandardCharsets.ISO_8859_1)
+                || (ASCII_COMPATIBLE.contains(source) && isAscii(bytes, length));
+    }
+
+    /** Returns whether the chars can be narrowed to bytes without the encoder. */
+    private boolean narrows(final char[] chars, final int length) {
+
+        final var limit = target.equals(StandardCharsets.ISO_8859_1) ? 0x100 : 0x80;
+        if (!ASCII_COMPATIBLE.contains(target)) {
+            return false;
+        }
+        for (var i = 0; i < length; i++) {
+            if (chars[i] >= limit) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Ends decoding, which the fast paths may not have done, and flushes the decoder. */
+    private static void finish(final CharsetDecoder decoder, final CharBuffer output) {
+
+        decoder.decode(ByteBuffer.wrap(EMPTY_BYTE_ARRAY), output, true);
+        decoder.flush(output);
+    }
+
+    /** Fills the buffer from the stream, returning true at the end of the stream. */
+    private static boolean fill(final InputStream in, final ByteBuffer buffer) throws IOException {
+
+        final var count = in.read(buffer.array(), buffer.position(), buffer.remaining());
+        if (count > 0) {
+            buffer.position(buffer.position() + count);
+        }
+        return count < 0;
+    }
+
+    /** Encodes the chars, writing the output to the stream whenever it fills. */
+    private static void encode(
+            final CharsetEncoder encoder,
+            final CharBuffer chars,
+            final ByteBuffer output,
+            final OutputStream out,
+            final boolean end)
+            throws IOException {
+
+        while (encoder.encode(chars, output, end).isOverflow()) {
+            drain(output, out);
+        }
+        drain(output, out);
+    }
+
+    /** Flushes the encoder and writes its final output to the stream. */
+    private static void flush(final CharsetEncoder encoder, final ByteBuffer output, final OutputStream out)
+            throws IOException {
+
+        while (encoder.flush(output).isOverflow()) {
+            drain(output, out);
+        }
+        drain(output, out);
+    }
+
+    /** Writes the bytes in the buffer to the stream and clears it. */
+    private static void drain(final ByteBuffer output, final OutputStream out) throws IOException {
+
+        out.write(output.array(), 0, output.position());
+        output.clear();
+    }
+
+    /** Returns the size of an output buffer able to hold at least one encoded buffer of chars. */
+    private static int outputLength(final CharsetEncoder encoder, final int chars) {
+
+        return (int) Math.ceil(chars * (double) encoder.maxBytesPerChar());
+    }
+
+    /** Returns whether all the bytes are ASCII. */
+    private static boolean isAscii(final byte[] bytes, final int length) {
+
+        for (var i = 0; i < length; i++) {
+            if (bytes[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Converts ISO-8859-1 bytes to chars. */
+    private static void widen(final byte[] bytes, final int length, final char[] chars) {
+
+        for (var i = 0; i < length; i++) {
+            chars[i] = (char) (bytes[i] & INT_MASK);
+        }
+    }
+
+    /** Converts chars known to fit in a byte to bytes. */
+    private static void narrow(final char[] chars, final int length, final byte[] bytes) {
+
+        for (var i = 0; i < length; i++) {
+            bytes[i] = (byte) chars[i];
+        }
+    }
+
+    /** Encodes ISO-8859-1 bytes as UTF-8, returning the number of bytes written. */
+    @SuppressWarnings("ReassignedVariable")
+    private static int latin1ToUtf8(final byte[] bytes, final int length, final byte[] output) {
+
+        var count = 0;
+        for (var i = 0; i < length; i++) {
+            final var value = bytes[i];
+            if (value >= 0) {
+                output[count++] = value;
+            } else {
+                output[count++] = (byte) (0xc0 | ((value & INT_MASK) >> 6));
+                output[count++] = (byte) (0x80 | (value & 0x3f));
+            }
+        }
+        return count;
+    }
+}
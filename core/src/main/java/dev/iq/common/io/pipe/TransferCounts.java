@@ -0,0 +1,42 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Number of bytes moved for each of several sources or targets, in the order they were given.
+ *
+ * @param counts Bytes moved for each source or target
+ */
+public record TransferCounts(List<Long> counts) {
+
+    /** Copies the counts so that the result is immutable. */
+    public TransferCounts {
+
+        counts = List.copyOf(counts);
+    }
+
+    /** Creates the counts from an array. */
+    static TransferCounts of(final long[] counts) {
+
+        return new TransferCounts(Arrays.stream(counts).boxed().toList());
+    }
+
+    /** Returns the number of bytes moved for the source or target at the index. */
+    public long get(final int index) {
+
+        return counts.get(index);
+    }
+
+    /** Returns the total number of bytes moved. */
+    public long total() {
+
+        return counts.stream().mapToLong(Long::longValue).sum();
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import dev.iq.common.fp.Io;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.ScatteringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scatter/gather (vectored) transfers between many buffers or files and a single channel. Gathering
+ * writes hand up to MAX_BUFFERS buffers to the operating system in one call, and scattering reads
+ * fill several buffers in one call, so concatenating many small sources or splitting one input
+ * takes a handful of system calls instead of one or more per source. Every operation reports the
+ * bytes moved for each source or target. <br>
+ * None of these operations close channels passed in; files passed by path are opened and closed.
+ */
+public final class Vectored {
+
+    /** Largest number of buffers passed to one vectored call (the usual IOV_MAX). */
+    static final int MAX_BUFFERS = 1024;
+
+    /** Size of the pooled staging buffer; larger files are transferred on their own. (256 KB) */
+    static final int BATCH_LENGTH = BufferPool.MAX_CLASS_SIZE;
+
+    /** Type contains only static members. */
+    private Vectored() {}
+
+    /**
+     * Writes the remaining bytes of every buffer, in order, with as few gathering writes as the
+     * channel allows. The position of each buffer is advanced to its limit.
+     *
+     * @param sources Buffers to write
+     * @param out Channel to write to
+     * @return TransferCounts Bytes written from each buffer
+     */
+    public static TransferCounts gather(final List<ByteBuffer> sources, final GatheringByteChannel out) {
+
+        final var buffers = sources.toArray(ByteBuffer[]::new);
+        final var counts = new long[buffers.length];
+        for (var i = 0; i < buffers.length; i++) {
+            counts[i] = buffers[i].remaining();
+        }
+        Io.withVoid(() -> writeFully(buffers, 0, buffers.length, out));
+        return TransferCounts.of(counts);
+    }
+
+    /**
+     * Concatenates the files into the target, which is created or truncated. Small files are read
+     * into slices of one staging buffer and written together with a gathering write; files too
+     * large to stage are moved with FileChannel.transferTo.
+     *
+     * @param sources Files to concatenate, in order
+     * @param target File to write
+     * @return TransferCounts Bytes copied from each file
+     */
+    public static TransferCounts concat(final List<Path> sources, final Path target) {
+
+        return Io.withReturn(() -> {
+            try (var out = FileChannel.open(
+                    target,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE)) {
+                return concat(sources, out);
+            }
+        });
+    }
+
+    /**
+     * Concatenates the files into the channel, staging small files as for concat(List, Path).
+     *
+     * @param sources Files to concatenate, in order
+     * @param out Channel to write to
+     * @return TransferCounts Bytes copied from each file
+     */
+    public static TransferCounts concat(final List<Path> sources, final GatheringByteChannel out) {
+
+        final var counts = new long[sources.size()];
+        final var staging = BufferPool.direct().borrow(BATCH_LENGTH);
+        try {
+            Io.withVoid(() -> {
+                final var batch = new ArrayList<ByteBuffer>();
+                for (var i = 0; i < counts.length; i++) {
+                    try (var in = FileChannel.open(sources.get(i), StandardOpenOption.READ)) {
+                        final var size = in.size();
+                        if ((size > staging.remaining()) || (batch.size() == MAX_BUFFERS)) {
+                            flush(batch, staging, out);
+                        }
+                        if (size > staging.remaining()) {
+                            counts[i] = transferTo(in, out);
+                        } else {
+                            final var slice = staging.slice(staging.position(), (int) size);
+                            readFully(in, slice);
+                            counts[i] = slice.flip().remaining();
+                            staging.position(staging.position() + slice.limit());
+                            batch.add(slice);
+                        }
+                    }
+                }
+                flush(batch, staging, out);
+            });
+        } finally {
+            BufferPool.direct().release(staging);
+        }
+        return TransferCounts.of(counts);
+    }
+
+    /**
+     * Fills the buffers in order from the channel with scattering reads, until every buffer is
+     * full or the channel ends.
+     *
+     * @param in Channel to read
+     * @param targets Buffers to fill from their position to their limit
+     * @return TransferCounts Bytes read into each buffer
+     */
+    public static TransferCounts scatter(final ScatteringByteChannel in, final List<ByteBuffer> targets) {
+
+        final var buffers = targets.toArray(ByteBuffer[]::new);
+        final var starts = new long[buffers.length];
+        for (var i = 0; i < buffers.length; i++) {
+            starts[i] = buffers[i].position();
+        }
+        Io.withVoid(() -> readFully(in, buffers));
+        for (var i = 0; i < buffers.length; i++) {
+            starts[i] = buffers[i].position() - starts[i];
+        }
+        return TransferCounts.of(starts);
+    }
+
+    /**
+     * Splits the channel into consecutive parts written to the outputs in turn, each part the
+     * specified length except the last, which receives whatever remains. Parts are read with
+     * scattering reads into slices of one staging buffer, so a read can fill several parts at
+     * once.
+     *
+     * @param in Channel to read
+     * @param outs Channels receiving the parts, in order
+     * @param partLength Length of each part but the last
+     * @return TransferCounts Bytes written to each output
+     */
+    public static TransferCounts split(
+            final ScatteringByteChannel in, final List<? extends WritableByteChannel> outs, final long partLength) {
+
+        if (outs.isEmpty()) {
+            throw new IllegalArgumentException("At least one output is required");
+        }
+        if (partLength <= 0) {
+            throw new IllegalArgumentException("Part length must be positive");
+        }
+        final var counts = new long[outs.size()];
+        final var staging = BufferPool.direct().borrow(BATCH_LENGTH);
+        try {
+            Io.withVoid(() -> {
+                var part = 0;
+                var ended = false;
+                while (!ended) {
+                    // Slice the staging buffer at part boundaries so that each slice belongs to one output
+                    final var slices = new ArrayList<ByteBuffer>();
+                    final var owners = new ArrayList<Integer>();
+                    var position = 0;
+                    var used = counts[part];
+                    while ((position < staging.capacity()) && (slices.size() < MAX_BUFFERS)) {
+                        final var room = (part == (outs.size() - 1)) ? Long.MAX_VALUE : (partLength - used);
+                        final var length = (int) Math.min(room, staging.capacity() - position);
+                        slices.add(staging.slice(position, length));
+                        owners.add(part);
+                        position += length;
+                        if (length == room) {
+                            part++;
+                            used = 0;
+                        }
+                    }
+                    final var buffers = slices.toArray(ByteBuffer[]::new);
+                    ended = !readFully(in, buffers);
+                    for (var i = 0; i < buffers.length; i++) {
+                        final var filled = buffers[i].flip();
+                        counts[owners.get(i)] += filled.remaining();
+                        writeFully(filled, outs.get(owners.get(i)));
+                    }
+                }
+            });
+        } finally {
+            BufferPool.direct().release(staging);
+        }
+        return TransferCounts.of(counts);
+    }
+
+    /** Writes the staged buffers with gathering writes, then empties the batch and staging buffer. */
+    private static void flush(final List<ByteBuffer> batch, final ByteBuffer staging, final GatheringByteChannel out)
+            throws IOException {
+
+        final var buffers = batch.toArray(ByteBuffer[]::new);
+        writeFully(buffers, 0, buffers.length, out);
+        batch.clear();
+        staging.clear();
+    }
+
+    /** Writes all remaining bytes of the buffers, at most MAX_BUFFERS per call. */
+    @SuppressWarnings("ReassignedVariable")
+    private static void writeFully(
+            final ByteBuffer[] buffers, final int offset, final int length, final GatheringByteChannel out)
+            throws IOException {
+
+        var first = offset;
+        final var end = offset + length;
+        while (first < end) {
+            out.write(buffers, first, Math.min(MAX_BUFFERS, end - first));
+            while ((first < end) && !buffers[first].hasRemaining()) {
+                first++;
+            }
+        }
+    }
+
+    /** Writes all remaining bytes of the buffer. */
+    private static void writeFully(final ByteBuffer buffer, final WritableByteChannel out) throws IOException {
+
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    /** Fills the buffers from the channel, returning false if the channel ended first. */
+    @SuppressWarnings("ReassignedVariable")
+    private static boolean readFully(final ScatteringByteChannel in, final ByteBuffer[] buffers) throws IOException {
+
+        var first = 0;
+        while (first < buffers.length) {
+            if (!buffers[first].hasRemaining()) {
+                first++;
+            } else if (in.read(buffers, first, Math.min(MAX_BUFFERS, buffers.length - first)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Fills the buffer from the file, which is known to fit. */
+    private static void readFully(final FileChannel in, final ByteBuffer buffer) throws IOException {
+
+        while (buffer.hasRemaining() && (in.read(buffer) >= 0)) {
+            // Keep reading until the buffer is full or the file ends
+        }
+    }
+
+    /** Moves the whole file to the channel with transferTo, returning the number of bytes moved. */
+    @SuppressWarnings("ReassignedVariable")
+    private static long transferTo(final FileChannel in, final WritableByteChannel out) throws IOException {
+
+        final var size = in.size();
+        var position = 0L;
+        while (position < size) {
+            final var moved = in.transferTo(position, size - position, out);
+            if (moved <= 0) {
+                break;
+            }
+            position += moved;
+        }
+        return position;
+    }
+}
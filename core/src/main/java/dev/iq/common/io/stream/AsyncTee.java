@@ -0,0 +1,389 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.stream;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An output stream that writes to n underlying streams concurrently, so that a slow stream does
+ * not hold up the others or the writer. Bytes written are gathered into pooled chunks, and each
+ * chunk is shared by the bounded queues of every branch; each branch has its own virtual thread
+ * writing its queue to its stream. What happens when a branch's queue is full is set by the
+ * Overflow policy. <br>
+ * A branch whose stream fails stops receiving data while the others carry on. flush() waits for
+ * every branch to write and flush what it has been given, and close() waits for every branch to
+ * drain and close its stream; both throw an IOException aggregating the failures of all branches,
+ * as Tee does on close. <br>
+ * Streams that block while holding a monitor (a synchronized write) pin the carrier thread of
+ * their virtual thread on this JDK, and so still hold up other branches while they block. <br>
+ * This type is not thread-safe: it expects a single writer.
+ */
+public final class AsyncTee extends OutputStream {
+
+    /** Length of each pooled chunk. */
+    static final int CHUNK_LENGTH = 8 * 1024;
+
+    /** Default number of chunks each branch may have queued. */
+    static final int DEFAULT_QUEUE_LENGTH = 64;
+
+    /** Branches, one per underlying stream. */
+    private final List<Branch> branches = new ArrayList<>();
+
+    /** What to do when a branch's queue is full. */
+    private final Overflow overflow;
+
+    /** Chunk arrays returned by the branches for reuse. */
+    private final Queue<byte[]> pool = new ConcurrentLinkedQueue<>();
+
+    /** Chunk being filled by the writer. */
+    private byte[] current = new byte[CHUNK_LENGTH];
+
+    /** Number of bytes in the chunk being filled. */
+    private int position = 0;
+
+    /** Whether the stream has been closed. */
+    private boolean closed = false;
+
+    /** Policy applied when a branch's queue is full. */
+    public enum Overflow {
+
+        /** Wait for the branch to make room, holding up the writer. */
+        BLOCK,
+
+        /** Discard the chunk for that branch only, counting the bytes dropped. */
+        DROP,
+
+        /** Fail that branch, which receives no more data; the failure is reported on flush or close. */
+        FAIL
+    }
+
+    /**
+     * Creates a tee that blocks when a branch falls behind by the default queue length.
+     *
+     * @param streams Output streams to write to
+     */
+    public AsyncTee(final OutputStream... streams) {
+
+        this(Overflow.BLOCK, DEFAULT_QUEUE_LENGTH, streams);
+    }
+
+    /**
+     * Creates a tee with the specified overflow policy and queue length.
+     *
+     * @param overflow What to do when a branch's queue is full
+     * @param queueLength Number of chunks each branch may have queued
+     * @param streams Output streams to write to
+     */
+    public AsyncTee(final Overflow overflow, final int queueLength, final OutputStream... streams) {
+
+        if (queueLength <= 0) {
+            throw new IllegalArgumentException("Queue length must be positive");
+        }
+        this.overflow = Objects.requireNonNull(overflow);
+        for (final var out : streams) {
+            branches.add(new Branch(Objects.requireNonNull(out), queueLength));
+        }
+        branches.forEach(Branch::start);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(final int b) throws IOException {
+
+        ensureOpen();
+        current[position++] = (byte) b;
+        if (position == current.length) {
+            dispatch();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("ReassignedVariable")
+    public void write(final byte @NotNull [] buffer, final int offset, final int length) throws IOException {
+
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        ensureOpen();
+        var from = offset;
+        var remaining = length;
+        while (remaining > 0) {
+            final var count = Math.min(remaining, current.length - position);
+            System.arraycopy(buffer, from, current, position, count);
+            position += count;
+            from += count;
+            remaining -= count;
+            if (position == current.length) {
+                dispatch();
+            }
+        }
+    }
+
+    /** Waits for every branch to write and flush the data given to it so far. */
+    @Override
+    public void flush() throws IOException {
+
+        ensureOpen();
+        dispatch();
+        final var flushes = new ArrayList<CompletableFuture<Void>>();
+        for (final var branch : branches) {
+            final var done = new CompletableFuture<Void>();
+            branch.put(new Flush(done));
+            flushes.add(done);
+        }
+        flushes.forEach(CompletableFuture::join);
+        final var fatal = new IOException("Error flushing one or more streams");
+        branches.forEach(branch -> branch.report(fatal));
+        if (fatal.getSuppressed().length > 0) {
+            throw fatal;
+        }
+    }
+
+    /** Waits for every branch to drain and close its stream. */
+    @Override
+    public void close() throws IOException {
+
+        if (closed) {
+            return;
+        }
+        dispatch();
+        closed = true;
+        final var fatal = new IOException("Error closing one or more streams");
+        for (final var branch : branches) {
+            branch.put(End.INSTANCE);
+        }
+        for (final var branch : branches) {
+            branch.join(fatal);
+        }
+        if (fatal.getSuppressed().length > 0) {
+            throw fatal;
+        }
+    }
+
+    /** Returns the number of bytes dropped so far by the branch at the index (DROP policy). */
+    public long dropped(final int branch) {
+
+        return branches.get(branch).dropped.sum();
+    }
+
+    /** Hands the chunk being filled to every branch and starts a new one. */
+    private void dispatch() throws IOException {
+
+        if (position == 0) {
+            return;
+        }
+        final var chunk = new Chunk(current, position, new AtomicInteger(branches.size()));
+        for (final var branch : branches) {
+            branch.offer(chunk);
+        }
+        final var recycled = pool.poll();
+        current = (recycled == null) ? new byte[CHUNK_LENGTH] : recycled;
+        position = 0;
+    }
+
+    /** Throws if the stream has been closed. */
+    private void ensureOpen() throws IOException {
+
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    /** Item queued for a branch. */
+    private sealed interface Item permits Chunk, Flush, End {}
+
+    /**
+     * Chunk of data shared by the branches, returned to the pool once every branch is done with it.
+     *
+     * @param data Array holding the data
+     * @param length Number of bytes of data
+     * @param references Number of branches still to write the chunk
+     */
+    private record Chunk(byte[] data, int length, AtomicInteger references) implements Item {}
+
+    /**
+     * Request to flush, completed once the branch has flushed.
+     *
+     * @param done Completed when the branch has flushed
+     */
+    private record Flush(CompletableFuture<Void> done) implements Item {}
+
+    /** Request to close, always the last item queued. */
+    private enum End implements Item {
+        INSTANCE
+    }
+
+    /** Stream, queue and worker of one branch. */
+    private final class Branch {
+
+        /** Stream written by the worker. */
+        private final OutputStream out;
+
+        /** Items waiting for the worker. */
+        private final BlockingQueue<Item> queue;
+
+        /** Worker writing the queue to the stream. */
+        private Thread worker;
+
+        /** Number of bytes dropped because the queue was full. */
+        private final LongAdder dropped = new LongAdder();
+
+        /** First failure of the branch, after which it receives no more data. */
+        private volatile IOException failure = null;
+
+        /** Error closing the stream. */
+        private IOException closeFailure = null;
+
+        /**
+         * Creates a branch.
+         *
+         * @param out Stream to write
+         * @param queueLength Number of items that may be queued
+         */
+        Branch(final OutputStream out, final int queueLength) {
+
+            this.out = out;
+            queue = new ArrayBlockingQueue<>(queueLength);
+        }
+
+        /** Starts the worker. */
+        void start() {
+
+            worker = Thread.ofVirtual().name("async-tee").start(this::run);
+        }
+
+        /** Queues the chunk, applying the overflow policy if the queue is full. */
+        void offer(final Chunk chunk) throws IOException {
+
+            if (failure != null) {
+                release(chunk);
+            } else if (!queue.offer(chunk)) {
+                switch (overflow) {
+                    case BLOCK -> put(chunk);
+                    case DROP -> {
+                        dropped.add(chunk.length());
+                        release(chunk);
+                    }
+                    case FAIL -> {
+                        failure = new IOException("Branch fell more than %d chunks behind".formatted(queue.size()));
+                        release(chunk);
+                    }
+                }
+            }
+        }
+
+        /** Queues the item, waiting for room. */
+        void put(final Item item) throws IOException {
+
+            try {
+                queue.put(item);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a branch");
+            }
+        }
+
+        /** Adds the failure of the branch, if any, to the exception. */
+        void report(final Exception ex) {
+
+            final var cause = failure;
+            if (cause != null) {
+                ex.addSuppressed(cause);
+            }
+        }
+
+        /** Waits for the worker to finish, then adds any failures of the branch to the exception. */
+        void join(final Exception ex) throws InterruptedIOException {
+
+            try {
+                worker.join();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while closing a branch");
+            }
+            report(ex);
+            if (closeFailure != null) {
+                ex.addSuppressed(closeFailure);
+            }
+        }
+
+        /**
+         * Writes queued items to the stream until the end is reached, then closes it. Failures are
+         * recorded rather than thrown, so that the queue keeps draining and no writer is left
+         * waiting on it.
+         */
+        @SuppressWarnings("ReassignedVariable")
+        private void run() {
+
+            try {
+                var item = queue.take();
+                while (item != End.INSTANCE) {
+                    handle(item);
+                    item = queue.take();
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                out.close();
+            } catch (final IOException e) {
+                closeFailure = e;
+            } catch (final Throwable t) {
+                closeFailure = new IOException("Branch stream failed to close", t);
+            }
+        }
+
+        /** Writes a chunk or performs a flush, recording the first failure. */
+        private void handle(final Item item) {
+
+            try {
+                if (item instanceof final Chunk chunk) {
+                    try {
+                        if (failure == null) {
+                            out.write(chunk.data(), 0, chunk.length());
+                        }
+                    } finally {
+                        release(chunk);
+                    }
+                } else if (item instanceof final Flush flush) {
+                    try {
+                        if (failure == null) {
+                            out.flush();
+                        }
+                    } finally {
+                        flush.done().complete(null);
+                    }
+                }
+            } catch (final IOException e) {
+                failure = e;
+            } catch (final Throwable t) {
+                failure = new IOException("Branch stream failed", t);
+            }
+        }
+
+        /** Gives up this branch's reference to the chunk, returning it to the pool after the last. */
+        private void release(final Chunk chunk) {
+
+            if ((chunk.references().decrementAndGet() == 0) && (chunk.data().length == CHUNK_LENGTH)) {
+                pool.offer(chunk.data());
+            }
+        }
+    }
+}
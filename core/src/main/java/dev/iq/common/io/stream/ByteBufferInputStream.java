@@ -0,0 +1,186 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.stream;
+
+import static dev.iq.common.io.IoConstants.INT_MASK;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Input stream reading directly across a list of byte buffers, heap or direct, without first
+ * copying them into one array. The stream reads from duplicates of the buffers, between their
+ * positions and limits when it was created, so the buffers themselves are left as they were; their
+ * content must not change while the stream is in use. <br>
+ * transferTo writes heap buffers to an output stream straight from their arrays, copying only
+ * direct buffers through a small array; transferTo(WritableByteChannel) hands the remaining
+ * buffers to the channel itself with gathering writes, copying nothing. <br>
+ * This type is not thread-safe.
+ */
+public final class ByteBufferInputStream extends InputStream {
+
+    /** Length of the array direct buffers are copied through by transferTo(OutputStream). */
+    private static final int TRANSFER_LENGTH = 8 * 1024;
+
+    /** Duplicates of the buffers to read, in order. */
+    private final ByteBuffer[] buffers;
+
+    /** Index of the first buffer that may have bytes remaining. */
+    private int index = 0;
+
+    /**
+     * Creates a stream over the buffers.
+     *
+     * @param buffers Buffers to read in order, from their positions to their limits
+     */
+    public ByteBufferInputStream(final List<ByteBuffer> buffers) {
+
+        this.buffers = buffers.stream().map(ByteBuffer::duplicate).toArray(ByteBuffer[]::new);
+    }
+
+    /**
+     * Creates a stream over the buffers.
+     *
+     * @param buffers Buffers to read in order, from their positions to their limits
+     */
+    public ByteBufferInputStream(final ByteBuffer... buffers) {
+
+        this(List.of(buffers));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read() {
+
+        final var buffer = next();
+        return (buffer == null) ? -1 : (buffer.get() & INT_MASK);
+    }
+
+    /** {@inheritDoc} Reads across buffers to fill as much of the range as possible. */
+    @Override
+    @SuppressWarnings("ReassignedVariable")
+    public int read(final byte @NotNull [] target, final int offset, final int length) {
+
+        Objects.checkFromIndexSize(offset, length, target.length);
+        if (length == 0) {
+            return 0;
+        }
+        var count = 0;
+        var buffer = next();
+        while ((count < length) && (buffer != null)) {
+            final var chunk = Math.min(length - count, buffer.remaining());
+            buffer.get(target, offset + count, chunk);
+            count += chunk;
+            buffer = next();
+        }
+        return (count == 0) ? -1 : count;
+    }
+
+    /** {@inheritDoc} Moves the position of the buffers without copying. */
+    @Override
+    @SuppressWarnings("ReassignedVariable")
+    public long skip(final long count) {
+
+        var skipped = 0L;
+        var buffer = next();
+        while ((skipped < count) && (buffer != null)) {
+            final var chunk = (int) Math.min(count - skipped, buffer.remaining());
+            buffer.position(buffer.position() + chunk);
+            skipped += chunk;
+            buffer = next();
+        }
+        return skipped;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int available() {
+
+        return (int) Math.min(remaining(), Integer.MAX_VALUE);
+    }
+
+    /** {@inheritDoc} Writes heap buffers straight from their arrays. */
+    @Override
+    @SuppressWarnings("ReassignedVariable")
+    public long transferTo(final OutputStream out) throws IOException {
+
+        Objects.requireNonNull(out);
+        var transferred = 0L;
+        byte[] chunk = null;
+        var buffer = next();
+        while (buffer != null) {
+            final var length = buffer.remaining();
+            if (buffer.hasArray()) {
+                out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+                buffer.position(buffer.limit());
+            } else {
+                if (chunk == null) {
+                    chunk = new byte[TRANSFER_LENGTH];
+                }
+                while (buffer.hasRemaining()) {
+                    final var count = Math.min(chunk.length, buffer.remaining());
+                    buffer.get(chunk, 0, count);
+                    out.write(chunk, 0, count);
+                }
+            }
+            transferred += length;
+            buffer = next();
+        }
+        return transferred;
+    }
+
+    /**
+     * Writes the bytes remaining to a blocking channel, with gathering writes if it supports them.
+     *
+     * @param channel Channel to write to
+     * @return long Number of bytes written
+     * @throws IOException Error writing to the channel
+     */
+    @SuppressWarnings("ReassignedVariable")
+    public long transferTo(final WritableByteChannel channel) throws IOException {
+
+        Objects.requireNonNull(channel);
+        final var total = remaining();
+        if (channel instanceof final GatheringByteChannel gathering) {
+            while (next() != null) {
+                gathering.write(buffers, index, buffers.length - index);
+            }
+        } else {
+            for (var buffer = next(); buffer != null; buffer = next()) {
+                channel.write(buffer);
+            }
+        }
+        return total;
+    }
+
+    /** Returns the number of bytes remaining across the buffers. */
+    @SuppressWarnings("ReassignedVariable")
+    private long remaining() {
+
+        var remaining = 0L;
+        for (var i = index; i < buffers.length; i++) {
+            remaining += buffers[i].remaining();
+        }
+        return remaining;
+    }
+
+    /** Returns the first buffer with bytes remaining, or null at the end. */
+    private ByteBuffer next() {
+
+        while ((index < buffers.length) && !buffers[index].hasRemaining()) {
+            index++;
+        }
+        return (index < buffers.length) ? buffers[index] : null;
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Output stream writing into a growing list of byte buffers, so that data can be collected in
+ * pooled or direct memory and handed on without being copied into one array. Buffers are obtained
+ * from an allocator as each fills, and given back to a releaser when the stream is closed.
+ * BufferPool.directOutputStream() creates one whose buffers come from and go back to the shared
+ * direct buffer pool; the default constructor allocates heap buffers that are not pooled. <br>
+ * The data can be read back as views of the buffers, as a ByteBufferInputStream over them, or
+ * written to a channel with gathering writes. Views reflect the data written before they were
+ * taken and must not be used after the stream is closed, as the buffers may then be reused. <br>
+ * This type is not thread-safe.
+ */
+public final class ByteBufferOutputStream extends OutputStream {
+
+    /** Default length of each buffer requested. (64 KB) */
+    static final int DEFAULT_BUFFER_LENGTH = 64 * 1024;
+
+    /** Length of each buffer requested. */
+    private final int bufferLength;
+
+    /** Provides a buffer of at least the requested capacity. */
+    private final IntFunction<ByteBuffer> allocator;
+
+    /** Takes back each buffer when the stream is closed. */
+    private final Consumer<ByteBuffer> releaser;
+
+    /** Buffers written, the last being the one currently filled. */
+    private final List<ByteBuffer> buffers = new ArrayList<>();
+
+    /** Buffer currently being filled, or null before the first write. */
+    private ByteBuffer current = null;
+
+    /** Total number of bytes written. */
+    private long size = 0L;
+
+    /** Whether the stream has been closed. */
+    private boolean closed = false;
+
+    /** Creates a stream writing into heap buffers of the default length. */
+    public ByteBufferOutputStream() {
+
+        this(DEFAULT_BUFFER_LENGTH, ByteBuffer::allocate, buffer -> {});
+    }
+
+    /**
+     * Creates a stream writing into buffers from the allocator.
+     *
+     * @param bufferLength Length of each buffer requested
+     * @param allocator Provides a buffer of at least the requested capacity
+     * @param releaser Takes back each buffer when the stream is closed
+     */
+    public ByteBufferOutputStream(
+            final int bufferLength, final IntFunction<ByteBuffer> allocator, final Consumer<ByteBuffer> releaser) {
+
+        if (bufferLength <= 0) {
+            throw new IllegalArgumentException("Buffer length must be positive");
+        }
+        this.bufferLength = bufferLength;
+        this.allocator = Objects.requireNonNull(allocator);
+        this.releaser = Objects.requireNonNull(releaser);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(final int b) throws IOException {
+
+        ensureOpen();
+        if ((current == null) || !current.hasRemaining()) {
+            addBuffer();
+        }
+        current.put((byte) b);
+        size++;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("ReassignedVariable")
+    public void write(final byte @NotNull [] buffer, final int offset, final int length) throws IOException {
+
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        ensureOpen();
+        var from = offset;
+        var remaining = length;
+        while (remaining > 0) {
+            if ((current == null) || !current.hasRemaining()) {
+                addBuffer();
+            }
+            final var count = Math.min(remaining, current.remaining());
+            current.put(buffer, from, count);
+            from += count;
+            remaining -= count;
+        }
+        size += length;
+    }
+
+    /**
+     * Writes the bytes remaining in the source buffer, such as one just filled by a channel read,
+     * leaving its position at its limit.
+     *
+     * @param source Buffer to copy from
+     * @throws IOException If the stream has been closed
+     */
+    public void write(final ByteBuffer source) throws IOException {
+
+        ensureOpen();
+        final var length = source.remaining();
+        while (source.hasRemaining()) {
+            if ((current == null) || !current.hasRemaining()) {
+                addBuffer();
+            }
+            final var count = Math.min(source.remaining(), current.remaining());
+            current.put(current.position(), source, source.position(), count);
+            current.position(current.position() + count);
+            source.position(source.position() + count);
+        }
+        size += length;
+    }
+
+    /** Returns the total number of bytes written. */
+    public long size() {
+
+        return size;
+    }
+
+    /**
+     * Returns read-only views of the data in each buffer, in order and without copying, suitable
+     * for gathering writes.
+     */
+    public ByteBuffer[] toByteBuffers() {
+
+        ensureOpenUnchecked();
+        return views().stream().map(ByteBuffer::asReadOnlyBuffer).toArray(ByteBuffer[]::new);
+    }
+
+    /** Returns a stream over the data written so far, read from the buffers without copying. */
+    public InputStream toInputStream() {
+
+        ensureOpenUnchecked();
+        return new ByteBufferInputStream(views());
+    }
+
+    /**
+     * Writes the data to a blocking channel with gathering writes, without copying.
+     *
+     * @param channel Channel to write to
+     * @return long Number of bytes written
+     * @throws IOException Error writing to the channel
+     */
+    public long writeTo(final WritableByteChannel channel) throws IOException {
+
+        ensureOpen();
+        return new ByteBufferInputStream(views()).transferTo(channel);
+    }
+
+    /** Gives every buffer back to the releaser. */
+    @Override
+    public void close() {
+
+        if (closed) {
+            return;
+        }
+        closed = true;
+        buffers.forEach(releaser);
+        buffers.clear();
+        current = null;
+    }
+
+    /** Returns views of the used part of each buffer. */
+    private List<ByteBuffer> views() {
+
+        return buffers.stream().map(buffer -> buffer.duplicate().flip()).toList();
+    }
+
+    /** Obtains a new buffer from the allocator and makes it the current one. */
+    private void addBuffer() {
+
+        final var buffer = allocator.apply(bufferLength);
+        if (buffer.capacity() == 0) {
+            throw new IllegalStateException("Allocator returned an empty buffer");
+        }
+        current = buffer.clear();
+        buffers.add(current);
+    }
+
+    /** Throws if the stream has been closed. */
+    private void ensureOpen() throws IOException {
+
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    /** Throws if the stream has been closed, for methods that do no I/O. */
+    private void ensureOpenUnchecked() {
+
+        if (closed) {
+            throw new IllegalStateException("Stream closed");
+        }
+    }
+}
@@ -0,0 +1,333 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.stream;
+
+import dev.iq.common.log.Log;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Output stream capturing bytes to a file without slowing the writer, for wire capture that can
+ * stay enabled in production. Writes only copy the bytes into a ring buffer in memory; a
+ * background thread drains it in large batched writes, either when a batch has built up or at a
+ * short interval. <br>
+ * When the ring buffer has no room for a write, the whole write is dropped and counted rather than
+ * waiting for the drain, so a slow disk loses capture data instead of holding up the reader. Once
+ * the file reaches the maximum length it is rotated: it is renamed with the suffix .1, older files
+ * move up one suffix, and those beyond the number kept are deleted. <br>
+ * flush() waits for everything written so far to reach the file, and close() drains the ring
+ * buffer and closes the file; both report a failure of the drain. Writes are thread-safe, so one
+ * capture log may be shared by several streams.
+ */
+public final class CaptureLog extends OutputStream {
+
+    /** Default capacity of the ring buffer. (1 MB) */
+    static final int DEFAULT_CAPACITY = 1024 * 1024;
+
+    /** Most bytes written to the file at once. (64 KB) */
+    static final int BATCH_LENGTH = 64 * 1024;
+
+    /** Longest time captured bytes wait in the ring buffer before being drained. (100 ms) */
+    static final long DRAIN_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100L);
+
+    /** File the bytes are captured to. */
+    private final Path file;
+
+    /** Length at which the file is rotated. */
+    private final long maxFileLength;
+
+    /** Number of rotated files kept. */
+    private final int maxFiles;
+
+    /** Ring buffer of bytes waiting to be drained. */
+    private final byte[] ring;
+
+    /** Number of buffered bytes that wakes the drainer, at most the capacity of the ring buffer. */
+    private final int batchLength;
+
+    /** Number of bytes dropped because the ring buffer was full or the drain had failed. */
+    private final LongAdder dropped = new LongAdder();
+
+    /** Thread writing the ring buffer to the file. */
+    private final Thread drainer;
+
+    /** Total number of bytes taken from the ring buffer, guarded by this. */
+    private long head = 0L;
+
+    /** Total number of bytes put in the ring buffer, guarded by this. */
+    private long tail = 0L;
+
+    /** Total number of bytes the drainer has finished with, guarded by this. */
+    private long drained = 0L;
+
+    /** Position up to which a flush is waiting for bytes to be drained, guarded by this. */
+    private long flushTarget = 0L;
+
+    /** Whether the stream has been closed, guarded by this. */
+    private boolean closed = false;
+
+    /** First failure of the drain, after which further bytes are dropped. */
+    private volatile IOException failure = null;
+
+    /** Stream of the current file, used only by the drainer. */
+    private OutputStream out;
+
+    /** Length of the current file, used only by the drainer. */
+    private long fileLength = 0L;
+
+    /**
+     * Creates a capture log that never rotates, with the default ring buffer capacity. The file is
+     * created or truncated.
+     *
+     * @param file File to capture to
+     * @throws IOException Error opening the file
+     */
+    public CaptureLog(final Path file) throws IOException {
+
+        this(file, Long.MAX_VALUE, 0, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a capture log rotating at the specified length. The file is created or truncated.
+     *
+     * @param file File to capture to
+     * @param maxFileLength Length at which the file is rotated
+     * @param maxFiles Number of rotated files kept (0 to keep none)
+     * @param capacity Capacity of the ring buffer, beyond which writes are dropped
+     * @throws IOException Error opening the file
+     */
+    public CaptureLog(final Path file, final long maxFileLength, final int maxFiles, final int capacity)
+            throws IOException {
+
+        if ((maxFileLength <= 0) || (capacity <= 0)) {
+            throw new IllegalArgumentException("Maximum file length and capacity must be positive");
+        }
+        if (maxFiles < 0) {
+            throw new IllegalArgumentException("Number of files kept must not be negative");
+        }
+        this.file = Objects.requireNonNull(file);
+        this.maxFileLength = maxFileLength;
+        this.maxFiles = maxFiles;
+        ring = new byte[capacity];
+        batchLength = Math.min(BATCH_LENGTH, capacity);
+        out = Files.newOutputStream(file);
+        drainer = Thread.ofPlatform().name("capture-log").daemon().start(this::run);
+    }
+
+    /** {@inheritDoc} Drops the byte if the ring buffer is full. */
+    @Override
+    public synchronized void write(final int b) throws IOException {
+
+        ensureOpen();
+        if ((failure != null) || ((tail - head) == ring.length)) {
+            dropped.increment();
+            return;
+        }
+        ring[(int) (tail % ring.length)] = (byte) b;
+        tail++;
+        if ((tail - head) == batchLength) {
+            notifyAll();
+        }
+    }
+
+    /** {@inheritDoc} Drops all the bytes if the ring buffer does not have room for them. */
+    @Override
+    public synchronized void write(final byte @NotNull [] buffer, final int offset, final int length)
+            throws IOException {
+
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        ensureOpen();
+        if ((failure != null) || (length > (ring.length - (tail - head)))) {
+            dropped.add(length);
+            return;
+        }
+        final var start = (int) (tail % ring.length);
+        final var first = Math.min(length, ring.length - start);
+        System.arraycopy(buffer, offset, ring, start, first);
+        System.arraycopy(buffer, offset + first, ring, 0, length - first);
+        tail += length;
+        if ((tail - head) >= batchLength) {
+            notifyAll();
+        }
+    }
+
+    /** Waits for every byte written so far to reach the file. */
+    @Override
+    public synchronized void flush() throws IOException {
+
+        ensureOpen();
+        final var target = tail;
+        flushTarget = Math.max(flushTarget, target);
+        notifyAll();
+        try {
+            while ((drained < target) && (failure == null)) {
+                wait();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while flushing the capture log");
+        }
+        checkFailure();
+    }
+
+    /** Drains the ring buffer and closes the file. */
+    @Override
+    public void close() throws IOException {
+
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        try {
+            drainer.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while closing the capture log");
+        }
+        out.close();
+        checkFailure();
+    }
+
+    /** Returns the number of bytes dropped so far. */
+    public long dropped() {
+
+        return dropped.sum();
+    }
+
+    /** Writes batches from the ring buffer to the file until closed and empty. */
+    @SuppressWarnings("ReassignedVariable")
+    private void run() {
+
+        final var batch = new byte[batchLength];
+        try {
+            var count = take(batch);
+            while (count >= 0) {
+                if (failure == null) {
+                    store(batch, count);
+                } else {
+                    dropped.add(count);
+                }
+                finish(count);
+                count = take(batch);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for a batch to build up, the drain interval to pass, a flush or the close, then copies
+     * the oldest bytes of the ring buffer into the batch.
+     *
+     * @return int Number of bytes copied, or -1 once closed and empty
+     */
+    @SuppressWarnings("ReassignedVariable")
+    private synchronized int take(final byte[] batch) throws InterruptedException {
+
+        var deadline = System.nanoTime() + DRAIN_INTERVAL_NANOS;
+        while (!closed && ((tail - head) < batch.length) && (flushTarget <= head)) {
+            final var remaining = deadline - System.nanoTime();
+            if (remaining > 0) {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            } else if (tail > head) {
+                break;
+            } else {
+                deadline += DRAIN_INTERVAL_NANOS;
+            }
+        }
+        final var available = (int) Math.min(tail - head, batch.length);
+        if ((available == 0) && closed) {
+            return -1;
+        }
+        final var start = (int) (head % ring.length);
+        final var first = Math.min(available, ring.length - start);
+        System.arraycopy(ring, start, batch, 0, first);
+        System.arraycopy(ring, 0, batch, first, available - first);
+        head += available;
+        return available;
+    }
+
+    /** Records that the drainer is done with the bytes and wakes any flush waiting for them. */
+    private synchronized void finish(final int count) {
+
+        drained += count;
+        notifyAll();
+    }
+
+    /** Writes the batch to the file, rotating whenever the file reaches its maximum length. */
+    @SuppressWarnings("ReassignedVariable")
+    private void store(final byte[] batch, final int count) {
+
+        try {
+            var from = 0;
+            while (from < count) {
+                if (fileLength >= maxFileLength) {
+                    rotate();
+                }
+                final var length = (int) Math.min(count - from, maxFileLength - fileLength);
+                out.write(batch, from, length);
+                fileLength += length;
+                from += length;
+            }
+        } catch (final IOException e) {
+            failure = e;
+            Log.error(CaptureLog.class, () -> "Capture to %s failed; further bytes are dropped".formatted(file), e);
+        }
+    }
+
+    /** Closes the file, shifts the rotated files up one suffix and starts a new file. */
+    private void rotate() throws IOException {
+
+        out.close();
+        Files.deleteIfExists(rotated(maxFiles));
+        for (var i = maxFiles - 1; i >= 1; i--) {
+            final var older = rotated(i);
+            if (Files.exists(older)) {
+                Files.move(older, rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxFiles > 0) {
+            Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        out = Files.newOutputStream(file);
+        fileLength = 0L;
+    }
+
+    /** Returns the rotated file with the specified suffix, or the file itself for 0. */
+    private Path rotated(final int index) {
+
+        return (index == 0) ? file : file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    /** Throws if the stream has been closed. */
+    private void ensureOpen() throws IOException {
+
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    /** Throws the failure of the drain, if any. */
+    private void checkFailure() throws IOException {
+
+        final var cause = failure;
+        if (cause != null) {
+            throw new IOException("Capture to %s failed".formatted(file), cause);
+        }
+    }
+}
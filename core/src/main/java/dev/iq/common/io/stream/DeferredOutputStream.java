@@ -0,0 +1,260 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.stream;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Output stream for data of unknown size that stays in memory up to a threshold and then spills to
+ * a temporary file, so that large bodies do not have to be held on the heap. Until the threshold
+ * is passed, the data is kept in the segments of a SegmentedOutputStream; the write that would
+ * pass it moves those segments to the file with one gathering write, and later writes go to the
+ * file through a buffer. <br>
+ * The data can be read back as an InputStream, a Path or a FileChannel without copying it. Data in
+ * memory is read from the segments directly, and spilled data from the temporary file itself;
+ * asking for a Path or FileChannel spills data still in memory. Each of these reflects the data
+ * written before it was taken, and is best taken once writing is done. <br>
+ * Closing the stream deletes the temporary file, so the data must be read before then. This type
+ * is not thread-safe.
+ */
+public final class DeferredOutputStream extends OutputStream {
+
+    /** Default number of bytes kept in memory before spilling. (1 MB) */
+    public static final long DEFAULT_THRESHOLD = 1024 * 1024;
+
+    /** Length of the buffer in front of the temporary file. (64 KB) */
+    static final int FILE_BUFFER_LENGTH = 64 * 1024;
+
+    /** Prefix of the temporary file name. */
+    private static final String TEMP_PREFIX = "deferred-";
+
+    /** Suffix of the temporary file name. */
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /** Number of bytes kept in memory before spilling. */
+    private final long threshold;
+
+    /** Directory the temporary file is created in, or null for the default. */
+    private final Path directory;
+
+    /** Data held in memory, until it spills. */
+    private SegmentedOutputStream memory = new SegmentedOutputStream();
+
+    /** Temporary file, once spilled. */
+    private Path file = null;
+
+    /** Channel writing the temporary file, once spilled. */
+    private FileChannel channel = null;
+
+    /** Buffered stream over the channel, once spilled. */
+    private OutputStream fileOut = null;
+
+    /** Total number of bytes written. */
+    private long size = 0L;
+
+    /** Whether the stream has been closed. */
+    private boolean closed = false;
+
+    /** Creates a stream spilling past the default threshold into the default temporary directory. */
+    public DeferredOutputStream() {
+
+        this(DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Creates a stream spilling past the specified threshold into the default temporary directory.
+     *
+     * @param threshold Number of bytes kept in memory before spilling
+     */
+    public DeferredOutputStream(final long threshold) {
+
+        this(threshold, null);
+    }
+
+    /**
+     * Creates a stream spilling past the specified threshold into the specified directory.
+     *
+     * @param threshold Number of bytes kept in memory before spilling
+     * @param directory Directory the temporary file is created in, or null for the default
+     */
+    public DeferredOutputStream(final long threshold, final Path directory) {
+
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Threshold must not be negative");
+        }
+        this.threshold = threshold;
+        this.directory = directory;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(final int b) throws IOException {
+
+        ensureOpen();
+        if ((memory != null) && (size >= threshold)) {
+            spill();
+        }
+        if (memory != null) {
+            memory.write(b);
+        } else {
+            fileOut.write(b);
+        }
+        size++;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(final byte @NotNull [] buffer, final int offset, final int length) throws IOException {
+
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        ensureOpen();
+        if ((memory != null) && ((size + length) > threshold)) {
+            spill();
+        }
+        if (memory != null) {
+            memory.write(buffer, offset, length);
+        } else {
+            fileOut.write(buffer, offset, length);
+        }
+        size += length;
+    }
+
+    /** {@inheritDoc} Writes buffered data to the temporary file, if spilled. */
+    @Override
+    public void flush() throws IOException {
+
+        ensureOpen();
+        if (fileOut != null) {
+            fileOut.flush();
+        }
+    }
+
+    /** Closes and deletes the temporary file, if any, and releases the data. */
+    @Override
+    public void close() throws IOException {
+
+        if (closed) {
+            return;
+        }
+        closed = true;
+        memory = null;
+        fileOut = null;
+        if (file != null) {
+            try {
+                channel.close();
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /** Returns the total number of bytes written. */
+    public long size() {
+
+        return size;
+    }
+
+    /** Returns true while the data is held in memory rather than in a temporary file. */
+    public boolean isInMemory() {
+
+        return memory != null;
+    }
+
+    /**
+     * Returns a stream over the data written so far, read from memory or from the temporary file
+     * without copying. The stream should be closed, and must be read before this one is closed.
+     *
+     * @return InputStream Stream over the data
+     * @throws IOException Error reading the temporary file
+     */
+    public InputStream toInputStream() throws IOException {
+
+        ensureOpen();
+        if (memory != null) {
+            return memory.toInputStream();
+        }
+        return Files.newInputStream(toPath());
+    }
+
+    /**
+     * Returns the temporary file holding the data written so far, spilling data still in memory.
+     * The file belongs to this stream and is deleted when it is closed.
+     *
+     * @return Path Temporary file
+     * @throws IOException Error writing the temporary file
+     */
+    public Path toPath() throws IOException {
+
+        ensureOpen();
+        if (memory != null) {
+            spill();
+        }
+        fileOut.flush();
+        return file;
+    }
+
+    /**
+     * Returns a read-only channel on the temporary file, positioned at the start, spilling data
+     * still in memory. The channel must be closed by the caller. Its size may grow with later
+     * writes.
+     *
+     * @return FileChannel Read-only channel on the data
+     * @throws IOException Error writing or opening the temporary file
+     */
+    public FileChannel toChannel() throws IOException {
+
+        return FileChannel.open(toPath(), StandardOpenOption.READ);
+    }
+
+    /** Moves the data held in memory to a new temporary file, with which writing continues. */
+    @SuppressWarnings("ReassignedVariable")
+    private void spill() throws IOException {
+
+        file = (directory == null)
+                ? Files.createTempFile(TEMP_PREFIX, TEMP_SUFFIX)
+                : Files.createTempFile(directory, TEMP_PREFIX, TEMP_SUFFIX);
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.WRITE);
+            final var buffers = memory.toByteBuffers();
+            var remaining = memory.size();
+            while (remaining > 0) {
+                remaining -= channel.write(buffers);
+            }
+        } catch (final IOException | RuntimeException e) {
+            try {
+                if (channel != null) {
+                    channel.close();
+                }
+            } finally {
+                Files.deleteIfExists(file);
+                file = null;
+                channel = null;
+            }
+            throw e;
+        }
+        fileOut = new BufferedOutputStream(Channels.newOutputStream(channel), FILE_BUFFER_LENGTH);
+        memory = null;
+    }
+
+    /** Throws if the stream has been closed. */
+    private void ensureOpen() throws IOException {
+
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+}
@@ -80,4 +80,28 @@ public final class FiniteInputStream extends FilterInputStream {
         }
         return bytesRead;
     }
+
+    /** {@inheritDoc} Skips no further than the maximum number of bytes. */
+    @Override
+    public long skip(final long count) throws IOException {
+
+        if (count <= 0) {
+            return 0L;
+        }
+        if (bytesRemaining <= 0) {
+            throw new EOFException("Maximum number of bytes read");
+        }
+        final var skipped = super.skip(Math.min(count, bytesRemaining));
+        if (skipped > 0) {
+            bytesRemaining -= skipped;
+        }
+        return skipped;
+    }
+
+    /** {@inheritDoc} Never more than the bytes remaining before the maximum. */
+    @Override
+    public int available() throws IOException {
+
+        return (int) Math.min(super.available(), Math.max(bytesRemaining, 0L));
+    }
 }
@@ -40,7 +40,7 @@ public final class FiniteOutputStream extends FilterOutputStream {
         if (bytesRemaining <= 0) {
             throw new EOFException("Maximum number of bytes written");
         }
-        super.write(value);
+        out.write(value);
         bytesRemaining--;
     }
 
@@ -59,7 +59,8 @@ public final class FiniteOutputStream extends FilterOutputStream {
             throw new EOFException("Maximum number of bytes written");
         }
         final var lengthToWrite = (length > bytesRemaining) ? (int) bytesRemaining : length;
-        super.write(buffer, offset, lengthToWrite);
+        // FilterOutputStream writes arrays a byte at a time, so go to the underlying stream directly
+        out.write(buffer, offset, lengthToWrite);
         bytesRemaining -= lengthToWrite;
     }
 }
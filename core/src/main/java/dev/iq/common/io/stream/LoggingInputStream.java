@@ -10,16 +10,28 @@ import java.io.FileOutputStream;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Objects;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Helper stream that will output the data read to a separate file for analysis, logging or
- * debugging.
+ * debugging. Created with a file name, every read is written straight to the file; created with a
+ * CaptureLog, reads only copy the bytes into its ring buffer, which is drained in batches on a
+ * background thread and may drop bytes under pressure rather than slow the reader. <br>
+ * Closing this stream closes the file it opened. A capture log is left open, as it may be shared
+ * by several streams, and is closed by whoever created it.
  */
 public final class LoggingInputStream extends FilterInputStream {
 
-    /** File output stream to write to. */
-    private final FileOutputStream fileOut;
+    /** Most bytes read at once when skipping. */
+    private static final int SKIP_BUFFER_LENGTH = 2048;
+
+    /** Stream the bytes read are written to. */
+    private final OutputStream log;
+
+    /** Whether the log was opened by this stream and is closed with it. */
+    private final boolean ownsLog;
 
     /**
      * Creates a logging stream that will output all bytes read to the specified URI for later
@@ -31,8 +43,33 @@ public final class LoggingInputStream extends FilterInputStream {
      */
     public LoggingInputStream(final String uri, final InputStream in) throws IOException {
 
+        this(new FileOutputStream(uri), true, in);
+    }
+
+    /**
+     * Creates a logging stream that will capture all bytes read asynchronously to the capture log.
+     * The capture log is not closed with this stream.
+     *
+     * @param capture Capture log to copy the bytes read to
+     * @param in Input stream to read
+     */
+    public LoggingInputStream(final CaptureLog capture, final InputStream in) {
+
+        this(capture, false, in);
+    }
+
+    /**
+     * Creates a logging stream writing to the specified stream.
+     *
+     * @param log Stream the bytes read are written to
+     * @param ownsLog Whether the log is closed with this stream
+     * @param in Input stream to read
+     */
+    private LoggingInputStream(final OutputStream log, final boolean ownsLog, final InputStream in) {
+
         super(in);
-        fileOut = new FileOutputStream(uri);
+        this.log = Objects.requireNonNull(log);
+        this.ownsLog = ownsLog;
     }
 
     /** {@inheritDoc} */
@@ -41,8 +78,7 @@ public final class LoggingInputStream extends FilterInputStream {
 
         final var result = super.read();
         if (result > -1) {
-            fileOut.write(result);
-            fileOut.flush();
+            log.write(result);
         }
         return result;
     }
@@ -51,12 +87,7 @@ public final class LoggingInputStream extends FilterInputStream {
     @Override
     public int read(final byte @NotNull [] buffer) throws IOException {
 
-        final var result = super.read(buffer);
-        if (result > -1) {
-            fileOut.write(buffer, 0, result);
-            fileOut.flush();
-        }
-        return result;
+        return read(buffer, 0, buffer.length);
     }
 
     /** {@inheritDoc} */
@@ -65,18 +96,41 @@ public final class LoggingInputStream extends FilterInputStream {
 
         final var result = super.read(buffer, offset, length);
         if (result > -1) {
-            fileOut.write(buffer, offset, result);
-            fileOut.flush();
+            log.write(buffer, offset, result);
         }
         return result;
     }
 
-    /** {@inheritDoc} */
+    /** {@inheritDoc} Reads the skipped bytes rather than skipping them, so that they are logged. */
+    @Override
+    @SuppressWarnings("ReassignedVariable")
+    public long skip(final long count) throws IOException {
+
+        if (count <= 0) {
+            return 0L;
+        }
+        final var buffer = new byte[(int) Math.min(count, SKIP_BUFFER_LENGTH)];
+        var skipped = 0L;
+        while (skipped < count) {
+            final var result = read(buffer, 0, (int) Math.min(count - skipped, buffer.length));
+            if (result < 0) {
+                break;
+            }
+            skipped += result;
+        }
+        return skipped;
+    }
+
+    /** {@inheritDoc} Closes the log as well if this stream opened it. */
     @Override
     public void close() throws IOException {
 
-        super.close();
-        fileOut.flush();
-        fileOut.close();
+        if (!ownsLog) {
+            super.close();
+            return;
+        }
+        try (log) {
+            super.close();
+        }
     }
 }
@@ -7,6 +7,9 @@
 package dev.iq.common.io.stream;
 
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
 
 /** An input stream that reads nothing and always indicates more data is present. */
 public final class NullInputStream extends InputStream {
@@ -17,4 +20,20 @@ public final class NullInputStream extends InputStream {
 
         return 0;
     }
+
+    /** {@inheritDoc} Fills the whole range with zeros. */
+    @Override
+    public int read(final byte @NotNull [] buffer, final int offset, final int length) {
+
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        Arrays.fill(buffer, offset, offset + length, (byte) 0);
+        return length;
+    }
+
+    /** {@inheritDoc} Always skips the full count. */
+    @Override
+    public long skip(final long count) {
+
+        return Math.max(count, 0L);
+    }
 }
@@ -7,6 +7,8 @@
 package dev.iq.common.io.stream;
 
 import java.io.OutputStream;
+import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
 
 /** Output stream that performs no action but simply consumes any write requests. */
 public final class NullOutputStream extends OutputStream {
@@ -14,4 +16,18 @@ public final class NullOutputStream extends OutputStream {
     /** {@inheritDoc} */
     @Override
     public void write(final int b) {}
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(final byte @NotNull [] buffer) {
+
+        Objects.requireNonNull(buffer);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(final byte @NotNull [] buffer, final int offset, final int length) {
+
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+    }
 }
@@ -0,0 +1,316 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.stream;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Output stream writing gzip data, compressing fixed-size blocks concurrently on a pool of worker
+ * threads so that large outputs use several cores. Each block is primed with the last 32 KB of
+ * the block before it as a deflate dictionary, so matches still reach back across block
+ * boundaries and the ratio stays close to that of GZIPOutputStream. Blocks end on a sync flush
+ * and are written in order as a single standard gzip member, readable by GZIPInputStream or any
+ * gzip tool. <br>
+ * At most the configured number of blocks are in flight at once; a write that fills a block waits
+ * for the oldest to be written when that many are in flight, which bounds memory to roughly twice
+ * that many blocks. flush() compresses and writes whatever is buffered, at some cost in ratio.
+ * Closing finishes the gzip member, closes the underlying stream and stops the workers. <br>
+ * This type is not thread-safe.
+ */
+public final class ParallelGzipOutputStream extends OutputStream {
+
+    /** Length of each block compressed independently. (128 KB) */
+    static final int DEFAULT_BLOCK_LENGTH = 128 * 1024;
+
+    /** Length of the dictionary carried from each block to the next (the deflate window). */
+    static final int DICTIONARY_LENGTH = 32 * 1024;
+
+    /** Gzip header: magic, deflate method, no flags, no time, no extra flags, unknown OS. */
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    /** Stream receiving the compressed data. */
+    private final OutputStream out;
+
+    /** Compression level of every block. */
+    private final int level;
+
+    /** Most blocks compressing or waiting to be written at once. */
+    private final int maxInFlight;
+
+    /** Workers compressing the blocks. */
+    private final ExecutorService workers;
+
+    /** Deflaters not in use, shared by the workers. */
+    private final Queue<Deflater> deflaters = new ConcurrentLinkedQueue<>();
+
+    /** Compressed blocks in the order they must be written. */
+    private final Queue<Future<byte[]>> pending = new ArrayDeque<>();
+
+    /** Checksum of all the uncompressed data. */
+    private final CRC32 crc = new CRC32();
+
+    /** Block being filled. */
+    private byte[] block;
+
+    /** Number of bytes in the block being filled. */
+    private int position = 0;
+
+    /** Tail of the last block submitted, used as the dictionary of the next. */
+    private byte[] dictionary = new byte[0];
+
+    /** Total number of uncompressed bytes written. */
+    private long size = 0L;
+
+    /** Whether the stream has been closed. */
+    private boolean closed = false;
+
+    /**
+     * Creates a stream compressing with the default level, one worker per processor and up to
+     * two blocks in flight per worker.
+     *
+     * @param out Stream receiving the gzip data
+     * @throws IOException Error writing the gzip header
+     */
+    public ParallelGzipOutputStream(final OutputStream out) throws IOException {
+
+        this(out, Deflater.DEFAULT_COMPRESSION, processors(), processors() * 2);
+    }
+
+    /**
+     * Creates a stream with the specified level, number of workers and bound on blocks in flight.
+     *
+     * @param out Stream receiving the gzip data
+     * @param level Compression level (0-9 or Deflater.DEFAULT_COMPRESSION)
+     * @param parallelism Number of worker threads
+     * @param maxInFlight Most blocks compressing or waiting to be written at once
+     * @throws IOException Error writing the gzip header
+     */
+    public ParallelGzipOutputStream(
+            final OutputStream out, final int level, final int parallelism, final int maxInFlight) throws IOException {
+
+        this(out, level, parallelism, maxInFlight, DEFAULT_BLOCK_LENGTH);
+    }
+
+    /**
+     * Creates a stream with the specified block length.
+     *
+     * @param out Stream receiving the gzip data
+     * @param level Compression level (0-9 or Deflater.DEFAULT_COMPRESSION)
+     * @param parallelism Number of worker threads
+     * @param maxInFlight Most blocks compressing or waiting to be written at once
+     * @param blockLength Length of each block compressed independently
+     * @throws IOException Error writing the gzip header
+     */
+    ParallelGzipOutputStream(
+            final OutputStream out,
+            final int level,
+            final int parallelism,
+            final int maxInFlight,
+            final int blockLength)
+            throws IOException {
+
+        if (((level < 0) || (level > Deflater.BEST_COMPRESSION)) && (level != Deflater.DEFAULT_COMPRESSION)) {
+            throw new IllegalArgumentException("Invalid compression level %d".formatted(level));
+        }
+        if ((parallelism <= 0) || (maxInFlight <= 0) || (blockLength <= 0)) {
+            throw new IllegalArgumentException("Parallelism, blocks in flight and block length must be positive");
+        }
+        this.out = Objects.requireNonNull(out);
+        this.level = level;
+        this.maxInFlight = maxInFlight;
+        block = new byte[blockLength];
+        out.write(HEADER);
+        workers = Executors.newFixedThreadPool(
+                parallelism,
+                Thread.ofPlatform().name("parallel-gzip-", 0).daemon().factory());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(final int value) throws IOException {
+
+        ensureOpen();
+        block[position++] = (byte) value;
+        if (position == block.length) {
+            submit(false);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("ReassignedVariable")
+    public void write(final byte @NotNull [] buffer, final int offset, final int length) throws IOException {
+
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        ensureOpen();
+        var from = offset;
+        var remaining = length;
+        while (remaining > 0) {
+            final var count = Math.min(remaining, block.length - position);
+            System.arraycopy(buffer, from, block, position, count);
+            position += count;
+            from += count;
+            remaining -= count;
+            if (position == block.length) {
+                submit(false);
+            }
+        }
+    }
+
+    /** Compresses and writes everything buffered so far, then flushes the underlying stream. */
+    @Override
+    public void flush() throws IOException {
+
+        ensureOpen();
+        if (position > 0) {
+            submit(false);
+        }
+        drain(0);
+        out.flush();
+    }
+
+    /** Finishes the gzip member, closes the underlying stream and stops the workers. */
+    @Override
+    public void close() throws IOException {
+
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (out) {
+            submit(true);
+            drain(0);
+            final var trailer = new byte[Integer.BYTES * 2];
+            putIntLittleEndian(trailer, 0, (int) crc.getValue());
+            putIntLittleEndian(trailer, Integer.BYTES, (int) size);
+            out.write(trailer);
+        } finally {
+            workers.shutdownNow();
+            pending.forEach(future -> future.cancel(true));
+            deflaters.forEach(Deflater::end);
+        }
+    }
+
+    /** Hands the buffered block to the workers and writes any blocks that are ready, in order. */
+    private void submit(final boolean last) throws IOException {
+
+        final var data = block;
+        final var length = position;
+        final var primer = dictionary;
+        crc.update(data, 0, length);
+        size += length;
+        final var tail = Math.min(length, DICTIONARY_LENGTH);
+        dictionary = (tail == DICTIONARY_LENGTH)
+                ? Arrays.copyOfRange(data, length - tail, length)
+                : joinTail(primer, data, length);
+        pending.add(workers.submit(() -> compress(data, length, primer, last)));
+        block = new byte[data.length];
+        position = 0;
+        drain(maxInFlight - 1);
+    }
+
+    /** Writes compressed blocks in order until at most the specified number are left in flight. */
+    private void drain(final int keep) throws IOException {
+
+        while (!pending.isEmpty() && ((pending.size() > keep) || pending.peek().isDone())) {
+            try {
+                out.write(pending.peek().get());
+                pending.remove();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while compressing");
+            } catch (final ExecutionException e) {
+                throw new IOException("Parallel compression failed", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Compresses one block as raw deflate data primed with the dictionary, ending with a sync flush,
+     * or finishing the deflate stream if it is the last block.
+     */
+    @SuppressWarnings("ReassignedVariable")
+    private byte[] compress(final byte[] data, final int length, final byte[] primer, final boolean last) {
+
+        var deflater = deflaters.poll();
+        if (deflater == null) {
+            deflater = new Deflater(level, true);
+        }
+        try {
+            if (primer.length > 0) {
+                deflater.setDictionary(primer);
+            }
+            deflater.setInput(data, 0, length);
+            if (last) {
+                deflater.finish();
+            }
+            final var flush = last ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH;
+            var result = new byte[length + (length >> 3) + 64];
+            var count = 0;
+            while (true) {
+                count += deflater.deflate(result, count, result.length - count, flush);
+                // A flush is complete once it leaves room in the output; finishing sets finished()
+                final var done = last ? deflater.finished() : (count < result.length);
+                if (done) {
+                    return Arrays.copyOf(result, count);
+                }
+                if (count == result.length) {
+                    result = Arrays.copyOf(result, result.length * 2);
+                }
+            }
+        } finally {
+            deflater.reset();
+            deflaters.add(deflater);
+        }
+    }
+
+    /** Throws if the stream has been closed. */
+    private void ensureOpen() throws IOException {
+
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    /** Returns the last DICTIONARY_LENGTH bytes of the previous dictionary followed by a short block. */
+    private static byte[] joinTail(final byte[] previous, final byte[] data, final int length) {
+
+        final var keep = Math.min(previous.length, DICTIONARY_LENGTH - length);
+        final var joined = new byte[keep + length];
+        System.arraycopy(previous, previous.length - keep, joined, 0, keep);
+        System.arraycopy(data, 0, joined, keep, length);
+        return joined;
+    }
+
+    /** Stores the value in little-endian order, as gzip requires. */
+    private static void putIntLittleEndian(final byte[] target, final int offset, final int value) {
+
+        for (var i = 0; i < Integer.BYTES; i++) {
+            target[offset + i] = (byte) (value >>> (Byte.SIZE * i));
+        }
+    }
+
+    /** Returns the number of processors. */
+    private static int processors() {
+
+        return Runtime.getRuntime().availableProcessors();
+    }
+}
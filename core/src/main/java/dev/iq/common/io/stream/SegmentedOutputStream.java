@@ -0,0 +1,188 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Output stream that accumulates bytes in a list of segments instead of one growing array, so no
+ * byte is ever copied to make room for more. The content can be consumed as an InputStream, as
+ * read-only ByteBuffers for gathering writes, or copied once into an exactly sized array. <br>
+ * When the length is known in advance (a Content-Length or file size), passing it as a hint
+ * allocates a single segment of exactly that size; if the hint is accurate, toByteArray() then
+ * returns that segment without copying. Without a hint, segments start small and double up to a
+ * fixed maximum. <br>
+ * This type is not thread-safe.
+ */
+public final class SegmentedOutputStream extends OutputStream {
+
+    /** Size of the first segment when no hint is given. */
+    static final int MIN_SEGMENT_LENGTH = 4 * 1024;
+
+    /** Largest segment allocated when no hint is given. */
+    static final int MAX_SEGMENT_LENGTH = 1024 * 1024;
+
+    /** Largest array the JVM reliably allocates. */
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    /** Filled segments followed by the current one. */
+    private final List<byte[]> segments = new ArrayList<>();
+
+    /** Segment currently being filled. */
+    private byte[] current;
+
+    /** Number of bytes used in the current segment. */
+    private int position = 0;
+
+    /** Total number of bytes written. */
+    private long size = 0L;
+
+    /** Creates a stream without a length hint. */
+    public SegmentedOutputStream() {
+
+        this(0L);
+    }
+
+    /**
+     * Creates a stream sized for the expected number of bytes.
+     *
+     * @param lengthHint Expected total length (0 or less if unknown)
+     */
+    public SegmentedOutputStream(final long lengthHint) {
+
+        final var length = (lengthHint > 0) ? (int) Math.min(lengthHint, MAX_ARRAY_LENGTH) : MIN_SEGMENT_LENGTH;
+        current = new byte[length];
+        segments.add(current);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(final int value) {
+
+        if (position == current.length) {
+            addSegment();
+        }
+        current[position++] = (byte) value;
+        size++;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(final byte @NotNull [] buffer) {
+
+        write(buffer, 0, buffer.length);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("ReassignedVariable")
+    public void write(final byte @NotNull [] buffer, final int offset, final int length) {
+
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        var from = offset;
+        var remaining = length;
+        while (remaining > 0) {
+            if (position == current.length) {
+                addSegment();
+            }
+            final var count = Math.min(remaining, current.length - position);
+            System.arraycopy(buffer, from, current, position, count);
+            position += count;
+            from += count;
+            remaining -= count;
+        }
+        size += length;
+    }
+
+    /** Returns the total number of bytes written. */
+    public long size() {
+
+        return size;
+    }
+
+    /**
+     * Returns the content as an exactly sized array. If all the data fits exactly in a single
+     * segment (an accurate length hint), that segment itself is returned without copying; it must
+     * then not be modified while the stream is still in use.
+     *
+     * @return byte[] Content of the stream
+     */
+    @SuppressWarnings("ReassignedVariable")
+    public byte[] toByteArray() {
+
+        if ((segments.size() == 1) && (position == current.length)) {
+            return current;
+        }
+        if (size > MAX_ARRAY_LENGTH) {
+            throw new OutOfMemoryError("Content of %d bytes exceeds the maximum array size".formatted(size));
+        }
+        final var result = new byte[(int) size];
+        var offset = 0;
+        for (final var segment : views()) {
+            final var length = segment.remaining();
+            segment.get(result, offset, length);
+            offset += length;
+        }
+        return result;
+    }
+
+    /** Returns read-only views of the used part of each segment, suitable for gathering writes. */
+    public ByteBuffer[] toByteBuffers() {
+
+        return buffers().toArray(ByteBuffer[]::new);
+    }
+
+    /** Returns a stream over the bytes written so far (later writes are not visible to it). */
+    public InputStream toInputStream() {
+
+        return new ByteBufferInputStream(views());
+    }
+
+    /** Writes the content to the specified stream, segment by segment. */
+    public void writeTo(final OutputStream out) throws IOException {
+
+        final var last = segments.size() - 1;
+        for (var i = 0; i < last; i++) {
+            final var segment = segments.get(i);
+            out.write(segment, 0, segment.length);
+        }
+        out.write(current, 0, position);
+    }
+
+    /** Returns read-only views of the used part of each segment. */
+    private List<ByteBuffer> buffers() {
+
+        return views().stream().map(ByteBuffer::asReadOnlyBuffer).toList();
+    }
+
+    /** Returns views of the used part of each segment, backed by the accessible segment arrays. */
+    private List<ByteBuffer> views() {
+
+        final var last = segments.size() - 1;
+        final var result = new ArrayList<ByteBuffer>(segments.size());
+        for (var i = 0; i <= last; i++) {
+            final var segment = segments.get(i);
+            result.add(ByteBuffer.wrap(segment, 0, (i == last) ? position : segment.length));
+        }
+        return result;
+    }
+
+    /** Starts a new segment, twice as large as the previous one up to the maximum. */
+    private void addSegment() {
+
+        current = new byte[(int) Math.min(Math.max((long) current.length * 2, MIN_SEGMENT_LENGTH), MAX_SEGMENT_LENGTH)];
+        segments.add(current);
+        position = 0;
+    }
+}
@@ -14,7 +14,10 @@ import java.util.Collection;
 import java.util.Collections;
 import org.jetbrains.annotations.NotNull;
 
-/** An output stream that writes to n underlying streams sequentially. */
+/**
+ * An output stream that writes to n underlying streams sequentially. See AsyncTee to write to
+ * them concurrently, so that one slow stream does not hold up the others.
+ */
 public final class Tee extends OutputStream {
 
     /** Underlying streams to output to. */
@@ -0,0 +1,56 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.serde;
+
+/**
+ * Tuning options for a {@link SerdeArchive}.
+ *
+ * @param segmentBytes Size after which a new segment file is started
+ * @param syncRecords Number of appended records after which the data is forced to disk
+ * @param syncBytes Number of appended bytes after which the data is forced to disk
+ * @param bufferBytes Size of the in-memory write buffer
+ * @param memoryMapped Whether sealed (full) segments are memory mapped for reads
+ */
+public record ArchiveOptions(
+        long segmentBytes, int syncRecords, long syncBytes, int bufferBytes, boolean memoryMapped) {
+
+    /** Largest segment that can be addressed (and memory mapped). */
+    static final long MAX_SEGMENT_BYTES = Integer.MAX_VALUE;
+
+    /** Defaults: 256 mB segments, fsync every 10,000 records or 16 mB, 64 kB write buffer, mapped reads. */
+    public static final ArchiveOptions DEFAULT =
+            new ArchiveOptions(256L * 1024 * 1024, 10_000, 16L * 1024 * 1024, 64 * 1024, true);
+
+    /** Validates the options. */
+    public ArchiveOptions {
+
+        if ((segmentBytes <= 0) || (segmentBytes > MAX_SEGMENT_BYTES)) {
+            throw new IllegalArgumentException("Segment size must be between 1 and %d".formatted(MAX_SEGMENT_BYTES));
+        }
+        if ((syncRecords <= 0) || (syncBytes <= 0) || (bufferBytes <= 0)) {
+            throw new IllegalArgumentException("Sync thresholds and buffer size must be positive");
+        }
+    }
+
+    /** Returns a copy of these options with the specified segment size. */
+    public ArchiveOptions withSegmentBytes(final long bytes) {
+
+        return new ArchiveOptions(bytes, syncRecords, syncBytes, bufferBytes, memoryMapped);
+    }
+
+    /** Returns a copy of these options with the specified fsync thresholds. */
+    public ArchiveOptions withSync(final int records, final long bytes) {
+
+        return new ArchiveOptions(segmentBytes, records, bytes, bufferBytes, memoryMapped);
+    }
+
+    /** Returns a copy of these options with memory mapping of sealed segments enabled or not. */
+    public ArchiveOptions withMemoryMapped(final boolean mapped) {
+
+        return new ArchiveOptions(segmentBytes, syncRecords, syncBytes, bufferBytes, mapped);
+    }
+}
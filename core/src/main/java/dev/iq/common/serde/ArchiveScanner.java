@@ -0,0 +1,118 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.serde;
+
+import dev.iq.common.fp.Io;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+/**
+ * Sequential reader of the frames in a segment file. Each frame is laid out as the key length,
+ * payload length, key (UTF-8), payload and a CRC32C of the key and payload. The scanner stops at
+ * the first incomplete or corrupt frame, recording where the valid data ends.
+ */
+final class ArchiveScanner implements AutoCloseable {
+
+    /** Bytes preceding the key of each frame (key and payload lengths). */
+    static final int HEADER_BYTES = Integer.BYTES * 2;
+
+    /** Bytes following the payload of each frame (checksum). */
+    static final int TRAILER_BYTES = Integer.BYTES;
+
+    /** Buffer size used for sequential reads. */
+    private static final int BUFFER_BYTES = 1024 * 1024;
+
+    /** Underlying stream. */
+    private final DataInputStream in;
+
+    /** Number of bytes of the segment to scan. */
+    private final long limit;
+
+    /** Checksum of the current frame. */
+    private final CRC32C crc = new CRC32C();
+
+    /** Offset of the first byte after the last valid frame. */
+    private long validEnd = 0L;
+
+    /**
+     * A frame read from a segment.
+     *
+     * @param key Key of the record
+     * @param payloadOffset Offset of the payload within the segment
+     * @param payload Serialized record
+     */
+    record Frame(String key, long payloadOffset, byte[] payload) {}
+
+    /**
+     * Opens a scanner over the first bytes of the specified segment.
+     *
+     * @param path Segment file
+     * @param limit Number of bytes to scan
+     */
+    ArchiveScanner(final Path path, final long limit) {
+
+        in = new DataInputStream(
+                new BufferedInputStream(Io.withReturn(() -> Files.newInputStream(path)), BUFFER_BYTES));
+        this.limit = limit;
+    }
+
+    /** Returns the next valid frame, or empty at the end of the data or at a torn/corrupt frame. */
+    Optional<Frame> next() {
+
+        return Io.withReturn(() -> (validEnd < limit) ? readFrame() : Optional.empty());
+    }
+
+    /** Returns the offset of the first byte after the last valid frame read. */
+    long validEnd() {
+
+        return validEnd;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+
+        Io.withVoid(in::close);
+    }
+
+    /** Reads and validates the frame at the current position. */
+    private Optional<Frame> readFrame() throws IOException {
+
+        try {
+            final var keyLength = in.readInt();
+            final var payloadLength = in.readInt();
+            final var frameLength = (long) HEADER_BYTES + keyLength + payloadLength + TRAILER_BYTES;
+            if ((keyLength < 0) || (payloadLength < 0) || ((validEnd + frameLength) > limit)) {
+                return Optional.empty();
+            }
+            final var key = new byte[keyLength];
+            final var payload = new byte[payloadLength];
+            in.readFully(key);
+            in.readFully(payload);
+            final var checksum = in.readInt();
+            crc.reset();
+            crc.update(key);
+            crc.update(payload);
+            if (checksum != (int) crc.getValue()) {
+                return Optional.empty();
+            }
+            final var frame =
+                    new Frame(new String(key, StandardCharsets.UTF_8), validEnd + HEADER_BYTES + keyLength, payload);
+            validEnd += frameLength;
+            return Optional.of(frame);
+        } catch (final EOFException torn) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.serde;
+
+import dev.iq.common.error.IoException;
+import dev.iq.common.fp.Io;
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A single segment file of a {@link SerdeArchive}. Reads use positional channel reads, or a
+ * read-only memory mapping once the segment has been sealed. This type is not thread-safe; the
+ * owning archive serializes access.
+ */
+final class ArchiveSegment {
+
+    /** Path of the segment file. */
+    private final Path path;
+
+    /** Channel used for positional reads and writes. */
+    private final FileChannel channel;
+
+    /** Number of bytes written to the file. */
+    private long size;
+
+    /** Whether the segment is full and will no longer be written. */
+    private boolean sealed = false;
+
+    /** Mapping of the sealed segment (created on first read if mapping is enabled). */
+    private MappedByteBuffer mapped = null;
+
+    /**
+     * Opens (or creates) the segment at the specified path.
+     *
+     * @param path Segment file
+     */
+    ArchiveSegment(final Path path) {
+
+        this.path = path;
+        channel = Io.withReturn(() ->
+                FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE));
+        size = Io.withReturn(channel::size);
+    }
+
+    /** Returns the path of the segment file. */
+    Path path() {
+
+        return path;
+    }
+
+    /** Returns the number of bytes written to the file. */
+    long size() {
+
+        return size;
+    }
+
+    /** Writes the buffers at the end of the file. */
+    void append(final ByteBuffer... buffers) {
+
+        Io.withVoid(() -> {
+            channel.position(size);
+            while (hasRemaining(buffers)) {
+                size += channel.write(buffers);
+            }
+        });
+    }
+
+    /** Discards everything from the specified offset onwards (used to drop a torn write). */
+    void truncate(final long offset) {
+
+        Io.withVoid(() -> channel.truncate(offset));
+        size = offset;
+    }
+
+    /** Forces written data to the storage device. */
+    void force() {
+
+        Io.withVoid(() -> channel.force(false));
+    }
+
+    /** Marks the segment as full so it may be memory mapped. */
+    void seal() {
+
+        sealed = true;
+    }
+
+    /**
+     * Reads the specified range of the file into a new array.
+     *
+     * @param offset Offset of the first byte
+     * @param length Number of bytes to read
+     * @param map Whether a sealed segment should be read through a memory mapping
+     * @return byte[] Bytes read
+     */
+    byte[] read(final long offset, final int length, final boolean map) {
+
+        final var result = new byte[length];
+        if (sealed && map) {
+            mapping().get((int) offset, result);
+        } else {
+            readFully(ByteBuffer.wrap(result), offset);
+        }
+        return result;
+    }
+
+    /** Reads from the specified position until the buffer is full. */
+    @SuppressWarnings("ReassignedVariable")
+    void readFully(final ByteBuffer target, final long offset) {
+
+        Io.withVoid(() -> {
+            var position = offset;
+            while (target.hasRemaining()) {
+                final var read = channel.read(target, position);
+                if (read < 0) {
+                    throw new EOFException("Unexpected end of segment %s".formatted(path));
+                }
+                position += read;
+            }
+        });
+    }
+
+    /** Closes the channel (any mapping is released when it is garbage collected). */
+    void close() {
+
+        mapped = null;
+        Io.withVoid(channel::close);
+    }
+
+    /** Returns the mapping of the segment, creating it if needed. */
+    private MappedByteBuffer mapping() {
+
+        if (mapped == null) {
+            if (size > ArchiveOptions.MAX_SEGMENT_BYTES) {
+                throw new IoException("Segment %s is too large to map".formatted(path));
+            }
+            mapped = Io.withReturn(() -> channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+        return mapped;
+    }
+
+    /** Returns whether any of the buffers still has data to write. */
+    private static boolean hasRemaining(final ByteBuffer... buffers) {
+
+        return Arrays.stream(buffers).anyMatch(ByteBuffer::hasRemaining);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.serde;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Encoder and decoder of a single type of value in the compact binary format. Implementations are
+ * stateless and thread-safe, so they are derived once per type and reused.
+ *
+ * @param <T> Type of value encoded
+ */
+interface BinaryCodec<T> {
+
+    /**
+     * Writes the (non-null unless the codec is nullable) value to the output.
+     *
+     * @param out Output to receive the encoded value
+     * @param value Value to encode
+     */
+    void write(BinaryOutput out, T value);
+
+    /**
+     * Reads the next value from the input.
+     *
+     * @param in Input to decode
+     * @return T Decoded value
+     */
+    T read(BinaryInput in);
+
+    /**
+     * Returns the value used for a component that was not present when the data was written (an
+     * older schema version). Reference types default to null.
+     *
+     * @return T Default value
+     */
+    default T missing() {
+
+        return null;
+    }
+
+    /** Creates a codec from the specified writer and reader functions. */
+    static <T> BinaryCodec<T> of(final BiConsumer<BinaryOutput, T> writer, final Function<BinaryInput, T> reader) {
+
+        return of(writer, reader, null);
+    }
+
+    /** Creates a codec from the specified writer and reader functions with a default value. */
+    static <T> BinaryCodec<T> of(
+            final BiConsumer<BinaryOutput, T> writer, final Function<BinaryInput, T> reader, final T missing) {
+
+        return new BinaryCodec<>() {
+
+            @Override
+            public void write(final BinaryOutput out, final T value) {
+
+                writer.accept(out, value);
+            }
+
+            @Override
+            public T read(final BinaryInput in) {
+
+                return reader.apply(in);
+            }
+
+            @Override
+            public T missing() {
+
+                return missing;
+            }
+        };
+    }
+
+    /**
+     * Wraps a codec so that null values are permitted. A single presence byte precedes each value.
+     */
+    static <T> BinaryCodec<T> nullable(final BinaryCodec<T> codec) {
+
+        return new BinaryCodec<>() {
+
+            @Override
+            public void write(final BinaryOutput out, final T value) {
+
+                out.writeBoolean(value != null);
+                if (value != null) {
+                    codec.write(out, value);
+                }
+            }
+
+            @Override
+            public T read(final BinaryInput in) {
+
+                return in.readBoolean() ? codec.read(in) : null;
+            }
+
+            @Override
+            public T missing() {
+
+                return codec.missing();
+            }
+        };
+    }
+}
@@ -0,0 +1,472 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.serde;
+
+import dev.iq.common.adt.Lazy;
+import dev.iq.common.adt.Tuple2;
+import dev.iq.common.error.IoException;
+import dev.iq.common.version.Uid;
+import dev.iq.common.version.UidFactory;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Derives binary codecs for Java types. Records are encoded via their canonical constructor and
+ * accessors, so a codec is built once per record type and cached for all later calls.
+ */
+final class BinaryCodecs {
+
+    /** Codecs for primitive types (not nullable, default to zero when missing). */
+    private static final Map<Class<?>, BinaryCodec<?>> PRIMITIVES = Map.of(
+            boolean.class, BinaryCodec.of(BinaryOutput::writeBoolean, BinaryInput::readBoolean, false),
+            byte.class, BinaryCodec.of((o, v) -> o.writeByte(v), i -> (byte) i.readByte(), (byte) 0),
+            short.class, BinaryCodec.of((o, v) -> o.writeSignedInt(v), i -> (short) i.readSignedInt(), (short) 0),
+            char.class, BinaryCodec.of((o, v) -> o.writeVarInt(v), i -> (char) i.readVarInt(), (char) 0),
+            int.class, BinaryCodec.of(BinaryOutput::writeSignedInt, BinaryInput::readSignedInt, 0),
+            long.class, BinaryCodec.of(BinaryOutput::writeSignedLong, BinaryInput::readSignedLong, 0L),
+            float.class, BinaryCodec.of(BinaryCodecs::writeFloat, BinaryCodecs::readFloat, 0.0f),
+            double.class, BinaryCodec.of(BinaryCodecs::writeDouble, BinaryCodecs::readDouble, 0.0d));
+
+    /**
+     * Codecs for scalar reference types. The position of each type in this list is also its tag
+     * when written through a dynamic (Object or unbound type variable) codec, so new entries must
+     * only ever be appended.
+     */
+    private static final List<Tuple2<Class<?>, BinaryCodec<?>>> SCALARS = List.of(
+            scalar(Boolean.class, BinaryOutput::writeBoolean, BinaryInput::readBoolean),
+            scalar(Byte.class, (o, v) -> o.writeByte(v), i -> (byte) i.readByte()),
+            scalar(Short.class, (o, v) -> o.writeSignedInt(v), i -> (short) i.readSignedInt()),
+            scalar(Character.class, (o, v) -> o.writeVarInt(v), i -> (char) i.readVarInt()),
+            scalar(Integer.class, BinaryOutput::writeSignedInt, BinaryInput::readSignedInt),
+            scalar(Long.class, BinaryOutput::writeSignedLong, BinaryInput::readSignedLong),
+            scalar(Float.class, BinaryCodecs::writeFloat, BinaryCodecs::readFloat),
+            scalar(Double.class, BinaryCodecs::writeDouble, BinaryCodecs::readDouble),
+            scalar(String.class, BinaryOutput::writeString, BinaryInput::readString),
+            scalar(byte[].class, BinaryOutput::writeBytes, BinaryInput::readBytes),
+            scalar(Instant.class, BinaryCodecs::writeInstant, BinaryCodecs::readInstant),
+            scalar(Duration.class, BinaryCodecs::writeDuration, BinaryCodecs::readDuration),
+            scalar(LocalDate.class, (o, v) -> o.writeSignedLong(v.toEpochDay()), BinaryCodecs::readLocalDate),
+            scalar(UUID.class, BinaryCodecs::writeUuid, BinaryCodecs::readUuid));
+
+    /** Lookup of scalar codecs by type. */
+    private static final Map<Class<?>, BinaryCodec<?>> SCALAR_CODECS =
+            SCALARS.stream().collect(Collectors.toUnmodifiableMap(Tuple2::_1, Tuple2::_2));
+
+    /** Lookup of scalar tags by type. */
+    private static final Map<Class<?>, Integer> SCALAR_TAGS = IntStream.range(0, SCALARS.size())
+            .boxed()
+            .collect(Collectors.toUnmodifiableMap(i -> SCALARS.get(i)._1(), Function.identity()));
+
+    /** Dynamic tag for a Uid value. */
+    private static final int UID_TAG = SCALARS.size();
+
+    /** Dynamic tag for an enum constant (class name and ordinal follow). */
+    private static final int ENUM_TAG = UID_TAG + 1;
+
+    /** Dynamic tag for a record (class name and record encoding follow). */
+    private static final int RECORD_TAG = ENUM_TAG + 1;
+
+    /** Codec for any Uid implementation. */
+    private static final BinaryCodec<Uid> UID =
+            BinaryCodec.of((o, v) -> o.writeString(v.code()), i -> UidFactory.from(i.readString()));
+
+    /** Codec for values whose type is only known at runtime. */
+    private static final BinaryCodec<Object> DYNAMIC =
+            BinaryCodec.nullable(BinaryCodec.of(BinaryCodecs::writeDynamic, BinaryCodecs::readDynamic));
+
+    /**
+     * Record and enum types that dynamic values may name in binary data, keyed by class name. A
+     * type is registered when a codec is derived for it or a value of it is written dynamically,
+     * or explicitly through BinarySerde.register(); no other class named in the data is loaded.
+     */
+    private static final Map<String, Class<?>> DYNAMIC_TYPES = new ConcurrentHashMap<>();
+
+    /** Record codecs keyed by the record type and its resolved type arguments. */
+    private static final Map<Tuple2<Class<?>, List<Type>>, RecordCodec<?>> RECORDS = new ConcurrentHashMap<>();
+
+    /** Type contains only static members. */
+    private BinaryCodecs() {}
+
+    /**
+     * Returns the (cached) codec for the specified record type. The codec is derived from the
+     * canonical constructor and accessors the first time the type is requested.
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends Record> RecordCodec<T> record(final Class<T> type) {
+
+        return (RecordCodec<T>) record(new Tuple2<>(type, List.of()));
+    }
+
+    /** Allows values of the record or enum type to be read where the static type is unknown. */
+    static void register(final Class<?> type) {
+
+        if (!type.isRecord() && !type.isEnum()) {
+            throw new IllegalArgumentException("Type %s is not a record or enum".formatted(type.getName()));
+        }
+        DYNAMIC_TYPES.putIfAbsent(type.getName(), type);
+    }
+
+    /**
+     * Returns the codec to use for the specified (possibly generic) type. Type variables are
+     * resolved against the bindings given and fall back to a dynamic codec if unbound.
+     */
+    static BinaryCodec<?> forType(final Type type, final Map<TypeVariable<?>, Type> bindings) {
+
+        if (type instanceof final Class<?> c) {
+            return forClass(c);
+        }
+        if (type instanceof final ParameterizedType p) {
+            return forParameterized(p, bindings);
+        }
+        if (type instanceof final TypeVariable<?> v) {
+            return bindings.containsKey(v) ? forType(bindings.get(v), Map.of()) : DYNAMIC;
+        }
+        if (type instanceof final WildcardType w) {
+            return forType(w.getUpperBounds()[0], bindings);
+        }
+        return unsupported(type);
+    }
+
+    /** Returns the codec for a non-generic type. */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static BinaryCodec<?> forClass(final Class<?> type) {
+
+        if (type.isPrimitive()) {
+            return PRIMITIVES.get(type);
+        }
+        if (SCALAR_CODECS.containsKey(type)) {
+            return SCALAR_CODECS.get(type);
+        }
+        if (type.isEnum()) {
+            return BinaryCodec.nullable(enumCodec((Class) type));
+        }
+        if (Uid.class.isAssignableFrom(type)) {
+            return BinaryCodec.nullable(UID);
+        }
+        if (type.isRecord()) {
+            return BinaryCodec.nullable(deferred(new Tuple2<>(type, List.of())));
+        }
+        if (type == Object.class) {
+            return DYNAMIC;
+        }
+        return forContainer(type, new Type[] {Object.class, Object.class}, Map.of());
+    }
+
+    /** Returns the codec for a generic type such as List&lt;String&gt; or Tuple2&lt;A, B&gt;. */
+    private static BinaryCodec<?> forParameterized(
+            final ParameterizedType type, final Map<TypeVariable<?>, Type> bindings) {
+
+        final var raw = (Class<?>) type.getRawType();
+        final var arguments = Arrays.stream(type.getActualTypeArguments())
+                .map(a -> resolve(a, bindings))
+                .toArray(Type[]::new);
+        if (raw.isRecord()) {
+            return BinaryCodec.nullable(deferred(new Tuple2<>(raw, List.of(arguments))));
+        }
+        return forContainer(raw, arguments, bindings);
+    }
+
+    /** Returns the codec for a supported container type (Optional, List, Set or Map). */
+    private static BinaryCodec<?> forContainer(
+            final Class<?> raw, final Type[] arguments, final Map<TypeVariable<?>, Type> bindings) {
+
+        if (raw == Optional.class) {
+            return optionalCodec(forType(arguments[0], bindings));
+        }
+        if ((raw == List.class) || (raw == Collection.class)) {
+            return collectionCodec(forType(arguments[0], bindings), ArrayList::new, Collections::unmodifiableList);
+        }
+        if (raw == Set.class) {
+            return collectionCodec(forType(arguments[0], bindings), LinkedHashSet::new, Collections::unmodifiableSet);
+        }
+        if (raw == Map.class) {
+            return mapCodec(forType(arguments[0], bindings), forType(arguments[1], bindings));
+        }
+        return unsupported(raw);
+    }
+
+    /** Replaces bound type variables in a type argument so it can be used as a cache key. */
+    private static Type resolve(final Type type, final Map<TypeVariable<?>, Type> bindings) {
+
+        return (type instanceof final TypeVariable<?> v) ? bindings.getOrDefault(v, Object.class) : type;
+    }
+
+    /** Returns the cached record codec for the specified key, deriving it if necessary. */
+    private static RecordCodec<?> record(final Tuple2<Class<?>, List<Type>> key) {
+
+        final var existing = RECORDS.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        final var variables = key._1().getTypeParameters();
+        final var bindings = new HashMap<TypeVariable<?>, Type>();
+        IntStream.range(0, Math.min(variables.length, key._2().size()))
+                .forEach(i -> bindings.put(variables[i], key._2().get(i)));
+        register(key._1());
+        final var created = new RecordCodec<>(key._1(), bindings);
+        final var raced = RECORDS.putIfAbsent(key, created);
+        return (raced == null) ? created : raced;
+    }
+
+    /**
+     * Returns a codec that resolves the record codec on first use. Deferring the lookup allows
+     * records that refer to themselves (directly or indirectly) to be encoded.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> BinaryCodec<T> deferred(final Tuple2<Class<?>, List<Type>> key) {
+
+        final var codec = Lazy.of(() -> (BinaryCodec<T>) record(key));
+        return BinaryCodec.of(
+                (o, v) -> codec.get().write(o, v), i -> codec.get().read(i));
+    }
+
+    /** Creates a nullable codec for a scalar reference type. */
+    private static <T> Tuple2<Class<?>, BinaryCodec<?>> scalar(
+            final Class<T> type, final BiConsumer<BinaryOutput, T> writer, final Function<BinaryInput, T> reader) {
+
+        return new Tuple2<>(type, BinaryCodec.nullable(BinaryCodec.of(writer, reader)));
+    }
+
+    /** Creates a codec that writes enum constants by ordinal. */
+    private static <E extends Enum<E>> BinaryCodec<E> enumCodec(final Class<E> type) {
+
+        register(type);
+        final var constants = type.getEnumConstants();
+        return BinaryCodec.of((o, v) -> o.writeVarInt(v.ordinal()), i -> constant(constants, i.readVarInt()));
+    }
+
+    /** Creates a codec for an Optional that writes a presence byte followed by the value. */
+    @SuppressWarnings({"unchecked", "OptionalUsedAsFieldOrParameterType"})
+    private static BinaryCodec<Optional<?>> optionalCodec(final BinaryCodec<?> element) {
+
+        final var codec = (BinaryCodec<Object>) element;
+        return BinaryCodec.of(
+                (o, v) -> {
+                    o.writeBoolean((v != null) && v.isPresent());
+                    if ((v != null) && v.isPresent()) {
+                        codec.write(o, v.get());
+                    }
+                },
+                i -> i.readBoolean() ? Optional.ofNullable(codec.read(i)) : Optional.empty(),
+                Optional.empty());
+    }
+
+    /** Creates a codec for a size-prefixed collection, decoding into an unmodifiable copy. */
+    @SuppressWarnings("unchecked")
+    private static <C extends Collection<Object>> BinaryCodec<Collection<?>> collectionCodec(
+            final BinaryCodec<?> element,
+            final Function<Integer, C> factory,
+            final Function<C, ? extends Collection<?>> wrapper) {
+
+        final var codec = (BinaryCodec<Object>) element;
+        return BinaryCodec.nullable(BinaryCodec.of(
+                (o, v) -> {
+                    o.writeVarInt(v.size());
+                    v.forEach(e -> codec.write(o, e));
+                },
+                i -> {
+                    final var size = i.readSize();
+                    final var result = factory.apply(size);
+                    IntStream.range(0, size).forEach(n -> result.add(codec.read(i)));
+                    return wrapper.apply(result);
+                },
+                wrapper.apply(factory.apply(0))));
+    }
+
+    /** Creates a codec for a size-prefixed map, decoding into an unmodifiable, ordered copy. */
+    @SuppressWarnings("unchecked")
+    private static BinaryCodec<Map<?, ?>> mapCodec(final BinaryCodec<?> key, final BinaryCodec<?> value) {
+
+        final var keys = (BinaryCodec<Object>) key;
+        final var values = (BinaryCodec<Object>) value;
+        return BinaryCodec.nullable(BinaryCodec.of(
+                (o, v) -> {
+                    o.writeVarInt(v.size());
+                    v.forEach((k, e) -> {
+                        keys.write(o, k);
+                        values.write(o, e);
+                    });
+                },
+                i -> {
+                    final var size = i.readSize();
+                    final var result = new LinkedHashMap<>(size);
+                    IntStream.range(0, size).forEach(n -> result.put(keys.read(i), values.read(i)));
+                    return Collections.unmodifiableMap(result);
+                },
+                Map.of()));
+    }
+
+    /** Writes a value whose type is determined at runtime, preceded by its tag. */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void writeDynamic(final BinaryOutput out, final Object value) {
+
+        final var type = value.getClass();
+        final var tag = SCALAR_TAGS.get(type);
+        if (tag != null) {
+            out.writeVarInt(tag);
+            ((BinaryCodec<Object>) SCALARS.get(tag)._2()).write(out, value);
+        } else if (value instanceof final Uid uid) {
+            out.writeVarInt(UID_TAG);
+            UID.write(out, uid);
+        } else if (value instanceof final Enum<?> e) {
+            out.writeVarInt(ENUM_TAG);
+            register(e.getDeclaringClass());
+            out.writeString(e.getDeclaringClass().getName());
+            out.writeVarInt(e.ordinal());
+        } else if (value instanceof final Record r) {
+            out.writeVarInt(RECORD_TAG);
+            out.writeString(type.getName());
+            record((Class) type).write(out, r);
+        } else {
+            unsupported(type);
+        }
+    }
+
+    /** Reads a value written by writeDynamic(). */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object readDynamic(final BinaryInput in) {
+
+        final var tag = in.readVarInt();
+        if ((tag >= 0) && (tag < SCALARS.size())) {
+            return SCALARS.get(tag)._2().read(in);
+        }
+        if (tag == UID_TAG) {
+            return UID.read(in);
+        }
+        if (tag == ENUM_TAG) {
+            return constant(lookup(in.readString(), Class::isEnum).getEnumConstants(), in.readVarInt());
+        }
+        if (tag == RECORD_TAG) {
+            return record((Class) lookup(in.readString(), Class::isRecord)).read(in);
+        }
+        throw new IoException("Unknown dynamic tag %d in binary data".formatted(tag));
+    }
+
+    /** Returns the enum constant with the ordinal read from the binary data. */
+    private static <E> E constant(final E[] constants, final int ordinal) {
+
+        if ((ordinal < 0) || (ordinal >= constants.length)) {
+            throw new IoException("Ordinal %d in binary data is out of range for enum %s"
+                    .formatted(ordinal, constants.getClass().getComponentType().getName()));
+        }
+        return constants[ordinal];
+    }
+
+    /**
+     * Returns the registered class named in the binary data, ensuring that it is of an expected
+     * kind. Classes are never loaded by name, so the data cannot construct arbitrary types.
+     */
+    private static Class<?> lookup(final String name, final Predicate<Class<?>> expected) {
+
+        final var type = DYNAMIC_TYPES.get(name);
+        if (type == null) {
+            throw new IoException("Type %s in binary data is not registered for dynamic decoding".formatted(name));
+        }
+        if (!expected.test(type)) {
+            throw new IoException("Type %s in binary data is not a record or enum".formatted(name));
+        }
+        return type;
+    }
+
+    /** Throws an exception for a type that cannot be encoded. */
+    private static <T> BinaryCodec<T> unsupported(final Type type) {
+
+        throw new IllegalArgumentException("Type %s is not supported by the binary codec".formatted(type));
+    }
+
+    /** Writes a float as its raw bits. */
+    private static void writeFloat(final BinaryOutput out, final float value) {
+
+        out.writeFixedInt(Float.floatToRawIntBits(value));
+    }
+
+    /** Reads a float from its raw bits. */
+    private static float readFloat(final BinaryInput in) {
+
+        return Float.intBitsToFloat(in.readFixedInt());
+    }
+
+    /** Writes a double as its raw bits. */
+    private static void writeDouble(final BinaryOutput out, final double value) {
+
+        out.writeFixedLong(Double.doubleToRawLongBits(value));
+    }
+
+    /** Reads a double from its raw bits. */
+    private static double readDouble(final BinaryInput in) {
+
+        return Double.longBitsToDouble(in.readFixedLong());
+    }
+
+    /** Writes an instant as epoch seconds and nanoseconds. */
+    private static void writeInstant(final BinaryOutput out, final Instant value) {
+
+        out.writeSignedLong(value.getEpochSecond());
+        out.writeVarInt(value.getNano());
+    }
+
+    /** Reads an instant from epoch seconds and nanoseconds. */
+    private static Instant readInstant(final BinaryInput in) {
+
+        return Instant.ofEpochSecond(in.readSignedLong(), in.readVarInt());
+    }
+
+    /** Writes a duration as seconds and nanoseconds. */
+    private static void writeDuration(final BinaryOutput out, final Duration value) {
+
+        out.writeSignedLong(value.getSeconds());
+        out.writeVarInt(value.getNano());
+    }
+
+    /** Reads a duration from seconds and nanoseconds. */
+    private static Duration readDuration(final BinaryInput in) {
+
+        return Duration.ofSeconds(in.readSignedLong(), in.readVarInt());
+    }
+
+    /** Reads a local date from its epoch day. */
+    private static LocalDate readLocalDate(final BinaryInput in) {
+
+        return LocalDate.ofEpochDay(in.readSignedLong());
+    }
+
+    /** Writes a UUID as two fixed longs. */
+    private static void writeUuid(final BinaryOutput out, final UUID value) {
+
+        out.writeFixedLong(value.getMostSignificantBits());
+        out.writeFixedLong(value.getLeastSignificantBits());
+    }
+
+    /** Reads a UUID from two fixed longs. */
+    private static UUID readUuid(final BinaryInput in) {
+
+        return new UUID(in.readFixedLong(), in.readFixedLong());
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.serde;
+
+import dev.iq.common.error.IoException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Cursor over a byte array produced by {@link BinaryOutput}. Reading past the end of the data
+ * raises an IoException. This type is not thread-safe.
+ */
+final class BinaryInput {
+
+    /** Mask for the seven data bits of a varint byte. */
+    private static final int VARINT_MASK = 0x7f;
+
+    /** Continuation bit of a varint byte. */
+    private static final int VARINT_MORE = 0x80;
+
+    /** Maximum number of bits in a varlong. */
+    private static final int MAX_VARLONG_SHIFT = 63;
+
+    /** Data being read. */
+    private final byte[] buffer;
+
+    /** Index one past the last readable byte. */
+    private final int limit;
+
+    /** Index of the next byte to read. */
+    private int position;
+
+    /**
+     * Creates a cursor over the specified range of the array.
+     *
+     * @param buffer Data to read
+     * @param offset Index of the first byte
+     * @param length Number of readable bytes
+     */
+    BinaryInput(final byte[] buffer, final int offset, final int length) {
+
+        this.buffer = buffer;
+        position = offset;
+        limit = offset + length;
+    }
+
+    /** Reads a single (unsigned) byte. */
+    int readByte() {
+
+        require(1);
+        return buffer[position++] & 0xff;
+    }
+
+    /** Reads a boolean written as a single byte. */
+    boolean readBoolean() {
+
+        return readByte() != 0;
+    }
+
+    /** Reads an unsigned varint. */
+    @SuppressWarnings("ReassignedVariable")
+    int readVarInt() {
+
+        var result = 0;
+        var shift = 0;
+        var current = readByte();
+        while ((current & VARINT_MORE) != 0) {
+            result |= (current & VARINT_MASK) << shift;
+            shift += 7;
+            if (shift > Integer.SIZE) {
+                throw new IoException("Malformed varint in binary data");
+            }
+            current = readByte();
+        }
+        return result | (current << shift);
+    }
+
+    /** Reads an unsigned varlong. */
+    @SuppressWarnings("ReassignedVariable")
+    long readVarLong() {
+
+        var result = 0L;
+        var shift = 0;
+        var current = readByte();
+        while ((current & VARINT_MORE) != 0) {
+            result |= (long) (current & VARINT_MASK) << shift;
+            shift += 7;
+            if (shift > MAX_VARLONG_SHIFT) {
+                throw new IoException("Malformed varlong in binary data");
+            }
+            current = readByte();
+        }
+        return result | ((long) current << shift);
+    }
+
+    /** Reads a zigzag encoded signed int. */
+    int readSignedInt() {
+
+        final var raw = readVarInt();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    /** Reads a zigzag encoded signed long. */
+    long readSignedLong() {
+
+        final var raw = readVarLong();
+        return (raw >>> 1) ^ -(raw & 1L);
+    }
+
+    /** Reads a fixed four byte little-endian value. */
+    int readFixedInt() {
+
+        require(4);
+        final var result = (buffer[position] & 0xff)
+                | ((buffer[position + 1] & 0xff) << 8)
+                | ((buffer[position + 2] & 0xff) << 16)
+                | ((buffer[position + 3] & 0xff) << 24);
+        position += 4;
+        return result;
+    }
+
+    /** Reads a fixed eight byte little-endian value. */
+    long readFixedLong() {
+
+        final var low = readFixedInt() & 0xffffffffL;
+        final var high = (long) readFixedInt();
+        return low | (high << 32);
+    }
+
+    /** Reads a length-prefixed byte array. */
+    byte[] readBytes() {
+
+        final var length = readLength();
+        final var result = Arrays.copyOfRange(buffer, position, position + length);
+        position += length;
+        return result;
+    }
+
+    /** Reads a length-prefixed UTF-8 string. */
+    String readString() {
+
+        final var length = readLength();
+        final var result = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return result;
+    }
+
+    /** Returns the number of bytes that remain to be read. */
+    int remaining() {
+
+        return limit - position;
+    }
+
+    /**
+     * Reads the element count of a collection or map and validates it against the data left, as
+     * every element takes at least one byte. This keeps corrupt counts from presizing huge
+     * collections.
+     */
+    int readSize() {
+
+        final var size = readVarInt();
+        if ((size < 0) || (size > (limit - position))) {
+            throw new IoException("Invalid size %d in binary data at offset %d".formatted(size, position));
+        }
+        return size;
+    }
+
+    /** Reads a length prefix and validates that the data it describes is present. */
+    private int readLength() {
+
+        final var length = readVarInt();
+        if (length < 0) {
+            throw new IoException("Negative length %d in binary data".formatted(length));
+        }
+        require(length);
+        return length;
+    }
+
+    /** Ensures that the specified number of bytes can be read. */
+    private void require(final int needed) {
+
+        if (needed > (limit - position)) {
+            throw new IoException("Unexpected end of binary data at offset %d".formatted(position));
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.serde;
+
+import dev.iq.common.fp.Io;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer used by the binary codec. Integral values are written as (zigzag) varints
+ * and variable length values are length-prefixed. This type is not thread-safe.
+ */
+final class BinaryOutput {
+
+    /** Initial capacity of the buffer. */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Mask for the seven data bits of a varint byte. */
+    private static final int VARINT_MASK = 0x7f;
+
+    /** Continuation bit of a varint byte. */
+    private static final int VARINT_MORE = 0x80;
+
+    /** Underlying buffer (reallocated as it fills). */
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+
+    /** Number of bytes written. */
+    private int position = 0;
+
+    /** Writes a single byte. */
+    void writeByte(final int value) {
+
+        ensure(1);
+        buffer[position++] = (byte) value;
+    }
+
+    /** Writes a boolean as a single byte. */
+    void writeBoolean(final boolean value) {
+
+        writeByte(value ? 1 : 0);
+    }
+
+    /** Writes an unsigned varint (negative values use all five bytes). */
+    @SuppressWarnings("ReassignedVariable")
+    void writeVarInt(final int value) {
+
+        ensure(5);
+        var remaining = value;
+        while ((remaining & ~VARINT_MASK) != 0) {
+            buffer[position++] = (byte) ((remaining & VARINT_MASK) | VARINT_MORE);
+            remaining >>>= 7;
+        }
+        buffer[position++] = (byte) remaining;
+    }
+
+    /** Writes an unsigned varlong (negative values use all ten bytes). */
+    @SuppressWarnings("ReassignedVariable")
+    void writeVarLong(final long value) {
+
+        ensure(10);
+        var remaining = value;
+        while ((remaining & ~VARINT_MASK) != 0L) {
+            buffer[position++] = (byte) ((remaining & VARINT_MASK) | VARINT_MORE);
+            remaining >>>= 7;
+        }
+        buffer[position++] = (byte) remaining;
+    }
+
+    /** Writes a signed int using zigzag encoding so small negative values stay small. */
+    void writeSignedInt(final int value) {
+
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    /** Writes a signed long using zigzag encoding so small negative values stay small. */
+    void writeSignedLong(final long value) {
+
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    /** Writes a fixed four byte little-endian value. */
+    void writeFixedInt(final int value) {
+
+        ensure(4);
+        buffer[position++] = (byte) value;
+        buffer[position++] = (byte) (value >>> 8);
+        buffer[position++] = (byte) (value >>> 16);
+        buffer[position++] = (byte) (value >>> 24);
+    }
+
+    /** Writes a fixed eight byte little-endian value. */
+    void writeFixedLong(final long value) {
+
+        writeFixedInt((int) value);
+        writeFixedInt((int) (value >>> 32));
+    }
+
+    /** Writes a length-prefixed byte array. */
+    void writeBytes(final byte[] value) {
+
+        writeVarInt(value.length);
+        writeRaw(value, 0, value.length);
+    }
+
+    /**
+     * Writes a length-prefixed UTF-8 string. Pure ASCII strings (the common case for codes, keys
+     * and identifiers) are copied directly into the buffer without an intermediate array.
+     */
+    void writeString(final String value) {
+
+        final var length = value.length();
+        final var start = position;
+        writeVarInt(length);
+        ensure(length);
+        if (!copyAscii(value, length)) {
+            position = start;
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /** Returns the number of bytes written. */
+    int size() {
+
+        return position;
+    }
+
+    /** Returns an exactly sized copy of the bytes written. */
+    byte[] toByteArray() {
+
+        return Arrays.copyOf(buffer, position);
+    }
+
+    /** Writes the bytes written so far to the specified stream without copying them. */
+    void writeTo(final OutputStream out) {
+
+        Io.withVoid(() -> out.write(buffer, 0, position));
+    }
+
+    /** Copies a range of raw bytes into the buffer. */
+    private void writeRaw(final byte[] value, final int offset, final int length) {
+
+        ensure(length);
+        System.arraycopy(value, offset, buffer, position, length);
+        position += length;
+    }
+
+    /** Ensures that at least the specified number of bytes can be written. */
+    private void ensure(final int needed) {
+
+        final var required = position + needed;
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length << 1));
+        }
+    }
+
+    /**
+     * Copies the string into the buffer one byte per character, returning false (leaving the
+     * position untouched) as soon as a character outside of seven bit ASCII is found.
+     */
+    @SuppressWarnings("ReassignedVariable")
+    private boolean copyAscii(final String value, final int length) {
+
+        for (var i = 0; i < length; i++) {
+            final var c = value.charAt(i);
+            if (c > VARINT_MASK) {
+                return false;
+            }
+            buffer[position + i] = (byte) c;
+        }
+        position += length;
+        return true;
+    }
+}
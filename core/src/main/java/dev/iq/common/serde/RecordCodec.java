@@ -0,0 +1,155 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.serde;
+
+import dev.iq.common.annotation.SchemaVersion;
+import dev.iq.common.error.IoException;
+import dev.iq.common.error.UnexpectedException;
+import dev.iq.common.fp.Try;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Binary codec for a record type, derived once from its canonical constructor and accessors. Each
+ * encoded record starts with its schema version and component count, followed by the components
+ * in declaration order. Data written by an older schema version (with fewer trailing components)
+ * is still readable, with the missing components set to their default values.
+ *
+ * @param <T> Record type
+ */
+final class RecordCodec<T> implements BinaryCodec<T> {
+
+    /** Version used for records that are not annotated with a schema version. */
+    private static final int DEFAULT_VERSION = 1;
+
+    /** Type being encoded. */
+    private final Class<?> type;
+
+    /** Schema version of the record type. */
+    private final int version;
+
+    /** Accessors for each component, adapted to (Object)Object. */
+    private final MethodHandle[] accessors;
+
+    /** Codecs for each component. */
+    private final BinaryCodec<Object>[] codecs;
+
+    /** Canonical constructor, adapted to (Object[])Object. */
+    private final MethodHandle constructor;
+
+    /**
+     * Derives the codec for the specified record type.
+     *
+     * @param type Record type to encode
+     * @param bindings Actual types of any type variables declared by the record
+     */
+    @SuppressWarnings("unchecked")
+    RecordCodec(final Class<?> type, final Map<TypeVariable<?>, Type> bindings) {
+
+        if (!type.isRecord()) {
+            throw new IllegalArgumentException("Type %s is not a record".formatted(type));
+        }
+        final var components = type.getRecordComponents();
+        this.type = type;
+        version = Optional.ofNullable(type.getAnnotation(SchemaVersion.class))
+                .map(SchemaVersion::value)
+                .orElse(DEFAULT_VERSION);
+        accessors = Arrays.stream(components).map(RecordCodec::accessor).toArray(MethodHandle[]::new);
+        codecs = Arrays.stream(components)
+                .map(c -> BinaryCodecs.forType(c.getGenericType(), bindings))
+                .toArray(BinaryCodec[]::new);
+        constructor = constructor(type, components);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("ReassignedVariable")
+    public void write(final BinaryOutput out, final T value) {
+
+        out.writeVarInt(version);
+        out.writeVarInt(codecs.length);
+        for (var i = 0; i < codecs.length; i++) {
+            codecs[i].write(out, get(accessors[i], value));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings({"unchecked", "ReassignedVariable"})
+    public T read(final BinaryInput in) {
+
+        final var written = in.readVarInt();
+        final var count = in.readVarInt();
+        if ((written > version) || (count > codecs.length)) {
+            throw new IoException("Data for %s has schema version %d with %d components (known: version %d with %d)"
+                    .formatted(type.getName(), written, count, version, codecs.length));
+        }
+        final var arguments = new Object[codecs.length];
+        for (var i = 0; i < codecs.length; i++) {
+            arguments[i] = (i < count) ? codecs[i].read(in) : codecs[i].missing();
+        }
+        return (T) create(arguments);
+    }
+
+    /** Invokes an accessor on the record. */
+    @SuppressWarnings("ProhibitedExceptionCaught")
+    private static Object get(final MethodHandle accessor, final Object target) {
+
+        try {
+            return (Object) accessor.invokeExact(target);
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw new UnexpectedException("Unable to read record component", t);
+        }
+    }
+
+    /** Invokes the canonical constructor with the decoded components. */
+    @SuppressWarnings("ProhibitedExceptionCaught")
+    private Object create(final Object[] arguments) {
+
+        try {
+            return (Object) constructor.invokeExact(arguments);
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw new UnexpectedException("Unable to construct %s".formatted(type.getName()), t);
+        }
+    }
+
+    /** Returns the accessor for a component adapted to a generic (Object)Object signature. */
+    private static MethodHandle accessor(final RecordComponent component) {
+
+        return Try.withReturn(() -> {
+            final var method = component.getAccessor();
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method).asType(MethodType.methodType(Object.class, Object.class));
+        });
+    }
+
+    /** Returns the canonical constructor adapted to take a single Object[] of components. */
+    private static MethodHandle constructor(final Class<?> type, final RecordComponent[] components) {
+
+        final var parameters =
+                Arrays.stream(components).map(RecordComponent::getType).toArray(Class<?>[]::new);
+        return Try.withReturn(() -> {
+            final var canonical = type.getDeclaredConstructor(parameters);
+            canonical.setAccessible(true);
+            return MethodHandles.lookup()
+                    .unreflectConstructor(canonical)
+                    .asType(MethodType.genericMethodType(parameters.length))
+                    .asSpreader(Object[].class, parameters.length);
+        });
+    }
+}
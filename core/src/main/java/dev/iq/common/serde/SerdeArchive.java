@@ -0,0 +1,529 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.serde;
+
+import dev.iq.common.adt.Tuple2;
+import dev.iq.common.error.IoException;
+import dev.iq.common.fp.Io;
+import dev.iq.common.lock.SimpleLock;
+import dev.iq.common.log.Log;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only container of many serialized objects in a directory of segment files. Each record
+ * has a string key and is also addressable by its ordinal (append order). An in-memory offset
+ * index gives random access through positional channel reads or memory mapped sealed segments,
+ * while {@link #entries()} streams the records sequentially. <br>
+ * Appends are buffered and forced to disk in batches (see {@link ArchiveOptions}), so throughput
+ * is bound by disk bandwidth rather than the number of objects. Call {@link #sync()} when records
+ * must be durable. A torn record at the end of the archive (e.g. after a crash) is discarded when
+ * the archive is next opened. The index is saved on close so a clean reopen does not rescan. <br>
+ * The payload may be in any serialization format. This type is thread-safe.
+ *
+ * @param <T> Type of object stored
+ */
+public final class SerdeArchive<T> implements AutoCloseable {
+
+    /** File name of the saved index. */
+    static final String INDEX_FILE = "archive.idx";
+
+    /** Suffix of segment file names. */
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    /** Marker at the start of the saved index. */
+    private static final int INDEX_MAGIC = 0x49514958;
+
+    /** Shift of the segment number within an index position (the low bits hold the offset). */
+    private static final int SEGMENT_SHIFT = 32;
+
+    /** Mask of the offset within an index position. */
+    private static final long OFFSET_MASK = 0xffffffffL;
+
+    /** Initial capacity of the offset index. */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /** Directory holding the segments. */
+    private final Path directory;
+
+    /** Serializer of stored objects. */
+    private final Function<? super T, byte[]> serializer;
+
+    /** Deserializer of stored objects. */
+    private final Function<byte[], ? extends T> deserializer;
+
+    /** Tuning options. */
+    private final ArchiveOptions options;
+
+    /** Lock serializing all access. */
+    private final SimpleLock lock = SimpleLock.reentrant();
+
+    /** Segments in order; the last one is active (receives appends). */
+    private final List<ArchiveSegment> segments = new ArrayList<>();
+
+    /** Latest ordinal for each key. */
+    private final Map<String, Integer> keys = new HashMap<>();
+
+    /** Buffered appends not yet written to the active segment. */
+    private final ByteBuffer buffer;
+
+    /** Checksum of the record being appended. */
+    private final CRC32C crc = new CRC32C();
+
+    /** Segment number and payload offset of each record, by ordinal. */
+    private long[] positions = new long[INITIAL_CAPACITY];
+
+    /** Payload length of each record, by ordinal. */
+    private int[] lengths = new int[INITIAL_CAPACITY];
+
+    /** Number of records. */
+    private int count = 0;
+
+    /** Records appended since the last fsync. */
+    private int unsyncedRecords = 0;
+
+    /** Bytes appended since the last fsync. */
+    private long unsyncedBytes = 0L;
+
+    /** Whether the archive has been closed. */
+    private boolean closed = false;
+
+    /** Opens the archive, loading the saved index or rebuilding it from the segments. */
+    private SerdeArchive(
+            final Path directory,
+            final Function<? super T, byte[]> serializer,
+            final Function<byte[], ? extends T> deserializer,
+            final ArchiveOptions options) {
+
+        this.directory = directory;
+        this.serializer = serializer;
+        this.deserializer = deserializer;
+        this.options = options;
+        buffer = ByteBuffer.allocate(options.bufferBytes());
+        Io.withVoid(() -> Files.createDirectories(directory));
+        load();
+    }
+
+    /**
+     * Opens (or creates) an archive in the specified directory using default options.
+     *
+     * @param directory Directory holding the archive
+     * @param serializer Function converting an object to bytes
+     * @param deserializer Function converting bytes to an object
+     * @return SerdeArchive Opened archive
+     */
+    public static <T> SerdeArchive<T> open(
+            final Path directory,
+            final Function<? super T, byte[]> serializer,
+            final Function<byte[], ? extends T> deserializer) {
+
+        return open(directory, serializer, deserializer, ArchiveOptions.DEFAULT);
+    }
+
+    /**
+     * Opens (or creates) an archive in the specified directory.
+     *
+     * @param directory Directory holding the archive
+     * @param serializer Function converting an object to bytes
+     * @param deserializer Function converting bytes to an object
+     * @param options Tuning options
+     * @return SerdeArchive Opened archive
+     */
+    public static <T> SerdeArchive<T> open(
+            final Path directory,
+            final Function<? super T, byte[]> serializer,
+            final Function<byte[], ? extends T> deserializer,
+            final ArchiveOptions options) {
+
+        return new SerdeArchive<>(directory, serializer, deserializer, options);
+    }
+
+    /** Opens (or creates) an archive of records stored with {@link BinarySerde}. */
+    public static <T extends Record> SerdeArchive<T> binary(final Path directory, final Class<T> type) {
+
+        return binary(directory, type, ArchiveOptions.DEFAULT);
+    }
+
+    /** Opens (or creates) an archive of records stored with {@link BinarySerde}. */
+    public static <T extends Record> SerdeArchive<T> binary(
+            final Path directory, final Class<T> type, final ArchiveOptions options) {
+
+        return open(directory, BinarySerde::toBytes, b -> BinarySerde.fromBytes(b, type), options);
+    }
+
+    /**
+     * Appends an object with the specified key, returning its ordinal. A later append with the
+     * same key replaces the earlier one for lookups by key; both remain available by ordinal.
+     *
+     * @param key Key of the object
+     * @param value Object to append
+     * @return long Ordinal of the appended object
+     */
+    public long append(final String key, final T value) {
+
+        final var keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        final var payload = serializer.apply(value);
+        return lock.withReturn(() -> appendFrame(key, keyBytes, payload));
+    }
+
+    /** Returns the most recently appended object with the specified key, if any. */
+    public Optional<T> get(final String key) {
+
+        return lock.withReturn(() -> Optional.ofNullable(keys.get(key)).map(this::read));
+    }
+
+    /**
+     * Returns the object with the specified ordinal.
+     *
+     * @param ordinal Ordinal (zero-based append order)
+     * @return T Stored object
+     */
+    public T get(final long ordinal) {
+
+        // The count only grows, so a bounds check outside the lock remains valid inside it
+        final var known = size();
+        if ((ordinal < 0) || (ordinal >= known)) {
+            throw new IndexOutOfBoundsException("Ordinal %d outside of 0..%d".formatted(ordinal, known));
+        }
+        return lock.withReturn(() -> read((int) ordinal));
+    }
+
+    /** Returns whether an object with the specified key exists. */
+    public boolean contains(final String key) {
+
+        return lock.withReturn(() -> keys.containsKey(key));
+    }
+
+    /** Returns the number of objects appended (including those replaced by a later key). */
+    public long size() {
+
+        return lock.withReturn(() -> count);
+    }
+
+    /**
+     * Streams all keys and objects in append order by reading the segments sequentially. The
+     * stream covers the records present when it is created and should be closed after use.
+     *
+     * @return Stream Stream of key and object pairs
+     */
+    public Stream<Tuple2<String, T>> entries() {
+
+        final var snapshot = lock.withReturn(() -> {
+            flushBuffer();
+            return segments.stream().map(s -> new Tuple2<>(s.path(), s.size())).toList();
+        });
+        return snapshot.stream().flatMap(this::scan);
+    }
+
+    /** Streams all objects in append order (see {@link #entries()}). */
+    public Stream<T> stream() {
+
+        return entries().map(Tuple2::_2);
+    }
+
+    /** Writes any buffered appends and forces them to disk. */
+    public void sync() {
+
+        lock.withVoid(() -> {
+            flushBuffer();
+            active().force();
+            unsyncedRecords = 0;
+            unsyncedBytes = 0L;
+        });
+    }
+
+    /** Syncs the archive, saves the index and releases all files. */
+    @Override
+    public void close() {
+
+        lock.withVoid(() -> {
+            if (!closed) {
+                sync();
+                saveIndex();
+                segments.forEach(ArchiveSegment::close);
+                closed = true;
+            }
+        });
+    }
+
+    /** Appends a frame under the lock. */
+    private long appendFrame(final String key, final byte[] keyBytes, final byte[] payload) {
+
+        if (closed) {
+            throw new IoException("Archive %s is closed".formatted(directory));
+        }
+        final var frameLength =
+                ArchiveScanner.HEADER_BYTES + keyBytes.length + payload.length + ArchiveScanner.TRAILER_BYTES;
+        if (frameLength > options.segmentBytes()) {
+            throw new IoException("Record of %d bytes exceeds the segment size".formatted(frameLength));
+        }
+        if ((end() > 0) && ((end() + frameLength) > options.segmentBytes())) {
+            roll();
+        }
+        final var payloadOffset = end() + ArchiveScanner.HEADER_BYTES + keyBytes.length;
+        crc.reset();
+        crc.update(keyBytes);
+        crc.update(payload);
+        final var header = ByteBuffer.allocate(ArchiveScanner.HEADER_BYTES)
+                .putInt(keyBytes.length)
+                .putInt(payload.length)
+                .flip();
+        final var trailer = ByteBuffer.allocate(ArchiveScanner.TRAILER_BYTES)
+                .putInt((int) crc.getValue())
+                .flip();
+        write(header, ByteBuffer.wrap(keyBytes), ByteBuffer.wrap(payload), trailer);
+        final var ordinal = index(segments.size() - 1, payloadOffset, payload.length);
+        keys.put(key, ordinal);
+        unsyncedRecords++;
+        unsyncedBytes += frameLength;
+        if ((unsyncedRecords >= options.syncRecords()) || (unsyncedBytes >= options.syncBytes())) {
+            sync();
+        }
+        return ordinal;
+    }
+
+    /** Buffers the frame, or writes it directly (gathering) if it is larger than the buffer. */
+    private void write(final ByteBuffer... parts) {
+
+        final var length = Arrays.stream(parts).mapToInt(ByteBuffer::remaining).sum();
+        if (length > buffer.remaining()) {
+            flushBuffer();
+        }
+        if (length > buffer.capacity()) {
+            active().append(parts);
+        } else {
+            Arrays.stream(parts).forEach(buffer::put);
+        }
+    }
+
+    /** Writes the buffered appends to the active segment. */
+    private void flushBuffer() {
+
+        if (buffer.position() > 0) {
+            buffer.flip();
+            active().append(buffer);
+            buffer.clear();
+        }
+    }
+
+    /** Seals the active segment and starts a new one. */
+    private void roll() {
+
+        sync();
+        active().seal();
+        segments.add(new ArchiveSegment(segmentPath(segments.size())));
+    }
+
+    /** Reads and deserializes the record with the specified ordinal. */
+    private T read(final int ordinal) {
+
+        final var position = positions[ordinal];
+        final var segment = (int) (position >>> SEGMENT_SHIFT);
+        final var offset = position & OFFSET_MASK;
+        if ((segment == (segments.size() - 1)) && ((offset + lengths[ordinal]) > active().size())) {
+            flushBuffer();
+        }
+        return deserializer.apply(segments.get(segment).read(offset, lengths[ordinal], options.memoryMapped()));
+    }
+
+    /** Adds a record to the offset index, returning its ordinal. */
+    private int index(final int segment, final long payloadOffset, final int length) {
+
+        if (count == positions.length) {
+            positions = Arrays.copyOf(positions, count << 1);
+            lengths = Arrays.copyOf(lengths, count << 1);
+        }
+        positions[count] = ((long) segment << SEGMENT_SHIFT) | payloadOffset;
+        lengths[count] = length;
+        return count++;
+    }
+
+    /** Returns the logical end (written plus buffered bytes) of the active segment. */
+    private long end() {
+
+        return active().size() + buffer.position();
+    }
+
+    /** Returns the active segment. */
+    private ArchiveSegment active() {
+
+        return segments.get(segments.size() - 1);
+    }
+
+    /** Returns the path of the segment with the specified number. */
+    private Path segmentPath(final int number) {
+
+        return directory.resolve("%08d%s".formatted(number, SEGMENT_SUFFIX));
+    }
+
+    /** Streams the frames of a segment up to the specified size. */
+    private Stream<Tuple2<String, T>> scan(final Tuple2<Path, Long> segment) {
+
+        final var scanner = new ArchiveScanner(segment._1(), segment._2());
+        return Stream.iterate(scanner.next(), Optional::isPresent, f -> scanner.next())
+                .map(f -> new Tuple2<String, T>(
+                        f.get().key(), deserializer.apply(f.get().payload())))
+                .onClose(scanner::close);
+    }
+
+    /** Opens the segments and rebuilds the index, from the saved index if it is current. */
+    private void load() {
+
+        final var paths = Io.withReturn(() -> {
+            try (var listing = Files.list(directory)) {
+                return listing.filter(p -> p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                        .sorted()
+                        .toList();
+            }
+        });
+        paths.forEach(p -> segments.add(new ArchiveSegment(p)));
+        if (segments.isEmpty()) {
+            segments.add(new ArchiveSegment(segmentPath(0)));
+        }
+        segments.subList(0, segments.size() - 1).forEach(ArchiveSegment::seal);
+        if (!loadIndex()) {
+            rebuildIndex();
+        }
+        Io.withVoid(() -> Files.deleteIfExists(directory.resolve(INDEX_FILE)));
+    }
+
+    /** Rebuilds the index by scanning every segment, discarding a torn record at the end. */
+    @SuppressWarnings("ReassignedVariable")
+    private void rebuildIndex() {
+
+        for (var number = 0; number < segments.size(); number++) {
+            final var segment = segments.get(number);
+            try (var scanner = new ArchiveScanner(segment.path(), segment.size())) {
+                var frame = scanner.next();
+                while (frame.isPresent()) {
+                    final var f = frame.get();
+                    keys.put(f.key(), index(number, f.payloadOffset(), f.payload().length));
+                    frame = scanner.next();
+                }
+                if (scanner.validEnd() < segment.size()) {
+                    recover(number, segment, scanner.validEnd());
+                }
+            }
+        }
+    }
+
+    /** Truncates a torn write at the end of the archive, failing for corruption elsewhere. */
+    private void recover(final int number, final ArchiveSegment segment, final long validEnd) {
+
+        if (number != (segments.size() - 1)) {
+            throw new IoException("Segment %s is corrupt at offset %d".formatted(segment.path(), validEnd));
+        }
+        Log.warn(getClass(), () -> "Discarding %d bytes of a torn record in %s"
+                .formatted(segment.size() - validEnd, segment.path()));
+        segment.truncate(validEnd);
+    }
+
+    /**
+     * Loads the saved index if it describes the current segments, returning whether it did. An
+     * index that cannot be read or refers outside the segments is discarded, leaving the index
+     * empty for a rebuild.
+     */
+    @SuppressWarnings("ReassignedVariable")
+    private boolean loadIndex() {
+
+        final var path = directory.resolve(INDEX_FILE);
+        if (!Files.exists(path)) {
+            return false;
+        }
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if ((in.readInt() != INDEX_MAGIC) || (in.readInt() != segments.size()) || (in.readLong() != end())) {
+                return false;
+            }
+            final var total = in.readInt();
+            for (var i = 0; i < total; i++) {
+                final var key = new byte[in.readInt()];
+                in.readFully(key);
+                final var number = in.readInt();
+                final var offset = in.readLong();
+                final var length = in.readInt();
+                if ((number < 0)
+                        || (number >= segments.size())
+                        || (offset < 0)
+                        || (length < 0)
+                        || ((offset + length) > segments.get(number).size())) {
+                    throw new IoException("Index entry %d refers outside segment %d".formatted(i, number));
+                }
+                final var ordinal = index(number, offset, length);
+                if (in.readBoolean()) {
+                    keys.put(new String(key, StandardCharsets.UTF_8), ordinal);
+                }
+            }
+            return true;
+        } catch (final IOException | RuntimeException e) {
+            Log.warn(getClass(), () -> "Discarding unreadable index %s: %s".formatted(path, e));
+            keys.clear();
+            count = 0;
+            return false;
+        }
+    }
+
+    /**
+     * Saves the index so the next open does not need to scan the segments. Only the latest record
+     * for each key is flagged as the target of key lookups.
+     */
+    private void saveIndex() {
+
+        final var byOrdinal = new String[count];
+        keys.forEach((k, v) -> byOrdinal[v] = k);
+        Io.withVoid(() -> {
+            final var temp = Files.createTempFile(directory, INDEX_FILE + ".", ".tmp");
+            try {
+                writeIndex(temp, byOrdinal);
+                Files.move(
+                        temp,
+                        directory.resolve(INDEX_FILE),
+                        StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        });
+    }
+
+    /** Writes the index to the specified file. */
+    @SuppressWarnings("ReassignedVariable")
+    private void writeIndex(final Path path, final String[] byOrdinal) throws IOException {
+
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(INDEX_MAGIC);
+            out.writeInt(segments.size());
+            out.writeLong(end());
+            out.writeInt(count);
+            for (var i = 0; i < count; i++) {
+                final var key = (byOrdinal[i] == null) ? new byte[0] : byOrdinal[i].getBytes(StandardCharsets.UTF_8);
+                out.writeInt(key.length);
+                out.write(key);
+                out.writeInt((int) (positions[i] >>> SEGMENT_SHIFT));
+                out.writeLong(positions[i] & OFFSET_MASK);
+                out.writeInt(lengths[i]);
+                out.writeBoolean(byOrdinal[i] != null);
+            }
+        }
+    }
+}
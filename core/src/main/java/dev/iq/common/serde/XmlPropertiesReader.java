@@ -0,0 +1,103 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.serde;
+
+import dev.iq.common.error.IoException;
+import dev.iq.common.fp.Io;
+import java.io.InputStream;
+import java.util.function.BiConsumer;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Streaming (StAX) reader for the java.util.Properties XML format. Entries are handed to a
+ * consumer as they are parsed, so no document tree or intermediate Properties object is built.
+ * The DOCTYPE is accepted but never resolved.
+ */
+final class XmlPropertiesReader {
+
+    /** Root element of the document. */
+    private static final String ROOT = "properties";
+
+    /** Element holding a single key/value pair. */
+    private static final String ENTRY = "entry";
+
+    /** Optional element holding a comment. */
+    private static final String COMMENT = "comment";
+
+    /** Attribute holding the key of an entry. */
+    private static final String KEY = "key";
+
+    /** Shared factory (configured once, thread-safe for creating readers). */
+    private static final XMLInputFactory FACTORY = factory();
+
+    /** Type contains only static members. */
+    private XmlPropertiesReader() {}
+
+    /**
+     * Parses the stream, passing each key/value pair to the consumer in document order.
+     *
+     * @param in Stream positioned at the start of the document (not closed)
+     * @param consumer Receiver of each entry
+     */
+    static void read(final InputStream in, final BiConsumer<String, String> consumer) {
+
+        Io.withVoid(() -> {
+            final var reader = FACTORY.createXMLStreamReader(in);
+            try {
+                readDocument(reader, consumer);
+            } finally {
+                reader.close();
+            }
+        });
+    }
+
+    /** Reads the root element and every entry within it. */
+    private static void readDocument(final XMLStreamReader reader, final BiConsumer<String, String> consumer)
+            throws XMLStreamException {
+
+        // Skip the prolog (declaration, DOCTYPE, comments) up to the root element
+        while (reader.next() != XMLStreamConstants.START_ELEMENT) {
+            // Nothing to do
+        }
+        requireElement(reader, ROOT);
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            final var name = reader.getLocalName();
+            if (ENTRY.equals(name)) {
+                final var key = reader.getAttributeValue(null, KEY);
+                if (key == null) {
+                    throw new IoException("Attribute \"key\" is required for element \"entry\"");
+                }
+                consumer.accept(key, reader.getElementText());
+            } else if (COMMENT.equals(name)) {
+                reader.getElementText();
+            } else {
+                throw new IoException("Unexpected element \"%s\" in properties document".formatted(name));
+            }
+        }
+    }
+
+    /** Throws if the reader is not positioned at the start of the named element. */
+    private static void requireElement(final XMLStreamReader reader, final String name) {
+
+        if (!name.equals(reader.getLocalName())) {
+            throw new IoException("Document root element \"%s\" must be \"%s\"".formatted(reader.getLocalName(), name));
+        }
+    }
+
+    /** Creates a factory that never resolves the DTD or external entities. */
+    private static XMLInputFactory factory() {
+
+        final var factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
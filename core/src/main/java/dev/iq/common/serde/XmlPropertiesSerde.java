@@ -7,18 +7,27 @@
 package dev.iq.common.serde;
 
 import dev.iq.common.fp.Io;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Properties;
-import java.util.stream.Collectors;
+import java.util.function.BiConsumer;
 
-/** Serialization methods for a java.util.Properties object. */
+/**
+ * Serialization methods for maps in the java.util.Properties XML format. Documents are parsed and
+ * written in a single streaming pass (StAX), so large files never build a document tree or an
+ * intermediate synchronized Properties object.
+ */
 public final class XmlPropertiesSerde {
 
+    /** Rough size of a single entry in a properties file, used to presize maps from file length. */
+    private static final int ESTIMATED_ENTRY_BYTES = 64;
+
+    /** Upper bound on the presized capacity so that a huge file does not reserve excess memory. */
+    private static final int MAX_ESTIMATED_ENTRIES = 1 << 20;
+
     /** Type contains only static members. */
     private XmlPropertiesSerde() {}
 
@@ -28,9 +37,11 @@ public final class XmlPropertiesSerde {
      */
     public static Map<String, String> deserialize(final Path path) {
 
+        final var estimate =
+                Math.min(Io.withReturn(() -> Files.size(path)) / ESTIMATED_ENTRY_BYTES, MAX_ESTIMATED_ENTRIES);
         return Io.withReturn(() -> {
-            try (InputStream in = new FileInputStream(path.toFile())) {
-                return deserialize(in);
+            try (InputStream in = Files.newInputStream(path)) {
+                return deserialize(in, (int) estimate);
             }
         });
     }
@@ -41,27 +52,64 @@ public final class XmlPropertiesSerde {
      */
     public static Map<String, String> deserialize(final InputStream in) {
 
-        final var props = new Properties();
-        Io.withVoid(() -> props.loadFromXML(in));
-        return props.entrySet().stream()
-                .collect(Collectors.toMap(e -> String.valueOf(e.getKey()), e -> String.valueOf(e.getValue())));
+        return deserialize(in, 0);
+    }
+
+    /**
+     * Parses the specified stream into a map presized for the expected number of entries. The XML
+     * file should be in standard java.util.Properties format.
+     */
+    public static Map<String, String> deserialize(final InputStream in, final int expectedEntries) {
+
+        final Map<String, String> map = new HashMap<>(capacity(expectedEntries));
+        XmlPropertiesReader.read(in, map::put);
+        return map;
+    }
+
+    /**
+     * Streams the entries of the properties file to the consumer in document order, without
+     * collecting them. A key that appears more than once is passed each time it occurs.
+     */
+    public static void forEach(final Path path, final BiConsumer<String, String> consumer) {
+
+        Io.withVoid(() -> {
+            try (InputStream in = Files.newInputStream(path)) {
+                forEach(in, consumer);
+            }
+        });
+    }
+
+    /**
+     * Streams the entries of the properties document to the consumer in document order, without
+     * collecting them. The stream is not closed.
+     */
+    public static void forEach(final InputStream in, final BiConsumer<String, String> consumer) {
+
+        XmlPropertiesReader.read(in, consumer);
     }
 
     /** Outputs the specified map as XML properties to the filesystem URI specified. */
     public static void serialize(final Map<String, String> map, final Path target) {
 
         Io.withVoid(() -> {
-            try (OutputStream out = new FileOutputStream(target.toFile())) {
+            try (OutputStream out = Files.newOutputStream(target)) {
                 serialize(map, out);
             }
         });
     }
 
-    /** Outputs the specified map as a XML properties. */
+    /**
+     * Outputs the specified map as a XML properties. The output matches Properties.storeToXML
+     * byte for byte, entry order included.
+     */
     public static void serialize(final Map<String, String> map, final OutputStream out) {
 
-        final var props = new Properties();
-        props.putAll(map);
-        Io.withVoid(() -> props.storeToXML(out, null));
+        XmlPropertiesWriter.write(map, out);
+    }
+
+    /** Returns the HashMap capacity that holds the expected entries without rehashing. */
+    private static int capacity(final int expectedEntries) {
+
+        return (int) Math.ceil(Math.max(expectedEntries, 0) / 0.75);
     }
 }
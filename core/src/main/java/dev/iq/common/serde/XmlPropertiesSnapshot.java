@@ -0,0 +1,222 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.serde;
+
+import dev.iq.common.error.IoException;
+import dev.iq.common.fp.Io;
+import dev.iq.common.log.Log;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Side-car binary snapshots of parsed XML properties files. The first load of a file parses the
+ * XML and writes the resulting map, together with the source path, size, modification time and
+ * a CRC32C of its content, to a snapshot file. Later loads memory map the snapshot and, if the
+ * source still matches, decode the map directly without parsing any XML.
+ *
+ * <p>Snapshots are an optimization only: a missing, stale or unreadable snapshot falls back to
+ * parsing the source, and a snapshot that cannot be written is logged and skipped.
+ */
+public final class XmlPropertiesSnapshot {
+
+    /** Suffix appended to the source file name to form the default snapshot path. */
+    public static final String SUFFIX = ".snapshot";
+
+    /** Identifies a snapshot file ("XPS1"). */
+    private static final int MAGIC = 0x31535058;
+
+    /** Version of the snapshot layout. */
+    private static final int FORMAT_VERSION = 1;
+
+    /** Largest region hashed through a single mapping. */
+    private static final long MAX_MAPPING = Integer.MAX_VALUE;
+
+    /** Type contains only static members. */
+    private XmlPropertiesSnapshot() {}
+
+    /**
+     * Loads the properties file, using the side-car snapshot next to it when it is current.
+     *
+     * @param source XML properties file
+     * @return Map Parsed key/value pairs
+     */
+    public static Map<String, String> load(final Path source) {
+
+        return load(source, sidecar(source));
+    }
+
+    /**
+     * Loads the properties file, using the specified snapshot when it is current and rewriting it
+     * when it is not.
+     *
+     * @param source XML properties file
+     * @param snapshot Snapshot file (created or replaced as needed)
+     * @return Map Parsed key/value pairs
+     */
+    public static Map<String, String> load(final Path source, final Path snapshot) {
+
+        final var key = SourceKey.of(source);
+        return read(snapshot, key).orElseGet(() -> parseAndStore(source, snapshot, key));
+    }
+
+    /** Returns the default snapshot path for the source file. */
+    static Path sidecar(final Path source) {
+
+        return source.resolveSibling(source.getFileName() + SUFFIX);
+    }
+
+    /** Decodes the snapshot if it exists and was produced from the same source content. */
+    private static Optional<Map<String, String>> read(final Path snapshot, final SourceKey key) {
+
+        if (!Files.isRegularFile(snapshot)) {
+            return Optional.empty();
+        }
+        try {
+            final var bytes = map(snapshot);
+            final var input = new BinaryInput(bytes, 0, bytes.length);
+            if ((input.readFixedInt() != MAGIC) || (input.readVarInt() != FORMAT_VERSION)) {
+                return Optional.empty();
+            }
+            final var stored = new SourceKey(
+                    input.readString(), input.readVarLong(), input.readSignedLong(), input.readFixedInt());
+            if (!stored.sameFile(key) || (stored.hash() != key.hash())) {
+                return Optional.empty();
+            }
+            return Optional.of(decode(input));
+        } catch (final RuntimeException | IOException e) {
+            Log.warn(XmlPropertiesSnapshot.class, () -> "Ignoring unreadable snapshot %s".formatted(snapshot), e);
+            return Optional.empty();
+        }
+    }
+
+    /** Parses the source and writes a fresh snapshot of the result. */
+    private static Map<String, String> parseAndStore(final Path source, final Path snapshot, final SourceKey key) {
+
+        final var map = XmlPropertiesSerde.deserialize(source);
+        // Only store the snapshot if the source did not change while it was being parsed
+        if (key.sameFile(SourceKey.attributes(source, key.hash()))) {
+            Io.withVoid(
+                    () -> write(snapshot, key, map),
+                    e -> Log.warn(
+                            XmlPropertiesSnapshot.class, () -> "Unable to write snapshot %s".formatted(snapshot), e));
+        }
+        return map;
+    }
+
+    /** Writes the snapshot to a temporary file and moves it into place atomically. */
+    private static void write(final Path snapshot, final SourceKey key, final Map<String, String> map)
+            throws IOException {
+
+        final var output = new BinaryOutput();
+        output.writeFixedInt(MAGIC);
+        output.writeVarInt(FORMAT_VERSION);
+        output.writeString(key.path());
+        output.writeVarLong(key.size());
+        output.writeSignedLong(key.modified());
+        output.writeFixedInt(key.hash());
+        output.writeVarInt(map.size());
+        map.forEach((k, v) -> {
+            output.writeString(k);
+            output.writeString(v);
+        });
+        final var temp =
+                Files.createTempFile(snapshot.toAbsolutePath().getParent(), snapshot.getFileName() + ".", ".tmp");
+        try {
+            try (var out = Files.newOutputStream(temp)) {
+                output.writeTo(out);
+            }
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /** Decodes the entries that follow the snapshot header into a presized map. */
+    private static Map<String, String> decode(final BinaryInput input) {
+
+        final var count = input.readVarInt();
+        final var map = new HashMap<String, String>((int) Math.ceil(count / 0.75));
+        for (var i = 0; i < count; i++) {
+            map.put(input.readString(), input.readString());
+        }
+        if (input.remaining() != 0) {
+            throw new IoException("Trailing data in snapshot");
+        }
+        return map;
+    }
+
+    /** Maps the file read-only and transfers it to the heap in a single bulk copy. */
+    private static byte[] map(final Path path) throws IOException {
+
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final var mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            final var bytes = new byte[mapped.remaining()];
+            mapped.get(bytes);
+            return bytes;
+        }
+    }
+
+    /** Computes the CRC32C of the file content through read-only mappings. */
+    private static int checksum(final Path path) {
+
+        return Io.withReturn(() -> {
+            final var crc = new CRC32C();
+            try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                final var size = channel.size();
+                for (var position = 0L; position < size; position += MAX_MAPPING) {
+                    crc.update(channel.map(
+                            FileChannel.MapMode.READ_ONLY, position, Math.min(MAX_MAPPING, size - position)));
+                }
+            }
+            return (int) crc.getValue();
+        });
+    }
+
+    /**
+     * Identity of a source file's content.
+     *
+     * @param path Absolute, normalized path of the source
+     * @param size Size in bytes
+     * @param modified Last modification time in microseconds since the epoch
+     * @param hash CRC32C of the content
+     */
+    private record SourceKey(String path, long size, long modified, int hash) {
+
+        /** Reads the attributes and hashes the content of the source. */
+        static SourceKey of(final Path source) {
+
+            return attributes(source, checksum(source));
+        }
+
+        /** Reads the attributes of the source, pairing them with an already computed hash. */
+        static SourceKey attributes(final Path source, final int hash) {
+
+            final var attrs = Io.withReturn(() -> Files.readAttributes(source, BasicFileAttributes.class));
+            return new SourceKey(
+                    source.toAbsolutePath().normalize().toString(),
+                    attrs.size(),
+                    attrs.lastModifiedTime().to(TimeUnit.MICROSECONDS),
+                    hash);
+        }
+
+        /** Returns whether the path, size and modification time match. */
+        boolean sameFile(final SourceKey other) {
+
+            return path.equals(other.path) && (size == other.size) && (modified == other.modified);
+        }
+    }
+}
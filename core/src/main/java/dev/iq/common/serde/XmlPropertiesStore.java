@@ -0,0 +1,271 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.serde;
+
+import dev.iq.common.event.Listener;
+import dev.iq.common.fp.Io;
+import dev.iq.common.log.Log;
+import dev.iq.common.thread.SimpleRunnable;
+import dev.iq.common.thread.ThreadRegistry;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of XML properties files that parses each file once and serves immutable snapshots. Reads
+ * are a lock-free map lookup. A background thread watches the parent directories of loaded files
+ * and, once a file has been quiet for the debounce interval, reloads it, swaps the snapshot and
+ * notifies the listeners registered for that file with the differences.
+ *
+ * <p>A diff map holds each added or changed key with its new value, and each removed key mapped
+ * to null. If a reload fails (the file is missing or only partly written) the previous snapshot is
+ * kept and a later change triggers another attempt.
+ */
+public final class XmlPropertiesStore implements AutoCloseable {
+
+    /** Default quiet period before a changed file is reloaded. */
+    public static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(250);
+
+    /** Maximum time the watcher blocks waiting for events before checking pending reloads. */
+    private static final long POLL_MILLIS = 50L;
+
+    /** Quiet period before a changed file is reloaded. */
+    private final long debounceNanos;
+
+    /** Current snapshot of each loaded file. */
+    private final Map<Path, Map<String, String>> snapshots = new ConcurrentHashMap<>();
+
+    /** Listeners registered for each file. */
+    private final Map<Path, List<Listener<Map<String, String>>>> listeners = new ConcurrentHashMap<>();
+
+    /** Directories registered with the watch service. */
+    private final Set<Path> watched = ConcurrentHashMap.newKeySet();
+
+    /** Files waiting to be reloaded, with the time (nanos) at which they may be reloaded. */
+    private final Map<Path, Long> pending = new HashMap<>();
+
+    /** Service reporting changes to the watched directories. */
+    private final WatchService watchService;
+
+    /** Background watcher. */
+    private final Watcher watcher = new Watcher();
+
+    /** Creates a store using the default debounce interval. */
+    public XmlPropertiesStore() {
+
+        this(DEFAULT_DEBOUNCE);
+    }
+
+    /**
+     * Creates a store and starts its watcher thread.
+     *
+     * @param debounce Quiet period after the last change before a file is reloaded
+     */
+    public XmlPropertiesStore(final Duration debounce) {
+
+        if (debounce.isNegative()) {
+            throw new IllegalArgumentException("Debounce interval must not be negative");
+        }
+        debounceNanos = debounce.toNanos();
+        watchService = Io.withReturn(() -> FileSystems.getDefault().newWatchService());
+        final var thread = ThreadRegistry.INSTANCE.register(watcher);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Returns the snapshot of the specified file, loading and watching it on first access.
+     *
+     * @param path XML properties file
+     * @return Map Immutable snapshot of the file
+     */
+    public Map<String, String> get(final Path path) {
+
+        final var key = normalize(path);
+        final var snapshot = snapshots.get(key);
+        return (snapshot == null) ? load(key) : snapshot;
+    }
+
+    /** Returns the value of a single key of the specified file. */
+    public Optional<String> get(final Path path, final String key) {
+
+        return Optional.ofNullable(get(path).get(key));
+    }
+
+    /**
+     * Registers a listener that receives the differences each time the file is reloaded. The file
+     * is loaded and watched if it was not already.
+     *
+     * @param path XML properties file
+     * @param listener Receiver of the differences
+     */
+    public void addListener(final Path path, final Listener<Map<String, String>> listener) {
+
+        final var key = normalize(path);
+        listeners.computeIfAbsent(key, p -> new CopyOnWriteArrayList<>()).add(listener);
+        get(key);
+    }
+
+    /** Removes a listener previously registered for the file. */
+    public void removeListener(final Path path, final Listener<Map<String, String>> listener) {
+
+        Optional.ofNullable(listeners.get(normalize(path))).ifPresent(l -> l.remove(listener));
+    }
+
+    /** Stops the watcher thread and releases the watch service. Snapshots remain readable. */
+    @Override
+    public void close() {
+
+        watcher.kill9();
+        Io.withVoid(watchService::close);
+    }
+
+    /**
+     * Computes the differences between two snapshots.
+     *
+     * @param before Previous snapshot
+     * @param after Current snapshot
+     * @return Map Added or changed keys with their new values, removed keys mapped to null
+     */
+    static Map<String, String> diff(final Map<String, String> before, final Map<String, String> after) {
+
+        final var result = new HashMap<String, String>();
+        after.forEach((k, v) -> {
+            if (!v.equals(before.get(k))) {
+                result.put(k, v);
+            }
+        });
+        before.keySet().stream().filter(k -> !after.containsKey(k)).forEach(k -> result.put(k, null));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /** Watches the file's directory, then parses it (so no change between the two is missed). */
+    private Map<String, String> load(final Path path) {
+
+        watch(path.getParent());
+        return snapshots.computeIfAbsent(path, XmlPropertiesStore::parse);
+    }
+
+    /** Registers the directory with the watch service if it is not already. */
+    private void watch(final Path directory) {
+
+        if (watched.add(directory)) {
+            Io.withVoid(() -> directory.register(
+                    watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE));
+        }
+    }
+
+    /** Reloads the file, swapping the snapshot and notifying listeners if anything changed. */
+    private void reload(final Path path) {
+
+        final Map<String, String> current;
+        try {
+            current = parse(path);
+        } catch (final RuntimeException e) {
+            Log.warn(XmlPropertiesStore.class, () -> "Keeping previous snapshot of %s".formatted(path), e);
+            return;
+        }
+        final var previous = Objects.requireNonNullElse(snapshots.put(path, current), Map.<String, String>of());
+        final var changes = diff(previous, current);
+        if (!changes.isEmpty()) {
+            listeners.getOrDefault(path, List.of()).forEach(l -> notify(l, path, changes));
+        }
+    }
+
+    /** Delivers the changes to a listener, logging (rather than propagating) any failure. */
+    private static void notify(
+            final Listener<Map<String, String>> listener, final Path path, final Map<String, String> changes) {
+
+        try {
+            listener.notify(changes);
+        } catch (final RuntimeException e) {
+            Log.error(XmlPropertiesStore.class, () -> "Listener failed for %s".formatted(path), e);
+        }
+    }
+
+    /** Parses the file into an immutable snapshot. */
+    private static Map<String, String> parse(final Path path) {
+
+        return Map.copyOf(XmlPropertiesSerde.deserialize(path));
+    }
+
+    /** Returns the canonical key for a path. */
+    private static Path normalize(final Path path) {
+
+        return path.toAbsolutePath().normalize();
+    }
+
+    /** Background loop collecting change events and reloading files once they settle. */
+    private final class Watcher extends SimpleRunnable {
+
+        /** {@inheritDoc} */
+        @Override
+        protected boolean go() {
+
+            try {
+                Optional.ofNullable(watchService.poll(POLL_MILLIS, TimeUnit.MILLISECONDS))
+                        .ifPresent(this::collect);
+            } catch (final InterruptedException | ClosedWatchServiceException e) {
+                return false;
+            }
+            reloadSettled();
+            return true;
+        }
+
+        /** Records the tracked files touched by the events of the key and re-arms the key. */
+        private void collect(final WatchKey key) {
+
+            final var directory = (Path) key.watchable();
+            final var deadline = System.nanoTime() + debounceNanos;
+            for (final var event : key.pollEvents()) {
+                if (event.context() instanceof final Path name) {
+                    final var path = directory.resolve(name);
+                    if (snapshots.containsKey(path)) {
+                        pending.put(path, deadline);
+                    }
+                } else {
+                    // Events were lost (overflow), so recheck every file in the directory
+                    snapshots.keySet().stream()
+                            .filter(p -> directory.equals(p.getParent()))
+                            .forEach(p -> pending.put(p, deadline));
+                }
+            }
+            key.reset();
+        }
+
+        /** Reloads every pending file whose debounce interval has elapsed. */
+        private void reloadSettled() {
+
+            final var now = System.nanoTime();
+            final var iterator = pending.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final var entry = iterator.next();
+                if ((now - entry.getValue()) >= 0) {
+                    iterator.remove();
+                    reload(entry.getKey());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.serde;
+
+import dev.iq.common.fp.Io;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streaming writer for the java.util.Properties XML format. The output is byte-for-byte what
+ * Properties.storeToXML produces (UTF-8, no comment), including its escaping rules and entry
+ * order, but without the synchronized Properties object or the intermediate DOM of the JDK writer.
+ * <br>
+ * Properties keeps its entries in a ConcurrentHashMap and stores them in its iteration order, so
+ * the entries are first copied into a map built the same way; only references are copied.
+ */
+final class XmlPropertiesWriter {
+
+    /** Line separator written after each element (matches the JDK writer). */
+    private static final String NEWLINE = System.lineSeparator();
+
+    /** Document prolog (XML declaration, DOCTYPE and root) written by Properties.storeToXML. */
+    private static final String PROLOG = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + NEWLINE
+            + "<!DOCTYPE properties SYSTEM \"http://java.sun.com/dtd/properties.dtd\">" + NEWLINE
+            + "<properties>" + NEWLINE;
+
+    /** Initial capacity of the map behind a new Properties object. */
+    private static final int PROPERTIES_CAPACITY = 8;
+
+    /** Size of the character buffer in front of the encoder. */
+    private static final int BUFFER_CHARS = 64 * 1024;
+
+    /** Type contains only static members. */
+    private XmlPropertiesWriter() {}
+
+    /**
+     * Writes the map as a properties document. The stream is flushed but not closed.
+     *
+     * @param map Entries to write, in the order Properties would store them
+     * @param out Target stream
+     */
+    static void write(final Map<String, String> map, final OutputStream out) {
+
+        final var ordered = new ConcurrentHashMap<String, String>(PROPERTIES_CAPACITY);
+        ordered.putAll(map);
+        Io.withVoid(() -> {
+            final var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_CHARS);
+            writer.write(PROLOG);
+            for (final var entry : ordered.entrySet()) {
+                writer.write("<entry key=\"");
+                escape(writer, entry.getKey(), true);
+                writer.write("\">");
+                escape(writer, entry.getValue(), false);
+                writer.write("</entry>");
+                writer.write(NEWLINE);
+            }
+            writer.write("</properties>");
+            writer.write(NEWLINE);
+            writer.flush();
+        });
+    }
+
+    /**
+     * Writes the text with markup characters escaped. Supplementary characters are written as a
+     * single numeric character reference and unpaired surrogates as one reference each, which is
+     * what the JDK writer does for any char the UTF-8 encoder rejects.
+     */
+    @SuppressWarnings("ReassignedVariable")
+    private static void escape(final Writer writer, final String text, final boolean attribute) throws IOException {
+
+        var start = 0;
+        var i = 0;
+        while (i < text.length()) {
+            final var ch = text.charAt(i);
+            final var paired = Character.isHighSurrogate(ch)
+                    && ((i + 1) < text.length())
+                    && Character.isLowSurrogate(text.charAt(i + 1));
+            final var replacement = paired ? reference(text.codePointAt(i)) : replacement(ch, attribute);
+            final var next = i + (paired ? 2 : 1);
+            if (replacement != null) {
+                writer.write(text, start, i - start);
+                writer.write(replacement);
+                start = next;
+            }
+            i = next;
+        }
+        writer.write(text, start, text.length() - start);
+    }
+
+    /** Returns the escape sequence for the character, or null if it is written as is. */
+    private static String replacement(final char ch, final boolean attribute) {
+
+        if (Character.isSurrogate(ch)) {
+            return reference(ch);
+        }
+        return switch (ch) {
+            case '<' -> "&lt;";
+            case '>' -> "&gt;";
+            case '&' -> "&amp;";
+            case '"' -> attribute ? "&quot;" : null;
+            default -> null;
+        };
+    }
+
+    /** Returns the numeric character reference for the code point. */
+    private static String reference(final int codePoint) {
+
+        return "&#x" + Integer.toHexString(codePoint) + ';';
+    }
+}
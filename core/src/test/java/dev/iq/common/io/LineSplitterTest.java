@@ -0,0 +1,177 @@
+/*
+ * Insouciant Qualms \u00a9 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for LineSplitter covering line endings, range alignment and parallel streams. */
+final class LineSplitterTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void testLinesWithMixedEndings() throws IOException {
+
+        try (var file = MappedFile.open(write("one\r\ntwo\n\nfour\rstill four\nlast"))) {
+            final var lines =
+                    new LineSplitter(file, StandardCharsets.UTF_8).lines().toList();
+
+            assertEquals(List.of("one", "two", "", "four\rstill four", "last"), lines);
+        }
+    }
+
+    @Test
+    void testTrailingNewlineAddsNoEmptyLine() throws IOException {
+
+        try (var file = MappedFile.open(write("a\nb\n"))) {
+
+            assertEquals(
+                    List.of("a", "b"),
+                    new LineSplitter(file, StandardCharsets.UTF_8).lines().toList());
+        }
+    }
+
+    @Test
+    void testEmptyFile() throws IOException {
+
+        try (var file = MappedFile.open(write(""))) {
+            final var splitter = new LineSplitter(file, StandardCharsets.UTF_8);
+
+            assertEquals(0, splitter.lines().count());
+            assertTrue(splitter.ranges(4).isEmpty());
+        }
+    }
+
+    @Test
+    void testParallelLinesMatchSequential() throws IOException {
+
+        final var expected = lines(20_000);
+        try (var file = new MappedFile(write(String.join("\n", expected)), 4096)) {
+            final var splitter = new LineSplitter(file, StandardCharsets.UTF_8, 256);
+
+            assertEquals(expected, splitter.lines().toList());
+            assertEquals(
+                    expected.stream().mapToInt(String::length).sum(),
+                    splitter.lines().mapToInt(String::length).sum());
+        }
+    }
+
+    @Test
+    void testSpliteratorSplitsAtNewlines() throws IOException {
+
+        try (var file = MappedFile.open(write(String.join("\n", lines(1000))))) {
+            final var suffix =
+                    new LineSplitter(file, StandardCharsets.UTF_8, 16).lines().spliterator();
+            final var prefix = suffix.trySplit();
+            final var first = new ArrayList<String>();
+            final var second = new ArrayList<String>();
+            assertNotNull(prefix);
+            prefix.forEachRemaining(first::add);
+            suffix.forEachRemaining(second::add);
+
+            assertEquals(lines(1000).subList(0, first.size()), first);
+            assertEquals(lines(1000).subList(first.size(), 1000), second);
+        }
+    }
+
+    @Test
+    void testSmallRangeIsNotSplit() throws IOException {
+
+        try (var file = MappedFile.open(write("short\nfile\n"))) {
+
+            assertNull(new LineSplitter(file, StandardCharsets.UTF_8)
+                    .lines()
+                    .spliterator()
+                    .trySplit());
+        }
+    }
+
+    @Test
+    void testRangesAreAlignedAndContiguous() throws IOException {
+
+        final var text = String.join("\n", lines(5000)) + "\n";
+        try (var file = MappedFile.open(write(text))) {
+            final var splitter = new LineSplitter(file, StandardCharsets.UTF_8);
+            final var ranges = splitter.ranges(7);
+
+            assertEquals(7, ranges.size());
+            assertEquals(0, ranges.getFirst().start());
+            assertEquals(file.size(), ranges.getLast().end());
+            for (var i = 1; i < ranges.size(); i++) {
+                assertEquals(ranges.get(i - 1).end(), ranges.get(i).start());
+                assertEquals('\n', file.get(ranges.get(i).start() - 1));
+            }
+            final var joined = ranges.parallelStream().flatMap(splitter::lines).collect(Collectors.toList());
+            assertEquals(lines(5000), joined);
+        }
+    }
+
+    @Test
+    void testLongLinesGiveFewerRanges() throws IOException {
+
+        try (var file = MappedFile.open(write("x".repeat(1000) + "\nshort"))) {
+            final var ranges = new LineSplitter(file, StandardCharsets.UTF_8).ranges(4);
+
+            assertEquals(List.of(new LineSplitter.Range(0, 1001), new LineSplitter.Range(1001, 1006)), ranges);
+        }
+    }
+
+    @Test
+    void testMultiByteCharacters() throws IOException {
+
+        final var text = "caf\u00e9\n\u65e5\u672c\u8a9e\n\ud83d\ude00";
+        try (var file = MappedFile.open(write(text))) {
+
+            assertEquals(
+                    List.of("caf\u00e9", "\u65e5\u672c\u8a9e", "\ud83d\ude00"),
+                    new LineSplitter(file, StandardCharsets.UTF_8).lines().toList());
+        }
+    }
+
+    @Test
+    void testInvalidArgumentsRejected() throws IOException {
+
+        try (var file = MappedFile.open(write("text"))) {
+
+            assertThrows(IllegalArgumentException.class, () -> new LineSplitter(file, StandardCharsets.UTF_16));
+            assertThrows(IllegalArgumentException.class, () -> new LineSplitter(file, StandardCharsets.UTF_8, 0));
+            assertThrows(
+                    IllegalArgumentException.class, () -> new LineSplitter(file, StandardCharsets.UTF_8).ranges(0));
+            assertThrows(IllegalArgumentException.class, () -> new LineSplitter.Range(5, 4));
+        }
+    }
+
+    /** Returns numbered lines of varying length. */
+    private static List<String> lines(final int count) {
+
+        return IntStream.range(0, count)
+                .mapToObj(i -> "line %d %s".formatted(i, "-".repeat(i % 37)))
+                .toList();
+    }
+
+    /** Writes the text to a temporary file. */
+    private Path write(final String text) throws IOException {
+
+        return Files.writeString(tempDir.resolve("text.txt"), text, StandardCharsets.UTF_8);
+    }
+}
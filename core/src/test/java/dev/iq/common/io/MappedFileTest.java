@@ -0,0 +1,167 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for MappedFile covering region boundaries, slices, streams and lifetime. */
+final class MappedFileTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void testReadWholeFile() throws IOException {
+
+        final var data = randomBytes(10_000);
+        try (var file = MappedFile.open(write(data))) {
+            final var copy = new byte[data.length];
+            file.get(0, copy);
+
+            assertEquals(data.length, file.size());
+            assertArrayEquals(data, copy);
+            assertEquals(data[1234], file.get(1234));
+        }
+    }
+
+    @Test
+    void testBulkGetAcrossRegions() throws IOException {
+
+        final var data = randomBytes(1000);
+        try (var file = new MappedFile(write(data), 64)) {
+            final var copy = new byte[500];
+            file.get(30, copy, 0, 500);
+
+            assertArrayEquals(Arrays.copyOfRange(data, 30, 530), copy);
+            assertEquals(data[999], file.get(999));
+        }
+    }
+
+    @Test
+    void testNumbersAcrossRegionBoundary() throws IOException {
+
+        final var buffer = ByteBuffer.allocate(32).putInt(6, 0x01020304).putLong(12, 0x1122334455667788L);
+        try (var file = new MappedFile(write(buffer.array()), 8)) {
+
+            assertEquals(0x01020304, file.getInt(6));
+            assertEquals(0x1122334455667788L, file.getLong(12));
+            assertEquals(buffer.getInt(0), file.getInt(0));
+        }
+    }
+
+    @Test
+    void testSliceIsViewWithinRegion() throws IOException {
+
+        final var data = randomBytes(256);
+        try (var file = new MappedFile(write(data), 128)) {
+            final var inside = file.slice(10, 100);
+            final var across = file.slice(100, 100);
+
+            assertTrue(inside.isDirect());
+            assertTrue(inside.isReadOnly());
+            assertEquals(ByteBuffer.wrap(data, 10, 100), inside);
+            assertFalse(across.isDirect());
+            assertEquals(ByteBuffer.wrap(data, 100, 100), across);
+        }
+    }
+
+    @Test
+    void testInputStream() throws IOException {
+
+        final var data = randomBytes(5000);
+        try (var file = new MappedFile(write(data), 1024);
+                var in = file.newInputStream(100, 3000)) {
+
+            assertEquals(data[100] & 0xff, in.read());
+            assertEquals(99, in.skip(99));
+            in.mark(0);
+            final var first = in.readNBytes(10);
+            in.reset();
+
+            assertArrayEquals(first, in.readNBytes(10));
+            assertArrayEquals(Arrays.copyOfRange(data, 210, 3100), in.readAllBytes());
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    void testIndexOfAcrossRegions() throws IOException {
+
+        final var data = new byte[100];
+        data[70] = 9;
+        data[90] = 9;
+        try (var file = new MappedFile(write(data), 16)) {
+
+            assertEquals(70, file.indexOf((byte) 9, 5, 100));
+            assertEquals(90, file.indexOf((byte) 9, 71, 100));
+            assertEquals(-1, file.indexOf((byte) 9, 71, 90));
+            assertEquals(-1, file.indexOf((byte) 9, 50, 50));
+        }
+    }
+
+    @Test
+    void testEmptyFile() throws IOException {
+
+        try (var file = MappedFile.open(write(new byte[0]))) {
+
+            assertEquals(0, file.size());
+            assertEquals(-1, file.newInputStream().read());
+            assertThrows(IndexOutOfBoundsException.class, () -> file.get(0));
+        }
+    }
+
+    @Test
+    void testOutOfBoundsRejected() throws IOException {
+
+        try (var file = MappedFile.open(write(new byte[16]))) {
+
+            assertThrows(IndexOutOfBoundsException.class, () -> file.get(16));
+            assertThrows(IndexOutOfBoundsException.class, () -> file.getLong(9));
+            assertThrows(IndexOutOfBoundsException.class, () -> file.slice(8, 9));
+            assertThrows(IndexOutOfBoundsException.class, () -> file.newInputStream(4, 13));
+        }
+    }
+
+    @Test
+    void testAccessAfterCloseFails() throws IOException {
+
+        final var file = MappedFile.open(write(new byte[16]));
+        final var in = file.newInputStream();
+        file.close();
+
+        assertThrows(IllegalStateException.class, () -> file.get(0));
+        assertThrows(IllegalStateException.class, in::read);
+        assertThrows(IllegalStateException.class, file::newInputStream);
+    }
+
+    /** Writes the data to a temporary file. */
+    private Path write(final byte[] data) throws IOException {
+
+        return Files.write(tempDir.resolve("data.bin"), data);
+    }
+
+    /** Returns reproducible random bytes. */
+    private static byte[] randomBytes(final int length) {
+
+        final var data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/** Tests for BandwidthLimiter covering burst, sustained rate, sharing and rate changes. */
+final class BandwidthLimiterTest {
+
+    @Test
+    void testBurstPassesWithoutWaiting() throws InterruptedException {
+
+        final var limiter = new BandwidthLimiter(1000, 5000);
+        final var start = System.nanoTime();
+
+        limiter.acquire(5000);
+
+        assertTrue(elapsedMillis(start) < 500);
+    }
+
+    @Test
+    void testSustainedRate() throws InterruptedException {
+
+        final var limiter = new BandwidthLimiter(100_000, 1000);
+        final var start = System.nanoTime();
+
+        for (var i = 0; i < 10; i++) {
+            limiter.acquire(2000);
+        }
+
+        // 20000 bytes less the 1000 byte burst at 100000 bytes per second
+        assertTrue(elapsedMillis(start) >= 180);
+    }
+
+    @Test
+    void testRequestLargerThanBurstWaitsOnce() throws InterruptedException {
+
+        final var limiter = new BandwidthLimiter(100_000, 1);
+        final var start = System.nanoTime();
+
+        limiter.acquire(20_000);
+
+        assertTrue(elapsedMillis(start) >= 190);
+    }
+
+    @Test
+    void testSharedAcrossThreads() throws InterruptedException {
+
+        final var limiter = new BandwidthLimiter(200_000, 1000);
+        final var threads = new ArrayList<Thread>();
+        final var start = System.nanoTime();
+        for (var i = 0; i < 4; i++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                try {
+                    for (var j = 0; j < 10; j++) {
+                        limiter.acquire(1000);
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        for (final var thread : threads) {
+            thread.join();
+        }
+
+        // 40000 bytes less the burst at 200000 bytes per second, whatever the number of threads
+        assertTrue(elapsedMillis(start) >= 180);
+    }
+
+    @Test
+    void testTryAcquire() {
+
+        final var limiter = new BandwidthLimiter(1, 10);
+
+        assertTrue(limiter.tryAcquire(10));
+        assertFalse(limiter.tryAcquire(5));
+    }
+
+    @Test
+    void testSetRate() throws InterruptedException {
+
+        final var limiter = new BandwidthLimiter(1, 1);
+        limiter.acquire(1);
+        limiter.setRate(1_000_000);
+        final var start = System.nanoTime();
+
+        limiter.acquire(10_000);
+
+        assertEquals(1_000_000, limiter.rate());
+        assertTrue(elapsedMillis(start) < 1000);
+    }
+
+    @Test
+    void testDefaultBurst() {
+
+        assertEquals(100_000, new BandwidthLimiter(1_000_000).burst());
+        assertEquals(1, new BandwidthLimiter(5).burst());
+    }
+
+    @Test
+    void testInterruptedWhileWaiting() {
+
+        final var limiter = new BandwidthLimiter(1, 1);
+        Thread.currentThread().interrupt();
+
+        assertThrows(InterruptedException.class, () -> limiter.acquire(100));
+    }
+
+    @Test
+    void testInvalidArgumentsRejected() {
+
+        final var limiter = new BandwidthLimiter(10);
+
+        assertThrows(IllegalArgumentException.class, () -> new BandwidthLimiter(0));
+        assertThrows(IllegalArgumentException.class, () -> new BandwidthLimiter(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> limiter.setRate(-1));
+        assertThrows(IllegalArgumentException.class, () -> limiter.acquire(-1));
+    }
+
+    /** Returns the milliseconds since the start. */
+    private static long elapsedMillis(final long start) {
+
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/** Tests for BufferPool covering size classes, reuse and statistics. */
+final class BufferPoolTest {
+
+    @Test
+    void testBorrowRoundsUpToSizeClass() {
+
+        final var pool = bytePool();
+
+        assertEquals(BufferPool.MIN_CLASS_SIZE, pool.borrow(1).length);
+        assertEquals(1024, pool.borrow(513).length);
+        assertEquals(8192, pool.borrow(8192).length);
+    }
+
+    @Test
+    void testReleasedBufferIsReused() {
+
+        final var pool = bytePool();
+        final var buffer = pool.borrow(4000);
+        pool.release(buffer);
+
+        assertSame(buffer, pool.borrow(3000));
+        assertEquals(new BufferPool.Stats(1, 1, 0), pool.stats());
+        assertEquals(0.5, pool.stats().hitRate());
+    }
+
+    @Test
+    void testOversizedBuffersAreNotPooled() {
+
+        final var pool = bytePool();
+        final var buffer = pool.borrow(BufferPool.MAX_CLASS_SIZE + 1);
+        pool.release(buffer);
+
+        assertEquals(BufferPool.MAX_CLASS_SIZE + 1, buffer.length);
+        assertEquals(new BufferPool.Stats(0, 1, 1), pool.stats());
+    }
+
+    @Test
+    void testForeignSizesAreDiscarded() {
+
+        final var pool = bytePool();
+        pool.release(new byte[1000]);
+
+        assertEquals(1, pool.stats().discards());
+    }
+
+    @Test
+    void testPoolIsBounded() {
+
+        final var pool = bytePool();
+        for (var i = 0; i < 10; i++) {
+            pool.release(new byte[1024]);
+        }
+
+        assertTrue(pool.stats().discards() > 0);
+    }
+
+    @Test
+    void testDirectBuffersAreCleared() {
+
+        final var pool = new BufferPool<>(ByteBuffer::allocateDirect, ByteBuffer::capacity, ByteBuffer::clear);
+        final var buffer = pool.borrow(1024);
+        buffer.put(new byte[10]).flip();
+        pool.release(buffer);
+
+        final var reused = pool.borrow(1024);
+        assertSame(buffer, reused);
+        assertEquals(0, reused.position());
+        assertEquals(1024, reused.limit());
+        assertTrue(reused.isDirect());
+    }
+
+    @Test
+    void testInvalidSizeRejected() {
+
+        assertThrows(IllegalArgumentException.class, () -> bytePool().borrow(0));
+    }
+
+    @Test
+    void testConcurrentBorrowAndRelease() throws InterruptedException {
+
+        final var pool = bytePool();
+        final var executor = Executors.newFixedThreadPool(8);
+        for (var t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                for (var i = 0; i < 10_000; i++) {
+                    final var buffer = pool.borrow(2048);
+                    buffer[0] = 1;
+                    pool.release(buffer);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        final var stats = pool.stats();
+        assertEquals(80_000, stats.hits() + stats.misses());
+        assertTrue(stats.hitRate() > 0.5);
+    }
+
+    @Test
+    void testSharedPoolsUsedByPipes() {
+
+        final var before = BufferPool.bytes().stats();
+        Pipes.bytes().read(new ByteArrayInputStream(new byte[100]));
+
+        final var after = BufferPool.bytes().stats();
+        assertTrue((after.hits() + after.misses()) > (before.hits() + before.misses()));
+    }
+
+    @Test
+    void testDirectOutputStreamReturnsBuffersOnClose() throws IOException {
+
+        final var pool = BufferPool.direct();
+        final var data = new byte[BufferPool.STREAM_BUFFER_LENGTH * BufferPool.SLOTS_PER_STRIPE];
+        try (var out = BufferPool.directOutputStream()) {
+            out.write(data);
+        }
+        final var before = pool.stats();
+
+        try (var out = BufferPool.directOutputStream()) {
+            out.write(data);
+            assertTrue(Arrays.stream(out.toByteBuffers()).allMatch(ByteBuffer::isDirect));
+        }
+        final var after = pool.stats();
+
+        // Both buffers of the second stream were those the first gave back
+        assertEquals(before.hits() + BufferPool.SLOTS_PER_STRIPE, after.hits());
+        assertEquals(before.misses(), after.misses());
+    }
+
+    /** Creates a private pool of byte arrays so that statistics are deterministic. */
+    private static BufferPool<byte[]> bytePool() {
+
+        return new BufferPool<>(byte[]::new, b -> b.length, b -> b);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/** Tests for BufferSizer covering growth, settling and fallback. */
+final class BufferSizerTest {
+
+    @Test
+    void testFixedSizeIsSettled() {
+
+        final var sizer = new BufferSizer(4096, 4096);
+
+        assertTrue(sizer.settled());
+        assertEquals(0L, sizer.start());
+        assertFalse(sizer.record(4096, 0L));
+        assertEquals(4096, sizer.size());
+    }
+
+    @Test
+    void testGrowsWhileFullAndImprovingUpToMax() {
+
+        final var sizer = new BufferSizer(1024, 8192);
+        var nanosPerTransfer = 1000L;
+        while (!sizer.settled()) {
+            // Each doubling moves twice the data in less than twice the time
+            window(sizer, sizer.size(), nanosPerTransfer);
+            nanosPerTransfer = nanosPerTransfer * 3 / 2;
+        }
+
+        assertEquals(8192, sizer.size());
+    }
+
+    @Test
+    void testShortReadsSettle() {
+
+        final var sizer = new BufferSizer(1024, 8192);
+        window(sizer, 100, 1000L);
+
+        assertTrue(sizer.settled());
+        assertEquals(1024, sizer.size());
+    }
+
+    @Test
+    void testStepsBackWhenLargerBufferIsSlower() {
+
+        final var sizer = new BufferSizer(1024, 65536);
+        window(sizer, 1024, 1000L);
+        assertEquals(2048, sizer.size());
+
+        // Twice the data in ten times the time
+        window(sizer, 2048, 10_000L);
+
+        assertTrue(sizer.settled());
+        assertEquals(1024, sizer.size());
+    }
+
+    @Test
+    void testInvalidSizesRejected() {
+
+        assertThrows(IllegalArgumentException.class, () -> new BufferSizer(0, 1024));
+        assertThrows(IllegalArgumentException.class, () -> new BufferSizer(2048, 1024));
+    }
+
+    /** Records a full window of transfers, each appearing to take the specified time. */
+    private static void window(final BufferSizer sizer, final int count, final long nanos) {
+
+        for (var i = 0; i < BufferSizer.WINDOW; i++) {
+            sizer.record(count, System.nanoTime() - nanos);
+        }
+    }
+}
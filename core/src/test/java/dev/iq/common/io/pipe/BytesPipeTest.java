@@ -14,6 +14,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 
 /** Tests for BytesPipe covering byte array operations with input and output streams. */
@@ -183,4 +184,18 @@ final class BytesPipeTest {
             return closed;
         }
     }
+
+    @Test
+    void testGoAdaptive() {
+
+        final var pipe = new BytesPipe();
+        final var testData = new byte[1_000_000];
+        new Random(7).nextBytes(testData);
+        final var outputStream = new ByteArrayOutputStream();
+
+        final var bytesProcessed = pipe.goAdaptive(new ByteArrayInputStream(testData), outputStream);
+
+        assertEquals(testData.length, bytesProcessed);
+        assertArrayEquals(testData, outputStream.toByteArray());
+    }
 }
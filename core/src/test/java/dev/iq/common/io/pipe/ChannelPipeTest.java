@@ -0,0 +1,127 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for ChannelPipe covering transfer and buffered copies between channels. */
+final class ChannelPipeTest {
+
+    /** Size of the test data (several buffers and transfer chunks). */
+    private static final int DATA_LENGTH = 300_000;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void testFileToFileUsesRemainderOfInput() throws IOException {
+
+        final var data = data();
+        final var source = Files.write(tempDir.resolve("in.bin"), data);
+        final var target = tempDir.resolve("out.bin");
+
+        try (var in = FileChannel.open(source, StandardOpenOption.READ);
+                var out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            in.position(100);
+            final var moved = new ChannelPipe().go(in, out);
+
+            assertEquals(DATA_LENGTH - 100, moved);
+            assertEquals(DATA_LENGTH, in.position());
+            assertEquals(DATA_LENGTH - 100, out.position());
+        }
+        assertArrayEquals(Arrays.copyOfRange(data, 100, DATA_LENGTH), Files.readAllBytes(target));
+    }
+
+    @Test
+    void testFileToStreamChannel() throws IOException {
+
+        final var data = data();
+        final var source = Files.write(tempDir.resolve("in.bin"), data);
+        final var out = new ByteArrayOutputStream();
+
+        try (var in = FileChannel.open(source, StandardOpenOption.READ)) {
+            assertEquals(DATA_LENGTH, new ChannelPipe().go(in, Channels.newChannel(out)));
+        }
+        assertArrayEquals(data, out.toByteArray());
+    }
+
+    @Test
+    void testStreamChannelToFileAppendsAtPosition() throws IOException {
+
+        final var data = data();
+        final var target = Files.write(tempDir.resolve("out.bin"), new byte[] {1, 2, 3});
+
+        try (var out = FileChannel.open(target, StandardOpenOption.WRITE)) {
+            out.position(3);
+            final var moved = new ChannelPipe().go(Channels.newChannel(new ByteArrayInputStream(data)), out, 4096);
+
+            assertEquals(DATA_LENGTH, moved);
+            assertEquals(DATA_LENGTH + 3, out.position());
+        }
+        final var written = Files.readAllBytes(target);
+        assertArrayEquals(data, Arrays.copyOfRange(written, 3, written.length));
+    }
+
+    @Test
+    void testStreamChannelToStreamChannel() {
+
+        final var data = data();
+        final var out = new ByteArrayOutputStream();
+
+        final var moved = new ChannelPipe()
+                .go(Channels.newChannel(new ByteArrayInputStream(data)), Channels.newChannel(out), 1000);
+
+        assertEquals(DATA_LENGTH, moved);
+        assertArrayEquals(data, out.toByteArray());
+    }
+
+    @Test
+    void testReadAndWrite() {
+
+        final var data = data();
+        final var pipe = new ChannelPipe();
+        final var out = new ByteArrayOutputStream();
+
+        pipe.write(data, Channels.newChannel(out));
+
+        assertArrayEquals(data, pipe.read(Channels.newChannel(new ByteArrayInputStream(out.toByteArray()))));
+    }
+
+    @Test
+    void testEmptyInput() throws IOException {
+
+        final var source = Files.write(tempDir.resolve("empty.bin"), new byte[0]);
+        final var out = new ByteArrayOutputStream();
+
+        try (var in = FileChannel.open(source, StandardOpenOption.READ)) {
+            assertEquals(0, new ChannelPipe().go(in, Channels.newChannel(out)));
+        }
+        assertEquals(0, out.size());
+    }
+
+    /** Returns deterministic pseudo-random test data. */
+    private static byte[] data() {
+
+        final var data = new byte[DATA_LENGTH];
+        new Random(42).nextBytes(data);
+        return data;
+    }
+}
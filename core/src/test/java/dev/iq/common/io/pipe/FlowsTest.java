@@ -0,0 +1,332 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/** Tests for Flows covering demand, termination and both adapter directions. */
+final class FlowsTest {
+
+    @Test
+    void testPublisherReadsOnlyWhatIsRequested() {
+
+        final var source = new CountingInputStream(new byte[1000]);
+        final var subscriber = new RecordingSubscriber(2);
+
+        Flows.publisher(source, 100, Runnable::run).subscribe(subscriber);
+
+        assertEquals(2, subscriber.items.size());
+        assertEquals(2, source.reads.get());
+        subscriber.subscription.request(3);
+        assertEquals(5, subscriber.items.size());
+        assertEquals(5, source.reads.get());
+    }
+
+    @Test
+    void testPublisherCompletesAndClosesSource() {
+
+        final var source = new CountingInputStream(new byte[250]);
+        final var subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+
+        Flows.publisher(source, 100, Runnable::run).subscribe(subscriber);
+
+        assertEquals(
+                List.of(100, 100, 50),
+                subscriber.items.stream().map(ByteBuffer::remaining).toList());
+        assertTrue(subscriber.completed.isDone());
+        assertTrue(source.closed.get());
+    }
+
+    @Test
+    void testCancelClosesSource() {
+
+        final var source = new CountingInputStream(new byte[1000]);
+        final var subscriber = new RecordingSubscriber(1);
+        Flows.publisher(source, 100, Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(5);
+
+        assertEquals(1, subscriber.items.size());
+        assertTrue(source.closed.get());
+        assertFalse(subscriber.completed.isDone());
+    }
+
+    @Test
+    void testInvalidRequestSignalsError() {
+
+        final var subscriber = new RecordingSubscriber(0);
+        Flows.publisher(new ByteArrayInputStream(new byte[10]), 100, Runnable::run)
+                .subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertInstanceOf(IllegalArgumentException.class, subscriber.completed.exceptionNow());
+    }
+
+    @Test
+    void testSecondSubscriberRejected() {
+
+        final var publisher = Flows.publisher(new ByteArrayInputStream(new byte[10]), 100, Runnable::run);
+        publisher.subscribe(new RecordingSubscriber(0));
+        final var second = new RecordingSubscriber(0);
+
+        publisher.subscribe(second);
+
+        assertInstanceOf(IllegalStateException.class, second.completed.exceptionNow());
+    }
+
+    @Test
+    void testSourceFailureSignalsError() {
+
+        final var failure = new IOException("read failed");
+        final var source = new InputStream() {
+
+            @Override
+            public int read() throws IOException {
+
+                throw failure;
+            }
+        };
+        final var subscriber = new RecordingSubscriber(1);
+
+        Flows.publisher(source, 100, Runnable::run).subscribe(subscriber);
+
+        assertSame(failure, subscriber.completed.exceptionNow());
+    }
+
+    @Test
+    void testThrowingSubscriberCancelsAndClosesSource() {
+
+        final var source = new CountingInputStream(new byte[1000]);
+        final var signals = new AtomicInteger();
+        final var subscription = new CompletableFuture<Flow.Subscription>();
+
+        Flows.publisher(source, 100, Runnable::run).subscribe(new Flow.Subscriber<>() {
+
+            @Override
+            public void onSubscribe(final Flow.Subscription value) {
+
+                subscription.complete(value);
+                value.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(final ByteBuffer item) {
+
+                signals.incrementAndGet();
+                throw new IllegalStateException("subscriber failed");
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+
+                signals.incrementAndGet();
+            }
+
+            @Override
+            public void onComplete() {
+
+                signals.incrementAndGet();
+            }
+        });
+        subscription.join().request(5);
+
+        assertEquals(1, signals.get());
+        assertEquals(1, source.reads.get());
+        assertTrue(source.closed.get());
+    }
+
+    @Test
+    void testRoundTripThroughInputStream() throws IOException {
+
+        final var data = new byte[3_000_000];
+        new Random(3).nextBytes(data);
+
+        try (var in = Flows.inputStream(Flows.publisher(new ByteArrayInputStream(data)))) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void testChannelPublisher() throws IOException {
+
+        final var data = new byte[100_000];
+        new Random(4).nextBytes(data);
+        final var channel = Channels.newChannel(new ByteArrayInputStream(data));
+
+        try (var in = Flows.inputStream(Flows.publisher(channel, 1000, Runnable::run), 3)) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+        assertFalse(channel.isOpen());
+    }
+
+    @Test
+    void testInputStreamBoundedByPrefetch() throws IOException {
+
+        final var source = new CountingInputStream(new byte[10_000]);
+
+        try (var in = Flows.inputStream(Flows.publisher(source, 10, Runnable::run), 2)) {
+            assertEquals(2, source.reads.get());
+            in.readNBytes(15);
+            assertEquals(3, source.reads.get());
+        }
+        assertTrue(source.closed.get());
+    }
+
+    @Test
+    void testInputStreamThrowsPublisherFailure() {
+
+        final var publisher = new SubmissionPublisher<ByteBuffer>();
+        final var in = Flows.inputStream(publisher);
+        publisher.submit(ByteBuffer.wrap(new byte[] {1, 2}));
+        publisher.closeExceptionally(new IllegalStateException("upstream failed"));
+
+        final var thrown = assertThrows(IOException.class, in::readAllBytes);
+        assertInstanceOf(IllegalStateException.class, thrown.getCause());
+    }
+
+    @Test
+    void testWriteTo() throws Exception {
+
+        final var out = new ByteArrayOutputStream();
+        final CompletableFuture<Long> result;
+        try (var publisher = new SubmissionPublisher<ByteBuffer>()) {
+            result = Flows.writeTo(publisher, out, 2);
+            for (var i = 0; i < 100; i++) {
+                publisher.submit(ByteBuffer.wrap(new byte[] {(byte) i, (byte) i}));
+            }
+            publisher.submit(ByteBuffer.allocateDirect(3));
+        }
+
+        assertEquals(203L, result.get(10, TimeUnit.SECONDS));
+        assertEquals(203, out.size());
+        assertEquals(99, out.toByteArray()[199]);
+    }
+
+    @Test
+    void testWriteToFailureCancelsSubscription() {
+
+        final var source = new CountingInputStream(new byte[10_000]);
+        final var out = new OutputStream() {
+
+            @Override
+            public void write(final int b) throws IOException {
+
+                throw new IOException("write failed");
+            }
+        };
+
+        final var result = Flows.writeTo(Flows.publisher(source, 10, Runnable::run), out);
+
+        final var thrown = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(IOException.class, thrown.getCause().getCause());
+        assertTrue(source.closed.get());
+        assertTrue(source.reads.get() <= Flows.DEFAULT_PREFETCH);
+    }
+
+    /** Stream over a byte array that counts reads and records closing. */
+    private static final class CountingInputStream extends ByteArrayInputStream {
+
+        /** Number of bulk reads. */
+        private final AtomicInteger reads = new AtomicInteger();
+
+        /** Whether the stream has been closed. */
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        CountingInputStream(final byte[] data) {
+
+            super(data);
+        }
+
+        @Override
+        public synchronized int read(final byte[] buffer, final int offset, final int length) {
+
+            reads.incrementAndGet();
+            return super.read(buffer, offset, length);
+        }
+
+        @Override
+        public void close() {
+
+            closed.set(true);
+        }
+    }
+
+    /** Subscriber that records what it receives, requesting a fixed amount on subscription. */
+    private static final class RecordingSubscriber implements Flow.Subscriber<ByteBuffer> {
+
+        /** Items received. */
+        private final List<ByteBuffer> items = new ArrayList<>();
+
+        /** Completes normally or exceptionally on the terminal signal. */
+        private final CompletableFuture<Void> completed = new CompletableFuture<>();
+
+        /** Amount requested on subscription (none if 0). */
+        private final long initial;
+
+        /** Subscription received. */
+        private Flow.Subscription subscription;
+
+        RecordingSubscriber(final long initial) {
+
+            this.initial = initial;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription value) {
+
+            subscription = value;
+            if (initial > 0) {
+                value.request(initial);
+            }
+        }
+
+        @Override
+        public void onNext(final ByteBuffer item) {
+
+            items.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+
+            completed.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+
+            completed.complete(null);
+        }
+    }
+}
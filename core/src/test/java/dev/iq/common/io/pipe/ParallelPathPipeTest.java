@@ -0,0 +1,141 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.iq.common.error.IoException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for ParallelPathPipe covering ranges, progress, truncation and failures. */
+final class ParallelPathPipeTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void testCopyAcrossManyRanges() throws IOException {
+
+        final var data = randomBytes(1_000_003);
+        final var source = Files.write(tempDir.resolve("source.bin"), data);
+        final var target = tempDir.resolve("target.bin");
+
+        final var copied = new ParallelPathPipe(4, 64 * 1024, p -> true).go(source, target);
+
+        assertEquals(data.length, copied);
+        assertArrayEquals(data, Files.readAllBytes(target));
+    }
+
+    @Test
+    void testProgressReportedPerRange() throws IOException {
+
+        final var source = Files.write(tempDir.resolve("source.bin"), randomBytes(10 * 1024));
+        final var events = new ArrayList<CopyProgress>();
+
+        new ParallelPathPipe(3, 1024, events::add).go(source, tempDir.resolve("target.bin"));
+
+        assertEquals(10, events.size());
+        for (var i = 0; i < events.size(); i++) {
+            assertEquals((i + 1) * 1024L, events.get(i).copied());
+            assertEquals(10 * 1024L, events.get(i).total());
+        }
+        assertTrue(events.get(events.size() - 1).done());
+    }
+
+    @Test
+    void testLastRangeShorter() throws IOException {
+
+        final var data = randomBytes(2500);
+        final var source = Files.write(tempDir.resolve("source.bin"), data);
+        final List<CopyProgress> events = new ArrayList<>();
+
+        new ParallelPathPipe(2, 1000, events::add).go(source, tempDir.resolve("target.bin"));
+
+        assertEquals(3, events.size());
+        assertEquals(1.0, events.get(2).fraction());
+        assertArrayEquals(data, Files.readAllBytes(tempDir.resolve("target.bin")));
+    }
+
+    @Test
+    void testSmallFileCopiedAsSingleRange() throws IOException {
+
+        final var data = randomBytes(100);
+        final var source = Files.write(tempDir.resolve("source.bin"), data);
+        final var events = new ArrayList<CopyProgress>();
+
+        final var copied = new ParallelPathPipe(4, 1024, events::add).go(source, tempDir.resolve("target.bin"));
+
+        assertEquals(100, copied);
+        assertEquals(List.of(new CopyProgress(100, 100)), events);
+        assertArrayEquals(data, Files.readAllBytes(tempDir.resolve("target.bin")));
+    }
+
+    @Test
+    void testEmptyFile() throws IOException {
+
+        final var source = Files.write(tempDir.resolve("source.bin"), new byte[0]);
+
+        assertEquals(0, Pipes.pathsParallel().go(source, tempDir.resolve("target.bin")));
+        assertEquals(0, Files.size(tempDir.resolve("target.bin")));
+    }
+
+    @Test
+    void testExistingTargetTruncated() throws IOException {
+
+        final var data = randomBytes(5000);
+        final var source = Files.write(tempDir.resolve("source.bin"), data);
+        final var target = Files.write(tempDir.resolve("target.bin"), randomBytes(9000));
+
+        new ParallelPathPipe(2, 1024, p -> true).go(source, target);
+
+        assertArrayEquals(data, Files.readAllBytes(target));
+    }
+
+    @Test
+    void testListenerFailureFailsCopy() throws IOException {
+
+        final var source = Files.write(tempDir.resolve("source.bin"), randomBytes(4096));
+        final var pipe = new ParallelPathPipe(2, 1024, p -> {
+            throw new IllegalStateException("listener failed");
+        });
+
+        assertThrows(IoException.class, () -> pipe.go(source, tempDir.resolve("target.bin")));
+    }
+
+    @Test
+    void testMissingSourceFails() {
+
+        final var pipe = Pipes.pathsParallel(2, p -> true);
+
+        assertThrows(IoException.class, () -> pipe.go(tempDir.resolve("missing"), tempDir.resolve("target.bin")));
+    }
+
+    @Test
+    void testInvalidArgumentsRejected() {
+
+        assertThrows(IllegalArgumentException.class, () -> new ParallelPathPipe(0, 1024, p -> true));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelPathPipe(1, 0, p -> true));
+    }
+
+    /** Returns reproducible random bytes. */
+    private static byte[] randomBytes(final int length) {
+
+        final var data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import dev.iq.common.error.IoException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for PathPipe covering file to file operations. */
+final class PathPipeTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void testGoCopiesFile() throws IOException {
+
+        final var data = "Hello, World!".repeat(10_000).getBytes(StandardCharsets.UTF_8);
+        final var source = Files.write(tempDir.resolve("in.txt"), data);
+        final var target = tempDir.resolve("out.txt");
+
+        assertEquals(data.length, new PathPipe().go(source, target));
+        assertArrayEquals(data, Files.readAllBytes(target));
+    }
+
+    @Test
+    void testGoTruncatesExistingTarget() throws IOException {
+
+        final var source = Files.writeString(tempDir.resolve("in.txt"), "short");
+        final var target = Files.writeString(tempDir.resolve("out.txt"), "a much longer existing file");
+
+        new PathPipe().go(source, target);
+
+        assertEquals("short", Files.readString(target));
+    }
+
+    @Test
+    void testReadAndWrite() {
+
+        final var data = "Hello, World!".getBytes(StandardCharsets.UTF_8);
+        final var pipe = new PathPipe();
+        final var path = tempDir.resolve("data.txt");
+
+        pipe.write(data, path);
+
+        assertArrayEquals(data, pipe.read(path));
+    }
+
+    @Test
+    void testMissingSourceFails() {
+
+        final var pipe = new PathPipe();
+
+        assertThrows(IoException.class, () -> pipe.go(tempDir.resolve("missing"), tempDir.resolve("out")));
+    }
+}
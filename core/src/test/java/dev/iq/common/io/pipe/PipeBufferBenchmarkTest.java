@@ -0,0 +1,112 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import dev.iq.common.fp.Io;
+import dev.iq.common.io.IoConstants;
+import dev.iq.common.io.stream.NullOutputStream;
+import dev.iq.common.log.Log;
+import dev.iq.test.annotation.IntegrationTest;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Throughput of BytesPipe for several stream types, comparing fixed buffer sizes with the adaptive
+ * mode and logging the size the adaptive mode settled on. Timings are only indicative (no JMH), so
+ * this runs with the integration tests.
+ */
+@IntegrationTest
+final class PipeBufferBenchmarkTest {
+
+    /** Size of the data piped in each run. */
+    private static final int DATA_LENGTH = 32 * 1024 * 1024;
+
+    /** Runs per configuration (the first warms up the JIT and is discarded). */
+    private static final int RUNS = 4;
+
+    /** Fixed buffer sizes compared with the adaptive mode. */
+    private static final List<Integer> FIXED_SIZES = List.of(IoConstants.DEFAULT_BUFFER_LENGTH, 8192, 65536, 262144);
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void testBufferSizeMatrix() {
+
+        final var data = new byte[DATA_LENGTH];
+        new Random(1).nextBytes(data);
+        final var file = Io.withReturn(() -> Files.write(tempDir.resolve("data.bin"), data));
+
+        final List<Source> sources = List.of(
+                new Source("memory", () -> new ByteArrayInputStream(data)),
+                new Source("file", () -> Io.withReturn(() -> Files.newInputStream(file))),
+                new Source(
+                        "buffered file",
+                        () -> new BufferedInputStream(Io.withReturn(() -> Files.newInputStream(file)))));
+        final List<Sink> sinks = List.of(
+                new Sink("null", NullOutputStream::new),
+                new Sink("file", () -> Io.withReturn(() -> Files.newOutputStream(tempDir.resolve("copy.bin")))));
+
+        for (final var source : sources) {
+            for (final var sink : sinks) {
+                final var results = new StringBuilder();
+                for (final var size : FIXED_SIZES) {
+                    final var rate = measure(source, sink, s -> new BufferSizer(size, size));
+                    results.append(" %dK=%.0f".formatted(size / 1024, rate));
+                }
+                final var adaptive = new BufferSizer[1];
+                final var rate = measure(source, sink, s -> {
+                    adaptive[0] =
+                            new BufferSizer(IoConstants.DEFAULT_BUFFER_LENGTH, IoConstants.MAX_ADAPTIVE_BUFFER_LENGTH);
+                    return adaptive[0];
+                });
+                results.append(" adaptive(%dK)=%.0f".formatted(adaptive[0].size() / 1024, rate));
+                Log.info(getClass(), () -> "%s -> %s MB/s:%s".formatted(source.name(), sink.name(), results));
+            }
+        }
+    }
+
+    /** Returns the best throughput (MB/s) of the runs after the first. */
+    @SuppressWarnings("ReassignedVariable")
+    private static double measure(final Source source, final Sink sink, final Function<Integer, BufferSizer> sizers) {
+
+        final var pipe = new BytesPipe();
+        var best = 0.0;
+        for (var run = 0; run < RUNS; run++) {
+            final var sizer = sizers.apply(run);
+            final var start = System.nanoTime();
+            final var moved = Io.withReturn(() -> {
+                try (var in = source.open().get();
+                        var out = sink.open().get()) {
+                    return pipe.go(in, out, sizer);
+                }
+            });
+            final var nanos = System.nanoTime() - start;
+            assertEquals(DATA_LENGTH, moved);
+            if (run > 0) {
+                best = Math.max(best, (moved / (1024.0 * 1024.0)) / (nanos / 1.0e9));
+            }
+        }
+        return best;
+    }
+
+    private record Source(String name, Supplier<InputStream> open) {}
+
+    private record Sink(String name, Supplier<OutputStream> open) {}
+}
@@ -0,0 +1,274 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.iq.common.error.IoException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import org.junit.jupiter.api.Test;
+
+/** Tests for Pipeline, PipelineBuilder and the stages they provide. */
+final class PipelineTest {
+
+    @Test
+    void testEmptyPipelineCopies() {
+
+        final var data = randomBytes(100_000);
+        final var out = new ByteArrayOutputStream();
+
+        final var result = Pipes.pipeline().build().run(new ByteArrayInputStream(data), out);
+
+        assertArrayEquals(data, out.toByteArray());
+        assertEquals(data.length, result.bytesRead());
+        assertEquals(data.length, result.bytesWritten());
+        assertTrue(result.values().isEmpty());
+    }
+
+    @Test
+    void testChecksumCompressAndCountInOnePass() throws IOException {
+
+        final var data = compressibleBytes(500_000);
+        final var out = new ByteArrayOutputStream();
+        final var pipeline = Pipes.pipeline()
+                .checksum("crc")
+                .count("raw")
+                .deflate(Deflater.BEST_SPEED)
+                .count("compressed")
+                .checksum("compressedCrc", CRC32::new)
+                .build();
+
+        final var result = pipeline.run(new ByteArrayInputStream(data), out);
+
+        final var crc = new CRC32C();
+        crc.update(data);
+        final var compressedCrc = new CRC32();
+        compressedCrc.update(out.toByteArray());
+        assertEquals(crc.getValue(), result.getLong("crc"));
+        assertEquals(data.length, result.getLong("raw"));
+        assertEquals(out.size(), result.getLong("compressed"));
+        assertEquals(out.size(), result.bytesWritten());
+        assertEquals(compressedCrc.getValue(), result.getLong("compressedCrc"));
+        assertTrue(out.size() < data.length);
+        try (var in = new InflaterInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void testInflateRoundTrip() throws IOException {
+
+        final var data = compressibleBytes(300_000);
+        final var compressed = new ByteArrayOutputStream();
+        try (var deflater = new DeflaterOutputStream(compressed)) {
+            deflater.write(data);
+        }
+        final var out = new ByteArrayOutputStream();
+
+        final var result = Pipes.pipeline()
+                .inflate()
+                .count("inflated")
+                .build()
+                .run(new ByteArrayInputStream(compressed.toByteArray()), out, 100);
+
+        assertArrayEquals(data, out.toByteArray());
+        assertEquals(compressed.size(), result.bytesRead());
+        assertEquals(data.length, result.getLong("inflated"));
+    }
+
+    @Test
+    void testTruncatedCompressedDataFails() {
+
+        final var compressed =
+                Pipes.pipeline().deflate().build().read(new ByteArrayInputStream(compressibleBytes(10_000)));
+        final var truncated = new ByteArrayInputStream(compressed, 0, compressed.length / 2);
+        final var pipeline = Pipes.pipeline().inflate().build();
+
+        assertThrows(IoException.class, () -> pipeline.read(truncated));
+    }
+
+    @Test
+    void testTrailingDataInSameChunkFails() {
+
+        final var compressed =
+                Pipes.pipeline().deflate().build().read(new ByteArrayInputStream(compressibleBytes(10_000)));
+        final var trailing = Arrays.copyOf(compressed, compressed.length + 3);
+        final var pipeline = Pipes.pipeline().inflate().build();
+
+        // One read takes the whole input, so the trailing bytes arrive with the end of the stream
+        assertThrows(
+                IoException.class,
+                () -> pipeline.run(new ByteArrayInputStream(trailing), new ByteArrayOutputStream(), trailing.length));
+    }
+
+    @Test
+    void testDigest() throws NoSuchAlgorithmException {
+
+        final var data = randomBytes(10_000);
+
+        final var result = Pipes.pipeline()
+                .digest("sha", "SHA-256")
+                .build()
+                .run(new ByteArrayInputStream(data), new ByteArrayOutputStream());
+
+        assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(data), result.getBytes("sha"));
+    }
+
+    @Test
+    void testUnknownDigestRejectedWhenBuilding() {
+
+        assertThrows(IoException.class, () -> Pipes.pipeline().digest("x", "NO-SUCH-DIGEST"));
+    }
+
+    @Test
+    void testLimitExceeded() {
+
+        final var pipeline = Pipes.pipeline().limit(1000).build();
+
+        assertEquals(1000, pipeline.go(new ByteArrayInputStream(new byte[1000]), new ByteArrayOutputStream()));
+        assertThrows(
+                IoException.class,
+                () -> pipeline.go(new ByteArrayInputStream(new byte[1001]), new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void testLimitAppliesAfterCompression() {
+
+        final var pipeline = Pipes.pipeline().deflate().limit(10_000).build();
+
+        assertEquals(
+                1_000_000, pipeline.go(new ByteArrayInputStream(new byte[1_000_000]), new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void testThrottle() {
+
+        final var result = Pipes.pipeline()
+                .throttle(200_000)
+                .build()
+                .run(new ByteArrayInputStream(new byte[50_000]), new ByteArrayOutputStream(), 5000);
+
+        assertTrue(result.elapsed().toMillis() >= 200, result.elapsed().toString());
+    }
+
+    @Test
+    void testSharedThrottleBoundsCombinedRate() throws Exception {
+
+        // Each run alone would take about 125 ms; sharing the limiter, both together take about 250 ms
+        final var limiter = new BandwidthLimiter(400_000, 1000);
+        final var first = Pipes.pipeline().throttle(limiter).build();
+        final var second = Pipes.pipeline().throttle(limiter).build();
+        final var start = System.nanoTime();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final var runs = List.of(
+                    executor.submit(() ->
+                            first.run(new ByteArrayInputStream(new byte[50_000]), new ByteArrayOutputStream(), 5000)),
+                    executor.submit(() ->
+                            second.run(new ByteArrayInputStream(new byte[50_000]), new ByteArrayOutputStream(), 5000)));
+            for (final var run : runs) {
+                assertEquals(50_000, run.get().bytesWritten());
+            }
+        }
+
+        assertTrue((System.nanoTime() - start) >= TimeUnit.MILLISECONDS.toNanos(240));
+    }
+
+    @Test
+    void testCustomStageAndFreshStagesPerRun() {
+
+        final var pipeline = Pipes.pipeline()
+                .stage(() -> new Pipeline.Stage() {
+
+                    private long chunks = 0;
+
+                    @Override
+                    public void write(
+                            final byte[] buffer, final int offset, final int length, final Pipeline.Output next)
+                            throws IOException {
+
+                        chunks++;
+                        next.write(buffer, offset, length);
+                    }
+
+                    @Override
+                    public void results(final Map<String, Object> values) {
+
+                        values.put("chunks", chunks);
+                    }
+                })
+                .build();
+
+        assertEquals(
+                4,
+                pipeline.run(new ByteArrayInputStream(new byte[400]), new ByteArrayOutputStream(), 100)
+                        .getLong("chunks"));
+        assertEquals(
+                2,
+                pipeline.run(new ByteArrayInputStream(new byte[200]), new ByteArrayOutputStream(), 100)
+                        .getLong("chunks"));
+    }
+
+    @Test
+    void testMissingValueRejected() {
+
+        final var result = Pipes.pipeline()
+                .count("count")
+                .build()
+                .run(new ByteArrayInputStream(new byte[1]), new ByteArrayOutputStream());
+
+        assertThrows(IllegalArgumentException.class, () -> result.getLong("other"));
+        assertThrows(IllegalArgumentException.class, () -> result.getBytes("count"));
+    }
+
+    @Test
+    void testInvalidArgumentsRejected() {
+
+        final var builder = Pipes.pipeline();
+
+        assertThrows(IllegalArgumentException.class, () -> builder.limit(-1));
+        assertThrows(IllegalArgumentException.class, () -> builder.throttle(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.deflate(10));
+    }
+
+    /** Returns reproducible random bytes. */
+    private static byte[] randomBytes(final int length) {
+
+        final var data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+
+    /** Returns reproducible bytes drawn from a small alphabet. */
+    private static byte[] compressibleBytes(final int length) {
+
+        final var random = new Random(length);
+        final var data = new byte[length];
+        for (var i = 0; i < length; i++) {
+            data[i] = (byte) ('a' + random.nextInt(4));
+        }
+        return data;
+    }
+}
@@ -47,6 +47,32 @@ final class PipesTest {
         assertArrayEquals(testData, outputStream.toByteArray());
     }
 
+    @Test
+    void testChannelsFactory() {
+
+        assertInstanceOf(ChannelPipe.class, Pipes.channels());
+    }
+
+    @Test
+    void testThrottledFactory() {
+
+        final var pipe = Pipes.throttled(new BandwidthLimiter(1_000_000));
+
+        assertInstanceOf(ThrottledPipe.class, pipe);
+    }
+
+    @Test
+    void testPathsResumableFactory() {
+
+        assertInstanceOf(ResumablePathPipe.class, Pipes.pathsResumable());
+    }
+
+    @Test
+    void testPathsFactory() {
+
+        assertInstanceOf(PathPipe.class, Pipes.paths());
+    }
+
     @Test
     void testBytesSupplierFactory() {
 
@@ -127,6 +153,24 @@ final class PipesTest {
         assertInstanceOf(ReversePipe.class, pipe);
     }
 
+    @Test
+    void testReverseFactoryWithCapacity() {
+
+        final var pipe = Pipes.reverse(8);
+        final var testData = "x".repeat(1000);
+
+        final var result = pipe.read(outputStream -> {
+            try {
+                outputStream.write(testData.getBytes(StandardCharsets.UTF_8));
+            } catch (final Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        assertInstanceOf(ReversePipe.class, pipe);
+        assertArrayEquals(testData.getBytes(StandardCharsets.UTF_8), result);
+    }
+
     @Test
     void testReverseFactoryFunctionality() {
 
@@ -0,0 +1,169 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.iq.common.error.IoException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for ResumablePathPipe covering checkpoints, resumption and validation. */
+final class ResumablePathPipeTest {
+
+    /** Bytes between checkpoints in these tests. */
+    private static final long INTERVAL = 100_000;
+
+    /** Length of the source file. */
+    private static final int LENGTH = 1_000_003;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void testCopyRemovesCheckpoint() throws IOException {
+
+        final var data = randomBytes(LENGTH);
+        final var source = Files.write(tempDir.resolve("source.bin"), data);
+        final var target = tempDir.resolve("target.bin");
+        final var events = new ArrayList<CopyProgress>();
+
+        final var copied = new ResumablePathPipe(INTERVAL, events::add).go(source, target);
+
+        assertEquals(LENGTH, copied);
+        assertArrayEquals(data, Files.readAllBytes(target));
+        assertFalse(Files.exists(ResumablePathPipe.checkpointOf(target)));
+        assertTrue(events.size() > 1);
+        assertTrue(events.getLast().done());
+    }
+
+    @Test
+    void testResumesAfterFailure() throws IOException {
+
+        final var data = randomBytes(LENGTH);
+        final var source = Files.write(tempDir.resolve("source.bin"), data);
+        final var target = tempDir.resolve("target.bin");
+        final var reached = failAtSecondCheckpoint(source, target);
+
+        final var copied = new ResumablePathPipe(INTERVAL, p -> true).go(source, target);
+
+        assertEquals(LENGTH - reached, copied);
+        assertArrayEquals(data, Files.readAllBytes(target));
+        assertFalse(Files.exists(ResumablePathPipe.checkpointOf(target)));
+    }
+
+    @Test
+    void testCorruptTargetStartsOver() throws IOException {
+
+        final var data = randomBytes(LENGTH);
+        final var source = Files.write(tempDir.resolve("source.bin"), data);
+        final var target = tempDir.resolve("target.bin");
+        failAtSecondCheckpoint(source, target);
+        final var damaged = Files.readAllBytes(target);
+        damaged[10] ^= 1;
+        Files.write(target, damaged);
+
+        final var copied = new ResumablePathPipe(INTERVAL, p -> true).go(source, target);
+
+        assertEquals(LENGTH, copied);
+        assertArrayEquals(data, Files.readAllBytes(target));
+    }
+
+    @Test
+    void testChangedSourceStartsOver() throws IOException {
+
+        final var data = randomBytes(LENGTH);
+        final var source = Files.write(tempDir.resolve("source.bin"), data);
+        final var target = tempDir.resolve("target.bin");
+        failAtSecondCheckpoint(source, target);
+        Files.setLastModifiedTime(
+                source, FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() + 60_000));
+
+        final var copied = new ResumablePathPipe(INTERVAL, p -> true).go(source, target);
+
+        assertEquals(LENGTH, copied);
+        assertArrayEquals(data, Files.readAllBytes(target));
+    }
+
+    @Test
+    void testInvalidCheckpointIgnored() throws IOException {
+
+        final var data = randomBytes(LENGTH);
+        final var source = Files.write(tempDir.resolve("source.bin"), data);
+        final var target = tempDir.resolve("target.bin");
+        Files.writeString(ResumablePathPipe.checkpointOf(target), "not a checkpoint");
+
+        final var copied = new ResumablePathPipe(INTERVAL, p -> true).go(source, target);
+
+        assertEquals(LENGTH, copied);
+        assertArrayEquals(data, Files.readAllBytes(target));
+        assertFalse(Files.exists(ResumablePathPipe.checkpointOf(target)));
+    }
+
+    @Test
+    void testLongerTargetTruncated() throws IOException {
+
+        final var data = randomBytes(1000);
+        final var source = Files.write(tempDir.resolve("source.bin"), data);
+        final var target = Files.write(tempDir.resolve("target.bin"), randomBytes(5000));
+
+        Pipes.pathsResumable().go(source, target);
+
+        assertArrayEquals(data, Files.readAllBytes(target));
+    }
+
+    @Test
+    void testEmptySource() throws IOException {
+
+        final var source = Files.write(tempDir.resolve("source.bin"), new byte[0]);
+        final var target = tempDir.resolve("target.bin");
+
+        assertEquals(0, Pipes.pathsResumable().go(source, target));
+        assertEquals(0, Files.size(target));
+    }
+
+    @Test
+    void testInvalidIntervalRejected() {
+
+        assertThrows(IllegalArgumentException.class, () -> new ResumablePathPipe(0, p -> true));
+    }
+
+    /** Runs a copy that fails just after its second checkpoint and returns the offset checkpointed. */
+    private static long failAtSecondCheckpoint(final Path source, final Path target) {
+
+        final var checkpoints = new ArrayList<CopyProgress>();
+        final var pipe = new ResumablePathPipe(INTERVAL, progress -> {
+            checkpoints.add(progress);
+            if (checkpoints.size() == 2) {
+                throw new IllegalStateException("Simulated failure");
+            }
+            return true;
+        });
+
+        assertThrows(IoException.class, () -> pipe.go(source, target));
+        assertTrue(Files.exists(ResumablePathPipe.checkpointOf(target)));
+        return checkpoints.getLast().copied();
+    }
+
+    /** Returns reproducible random bytes. */
+    private static byte[] randomBytes(final int length) {
+
+        final var data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+}
@@ -9,12 +9,19 @@ package dev.iq.common.io.pipe;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import dev.iq.common.error.IoException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.Test;
 
-/** Tests for ReversePipe covering basic functionality. */
+/** Tests for ReversePipe covering basic functionality, capacity and failure handling. */
 final class ReversePipeTest {
 
     @Test
@@ -97,4 +104,125 @@ final class ReversePipeTest {
 
         assertArrayEquals(testData.getBytes(StandardCharsets.UTF_8), result);
     }
+
+    @Test
+    void testLargeDataThroughSmallCapacity() {
+
+        final var data = new byte[1024 * 1024 + 7];
+        new Random(1).nextBytes(data);
+        final var pipe = new ReversePipe(100);
+
+        final var result = pipe.read(outputStream -> {
+            try {
+                for (var offset = 0; offset < data.length; offset += 1000) {
+                    outputStream.write(data, offset, Math.min(1000, data.length - offset));
+                }
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        assertArrayEquals(data, result);
+    }
+
+    @Test
+    void testSingleByteWrites() {
+
+        final var pipe = new ReversePipe(2);
+
+        final var result = pipe.read(outputStream -> {
+            try {
+                for (var i = 0; i < 1000; i++) {
+                    outputStream.write(i);
+                }
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        assertEquals(1000, result.length);
+        assertEquals((byte) 999, result[999]);
+    }
+
+    @Test
+    void testProducerRunsOnVirtualThread() {
+
+        final var virtual = new AtomicBoolean();
+
+        new ReversePipe()
+                .read(outputStream -> virtual.set(Thread.currentThread().isVirtual()));
+
+        assertTrue(virtual.get());
+    }
+
+    @Test
+    @SuppressWarnings("ReassignedVariable")
+    void testProducerExceptionPropagates() {
+
+        final var pipe = new ReversePipe(16);
+        final var failure = new IllegalStateException("producer failed");
+
+        final var thrown = assertThrows(
+                IoException.class,
+                () -> pipe.read(outputStream -> {
+                    try {
+                        outputStream.write(new byte[100]);
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    throw failure;
+                }));
+
+        var cause = thrown.getCause();
+        while ((cause != null) && (cause != failure)) {
+            cause = cause.getCause();
+        }
+        assertSame(failure, cause);
+    }
+
+    @Test
+    @SuppressWarnings("ReassignedVariable")
+    void testProducerErrorPropagates() {
+
+        final var pipe = new ReversePipe(16);
+        final var failure = new AssertionError("producer failed");
+
+        final var thrown = assertThrows(
+                IoException.class,
+                () -> pipe.read(outputStream -> {
+                    throw failure;
+                }));
+
+        var cause = thrown.getCause();
+        while ((cause != null) && (cause != failure)) {
+            cause = cause.getCause();
+        }
+        assertSame(failure, cause);
+    }
+
+    @Test
+    void testEarlyReaderDoesNotBlockProducer() {
+
+        final var pipe = new ReversePipe(16);
+        final var producerFailed = new AtomicBoolean();
+
+        final var read = pipe.go(
+                outputStream -> {
+                    try {
+                        outputStream.write(new byte[1024 * 1024]);
+                    } catch (final IOException e) {
+                        producerFailed.set(true);
+                    }
+                },
+                inputStream -> 0L);
+
+        assertEquals(0L, read);
+        assertTrue(producerFailed.get());
+    }
+
+    @Test
+    void testInvalidCapacityRejected() {
+
+        assertThrows(IllegalArgumentException.class, () -> new ReversePipe(0));
+    }
 }
@@ -0,0 +1,128 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** Tests for RingBuffer covering capacity, wrap-around, end of data and failures. */
+final class RingBufferTest {
+
+    @Test
+    void testCapacityRoundedToPowerOfTwo() {
+
+        assertEquals(1, new RingBuffer(1).capacity());
+        assertEquals(8, new RingBuffer(5).capacity());
+        assertEquals(1024, new RingBuffer(1024).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer(0));
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer(RingBuffer.MAX_CAPACITY + 1));
+    }
+
+    @Test
+    void testWrapAroundWithinOneThread() throws IOException {
+
+        final var ring = new RingBuffer(8);
+        final var target = new byte[8];
+        ring.output().write(new byte[] {1, 2, 3, 4, 5, 6});
+        assertEquals(6, ring.input().read(target, 0, 6));
+
+        ring.output().write(new byte[] {7, 8, 9, 10, 11});
+        assertEquals(5, ring.input().available());
+        assertEquals(5, ring.input().read(target, 0, 8));
+        assertArrayEquals(new byte[] {7, 8, 9, 10, 11}, Arrays.copyOf(target, 5));
+    }
+
+    @Test
+    void testEndOfData() throws IOException {
+
+        final var ring = new RingBuffer(4);
+        ring.output().write(42);
+        ring.closeWriter();
+
+        assertEquals(42, ring.input().read());
+        assertEquals(-1, ring.input().read());
+        assertEquals(-1, ring.input().read(new byte[4], 0, 4));
+    }
+
+    @Test
+    @SuppressWarnings("ReassignedVariable")
+    void testConcurrentTransfer() throws Exception {
+
+        final var data = new byte[4 * 1024 * 1024];
+        new Random(7).nextBytes(data);
+        final var ring = new RingBuffer(1000);
+        final var producer = new Thread(() -> {
+            try (var out = ring.output()) {
+                final var random = new Random(3);
+                var offset = 0;
+                while (offset < data.length) {
+                    final var length = Math.min(random.nextInt(3000) + 1, data.length - offset);
+                    out.write(data, offset, length);
+                    offset += length;
+                }
+            } catch (final IOException e) {
+                ring.fail(e);
+            }
+        });
+        producer.start();
+
+        final var result = ring.input().readAllBytes();
+        producer.join();
+
+        assertArrayEquals(data, result);
+    }
+
+    @Test
+    void testFailureRethrownToReader() {
+
+        final var ring = new RingBuffer(4);
+        final var cause = new IllegalStateException("failed");
+        ring.fail(cause);
+
+        final var thrown = assertThrows(IOException.class, () -> ring.input().read());
+        assertSame(cause, thrown.getCause());
+    }
+
+    @Test
+    void testWriteFailsOnceReaderClosed() {
+
+        final var ring = new RingBuffer(4);
+        ring.closeReader();
+
+        assertThrows(IOException.class, () -> ring.output().write(new byte[2]));
+    }
+
+    @Test
+    void testClosedReaderWakesBlockedWriter() throws Exception {
+
+        final var ring = new RingBuffer(4);
+        final var failed = new boolean[1];
+        final var producer = new Thread(() -> {
+            try {
+                ring.output().write(new byte[100]);
+            } catch (final IOException e) {
+                failed[0] = true;
+            }
+        });
+        producer.start();
+        while (ring.input().available() < 4) {
+            Thread.onSpinWait();
+        }
+        ring.closeReader();
+        producer.join();
+
+        assertTrue(failed[0]);
+    }
+}
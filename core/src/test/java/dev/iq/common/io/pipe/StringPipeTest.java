@@ -237,4 +237,17 @@ final class StringPipeTest {
             return closed;
         }
     }
+
+    @Test
+    void testGoAdaptive() {
+
+        final var pipe = new StringPipe();
+        final var testData = "Hello, World! ".repeat(50_000);
+        final var writer = new StringWriter();
+
+        final var charsProcessed = pipe.goAdaptive(new StringReader(testData), writer, 16 * 1024);
+
+        assertEquals(testData.length(), charsProcessed);
+        assertEquals(testData, writer.toString());
+    }
 }
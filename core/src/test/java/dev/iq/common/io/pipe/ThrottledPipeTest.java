@@ -0,0 +1,123 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.iq.common.error.IoException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/** Tests for ThrottledPipe covering data integrity, rate and shared limiters. */
+final class ThrottledPipeTest {
+
+    @Test
+    void testGoCopiesData() {
+
+        final var data = randomBytes(10_000);
+        final var out = new ByteArrayOutputStream();
+
+        final var count = new ThrottledPipe(new BandwidthLimiter(100_000_000)).go(new ByteArrayInputStream(data), out);
+
+        assertEquals(data.length, count);
+        assertArrayEquals(data, out.toByteArray());
+    }
+
+    @Test
+    void testReadAndWrite() {
+
+        final var data = randomBytes(5000);
+        final var pipe = new ThrottledPipe(new BandwidthLimiter(100_000_000));
+        final var out = new ByteArrayOutputStream();
+
+        pipe.write(data, out);
+
+        assertArrayEquals(data, out.toByteArray());
+        assertArrayEquals(data, pipe.read(new ByteArrayInputStream(data)));
+    }
+
+    @Test
+    void testRateIsApplied() {
+
+        final var pipe = new ThrottledPipe(new BandwidthLimiter(200_000, 1000));
+        final var start = System.nanoTime();
+
+        pipe.go(new ByteArrayInputStream(new byte[50_000]), new ByteArrayOutputStream(), 5000);
+
+        assertTrue(elapsedMillis(start) >= 200);
+    }
+
+    @Test
+    void testSharedLimiterBoundsConcurrentPipes() throws InterruptedException {
+
+        final var limiter = new BandwidthLimiter(400_000, 1000);
+        final var threads = new ArrayList<Thread>();
+        final var start = System.nanoTime();
+        for (var i = 0; i < 4; i++) {
+            threads.add(Thread.ofVirtual().start(() -> Pipes.throttled(limiter)
+                    .go(new ByteArrayInputStream(new byte[30_000]), new ByteArrayOutputStream(), 3000)));
+        }
+        for (final var thread : threads) {
+            thread.join();
+        }
+
+        // 120000 bytes less the burst at 400000 bytes per second
+        assertTrue(elapsedMillis(start) >= 280);
+    }
+
+    @Test
+    void testSingleByteSource() {
+
+        final var limiter = new BandwidthLimiter(1000, 1);
+        final var in = new InputStream() {
+
+            private int remaining = 3;
+
+            @Override
+            public int read() {
+
+                return (remaining-- > 0) ? 1 : -1;
+            }
+        };
+
+        assertEquals(3, new ThrottledPipe(limiter).read(in).length);
+    }
+
+    @Test
+    void testInterruptFailsPipe() {
+
+        final var pipe = new ThrottledPipe(new BandwidthLimiter(1, 1));
+        final var in = new ByteArrayInputStream(new byte[100]);
+        final var out = new ByteArrayOutputStream();
+        Thread.currentThread().interrupt();
+
+        assertThrows(IoException.class, () -> pipe.go(in, out));
+        assertTrue(Thread.interrupted());
+    }
+
+    /** Returns the milliseconds since the start. */
+    private static long elapsedMillis(final long start) {
+
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /** Returns reproducible random bytes. */
+    private static byte[] randomBytes(final int length) {
+
+        final var data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+}
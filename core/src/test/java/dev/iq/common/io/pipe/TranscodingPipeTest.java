@@ -0,0 +1,182 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** Tests for TranscodingPipe covering each fast path and the general decoder/encoder path. */
+final class TranscodingPipeTest {
+
+    /** Text mixing ASCII, Latin-1, other BMP chars and a supplementary char. */
+    private static final String MIXED = "plain ascii, caf\u00e9 \u00fc\u00df, \u20ac\u4e2d\u6587 \uD83D\uDE00 end";
+
+    /** Charsets covered by the round trip tests. */
+    private static final List<Charset> CHARSETS = List.of(
+            StandardCharsets.UTF_8, StandardCharsets.UTF_16LE, StandardCharsets.UTF_16BE, Charset.forName("UTF-32"));
+
+    @Test
+    void testTranscodeMatchesJdkBetweenUnicodeCharsets() {
+
+        final var text = longText();
+        for (final var source : CHARSETS) {
+            for (final var target : CHARSETS) {
+                final var out = new ByteArrayOutputStream();
+                final var read = new TranscodingPipe(source, target).go(stream(text, source), out, 100);
+
+                assertEquals(text.getBytes(source).length, read);
+                assertArrayEquals(text.getBytes(target), out.toByteArray(), source + " -> " + target);
+            }
+        }
+    }
+
+    @Test
+    void testAsciiCopiedBetweenCompatibleCharsets() {
+
+        final var text = "ascii only ".repeat(500);
+        final var out = new ByteArrayOutputStream();
+
+        new TranscodingPipe(StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1)
+                .go(stream(text, StandardCharsets.UTF_8), out);
+
+        assertArrayEquals(text.getBytes(StandardCharsets.ISO_8859_1), out.toByteArray());
+    }
+
+    @Test
+    void testLatin1ToUtf8() {
+
+        final var bytes = new byte[256 * 10];
+        for (var i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        final var text = new String(bytes, StandardCharsets.ISO_8859_1);
+        final var out = new ByteArrayOutputStream();
+
+        new TranscodingPipe(StandardCharsets.ISO_8859_1, StandardCharsets.UTF_8)
+                .go(new ByteArrayInputStream(bytes), out);
+
+        assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), out.toByteArray());
+    }
+
+    @Test
+    void testUtf8ToLatin1ReplacesUnmappable() {
+
+        final var out = new ByteArrayOutputStream();
+
+        new TranscodingPipe(StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1)
+                .go(stream(MIXED, StandardCharsets.UTF_8), out);
+
+        assertArrayEquals(MIXED.getBytes(StandardCharsets.ISO_8859_1), out.toByteArray());
+    }
+
+    @Test
+    void testMalformedInputReplaced() {
+
+        final var bytes = new byte[] {'a', (byte) 0xc3, 'b', (byte) 0xe2, (byte) 0x82};
+
+        final var text = new TranscodingPipe(StandardCharsets.UTF_8, StandardCharsets.UTF_8)
+                .read(new ByteArrayInputStream(bytes));
+
+        assertEquals(new String(bytes, StandardCharsets.UTF_8), text);
+    }
+
+    @Test
+    void testReadDecodesSourceCharset() {
+
+        final var text = longText();
+        for (final var charset : List.of(
+                StandardCharsets.UTF_8,
+                StandardCharsets.UTF_16,
+                StandardCharsets.ISO_8859_1,
+                StandardCharsets.US_ASCII)) {
+            final var bytes = text.getBytes(charset);
+
+            assertEquals(
+                    new String(bytes, charset),
+                    Pipes.charset(charset).read(new ByteArrayInputStream(bytes)),
+                    charset.name());
+        }
+    }
+
+    @Test
+    void testWriteEncodesTargetCharset() {
+
+        final var text = longText();
+        for (final var charset : List.of(
+                StandardCharsets.UTF_8,
+                StandardCharsets.UTF_16,
+                StandardCharsets.ISO_8859_1,
+                StandardCharsets.US_ASCII)) {
+            final var out = new ByteArrayOutputStream();
+            Pipes.transcode(StandardCharsets.UTF_8, charset).write(text, out);
+
+            assertArrayEquals(text.getBytes(charset), out.toByteArray(), charset.name());
+        }
+    }
+
+    @Test
+    void testSurrogatePairSplitAcrossChunks() {
+
+        // Place a pair on every possible chunk boundary of the pooled char buffer
+        final var text = "x".repeat(1023) + "\uD83D\uDE00".repeat(2000);
+        final var out = new ByteArrayOutputStream();
+
+        Pipes.charset(StandardCharsets.UTF_8).write(text, out);
+
+        assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), out.toByteArray());
+    }
+
+    @Test
+    void testEmptyInput() {
+
+        final var out = new ByteArrayOutputStream();
+        final var pipe = Pipes.transcode(StandardCharsets.UTF_16, StandardCharsets.UTF_8);
+
+        assertEquals(0, pipe.go(InputStream.nullInputStream(), out));
+        assertEquals(0, out.size());
+        assertEquals("", pipe.read(InputStream.nullInputStream()));
+    }
+
+    @Test
+    void testSameCharsetCopiedVerbatim() {
+
+        final var bytes = MIXED.getBytes(StandardCharsets.UTF_8);
+        final var out = new ByteArrayOutputStream();
+
+        assertEquals(
+                bytes.length, Pipes.charset(StandardCharsets.UTF_8).goAdaptive(new ByteArrayInputStream(bytes), out));
+        assertArrayEquals(bytes, out.toByteArray());
+    }
+
+    /** Returns text long enough to span many buffers, with multi-byte chars on buffer edges. */
+    private static String longText() {
+
+        final var random = new Random(5);
+        final var builder = new StringBuilder();
+        while (builder.length() < 20_000) {
+            builder.append(
+                    MIXED, 0, MIXED.offsetByCodePoints(0, random.nextInt(MIXED.codePointCount(0, MIXED.length()))));
+            builder.append(MIXED);
+        }
+        return builder.toString();
+    }
+
+    /** Returns a stream over the text encoded in the charset. */
+    private static InputStream stream(final String text, final Charset charset) {
+
+        return new ByteArrayInputStream(text.getBytes(charset));
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import dev.iq.common.fp.Io;
+import dev.iq.common.log.Log;
+import dev.iq.test.annotation.IntegrationTest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongSupplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Time to concatenate many small files with Vectored.concat compared with calling the bytes pipe
+ * once per file. Timings are only indicative (no JMH), so this runs with the integration tests.
+ */
+@IntegrationTest
+final class VectoredBenchmarkTest {
+
+    /** Number of files concatenated. */
+    private static final int FILE_COUNT = 4000;
+
+    /** Size of each file. */
+    private static final int FILE_LENGTH = 2048;
+
+    /** Runs per approach (the first warms up the JIT and is discarded). */
+    private static final int RUNS = 4;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void testConcatSmallFiles() {
+
+        final var random = new Random(1);
+        final var sources = new ArrayList<Path>();
+        for (var i = 0; i < FILE_COUNT; i++) {
+            final var data = new byte[FILE_LENGTH];
+            random.nextBytes(data);
+            final var path = tempDir.resolve("part" + i);
+            Io.withVoid(() -> Files.write(path, data));
+            sources.add(path);
+        }
+        final var target = tempDir.resolve("all.bin");
+
+        final var looped = measure(() -> loop(sources, target));
+        final var vectored = measure(() -> Vectored.concat(sources, target).total());
+        Log.info(getClass(), () -> "%d files of %d bytes: looped=%.1f ms vectored=%.1f ms"
+                .formatted(FILE_COUNT, FILE_LENGTH, looped, vectored));
+    }
+
+    /** Concatenates the files with one bytes pipe call per file. */
+    private static long loop(final List<Path> sources, final Path target) {
+
+        return Io.withReturn(() -> {
+            try (var out =
+                    Files.newOutputStream(target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                var total = 0L;
+                for (final var source : sources) {
+                    try (var in = Files.newInputStream(source)) {
+                        total += Pipes.bytes().go(in, out);
+                    }
+                }
+                return total;
+            }
+        });
+    }
+
+    /** Returns the best time (ms) of the runs after the first. */
+    @SuppressWarnings("ReassignedVariable")
+    private static double measure(final LongSupplier run) {
+
+        var best = Double.MAX_VALUE;
+        for (var i = 0; i < RUNS; i++) {
+            final var start = System.nanoTime();
+            final var moved = run.getAsLong();
+            final var nanos = System.nanoTime() - start;
+            assertEquals((long) FILE_COUNT * FILE_LENGTH, moved);
+            if (i > 0) {
+                best = Math.min(best, nanos / 1.0e6);
+            }
+        }
+        return best;
+    }
+}
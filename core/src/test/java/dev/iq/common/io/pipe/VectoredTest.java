@@ -0,0 +1,307 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.pipe;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import dev.iq.common.error.IoException;
+import dev.iq.common.fp.Io;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.ScatteringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for the Vectored scatter/gather operations. */
+final class VectoredTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void testGatherWritesAllBuffersInOrder() {
+
+        final var target = tempDir.resolve("gather.bin");
+        final var buffers = List.of(
+                ByteBuffer.wrap(new byte[] {1, 2, 3}),
+                ByteBuffer.allocate(0),
+                ByteBuffer.allocateDirect(2).put((byte) 4).put((byte) 5).flip());
+        final var counts = Io.withReturn(() -> {
+            try (var out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                return Vectored.gather(buffers, out);
+            }
+        });
+
+        assertEquals(List.of(3L, 0L, 2L), counts.counts());
+        assertEquals(5L, counts.total());
+        assertArrayEquals(new byte[] {1, 2, 3, 4, 5}, Io.withReturn(() -> Files.readAllBytes(target)));
+        assertFalse(buffers.get(2).hasRemaining());
+    }
+
+    @Test
+    void testGatherMoreBuffersThanOneCall() {
+
+        final var count = Vectored.MAX_BUFFERS * 2 + 7;
+        final var buffers = new ArrayList<ByteBuffer>();
+        for (var i = 0; i < count; i++) {
+            buffers.add(ByteBuffer.wrap(new byte[] {(byte) i}));
+        }
+        final var out = new ShortWriteChannel();
+
+        final var counts = Vectored.gather(buffers, out);
+
+        assertEquals(count, counts.total());
+        final var written = out.bytes();
+        assertEquals(count, written.length);
+        for (var i = 0; i < count; i++) {
+            assertEquals((byte) i, written[i]);
+        }
+    }
+
+    @Test
+    void testConcatSmallAndLargeFiles() {
+
+        final var random = new Random(7);
+        final var sources = new ArrayList<Path>();
+        final var expected = new ByteArrayOutputStream();
+        final int[] sizes = {0, 10, 1000, Vectored.BATCH_LENGTH + 5, 3, Vectored.BATCH_LENGTH - 2, 50};
+        for (var i = 0; i < sizes.length; i++) {
+            final var data = new byte[sizes[i]];
+            random.nextBytes(data);
+            expected.writeBytes(data);
+            final var path = tempDir.resolve("part" + i);
+            Io.withVoid(() -> Files.write(path, data));
+            sources.add(path);
+        }
+        final var target = tempDir.resolve("all.bin");
+
+        final var counts = Vectored.concat(sources, target);
+
+        assertEquals(Arrays.stream(sizes).mapToObj(Long::valueOf).toList(), counts.counts());
+        assertArrayEquals(expected.toByteArray(), Io.withReturn(() -> Files.readAllBytes(target)));
+    }
+
+    @Test
+    void testConcatManySmallFiles() {
+
+        final var count = Vectored.MAX_BUFFERS + 10;
+        final var sources = new ArrayList<Path>();
+        for (var i = 0; i < count; i++) {
+            final var path = tempDir.resolve("small" + i);
+            final var value = (byte) i;
+            Io.withVoid(() -> Files.write(path, new byte[] {value}));
+            sources.add(path);
+        }
+        final var target = tempDir.resolve("all.bin");
+
+        final var counts = Vectored.concat(sources, target);
+
+        assertEquals(count, counts.total());
+        final var written = Io.withReturn(() -> Files.readAllBytes(target));
+        for (var i = 0; i < count; i++) {
+            assertEquals((byte) i, written[i]);
+        }
+    }
+
+    @Test
+    void testConcatTruncatesTarget() {
+
+        final var source = tempDir.resolve("source.txt");
+        final var target = tempDir.resolve("target.txt");
+        Io.withVoid(() -> Files.writeString(source, "new"));
+        Io.withVoid(() -> Files.writeString(target, "much longer old content"));
+
+        Vectored.concat(List.of(source), target);
+
+        assertEquals("new", Io.withReturn(() -> Files.readString(target)));
+    }
+
+    @Test
+    void testConcatMissingSource() {
+
+        final var sources = List.of(tempDir.resolve("missing"));
+        final var target = tempDir.resolve("target");
+
+        assertThrows(IoException.class, () -> Vectored.concat(sources, target));
+    }
+
+    @Test
+    void testScatterFillsBuffersInOrder() {
+
+        final var in = channel(new byte[] {1, 2, 3, 4, 5, 6});
+        final var first = ByteBuffer.allocate(2);
+        final var second = ByteBuffer.allocateDirect(3);
+        final var third = ByteBuffer.allocate(4);
+
+        final var counts = Vectored.scatter(in, List.of(first, second, third));
+
+        assertEquals(List.of(2L, 3L, 1L), counts.counts());
+        assertArrayEquals(new byte[] {1, 2}, first.array());
+        assertEquals(5, second.flip().get(2));
+        assertEquals(6, third.get(0));
+        assertEquals(1, third.position());
+    }
+
+    @Test
+    void testSplitIntoParts() {
+
+        final var data = new byte[Vectored.BATCH_LENGTH * 2 + 100];
+        new Random(3).nextBytes(data);
+        final var partLength = Vectored.BATCH_LENGTH / 3 + 1;
+        final var outs = new ArrayList<ByteArrayOutputStream>();
+        final var channels = new ArrayList<WritableByteChannel>();
+        for (var i = 0; i < 4; i++) {
+            final var out = new ByteArrayOutputStream();
+            outs.add(out);
+            channels.add(Channels.newChannel(out));
+        }
+
+        final var counts = Vectored.split(channel(data), channels, partLength);
+
+        final var last = data.length - 3L * partLength;
+        assertEquals(List.of((long) partLength, (long) partLength, (long) partLength, last), counts.counts());
+        final var joined = new ByteArrayOutputStream();
+        outs.forEach(out -> joined.writeBytes(out.toByteArray()));
+        assertArrayEquals(data, joined.toByteArray());
+    }
+
+    @Test
+    void testSplitShortInput() {
+
+        final var outs = List.of(new ByteArrayOutputStream(), new ByteArrayOutputStream(), new ByteArrayOutputStream());
+        final var channels = outs.stream()
+                .map(Channels::newChannel)
+                .map(WritableByteChannel.class::cast)
+                .toList();
+
+        final var counts = Vectored.split(channel(new byte[] {1, 2, 3, 4, 5}), channels, 4);
+
+        assertEquals(List.of(4L, 1L, 0L), counts.counts());
+        assertArrayEquals(new byte[] {5}, outs.get(1).toByteArray());
+    }
+
+    @Test
+    void testSplitRejectsInvalidArguments() {
+
+        final var in = channel(new byte[0]);
+        final List<WritableByteChannel> none = List.of();
+        final var one = List.of(Channels.newChannel(new ByteArrayOutputStream()));
+
+        assertThrows(IllegalArgumentException.class, () -> Vectored.split(in, none, 1));
+        assertThrows(IllegalArgumentException.class, () -> Vectored.split(in, one, 0));
+    }
+
+    /** Returns a scattering channel over the bytes. */
+    private static ScatteringByteChannel channel(final byte[] data) {
+
+        return new ScatteringAdapter(Channels.newChannel(new ByteArrayInputStream(data)));
+    }
+
+    /** Scattering channel that reads into one buffer at a time, as a partial vectored read may. */
+    private record ScatteringAdapter(ReadableByteChannel in) implements ScatteringByteChannel {
+
+        @Override
+        public long read(final ByteBuffer[] buffers, final int offset, final int length) {
+
+            for (var i = offset; i < (offset + length); i++) {
+                if (buffers[i].hasRemaining()) {
+                    return read(buffers[i]);
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public long read(final ByteBuffer[] buffers) {
+
+            return read(buffers, 0, buffers.length);
+        }
+
+        @Override
+        public int read(final ByteBuffer buffer) {
+
+            return Io.withReturn(() -> in.read(buffer));
+        }
+
+        @Override
+        public boolean isOpen() {
+
+            return in.isOpen();
+        }
+
+        @Override
+        public void close() {
+
+            Io.withVoid(in::close);
+        }
+    }
+
+    /** Gathering channel that writes at most a few bytes per call, checking the call's buffer count. */
+    private static final class ShortWriteChannel implements GatheringByteChannel {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        @Override
+        public long write(final ByteBuffer[] buffers, final int offset, final int length) {
+
+            if (length > Vectored.MAX_BUFFERS) {
+                throw new IllegalArgumentException("Too many buffers");
+            }
+            var written = 0L;
+            for (var i = offset; (i < (offset + length)) && (written < 100); i++) {
+                written += write(buffers[i]);
+            }
+            return written;
+        }
+
+        @Override
+        public long write(final ByteBuffer[] buffers) {
+
+            return write(buffers, 0, buffers.length);
+        }
+
+        @Override
+        public int write(final ByteBuffer buffer) {
+
+            final var count = buffer.remaining();
+            final var bytes = new byte[count];
+            buffer.get(bytes);
+            out.writeBytes(bytes);
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+
+            return true;
+        }
+
+        @Override
+        public void close() {}
+
+        byte[] bytes() {
+
+            return out.toByteArray();
+        }
+    }
+}
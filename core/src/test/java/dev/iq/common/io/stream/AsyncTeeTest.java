@@ -0,0 +1,283 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/** Tests for AsyncTee covering ordering, overflow policies, flush and failure aggregation. */
+final class AsyncTeeTest {
+
+    @Test
+    void testWritesReachEveryStreamInOrder() throws IOException {
+
+        final var data = randomBytes(100_003);
+        final var first = new ByteArrayOutputStream();
+        final var second = new ByteArrayOutputStream();
+
+        try (var tee = new AsyncTee(first, second)) {
+            tee.write(data, 0, 10);
+            tee.write(data[10]);
+            for (var i = 11; i < data.length; i += 5000) {
+                tee.write(data, i, Math.min(5000, data.length - i));
+            }
+        }
+
+        assertArrayEquals(data, first.toByteArray());
+        assertArrayEquals(data, second.toByteArray());
+    }
+
+    @Test
+    void testFlushWaitsForBranches() throws IOException {
+
+        final var flushes = new AtomicInteger();
+        final var out = new ByteArrayOutputStream() {
+
+            @Override
+            public void flush() {
+
+                flushes.incrementAndGet();
+            }
+        };
+        try (var tee = new AsyncTee(out)) {
+            tee.write("hello".getBytes());
+
+            tee.flush();
+
+            assertEquals("hello", out.toString());
+            assertEquals(1, flushes.get());
+        }
+    }
+
+    @Test
+    void testDropPolicyKeepsWriterMoving() throws IOException {
+
+        final var release = new CountDownLatch(1);
+        final var slow = new BlockingStream(release);
+        final var fast = new ByteArrayOutputStream();
+        final var tee = new AsyncTee(AsyncTee.Overflow.DROP, 2, slow, fast);
+
+        writeChunks(tee, fast, 10);
+        assertTrue(tee.dropped(0) >= (AsyncTee.CHUNK_LENGTH * 7L));
+        assertEquals(0, tee.dropped(1));
+        release.countDown();
+        tee.close();
+
+        assertEquals(AsyncTee.CHUNK_LENGTH * 10, fast.size());
+        assertEquals((AsyncTee.CHUNK_LENGTH * 10) - tee.dropped(0), slow.size());
+    }
+
+    @Test
+    void testFailPolicyFailsOnlyThatBranch() {
+
+        final var release = new CountDownLatch(1);
+        final var slow = new BlockingStream(release);
+        final var fast = new ByteArrayOutputStream();
+        final var tee = new AsyncTee(AsyncTee.Overflow.FAIL, 1, slow, fast);
+
+        final var thrown = assertThrows(IOException.class, () -> {
+            writeChunks(tee, fast, 5);
+            release.countDown();
+            tee.close();
+        });
+
+        assertEquals("Error closing one or more streams", thrown.getMessage());
+        assertEquals(1, thrown.getSuppressed().length);
+        assertEquals(AsyncTee.CHUNK_LENGTH * 5, fast.size());
+    }
+
+    @Test
+    void testBlockPolicyDeliversEverything() throws IOException {
+
+        final var slow = new ByteArrayOutputStream() {
+
+            @Override
+            public synchronized void write(final byte[] buffer, final int offset, final int length) {
+
+                Thread.onSpinWait();
+                super.write(buffer, offset, length);
+            }
+        };
+        final var data = randomBytes(AsyncTee.CHUNK_LENGTH * 20);
+
+        try (var tee = new AsyncTee(AsyncTee.Overflow.BLOCK, 1, slow)) {
+            tee.write(data);
+        }
+
+        assertArrayEquals(data, slow.toByteArray());
+    }
+
+    @Test
+    void testFailingStreamDoesNotAffectOthers() {
+
+        final var good = new ByteArrayOutputStream();
+        final var bad = new OutputStream() {
+
+            @Override
+            public void write(final int b) throws IOException {
+
+                throw new IOException("Broken");
+            }
+        };
+        final var tee = new AsyncTee(bad, good);
+
+        final var thrown = assertThrows(IOException.class, () -> {
+            tee.write("data".getBytes());
+            tee.flush();
+        });
+
+        assertEquals("Error flushing one or more streams", thrown.getMessage());
+        assertEquals(1, thrown.getSuppressed().length);
+        assertEquals("data", good.toString());
+        assertThrows(IOException.class, tee::close);
+    }
+
+    @Test
+    void testCloseAggregatesExceptions() {
+
+        final var tee = new AsyncTee(new FailingCloseStream("one"), new FailingCloseStream("two"));
+
+        final var thrown = assertThrows(IOException.class, tee::close);
+
+        assertEquals(2, thrown.getSuppressed().length);
+    }
+
+    @Test
+    void testBranchKeepsDrainingAfterErrorAndReportsCloseFailure() {
+
+        final var good = new ByteArrayOutputStream();
+        final var bad = new OutputStream() {
+
+            @Override
+            public void write(final int b) {
+
+                throw new AssertionError("Broken");
+            }
+
+            @Override
+            public void close() {
+
+                throw new IllegalStateException("Broken close");
+            }
+        };
+        final var tee = new AsyncTee(AsyncTee.Overflow.BLOCK, 1, bad, good);
+
+        final var thrown = assertThrows(IOException.class, () -> {
+            tee.write(new byte[AsyncTee.CHUNK_LENGTH * 4]);
+            tee.flush();
+        });
+        final var closed = assertThrows(IOException.class, tee::close);
+
+        assertInstanceOf(AssertionError.class, thrown.getSuppressed()[0].getCause());
+        assertEquals(AsyncTee.CHUNK_LENGTH * 4, good.size());
+        assertEquals(2, closed.getSuppressed().length);
+        assertInstanceOf(IllegalStateException.class, closed.getSuppressed()[1].getCause());
+    }
+
+    @Test
+    void testWriteAfterClose() throws IOException {
+
+        final var tee = new AsyncTee(new ByteArrayOutputStream());
+        tee.close();
+        tee.close();
+
+        assertThrows(IOException.class, () -> tee.write(1));
+        assertThrows(IOException.class, tee::flush);
+    }
+
+    @Test
+    void testNoStreams() throws IOException {
+
+        try (var tee = new AsyncTee()) {
+            tee.write(new byte[AsyncTee.CHUNK_LENGTH * 2]);
+            tee.flush();
+        }
+    }
+
+    @Test
+    void testInvalidQueueLength() {
+
+        assertThrows(IllegalArgumentException.class, () -> new AsyncTee(AsyncTee.Overflow.BLOCK, 0));
+    }
+
+    /** Writes whole chunks one at a time, waiting for the fast stream to receive each one. */
+    private static void writeChunks(final AsyncTee tee, final ByteArrayOutputStream fast, final int count)
+            throws IOException {
+
+        for (var i = 1; i <= count; i++) {
+            tee.write(new byte[AsyncTee.CHUNK_LENGTH]);
+            while (fast.size() < (AsyncTee.CHUNK_LENGTH * i)) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /** Returns reproducible random bytes. */
+    private static byte[] randomBytes(final int length) {
+
+        final var data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+
+    /** Stream whose writes wait until released. */
+    private static final class BlockingStream extends ByteArrayOutputStream {
+
+        private final CountDownLatch release;
+
+        BlockingStream(final CountDownLatch release) {
+
+            this.release = release;
+        }
+
+        // Not synchronized while waiting, which would pin the branch's carrier thread
+        @Override
+        public void write(final byte[] buffer, final int offset, final int length) {
+
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.write(buffer, offset, length);
+        }
+
+        @Override
+        public void flush() {}
+    }
+
+    /** Stream that fails to close. */
+    private static final class FailingCloseStream extends OutputStream {
+
+        private final String name;
+
+        FailingCloseStream(final String name) {
+
+            this.name = name;
+        }
+
+        @Override
+        public void write(final int b) {}
+
+        @Override
+        public void close() throws IOException {
+
+            throw new IOException(name);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for ByteBufferInputStream covering reads across heap and direct buffers and transfers. */
+final class ByteBufferInputStreamTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void testReadsAcrossBuffers() throws IOException {
+
+        final var data = data(1000);
+
+        try (var in = new ByteBufferInputStream(split(data))) {
+            assertEquals(data.length, in.available());
+            assertEquals(data[0] & 0xff, in.read());
+            final var rest = new byte[data.length - 1];
+            assertEquals(rest.length, in.read(rest, 0, rest.length));
+            assertArrayEquals(Arrays.copyOfRange(data, 1, data.length), rest);
+            assertEquals(-1, in.read());
+            assertEquals(-1, in.read(rest, 0, 1));
+            assertEquals(0, in.read(rest, 0, 0));
+        }
+    }
+
+    @Test
+    void testLeavesBuffersUnchanged() throws IOException {
+
+        final var buffer = ByteBuffer.wrap(data(100)).position(10);
+
+        try (var in = new ByteBufferInputStream(buffer)) {
+            assertEquals(90, in.readAllBytes().length);
+        }
+
+        assertEquals(10, buffer.position());
+        assertEquals(100, buffer.limit());
+    }
+
+    @Test
+    void testSkip() throws IOException {
+
+        final var data = data(1000);
+
+        try (var in = new ByteBufferInputStream(split(data))) {
+            assertEquals(450L, in.skip(450));
+            assertEquals(data[450] & 0xff, in.read());
+            assertEquals(549L, in.skip(10_000));
+            assertEquals(0L, in.skip(1));
+            assertEquals(0L, in.skip(-1));
+        }
+    }
+
+    @Test
+    void testTransferToStream() throws IOException {
+
+        final var data = data(50_000);
+        final var out = new ByteArrayOutputStream();
+
+        try (var in = new ByteBufferInputStream(split(data))) {
+            in.skip(5);
+            assertEquals(data.length - 5, in.transferTo(out));
+            assertEquals(0L, in.transferTo(out));
+        }
+
+        assertArrayEquals(Arrays.copyOfRange(data, 5, data.length), out.toByteArray());
+    }
+
+    @Test
+    void testTransferToGatheringChannel() throws IOException {
+
+        final var data = data(50_000);
+        final var file = tempDir.resolve("gathered.bin");
+
+        try (var in = new ByteBufferInputStream(split(data));
+                var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            assertEquals(data.length, in.transferTo(channel));
+            assertEquals(-1, in.read());
+        }
+
+        assertArrayEquals(data, Files.readAllBytes(file));
+    }
+
+    @Test
+    void testTransferToPlainChannel() throws IOException {
+
+        final var data = data(50_000);
+        final var out = new ByteArrayOutputStream();
+
+        try (var in = new ByteBufferInputStream(split(data))) {
+            assertEquals(data.length, in.transferTo(Channels.newChannel(out)));
+        }
+
+        assertArrayEquals(data, out.toByteArray());
+    }
+
+    @Test
+    void testEmpty() throws IOException {
+
+        try (var in = new ByteBufferInputStream(List.of(ByteBuffer.allocate(0)))) {
+            assertEquals(0, in.available());
+            assertEquals(-1, in.read());
+            assertEquals(0L, in.transferTo(new ByteArrayOutputStream()));
+        }
+    }
+
+    @Test
+    void testReadChecksBounds() {
+
+        final var in = new ByteBufferInputStream(ByteBuffer.allocate(10));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> in.read(new byte[4], 2, 4));
+    }
+
+    /** Returns the data split across a heap buffer, an empty buffer and a direct buffer. */
+    private static List<ByteBuffer> split(final byte[] data) {
+
+        final var half = data.length / 2;
+        final var direct = ByteBuffer.allocateDirect(data.length - half).put(data, half, data.length - half);
+        return List.of(ByteBuffer.wrap(data, 0, half), ByteBuffer.allocate(0), direct.flip());
+    }
+
+    /** Returns random data of the specified length. */
+    private static byte[] data(final int length) {
+
+        final var data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+}
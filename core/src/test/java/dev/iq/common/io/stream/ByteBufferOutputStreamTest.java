@@ -0,0 +1,147 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for ByteBufferOutputStream covering buffer growth, views and release of the buffers. */
+final class ByteBufferOutputStreamTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void testWritesAcrossBuffers() throws IOException {
+
+        final var data = data(10_000);
+
+        try (var out = new ByteBufferOutputStream(1024, ByteBuffer::allocateDirect, buffer -> {})) {
+            out.write(data[0]);
+            out.write(data, 1, 4999);
+            out.write(ByteBuffer.wrap(data, 5000, 5000));
+
+            assertEquals(data.length, out.size());
+            final var buffers = out.toByteBuffers();
+            assertEquals(10, buffers.length);
+            assertTrue(Arrays.stream(buffers).allMatch(ByteBuffer::isReadOnly));
+            try (var in = out.toInputStream()) {
+                assertArrayEquals(data, in.readAllBytes());
+            }
+        }
+    }
+
+    @Test
+    void testWriteByteBufferAdvancesSource() throws IOException {
+
+        final var source = ByteBuffer.wrap(data(300)).position(100);
+
+        try (var out = new ByteBufferOutputStream(128, ByteBuffer::allocate, buffer -> {})) {
+            out.write(source);
+
+            assertEquals(300, source.position());
+            assertEquals(200L, out.size());
+        }
+    }
+
+    @Test
+    void testViewsSeeOnlyEarlierWrites() throws IOException {
+
+        try (var out = new ByteBufferOutputStream()) {
+            out.write(new byte[] {1, 2, 3});
+            final var in = out.toInputStream();
+            out.write(new byte[] {4, 5});
+
+            assertArrayEquals(new byte[] {1, 2, 3}, in.readAllBytes());
+            assertEquals(5L, out.size());
+        }
+    }
+
+    @Test
+    void testWriteToChannel() throws IOException {
+
+        final var data = data(100_000);
+        final var file = tempDir.resolve("out.bin");
+
+        try (var out = new ByteBufferOutputStream(4096, ByteBuffer::allocate, buffer -> {});
+                var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            out.write(data);
+            assertEquals(data.length, out.writeTo(channel));
+            assertEquals(data.length, out.writeTo(channel));
+        }
+
+        final var written = Files.readAllBytes(file);
+        assertEquals(2 * data.length, written.length);
+        assertArrayEquals(data, Arrays.copyOf(written, data.length));
+    }
+
+    @Test
+    void testCloseReleasesBuffers() throws IOException {
+
+        final var allocated = new ArrayList<ByteBuffer>();
+        final var released = new ArrayList<ByteBuffer>();
+        final var out = new ByteBufferOutputStream(
+                100,
+                length -> {
+                    final var buffer = ByteBuffer.allocate(length * 2).position(7);
+                    allocated.add(buffer);
+                    return buffer;
+                },
+                released::add);
+
+        out.write(data(450));
+        out.close();
+        out.close();
+
+        assertEquals(3, allocated.size());
+        assertEquals(allocated, released);
+        assertThrows(IOException.class, () -> out.write(1));
+        assertThrows(IllegalStateException.class, out::toInputStream);
+    }
+
+    @Test
+    void testEmpty() throws IOException {
+
+        try (var out = new ByteBufferOutputStream()) {
+            assertEquals(0L, out.size());
+            assertEquals(0, out.toByteBuffers().length);
+            assertEquals(-1, out.toInputStream().read());
+        }
+    }
+
+    @Test
+    void testInvalidArguments() {
+
+        assertThrows(
+                IllegalArgumentException.class, () -> new ByteBufferOutputStream(0, ByteBuffer::allocate, b -> {}));
+        final var out = new ByteBufferOutputStream(10, length -> ByteBuffer.allocate(0), b -> {});
+        assertThrows(IllegalStateException.class, () -> out.write(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> out.write(new byte[4], 2, 4));
+    }
+
+    /** Returns random data of the specified length. */
+    private static byte[] data(final int length) {
+
+        final var data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+}
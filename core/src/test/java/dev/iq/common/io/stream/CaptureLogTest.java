@@ -0,0 +1,221 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for CaptureLog covering batching, flushing, rotation and dropping under pressure. */
+final class CaptureLogTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void testCapturesAllBytesOnClose() throws IOException {
+
+        final var file = tempDir.resolve("capture.log");
+        final var data = sequence(300_000);
+
+        try (var capture = new CaptureLog(file)) {
+            for (var i = 0; i < data.length; i += 1000) {
+                capture.write(data, i, Math.min(1000, data.length - i));
+            }
+            assertEquals(0L, capture.dropped());
+        }
+
+        assertArrayEquals(data, Files.readAllBytes(file));
+    }
+
+    @Test
+    void testSingleByteWrites() throws IOException {
+
+        final var file = tempDir.resolve("bytes.log");
+
+        try (var capture = new CaptureLog(file)) {
+            capture.write('a');
+            capture.write('b');
+            capture.write('c');
+        }
+
+        assertEquals("abc", Files.readString(file));
+    }
+
+    @Test
+    void testFlushWaitsForDrain() throws IOException {
+
+        final var file = tempDir.resolve("flush.log");
+        final var data = sequence(1000);
+
+        try (var capture = new CaptureLog(file)) {
+            capture.write(data);
+            capture.flush();
+
+            assertArrayEquals(data, Files.readAllBytes(file));
+        }
+    }
+
+    @Test
+    void testDrainsWithinInterval() throws IOException, InterruptedException {
+
+        final var file = tempDir.resolve("interval.log");
+
+        try (var capture = new CaptureLog(file)) {
+            capture.write(new byte[] {1, 2, 3});
+            final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while ((Files.size(file) < 3) && (System.nanoTime() < deadline)) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(3L, Files.size(file));
+        }
+    }
+
+    @Test
+    void testSmallCapacityKeepsUpWithSteadyWrites() throws IOException, InterruptedException {
+
+        final var file = tempDir.resolve("small.log");
+        final var data = sequence(100 * 1024);
+
+        // Each write fills a quarter of the ring, so it is full long before the drain interval
+        try (var capture = new CaptureLog(file, Long.MAX_VALUE, 0, 4096)) {
+            for (var i = 0; i < data.length; i += 1024) {
+                capture.write(data, i, 1024);
+                Thread.sleep(2);
+            }
+            assertEquals(0L, capture.dropped());
+        }
+
+        assertArrayEquals(data, Files.readAllBytes(file));
+    }
+
+    @Test
+    void testDropsWriteLargerThanRoom() throws IOException {
+
+        final var file = tempDir.resolve("dropped.log");
+
+        try (var capture = new CaptureLog(file, Long.MAX_VALUE, 0, 16)) {
+            capture.write(new byte[32]);
+            capture.write(new byte[] {7, 8});
+
+            assertEquals(32L, capture.dropped());
+        }
+
+        assertArrayEquals(new byte[] {7, 8}, Files.readAllBytes(file));
+    }
+
+    @Test
+    void testRotatesBySize() throws IOException {
+
+        final var file = tempDir.resolve("rotate.log");
+        final var data = sequence(35);
+
+        try (var capture = new CaptureLog(file, 10L, 2, 1024)) {
+            capture.write(data);
+        }
+
+        assertArrayEquals(Arrays.copyOfRange(data, 30, 35), Files.readAllBytes(file));
+        assertArrayEquals(Arrays.copyOfRange(data, 20, 30), Files.readAllBytes(tempDir.resolve("rotate.log.1")));
+        assertArrayEquals(Arrays.copyOfRange(data, 10, 20), Files.readAllBytes(tempDir.resolve("rotate.log.2")));
+        assertFalse(Files.exists(tempDir.resolve("rotate.log.3")));
+    }
+
+    @Test
+    void testRotatesWithoutKeepingFiles() throws IOException {
+
+        final var file = tempDir.resolve("single.log");
+        final var data = sequence(25);
+
+        try (var capture = new CaptureLog(file, 10L, 0, 1024)) {
+            capture.write(data);
+        }
+
+        assertArrayEquals(Arrays.copyOfRange(data, 20, 25), Files.readAllBytes(file));
+        assertFalse(Files.exists(tempDir.resolve("single.log.1")));
+    }
+
+    @Test
+    void testConcurrentWritersAccountForEveryByte() throws Exception {
+
+        final var file = tempDir.resolve("concurrent.log");
+        final var capture = new CaptureLog(file, Long.MAX_VALUE, 0, 4096);
+        final var record = sequence(100);
+
+        try (var executor = Executors.newFixedThreadPool(4)) {
+            final var futures = new ArrayList<Future<?>>();
+            for (var t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (var i = 0; i < 1000; i++) {
+                        capture.write(record);
+                    }
+                    return null;
+                }));
+            }
+            for (final var future : futures) {
+                future.get();
+            }
+        } catch (final ExecutionException e) {
+            throw new AssertionError(e.getCause());
+        }
+        capture.close();
+
+        final var logged = Files.readAllBytes(file);
+        assertEquals(400_000L, logged.length + capture.dropped());
+        assertEquals(0, logged.length % record.length);
+        for (var i = 0; i < logged.length; i += record.length) {
+            assertArrayEquals(record, Arrays.copyOfRange(logged, i, i + record.length));
+        }
+    }
+
+    @Test
+    void testWriteAfterCloseThrows() throws IOException {
+
+        final var capture = new CaptureLog(tempDir.resolve("closed.log"));
+        capture.close();
+        capture.close();
+
+        assertThrows(IOException.class, () -> capture.write(1));
+        assertThrows(IOException.class, () -> capture.write(new byte[1]));
+        assertThrows(IOException.class, capture::flush);
+    }
+
+    @Test
+    void testInvalidArguments() {
+
+        final var file = tempDir.resolve("invalid.log");
+
+        assertThrows(IllegalArgumentException.class, () -> new CaptureLog(file, 0L, 1, 1024));
+        assertThrows(IllegalArgumentException.class, () -> new CaptureLog(file, 10L, -1, 1024));
+        assertThrows(IllegalArgumentException.class, () -> new CaptureLog(file, 10L, 1, 0));
+        assertTrue(Files.notExists(file));
+    }
+
+    /** Returns bytes counting up from zero. */
+    private static byte[] sequence(final int length) {
+
+        final var data = new byte[length];
+        for (var i = 0; i < length; i++) {
+            data[i] = (byte) i;
+        }
+        return data;
+    }
+}
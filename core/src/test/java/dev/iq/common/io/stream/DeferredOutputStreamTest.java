@@ -0,0 +1,182 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for DeferredOutputStream covering the in-memory path, spilling and clean-up. */
+final class DeferredOutputStreamTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void testStaysInMemoryUpToThreshold() throws IOException {
+
+        final var data = data(1000);
+
+        try (var out = new DeferredOutputStream(1000, tempDir)) {
+            out.write(data, 0, 600);
+            out.write(data, 600, 400);
+
+            assertTrue(out.isInMemory());
+            assertEquals(1000L, out.size());
+            try (var in = out.toInputStream()) {
+                assertArrayEquals(data, in.readAllBytes());
+            }
+        }
+        assertEquals(0L, fileCount());
+    }
+
+    @Test
+    void testSpillsPastThreshold() throws IOException {
+
+        final var data = data(300_000);
+
+        try (var out = new DeferredOutputStream(100_000, tempDir)) {
+            for (var i = 0; i < data.length; i += 7000) {
+                out.write(data, i, Math.min(7000, data.length - i));
+            }
+
+            assertFalse(out.isInMemory());
+            assertEquals(data.length, out.size());
+            assertEquals(1L, fileCount());
+            try (var in = out.toInputStream()) {
+                assertArrayEquals(data, in.readAllBytes());
+            }
+        }
+    }
+
+    @Test
+    void testSingleByteWritesSpill() throws IOException {
+
+        try (var out = new DeferredOutputStream(3, tempDir)) {
+            for (final var b : "abcdef".getBytes()) {
+                out.write(b);
+            }
+
+            assertFalse(out.isInMemory());
+            assertEquals("abcdef", Files.readString(out.toPath()));
+        }
+    }
+
+    @Test
+    void testPathSpillsMemory() throws IOException {
+
+        final var data = data(500);
+
+        try (var out = new DeferredOutputStream(10_000, tempDir)) {
+            out.write(data);
+            final var path = out.toPath();
+
+            assertFalse(out.isInMemory());
+            assertArrayEquals(data, Files.readAllBytes(path));
+            out.write(data);
+            assertEquals(path, out.toPath());
+            assertEquals(1000L, Files.size(path));
+        }
+    }
+
+    @Test
+    void testChannel() throws IOException {
+
+        final var data = data(200_000);
+
+        try (var out = new DeferredOutputStream(1000, tempDir)) {
+            out.write(data);
+            try (var channel = out.toChannel()) {
+                assertEquals(data.length, channel.size());
+                final var buffer = ByteBuffer.allocate(data.length);
+                while (buffer.hasRemaining() && (channel.read(buffer) >= 0)) {
+                    // Keep reading
+                }
+                assertArrayEquals(data, buffer.array());
+                assertThrows(NonWritableChannelException.class, () -> channel.write(ByteBuffer.allocate(1)));
+            }
+        }
+    }
+
+    @Test
+    void testCloseDeletesFile() throws IOException {
+
+        final var out = new DeferredOutputStream(10, tempDir);
+        out.write(data(100));
+        final var path = out.toPath();
+        assertTrue(Files.exists(path));
+
+        out.close();
+        out.close();
+
+        assertFalse(Files.exists(path));
+        assertThrows(IOException.class, () -> out.write(1));
+        assertThrows(IOException.class, out::toInputStream);
+        assertThrows(IOException.class, out::toPath);
+    }
+
+    @Test
+    void testZeroThresholdSpillsOnFirstByte() throws IOException {
+
+        try (var out = new DeferredOutputStream(0, tempDir)) {
+            assertTrue(out.isInMemory());
+            out.write(new byte[0]);
+            assertTrue(out.isInMemory());
+            out.write(1);
+            assertFalse(out.isInMemory());
+        }
+    }
+
+    @Test
+    void testDefaultDirectory() throws IOException {
+
+        final Path path;
+        try (var out = new DeferredOutputStream(0)) {
+            out.write(data(10));
+            path = out.toPath();
+            assertTrue(Files.exists(path));
+        }
+
+        assertFalse(Files.exists(path));
+    }
+
+    @Test
+    void testInvalidArguments() {
+
+        final var out = new DeferredOutputStream();
+
+        assertThrows(IllegalArgumentException.class, () -> new DeferredOutputStream(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> out.write(new byte[4], 2, 4));
+    }
+
+    /** Returns the number of files in the temporary directory. */
+    private long fileCount() throws IOException {
+
+        try (var files = Files.list(tempDir)) {
+            return files.count();
+        }
+    }
+
+    /** Returns random data of the specified length. */
+    private static byte[] data(final int length) {
+
+        final var data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+}
@@ -304,4 +304,27 @@ final class FiniteInputStreamTest {
 
         assertThrows(EOFException.class, finiteStream::read);
     }
+
+    @Test
+    void testSkipStopsAtMaximum() throws IOException {
+
+        final var finiteStream = new FiniteInputStream(new ByteArrayInputStream(new byte[100]), 10);
+
+        assertEquals(6L, finiteStream.skip(6));
+        assertEquals(4L, finiteStream.skip(50));
+        assertEquals(0L, finiteStream.skip(0));
+        assertThrows(EOFException.class, () -> finiteStream.skip(1));
+        assertThrows(EOFException.class, finiteStream::read);
+    }
+
+    @Test
+    void testAvailableBoundedByMaximum() throws IOException {
+
+        final var finiteStream = new FiniteInputStream(new ByteArrayInputStream(new byte[100]), 10);
+
+        assertEquals(10, finiteStream.available());
+        finiteStream.skip(7);
+        assertEquals(3, finiteStream.available());
+        assertEquals(2, new FiniteInputStream(new ByteArrayInputStream(new byte[2]), 10).available());
+    }
 }
@@ -265,7 +265,7 @@ final class FiniteOutputStreamTest {
         finiteStream.write("ello".getBytes(StandardCharsets.UTF_8));
         finiteStream.write(", World!".getBytes(StandardCharsets.UTF_8), 0, 5);
 
-        assertEquals("Hello,", outputStream.toString());
+        assertEquals("Hello, Wor", outputStream.toString());
     }
 
     @Test
@@ -331,4 +331,32 @@ final class FiniteOutputStreamTest {
         // Further writes should fail
         assertThrows(EOFException.class, () -> finiteStream.write('l'));
     }
+
+    @Test
+    void testArrayWrittenInOneCall() throws IOException {
+
+        final var calls = new int[1];
+        final var target = new ByteArrayOutputStream() {
+
+            @Override
+            public void write(final int b) {
+
+                throw new AssertionError("Single byte write");
+            }
+
+            @Override
+            public void write(final byte[] buffer, final int offset, final int length) {
+
+                calls[0]++;
+                super.write(buffer, offset, length);
+            }
+        };
+        final var finiteStream = new FiniteOutputStream(target, 1000);
+
+        finiteStream.write(new byte[600], 100, 500);
+
+        assertEquals(1, calls[0]);
+        assertEquals(500, target.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> finiteStream.write(new byte[10], 5, 10));
+    }
 }
@@ -18,6 +18,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
@@ -373,4 +374,85 @@ final class LoggingInputStreamTest {
         assertEquals(1, loggedData.length);
         assertEquals('W', loggedData[0]); // Second stream overwrites the first
     }
+
+    @Test
+    void testReadBufferLogsOnce() throws IOException {
+
+        final var logFile = tempDir.resolve("once.log");
+        final var data = "Hello, World!".getBytes(StandardCharsets.UTF_8);
+
+        try (var loggingStream = new LoggingInputStream(logFile.toString(), new ByteArrayInputStream(data))) {
+            loggingStream.read(new byte[5]);
+        }
+
+        assertArrayEquals("Hello".getBytes(StandardCharsets.UTF_8), Files.readAllBytes(logFile));
+    }
+
+    @Test
+    void testSkipLogsSkippedBytes() throws IOException {
+
+        final var logFile = tempDir.resolve("skip.log");
+        final var data = new byte[5000];
+        new Random(5000).nextBytes(data);
+
+        try (var loggingStream = new LoggingInputStream(logFile.toString(), new ByteArrayInputStream(data))) {
+            assertEquals(10, loggingStream.read(new byte[10]));
+            assertEquals(4000, loggingStream.skip(4000));
+            assertEquals(990, loggingStream.skip(2000));
+            assertEquals(0, loggingStream.skip(10));
+        }
+
+        assertArrayEquals(data, Files.readAllBytes(logFile));
+    }
+
+    @Test
+    void testCaptureLogMode() throws IOException {
+
+        final var logFile = tempDir.resolve("capture.log");
+        final var data = "Hello, World!".getBytes(StandardCharsets.UTF_8);
+
+        try (var capture = new CaptureLog(logFile);
+                var loggingStream = new LoggingInputStream(capture, new ByteArrayInputStream(data))) {
+            assertEquals('H', loggingStream.read());
+            final var buffer = new byte[4];
+            assertEquals(4, loggingStream.read(buffer));
+            assertEquals(8, loggingStream.read(new byte[20], 2, 18));
+            assertEquals(-1, loggingStream.read());
+        }
+
+        assertArrayEquals(data, Files.readAllBytes(logFile));
+    }
+
+    @Test
+    void testCaptureLogLeftOpenOnClose() throws IOException {
+
+        final var logFile = tempDir.resolve("capture_closed.log");
+        try (var capture = new CaptureLog(logFile)) {
+            final var loggingStream = new LoggingInputStream(capture, new ByteArrayInputStream(new byte[] {1, 2}));
+
+            loggingStream.read();
+            loggingStream.close();
+
+            capture.write(2);
+        }
+
+        assertArrayEquals(new byte[] {1, 2}, Files.readAllBytes(logFile));
+    }
+
+    @Test
+    void testCaptureLogSharedByStreams() throws IOException {
+
+        final var logFile = tempDir.resolve("capture_shared.log");
+        try (var capture = new CaptureLog(logFile)) {
+            final var first = new LoggingInputStream(capture, new ByteArrayInputStream(new byte[] {1, 2}));
+            final var second = new LoggingInputStream(capture, new ByteArrayInputStream(new byte[] {3, 4}));
+
+            assertEquals(2, first.read(new byte[2]));
+            first.close();
+            assertEquals(2, second.read(new byte[2]));
+            second.close();
+        }
+
+        assertArrayEquals(new byte[] {1, 2, 3, 4}, Files.readAllBytes(logFile));
+    }
 }
@@ -299,4 +299,20 @@ final class NullInputStreamTest {
         assertEquals(100, nullStream.read(new byte[100]));
         assertEquals(50, nullStream.read(new byte[100], 0, 50));
     }
+
+    @Test
+    void testSkipNegativeReturnsZero() {
+
+        final var nullStream = new NullInputStream();
+
+        assertEquals(0L, nullStream.skip(-5));
+    }
+
+    @Test
+    void testReadChecksBounds() {
+
+        final var nullStream = new NullInputStream();
+
+        assertThrows(IndexOutOfBoundsException.class, () -> nullStream.read(new byte[10], 5, 10));
+    }
 }
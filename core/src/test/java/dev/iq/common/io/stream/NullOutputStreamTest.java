@@ -363,4 +363,14 @@ final class NullOutputStreamTest {
             assertNull(exception);
         }
     }
+
+    @Test
+    void testWriteChecksBounds() {
+
+        final var nullStream = new NullOutputStream();
+
+        assertDoesNotThrow(() -> nullStream.write(new byte[10], 2, 8));
+        assertThrows(IndexOutOfBoundsException.class, () -> nullStream.write(new byte[10], 5, 10));
+        assertThrows(NullPointerException.class, () -> nullStream.write(null));
+    }
 }
@@ -0,0 +1,215 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+
+/** Tests for ParallelGzipOutputStream covering format, ordering, dictionaries and lifecycle. */
+final class ParallelGzipOutputStreamTest {
+
+    @Test
+    void testRoundTripDefault() throws IOException {
+
+        final var data = textBytes(1_000_000);
+        final var bytes = new ByteArrayOutputStream();
+
+        try (var out = new ParallelGzipOutputStream(bytes)) {
+            out.write(data);
+        }
+
+        assertArrayEquals(data, gunzip(bytes.toByteArray()));
+    }
+
+    @Test
+    void testManySmallBlocksKeepOrder() throws IOException {
+
+        final var data = randomBytes(200_003);
+        final var bytes = new ByteArrayOutputStream();
+
+        try (var out = new ParallelGzipOutputStream(bytes, 1, 4, 3, 1000)) {
+            for (var i = 0; i < data.length; i += 777) {
+                out.write(data, i, Math.min(777, data.length - i));
+            }
+        }
+
+        assertArrayEquals(data, gunzip(bytes.toByteArray()));
+    }
+
+    @Test
+    void testSingleByteWrites() throws IOException {
+
+        final var data = textBytes(5000);
+        final var bytes = new ByteArrayOutputStream();
+
+        try (var out = new ParallelGzipOutputStream(bytes, Deflater.DEFAULT_COMPRESSION, 2, 2, 100)) {
+            for (final var value : data) {
+                out.write(value);
+            }
+        }
+
+        assertArrayEquals(data, gunzip(bytes.toByteArray()));
+    }
+
+    @Test
+    void testDictionaryKeepsRatioCloseToSerial() throws IOException {
+
+        final var data = textBytes(2_000_000);
+        final var serial = new ByteArrayOutputStream();
+        try (var out = new GZIPOutputStream(serial)) {
+            out.write(data);
+        }
+        final var parallel = new ByteArrayOutputStream();
+
+        try (var out = new ParallelGzipOutputStream(parallel, Deflater.DEFAULT_COMPRESSION, 4, 8, 16 * 1024)) {
+            out.write(data);
+        }
+
+        assertTrue(parallel.size() < (serial.size() * 1.1), "%d vs %d".formatted(parallel.size(), serial.size()));
+        assertArrayEquals(data, gunzip(parallel.toByteArray()));
+    }
+
+    @Test
+    void testEmptyStream() throws IOException {
+
+        final var bytes = new ByteArrayOutputStream();
+
+        new ParallelGzipOutputStream(bytes).close();
+
+        assertEquals(0, gunzip(bytes.toByteArray()).length);
+    }
+
+    @Test
+    void testFlushWritesDecodablePrefix() throws IOException {
+
+        final var bytes = new ByteArrayOutputStream();
+        try (var out = new ParallelGzipOutputStream(bytes)) {
+            out.write("first part".getBytes());
+            out.flush();
+            final var partial = bytes.toByteArray();
+            final var in = new GZIPInputStream(new ByteArrayInputStream(partial));
+            final var read = new byte[10];
+
+            assertEquals(10, in.readNBytes(read, 0, 10));
+            assertEquals("first part", new String(read));
+            out.write(" and second".getBytes());
+        }
+
+        assertEquals("first part and second", new String(gunzip(bytes.toByteArray())));
+    }
+
+    @Test
+    void testReadableAfterAnotherMember() throws IOException {
+
+        final var bytes = new ByteArrayOutputStream();
+        try (var out = new GZIPOutputStream(bytes)) {
+            out.write("serial ".getBytes());
+        }
+        final var parallel = new ByteArrayOutputStream();
+        try (var out = new ParallelGzipOutputStream(parallel)) {
+            out.write("parallel".getBytes());
+        }
+        bytes.write(parallel.toByteArray());
+
+        assertEquals("serial parallel", new String(gunzip(bytes.toByteArray())));
+    }
+
+    @Test
+    void testCloseIsIdempotentAndClosesTarget() throws IOException {
+
+        final var closes = new int[1];
+        final var target = new ByteArrayOutputStream() {
+
+            @Override
+            public void close() {
+
+                closes[0]++;
+            }
+        };
+        final var out = new ParallelGzipOutputStream(target);
+
+        out.close();
+        out.close();
+
+        assertEquals(1, closes[0]);
+        assertThrows(IOException.class, () -> out.write(1));
+    }
+
+    @Test
+    void testTargetFailureReported() throws IOException {
+
+        final var target = new OutputStream() {
+
+            private int writes = 0;
+
+            @Override
+            public void write(final int value) {}
+
+            @Override
+            public void write(final byte[] buffer, final int offset, final int length) throws IOException {
+
+                if (++writes > 1) {
+                    throw new IOException("Disk full");
+                }
+            }
+        };
+        final var out = new ParallelGzipOutputStream(target, 1, 1, 1, 100);
+
+        assertThrows(IOException.class, () -> out.write(new byte[1000]));
+        assertThrows(IOException.class, out::close);
+    }
+
+    @Test
+    void testInvalidArgumentsRejected() {
+
+        final var bytes = new ByteArrayOutputStream();
+
+        assertThrows(IllegalArgumentException.class, () -> new ParallelGzipOutputStream(bytes, 10, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelGzipOutputStream(bytes, 1, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelGzipOutputStream(bytes, 1, 1, 0));
+    }
+
+    /** Decompresses all gzip members. */
+    private static byte[] gunzip(final byte[] data) throws IOException {
+
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        }
+    }
+
+    /** Returns reproducible, compressible text. */
+    private static byte[] textBytes(final int length) {
+
+        final var random = new Random(length);
+        final String[] words = {"alpha ", "beta ", "gamma ", "delta ", "epsilon ", "zeta\n"};
+        final var text = new StringBuilder(length + 10);
+        while (text.length() < length) {
+            text.append(words[random.nextInt(words.length)]);
+        }
+        return text.substring(0, length).getBytes();
+    }
+
+    /** Returns reproducible random bytes. */
+    private static byte[] randomBytes(final int length) {
+
+        final var data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** Tests for SegmentedOutputStream covering segment growth and the ways of consuming content. */
+final class SegmentedOutputStreamTest {
+
+    @Test
+    void testSpansSegments() {
+
+        final var data = data(3 * SegmentedOutputStream.MAX_SEGMENT_LENGTH + 17);
+        final var out = new SegmentedOutputStream();
+        out.write(data, 0, 10);
+        out.write(data, 10, data.length - 10);
+
+        assertEquals(data.length, out.size());
+        assertArrayEquals(data, out.toByteArray());
+        assertTrue(out.toByteBuffers().length > 1);
+    }
+
+    @Test
+    void testSingleByteWrites() {
+
+        final var out = new SegmentedOutputStream();
+        for (var i = 0; i < 10_000; i++) {
+            out.write(i);
+        }
+
+        final var result = out.toByteArray();
+        assertEquals(10_000, result.length);
+        assertEquals((byte) 9_999, result[9_999]);
+    }
+
+    @Test
+    void testExactHintAvoidsCopy() {
+
+        final var data = data(5000);
+        final var out = new SegmentedOutputStream(data.length);
+        out.write(data);
+
+        final var first = out.toByteArray();
+        assertArrayEquals(data, first);
+        assertSame(first, out.toByteArray());
+        assertEquals(1, out.toByteBuffers().length);
+    }
+
+    @Test
+    void testInaccurateHints() {
+
+        final var data = data(5000);
+        final var low = new SegmentedOutputStream(100);
+        low.write(data);
+        final var high = new SegmentedOutputStream(10_000);
+        high.write(data);
+
+        assertArrayEquals(data, low.toByteArray());
+        assertArrayEquals(data, high.toByteArray());
+        assertNotSame(high.toByteArray(), high.toByteArray());
+    }
+
+    @Test
+    void testEmpty() throws IOException {
+
+        final var out = new SegmentedOutputStream();
+
+        assertEquals(0, out.toByteArray().length);
+        assertEquals(-1, out.toInputStream().read());
+        assertEquals(0, out.toByteBuffers()[0].remaining());
+    }
+
+    @Test
+    void testInputStream() throws IOException {
+
+        final var data = data(2 * SegmentedOutputStream.MAX_SEGMENT_LENGTH);
+        final var out = new SegmentedOutputStream();
+        out.write(data);
+
+        try (var in = out.toInputStream()) {
+            assertEquals(data.length, in.available());
+            assertEquals(data[0] & 0xff, in.read());
+            final var rest = in.readAllBytes();
+            assertArrayEquals(Arrays.copyOfRange(data, 1, data.length), rest);
+            assertEquals(-1, in.read(new byte[1], 0, 1));
+        }
+    }
+
+    @Test
+    void testByteBuffersAreReadOnlyViews() {
+
+        final var out = new SegmentedOutputStream();
+        out.write(data(10_000));
+
+        final var buffers = out.toByteBuffers();
+        assertTrue(buffers[0].isReadOnly());
+        assertEquals(
+                10_000, Arrays.stream(buffers).mapToInt(ByteBuffer::remaining).sum());
+    }
+
+    @Test
+    void testWriteTo() throws IOException {
+
+        final var data = data(100_000);
+        final var out = new SegmentedOutputStream();
+        out.write(data);
+        final var target = new ByteArrayOutputStream();
+
+        out.writeTo(target);
+
+        assertArrayEquals(data, target.toByteArray());
+    }
+
+    @Test
+    void testInvalidRangeRejected() {
+
+        final var out = new SegmentedOutputStream();
+
+        assertThrows(IndexOutOfBoundsException.class, () -> out.write(new byte[4], 2, 3));
+    }
+
+    /** Returns deterministic pseudo-random data. */
+    private static byte[] data(final int length) {
+
+        final var data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+
+    @Test
+    void testInputStreamSkip() throws IOException {
+
+        final var data = data(3 * SegmentedOutputStream.MIN_SEGMENT_LENGTH);
+        final var out = new SegmentedOutputStream();
+        out.write(data);
+
+        try (var in = out.toInputStream()) {
+            final var skip = SegmentedOutputStream.MIN_SEGMENT_LENGTH + 5;
+            assertEquals(skip, in.skip(skip));
+            assertEquals(data[skip] & 0xff, in.read());
+            assertEquals(data.length - skip - 1, in.skip(Long.MAX_VALUE));
+            assertEquals(0L, in.skip(10));
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    void testInputStreamTransferTo() throws IOException {
+
+        final var data = data(2 * SegmentedOutputStream.MAX_SEGMENT_LENGTH);
+        final var out = new SegmentedOutputStream();
+        out.write(data);
+        final var target = new ByteArrayOutputStream();
+
+        try (var in = out.toInputStream()) {
+            in.skip(3);
+            assertEquals(data.length - 3, in.transferTo(target));
+            assertEquals(0L, in.transferTo(target));
+        }
+
+        assertArrayEquals(Arrays.copyOfRange(data, 3, data.length), target.toByteArray());
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.io.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.iq.common.fp.Io;
+import dev.iq.common.log.Log;
+import dev.iq.test.annotation.IntegrationTest;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Time to move data through each wrapping stream compared with the bare stream it wraps. The bare
+ * stream checksums the data so that each run does real work per byte; a wrapper with bulk
+ * overrides should add little to that, where one falling back to single bytes is many times slower.
+ * AsyncTee is left out as it copies every byte by design. Timings are only indicative (no JMH), so
+ * this runs with the integration tests.
+ */
+@IntegrationTest
+final class StreamOverheadBenchmarkTest {
+
+    /** Bytes moved per run. (64 MB) */
+    private static final long TOTAL_LENGTH = 64L * 1024 * 1024;
+
+    /** Length of each array written or read. */
+    private static final int CHUNK_LENGTH = 8 * 1024;
+
+    /** Runs per stream (the first warms up the JIT and is discarded). */
+    private static final int RUNS = 4;
+
+    /** Overhead allowed over the bare stream, as a ratio. */
+    private static final double MAX_RATIO = 1.5;
+
+    /** Allowance for timer noise on short runs, in milliseconds. */
+    private static final double SLACK_MILLIS = 10.0;
+
+    @Test
+    void testOutputWrappers() {
+
+        final var bare = measure(() -> write(out -> out));
+        check("FiniteOutputStream", bare, measure(() -> write(out -> new FiniteOutputStream(out, Long.MAX_VALUE))));
+        check("Tee", bare, measure(() -> write(Tee::new)));
+    }
+
+    @Test
+    void testInputWrappers() {
+
+        final var bare = measure(() -> read(in -> in));
+        check("FiniteInputStream", bare, measure(() -> read(in -> new FiniteInputStream(in, Long.MAX_VALUE))));
+    }
+
+    @Test
+    void testSegmentedTransfer() {
+
+        final var segmented = new SegmentedOutputStream(0L);
+        final var chunk = new byte[CHUNK_LENGTH];
+        for (var written = 0L; written < TOTAL_LENGTH; written += CHUNK_LENGTH) {
+            segmented.write(chunk);
+        }
+        final var array = segmented.toByteArray();
+        final var bare = measure(() -> transfer(new ByteArrayInputStream(array)));
+        check("SegmentedOutputStream", bare, measure(() -> transfer(segmented.toInputStream())));
+    }
+
+    /** Transfers the whole stream to a checksumming sink. */
+    private static long transfer(final InputStream in) {
+
+        return Io.withReturn(() -> {
+            try (in;
+                    var out = new CheckedOutputStream(new NullOutputStream(), new CRC32())) {
+                return in.transferTo(out);
+            }
+        });
+    }
+
+    /** Writes the total length in chunks through the wrapper around a checksumming sink. */
+    private static long write(final Function<OutputStream, OutputStream> wrapper) {
+
+        return Io.withReturn(() -> {
+            final var chunk = new byte[CHUNK_LENGTH];
+            try (var out = wrapper.apply(new CheckedOutputStream(new NullOutputStream(), new CRC32()))) {
+                var written = 0L;
+                while (written < TOTAL_LENGTH) {
+                    out.write(chunk, 0, CHUNK_LENGTH);
+                    written += CHUNK_LENGTH;
+                }
+                return written;
+            }
+        });
+    }
+
+    /** Reads the total length in chunks through the wrapper around a checksumming source. */
+    private static long read(final Function<InputStream, InputStream> wrapper) {
+
+        return Io.withReturn(() -> {
+            final var chunk = new byte[CHUNK_LENGTH];
+            try (var in = wrapper.apply(new CheckedInputStream(new NullInputStream(), new CRC32()))) {
+                var read = 0L;
+                while (read < TOTAL_LENGTH) {
+                    read += in.read(chunk, 0, CHUNK_LENGTH);
+                }
+                return read;
+            }
+        });
+    }
+
+    /** Logs the times and checks that the wrapper stays within the allowed overhead. */
+    private static void check(final String name, final double bare, final double wrapped) {
+
+        Log.info(StreamOverheadBenchmarkTest.class, () -> "%s: bare=%.1f ms wrapped=%.1f ms (%.2fx)"
+                .formatted(name, bare, wrapped, wrapped / bare));
+        assertTrue(wrapped <= ((bare * MAX_RATIO) + SLACK_MILLIS), name + " adds too much overhead");
+    }
+
+    /** Returns the best time (ms) of the runs after the first. */
+    @SuppressWarnings("ReassignedVariable")
+    private static double measure(final LongSupplier run) {
+
+        var best = Double.MAX_VALUE;
+        for (var i = 0; i < RUNS; i++) {
+            final var start = System.nanoTime();
+            final var moved = run.getAsLong();
+            final var nanos = System.nanoTime() - start;
+            assertEquals(TOTAL_LENGTH, moved);
+            if (i > 0) {
+                best = Math.min(best, nanos / 1.0e6);
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.serde;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.iq.common.log.Log;
+import dev.iq.test.annotation.IntegrationTest;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the size and speed of BinarySerde against JavaSerde for a typical versioned record.
+ * Timings are only indicative (no JMH), so this runs with the integration tests.
+ */
+@IntegrationTest
+final class BinarySerdeBenchmarkTest {
+
+    /** Number of round trips to warm up the JIT. */
+    private static final int WARMUP = 50_000;
+
+    /** Number of measured round trips. */
+    private static final int ITERATIONS = 100_000;
+
+    /** Record under test. */
+    private static final Sample SAMPLE = new Sample(
+            "01J9Z3M1V2K8Q7X6W5T4R3P2N1",
+            42,
+            Instant.parse("2025-01-01T00:00:00Z"),
+            null,
+            List.of("alpha", "beta", "gamma"));
+
+    @Test
+    void testBinarySmallerAndFasterThanJava() {
+
+        final var binarySize = BinarySerde.toBytes(SAMPLE).length;
+        final var javaSize = javaBytes().length;
+
+        final var binaryNanos = time(() -> BinarySerde.fromBytes(BinarySerde.toBytes(SAMPLE), Sample.class));
+        final var javaNanos = time(() -> JavaSerde.deserialize(new ByteArrayInputStream(javaBytes()), Sample.class));
+
+        Log.info(getClass(), () -> "Size: binary %d bytes, java %d bytes; round trip: binary %d ns, java %d ns"
+                .formatted(binarySize, javaSize, binaryNanos / ITERATIONS, javaNanos / ITERATIONS));
+        assertTrue(binarySize < javaSize);
+        assertTrue(binaryNanos < javaNanos);
+    }
+
+    /** Serializes the sample with Java serialization. */
+    private static byte[] javaBytes() {
+
+        final var out = new ByteArrayOutputStream();
+        JavaSerde.serialize(SAMPLE, out);
+        return out.toByteArray();
+    }
+
+    /** Returns the elapsed time of the measured iterations after warming up. */
+    @SuppressWarnings("ReassignedVariable")
+    private static long time(final Supplier<Sample> fx) {
+
+        for (var i = 0; i < WARMUP; i++) {
+            assertEquals(SAMPLE, fx.get());
+        }
+        final var start = System.nanoTime();
+        for (var i = 0; i < ITERATIONS; i++) {
+            fx.get();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private record Sample(String id, int version, Instant created, Instant expired, List<String> tags)
+            implements Serializable {}
+}
@@ -0,0 +1,349 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.serde;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.iq.common.adt.Tuple2;
+import dev.iq.common.annotation.SchemaVersion;
+import dev.iq.common.error.IoException;
+import dev.iq.common.version.Locator;
+import dev.iq.common.version.NanoId;
+import dev.iq.common.version.Uid;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for the BinarySerde class covering the compact record codec. */
+final class BinarySerdeTest {
+
+    /** Varint encoding of a size far beyond the data. */
+    private static final byte[] HUGE_VARINT = {(byte) 0xff, (byte) 0xff, 0x7f};
+
+    /** Varint encoding of -1. */
+    private static final byte[] NEGATIVE_VARINT = {(byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0x0f};
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void testRoundTripLocator() {
+
+        final var locator = Locator.generate().next();
+
+        final var result = BinarySerde.fromBytes(BinarySerde.toBytes(locator), Locator.class);
+
+        assertEquals(locator, result);
+    }
+
+    @Test
+    void testRoundTripNanoIdLocator() {
+
+        final var locator = Locator.first(NanoId.generate());
+
+        final var result = BinarySerde.fromBytes(BinarySerde.toBytes(locator), Locator.class);
+
+        assertEquals(locator, result);
+    }
+
+    @Test
+    void testRoundTripPrimitives() {
+
+        final var value = new Primitives(true, (byte) -3, (short) 300, 'x', -42, Long.MIN_VALUE, 1.5f, Math.PI);
+
+        final var result = BinarySerde.fromBytes(BinarySerde.toBytes(value), Primitives.class);
+
+        assertEquals(value, result);
+    }
+
+    @Test
+    void testRoundTripScalars() {
+
+        final var value = new Scalars(
+                "héllo wörld",
+                Instant.ofEpochSecond(1_700_000_000L, 123_456_789),
+                Duration.ofMillis(-1500),
+                LocalDate.of(2024, 2, 29),
+                UUID.randomUUID(),
+                Color.GREEN,
+                null);
+
+        final var result = BinarySerde.fromBytes(BinarySerde.toBytes(value), Scalars.class);
+
+        assertEquals(value, result);
+        assertNull(result.missing());
+    }
+
+    @Test
+    void testRoundTripBytes() {
+
+        final var value = new Blob(new byte[] {1, 2, 3, -1});
+
+        final var result = BinarySerde.fromBytes(BinarySerde.toBytes(value), Blob.class);
+
+        assertArrayEquals(value.data(), result.data());
+    }
+
+    @Test
+    void testRoundTripContainers() {
+
+        final var value = new Containers(
+                List.of("a", "b"),
+                Set.of(1, 2, 3),
+                Map.of("k", List.of(Locator.generate())),
+                Optional.of(Instant.EPOCH),
+                Optional.empty());
+
+        final var result = BinarySerde.fromBytes(BinarySerde.toBytes(value), Containers.class);
+
+        assertEquals(value, result);
+    }
+
+    @Test
+    void testRoundTripListWithNulls() {
+
+        final var value = new Names(Arrays.asList("a", null, "c"));
+
+        final var result = BinarySerde.fromBytes(BinarySerde.toBytes(value), Names.class);
+
+        assertEquals(value, result);
+    }
+
+    @Test
+    void testRoundTripGenericRecord() {
+
+        final var value = new Pair(new Tuple2<>("left", 7), Locator.generate());
+
+        final var result = BinarySerde.fromBytes(BinarySerde.toBytes(value), Pair.class);
+
+        assertEquals(value, result);
+    }
+
+    @Test
+    void testRoundTripUnboundTypeVariables() {
+
+        final var value = new Tuple2<Object, Object>(Color.BLUE, new Blob(new byte[] {9}));
+
+        @SuppressWarnings("unchecked")
+        final var result = BinarySerde.fromBytes(BinarySerde.toBytes(value), Tuple2.class);
+
+        assertEquals(Color.BLUE, result._1());
+        assertArrayEquals(new byte[] {9}, ((Blob) result._2()).data());
+    }
+
+    @Test
+    void testRoundTripRecursiveRecord() {
+
+        final var value = new Node("root", List.of(new Node("child", List.of())));
+
+        final var result = BinarySerde.fromBytes(BinarySerde.toBytes(value), Node.class);
+
+        assertEquals(value, result);
+    }
+
+    @Test
+    void testReadOlderSchemaVersion() {
+
+        final var older = BinarySerde.toBytes(new Person("Ada"));
+
+        final var result = BinarySerde.fromBytes(older, PersonV2.class);
+
+        assertEquals("Ada", result.name());
+        assertEquals(0, result.age());
+        assertEquals(Optional.empty(), result.email());
+    }
+
+    @Test
+    void testRejectNewerSchemaVersion() {
+
+        final var newer = BinarySerde.toBytes(new PersonV2("Ada", 36, Optional.empty()));
+
+        assertThrows(IoException.class, () -> BinarySerde.fromBytes(newer, Person.class));
+    }
+
+    @Test
+    void testTruncatedData() {
+
+        final var bytes = BinarySerde.toBytes(new Person("Grace"));
+        final var truncated = Arrays.copyOf(bytes, bytes.length - 1);
+
+        assertThrows(IoException.class, () -> BinarySerde.fromBytes(truncated, Person.class));
+    }
+
+    @Test
+    void testDynamicTypeMustBeRegistered() {
+
+        final var bytes = BinarySerde.toBytes(new Tuple2<Object, Object>("x", new Blob(new byte[] {1})));
+        final var name = Blob.class.getName().getBytes(StandardCharsets.UTF_8);
+        final var at = indexOf(bytes, name);
+        // Names an unregistered record of the same shape
+        bytes[at + name.length - 2] = 'u';
+
+        assertThrows(IoException.class, () -> BinarySerde.fromBytes(bytes, Tuple2.class));
+        BinarySerde.register(Blub.class);
+        assertArrayEquals(
+                new byte[] {1},
+                ((Blub) BinarySerde.fromBytes(bytes, Tuple2.class)._2()).data());
+        assertThrows(IllegalArgumentException.class, () -> BinarySerde.register(String.class));
+    }
+
+    @Test
+    void testEnumOrdinalOutOfRange() {
+
+        final var bytes = BinarySerde.toBytes(new Shade(Color.BLUE));
+        bytes[bytes.length - 1] = 0x7f;
+
+        assertThrows(IoException.class, () -> BinarySerde.fromBytes(bytes, Shade.class));
+    }
+
+    @Test
+    void testCollectionSizeOutOfRange() {
+
+        final var list = BinarySerde.toBytes(new Names(List.of()));
+        final var map = BinarySerde.toBytes(new Lookup(Map.of()));
+        // The size of an empty container is its last byte
+        final var last = list.length - 1;
+
+        assertThrows(IoException.class, () -> BinarySerde.fromBytes(splice(list, last, HUGE_VARINT), Names.class));
+        assertThrows(IoException.class, () -> BinarySerde.fromBytes(splice(list, last, NEGATIVE_VARINT), Names.class));
+        assertThrows(
+                IoException.class, () -> BinarySerde.fromBytes(splice(map, map.length - 1, HUGE_VARINT), Lookup.class));
+        assertThrows(
+                IoException.class,
+                () -> BinarySerde.fromBytes(splice(map, map.length - 1, NEGATIVE_VARINT), Lookup.class));
+    }
+
+    @Test
+    void testNegativeDynamicTag() {
+
+        final var bytes = BinarySerde.toBytes(new Holder("x"));
+        // The tag precedes the string's null flag, length and single character
+        final var corrupt = splice(bytes, bytes.length - 4, NEGATIVE_VARINT);
+
+        assertThrows(IoException.class, () -> BinarySerde.fromBytes(corrupt, Holder.class));
+    }
+
+    @Test
+    void testUnsupportedComponentType() {
+
+        final var value = new Unsupported(new StringBuilder("x"));
+
+        assertThrows(IllegalArgumentException.class, () -> BinarySerde.toBytes(value));
+    }
+
+    @Test
+    void testSerializeToPath() {
+
+        final var value = new Person("Linus");
+        final var path = tempDir.resolve("person.bin");
+
+        BinarySerde.serialize(value, path);
+
+        assertEquals(value, BinarySerde.deserialize(path, Person.class));
+    }
+
+    @Test
+    void testSerializeToStream() {
+
+        final var value = new Person("Barbara");
+        final var out = new ByteArrayOutputStream();
+
+        BinarySerde.serialize(value, out);
+        final var result = BinarySerde.deserialize(new ByteArrayInputStream(out.toByteArray()), Person.class);
+
+        assertEquals(value, result);
+    }
+
+    @Test
+    void testSmallerThanJavaSerde() {
+
+        final var value = new Person("Margaret");
+        final var javaOut = new ByteArrayOutputStream();
+
+        JavaSerde.serialize(value, javaOut);
+
+        assertTrue(BinarySerde.toBytes(value).length < (javaOut.size() / 4));
+    }
+
+    /** Returns a copy of the data with the byte at the index replaced by the replacement bytes. */
+    private static byte[] splice(final byte[] data, final int index, final byte[] replacement) {
+
+        final var result = Arrays.copyOf(data, (data.length - 1) + replacement.length);
+        System.arraycopy(replacement, 0, result, index, replacement.length);
+        System.arraycopy(data, index + 1, result, index + replacement.length, data.length - index - 1);
+        return result;
+    }
+
+    /** Returns the index of the first occurrence of the pattern in the data. */
+    private static int indexOf(final byte[] data, final byte[] pattern) {
+
+        for (var i = 0; i <= (data.length - pattern.length); i++) {
+            if (Arrays.equals(data, i, i + pattern.length, pattern, 0, pattern.length)) {
+                return i;
+            }
+        }
+        throw new AssertionError("Pattern not found");
+    }
+
+    private enum Color {
+        RED,
+        GREEN,
+        BLUE
+    }
+
+    private record Primitives(boolean z, byte b, short s, char c, int i, long l, float f, double d) {}
+
+    private record Scalars(
+            String text, Instant instant, Duration duration, LocalDate date, UUID uuid, Color color, Uid missing) {}
+
+    private record Blob(byte[] data) {}
+
+    private record Blub(byte[] data) {}
+
+    private record Shade(Color color) {}
+
+    private record Containers(
+            List<String> list,
+            Set<Integer> set,
+            Map<String, List<Locator>> map,
+            Optional<Instant> present,
+            Optional<Instant> absent) {}
+
+    private record Names(List<String> names) {}
+
+    private record Lookup(Map<String, String> entries) {}
+
+    private record Holder(Object value) {}
+
+    private record Pair(Tuple2<String, Integer> tuple, Locator locator) {}
+
+    private record Node(String name, List<Node> children) {}
+
+    private record Person(String name) implements Serializable {}
+
+    @SchemaVersion(2)
+    private record PersonV2(String name, int age, Optional<String> email) {}
+
+    private record Unsupported(StringBuilder builder) {}
+}
@@ -0,0 +1,245 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.serde;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.iq.common.adt.Tuple2;
+import dev.iq.common.error.IoException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for SerdeArchive covering appends, random access, scans and recovery. */
+final class SerdeArchiveTest {
+
+    /** Small segments so that tests roll over several files. */
+    private static final ArchiveOptions SMALL = ArchiveOptions.DEFAULT.withSegmentBytes(256);
+
+    /** Offset of the key length of the first entry in the saved index. */
+    private static final int KEY_LENGTH_OFFSET = 20;
+
+    /** Offset of the segment number of the first entry (key "item-0") in the saved index. */
+    private static final int SEGMENT_NUMBER_OFFSET = 30;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void testAppendAndGetByKeyAndOrdinal() {
+
+        try (var archive = SerdeArchive.binary(tempDir, Item.class)) {
+            assertEquals(0, archive.append("a", new Item("a", 1)));
+            assertEquals(1, archive.append("b", new Item("b", 2)));
+
+            assertEquals(Optional.of(new Item("b", 2)), archive.get("b"));
+            assertEquals(new Item("a", 1), archive.get(0L));
+            assertEquals(2, archive.size());
+            assertTrue(archive.contains("a"));
+            assertFalse(archive.contains("c"));
+            assertEquals(Optional.empty(), archive.get("c"));
+        }
+    }
+
+    @Test
+    void testLaterAppendReplacesKey() {
+
+        try (var archive = SerdeArchive.binary(tempDir, Item.class)) {
+            archive.append("a", new Item("a", 1));
+            archive.append("a", new Item("a", 2));
+
+            assertEquals(Optional.of(new Item("a", 2)), archive.get("a"));
+            assertEquals(new Item("a", 1), archive.get(0L));
+        }
+    }
+
+    @Test
+    void testOrdinalOutOfRange() {
+
+        try (var archive = SerdeArchive.binary(tempDir, Item.class)) {
+            assertThrows(IndexOutOfBoundsException.class, () -> archive.get(0L));
+        }
+    }
+
+    @Test
+    void testRollsSegmentsAndStreamsInOrder() throws IOException {
+
+        final var items = items(100);
+        try (var archive = SerdeArchive.binary(tempDir, Item.class, SMALL)) {
+            items.forEach(i -> archive.append(i.name(), i));
+
+            assertEquals(items.get(57), archive.get(57L));
+            try (var stream = archive.stream()) {
+                assertEquals(items, stream.toList());
+            }
+        }
+        try (var files = Files.list(tempDir)) {
+            assertTrue(files.count() > 2);
+        }
+    }
+
+    @Test
+    void testReadsWithoutMemoryMapping() {
+
+        final var items = items(50);
+        try (var archive = SerdeArchive.binary(tempDir, Item.class, SMALL.withMemoryMapped(false))) {
+            items.forEach(i -> archive.append(i.name(), i));
+
+            assertEquals(Optional.of(items.get(3)), archive.get("item-3"));
+            assertEquals(items.get(49), archive.get(49L));
+        }
+    }
+
+    @Test
+    void testReopenUsesSavedIndex() {
+
+        final var items = items(40);
+        try (var archive = SerdeArchive.binary(tempDir, Item.class, SMALL)) {
+            items.forEach(i -> archive.append(i.name(), i));
+        }
+        assertTrue(Files.exists(tempDir.resolve(SerdeArchive.INDEX_FILE)));
+
+        try (var archive = SerdeArchive.binary(tempDir, Item.class, SMALL)) {
+            assertEquals(40, archive.size());
+            assertEquals(Optional.of(items.get(20)), archive.get("item-20"));
+            archive.append("extra", new Item("extra", -1));
+            assertEquals(41, archive.size());
+        }
+    }
+
+    @Test
+    void testReopenRebuildsIndexAndDropsTornRecord() throws IOException {
+
+        final var items = items(10);
+        try (var archive = SerdeArchive.binary(tempDir, Item.class)) {
+            items.forEach(i -> archive.append(i.name(), i));
+        }
+        Files.delete(tempDir.resolve(SerdeArchive.INDEX_FILE));
+        final var segment = tempDir.resolve("00000000.seg");
+        final var intact = Files.size(segment);
+        Files.write(segment, new byte[] {0, 0, 0, 4, 0, 0}, StandardOpenOption.APPEND);
+
+        try (var archive = SerdeArchive.binary(tempDir, Item.class)) {
+            assertEquals(10, archive.size());
+            assertEquals(Optional.of(items.get(9)), archive.get("item-9"));
+            assertEquals(intact, Files.size(segment));
+        }
+    }
+
+    @Test
+    void testReopenRebuildsTruncatedIndex() throws IOException {
+
+        final var items = items(40);
+        try (var archive = SerdeArchive.binary(tempDir, Item.class, SMALL)) {
+            items.forEach(i -> archive.append(i.name(), i));
+        }
+        final var index = tempDir.resolve(SerdeArchive.INDEX_FILE);
+        final var bytes = Files.readAllBytes(index);
+        Files.write(index, Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertReopens(items);
+    }
+
+    @Test
+    void testReopenRebuildsCorruptIndex() throws IOException {
+
+        final var items = items(40);
+        try (var archive = SerdeArchive.binary(tempDir, Item.class, SMALL)) {
+            items.forEach(i -> archive.append(i.name(), i));
+        }
+        for (final var corruption : List.of(KEY_LENGTH_OFFSET, SEGMENT_NUMBER_OFFSET)) {
+            final var index = tempDir.resolve(SerdeArchive.INDEX_FILE);
+            final var bytes = Files.readAllBytes(index);
+            ByteBuffer.wrap(bytes).putInt(corruption, -1);
+            Files.write(index, bytes);
+
+            assertReopens(items);
+        }
+    }
+
+    @Test
+    void testLargeRecordBypassesBuffer() {
+
+        final var options = ArchiveOptions.DEFAULT.withSync(1, 1);
+        final var large = "x".repeat(200_000);
+        try (var archive = SerdeArchive.<String>open(
+                tempDir,
+                s -> s.getBytes(StandardCharsets.UTF_8),
+                b -> new String(b, StandardCharsets.UTF_8),
+                options)) {
+            archive.append("small", "y");
+            archive.append("large", large);
+
+            assertEquals(Optional.of(large), archive.get("large"));
+            assertEquals("y", archive.get(0L));
+        }
+    }
+
+    @Test
+    void testEntriesIncludeKeys() {
+
+        try (var archive = SerdeArchive.binary(tempDir, Item.class)) {
+            archive.append("k1", new Item("a", 1));
+            archive.append("k2", new Item("b", 2));
+
+            try (var entries = archive.entries()) {
+                assertEquals(
+                        List.of(new Tuple2<>("k1", new Item("a", 1)), new Tuple2<>("k2", new Item("b", 2))),
+                        entries.toList());
+            }
+        }
+    }
+
+    @Test
+    void testRecordLargerThanSegmentRejected() {
+
+        try (var archive = SerdeArchive.binary(tempDir, Item.class, SMALL)) {
+            final var item = new Item("z".repeat(300), 0);
+            assertThrows(IoException.class, () -> archive.append("z", item));
+        }
+    }
+
+    @Test
+    void testAppendAfterCloseRejected() {
+
+        final var archive = SerdeArchive.binary(tempDir, Item.class);
+        archive.close();
+        archive.close();
+
+        assertThrows(IoException.class, () -> archive.append("a", new Item("a", 1)));
+    }
+
+    /** Checks that the archive reopens with all the items. */
+    private void assertReopens(final List<Item> items) {
+
+        try (var archive = SerdeArchive.binary(tempDir, Item.class, SMALL)) {
+            assertEquals(items.size(), archive.size());
+            assertEquals(Optional.of(items.get(20)), archive.get("item-20"));
+            assertEquals(items.get(items.size() - 1), archive.get(items.size() - 1));
+        }
+    }
+
+    /** Creates the specified number of test items. */
+    private static List<Item> items(final int count) {
+
+        return IntStream.range(0, count).mapToObj(i -> new Item("item-" + i, i)).toList();
+    }
+
+    private record Item(String name, int value) {}
+}
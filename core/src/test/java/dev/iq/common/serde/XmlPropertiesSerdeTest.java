@@ -6,16 +6,25 @@
 
 package dev.iq.common.serde;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import dev.iq.common.error.IoException;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Properties;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
@@ -202,4 +211,95 @@ final class XmlPropertiesSerdeTest {
 
         assertEquals(testMap, result);
     }
+
+    @Test
+    void testSerializeMatchesPropertiesOutput() throws IOException {
+
+        final var map = new LinkedHashMap<String, String>();
+        map.put("plain", "value");
+        map.put("k\"<&>", "v\"<&>\nline \u00e9 \uD83D\uDE00");
+        map.put("empty", "");
+        IntStream.range(0, 100).forEach(i -> map.put("key." + i, "value " + i));
+        final var props = new Properties();
+        props.putAll(map);
+        final var expected = new ByteArrayOutputStream();
+        props.storeToXML(expected, null);
+
+        final var actual = new ByteArrayOutputStream();
+        XmlPropertiesSerde.serialize(map, actual);
+
+        assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+    }
+
+    @Test
+    void testDeserializeMatchesPropertiesLoad() throws IOException {
+
+        final var xml =
+                """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <!DOCTYPE properties SYSTEM "http://java.sun.com/dtd/properties.dtd">
+                <properties>
+                <comment>generated</comment>
+                <entry key="a">one</entry>
+                <entry key="b"><![CDATA[<two>]]> &amp; more</entry>
+                <entry key="c"/>
+                <entry key="a">replaced</entry>
+                <entry key="d&quot;">x&#65;y</entry>
+                </properties>
+                """
+                        .getBytes(StandardCharsets.UTF_8);
+        final var props = new Properties();
+        props.loadFromXML(new ByteArrayInputStream(xml));
+        final var expected = new HashMap<String, String>();
+        props.forEach((k, v) -> expected.put((String) k, (String) v));
+
+        assertEquals(expected, XmlPropertiesSerde.deserialize(new ByteArrayInputStream(xml)));
+    }
+
+    @Test
+    void testForEachStreamsEntriesInDocumentOrder() throws IOException {
+
+        final var map = new LinkedHashMap<String, String>();
+        IntStream.range(0, 1000).forEach(i -> map.put("key." + i, "value " + i));
+        final var path = tempDir.resolve("ordered.xml");
+        XmlPropertiesSerde.serialize(map, path);
+
+        final var prefix = "<entry key=\"";
+        final var written = Files.readAllLines(path).stream()
+                .filter(l -> l.startsWith(prefix))
+                .map(l -> l.substring(prefix.length(), l.indexOf('"', prefix.length())))
+                .toList();
+        final var keys = new ArrayList<String>();
+        XmlPropertiesSerde.forEach(path, (k, v) -> keys.add(k));
+
+        assertEquals(written, keys);
+        assertEquals(map, XmlPropertiesSerde.deserialize(path));
+    }
+
+    @Test
+    void testDeserializePresized() {
+
+        final var out = new ByteArrayOutputStream();
+        XmlPropertiesSerde.serialize(Map.of("a", "1", "b", "2"), out);
+
+        final var result = XmlPropertiesSerde.deserialize(new ByteArrayInputStream(out.toByteArray()), 2);
+
+        assertEquals(Map.of("a", "1", "b", "2"), result);
+    }
+
+    @Test
+    void testDeserializeRejectsEntryWithoutKey() {
+
+        final var xml = "<properties><entry>value</entry></properties>".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(IoException.class, () -> XmlPropertiesSerde.deserialize(new ByteArrayInputStream(xml)));
+    }
+
+    @Test
+    void testDeserializeRejectsWrongRoot() {
+
+        final var xml = "<settings><entry key=\"a\">b</entry></settings>".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(IoException.class, () -> XmlPropertiesSerde.deserialize(new ByteArrayInputStream(xml)));
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.serde;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for the XmlPropertiesSnapshot class covering snapshot reuse and invalidation. */
+final class XmlPropertiesSnapshotTest {
+
+    /** Modification time used to detect whether a snapshot was rewritten. */
+    private static final FileTime MARKER = FileTime.from(Instant.parse("2001-01-01T00:00:00Z"));
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void testFirstLoadWritesSnapshot() {
+
+        final var source = source(Map.of("a", "1", "unicode", "\u00e9\u4e2d"));
+
+        assertEquals(Map.of("a", "1", "unicode", "\u00e9\u4e2d"), XmlPropertiesSnapshot.load(source));
+        assertTrue(Files.isRegularFile(XmlPropertiesSnapshot.sidecar(source)));
+    }
+
+    @Test
+    void testCurrentSnapshotIsReused() throws IOException {
+
+        final var map = new HashMap<String, String>();
+        IntStream.range(0, 500).forEach(i -> map.put("key." + i, "value." + i));
+        final var source = source(map);
+        XmlPropertiesSnapshot.load(source);
+        final var snapshot = XmlPropertiesSnapshot.sidecar(source);
+        Files.setLastModifiedTime(snapshot, MARKER);
+
+        assertEquals(map, XmlPropertiesSnapshot.load(source));
+        assertEquals(MARKER, Files.getLastModifiedTime(snapshot));
+    }
+
+    @Test
+    void testChangedSourceInvalidatesSnapshot() throws IOException {
+
+        final var source = source(Map.of("a", "1"));
+        XmlPropertiesSnapshot.load(source);
+        final var snapshot = XmlPropertiesSnapshot.sidecar(source);
+        Files.setLastModifiedTime(snapshot, MARKER);
+
+        XmlPropertiesSerde.serialize(Map.of("a", "2"), source);
+
+        assertEquals(Map.of("a", "2"), XmlPropertiesSnapshot.load(source));
+        assertNotEquals(MARKER, Files.getLastModifiedTime(snapshot));
+    }
+
+    @Test
+    void testSameSizeAndTimeButDifferentContentInvalidatesSnapshot() throws IOException {
+
+        final var source = source(Map.of("a", "1"));
+        final var modified = Files.getLastModifiedTime(source);
+        XmlPropertiesSnapshot.load(source);
+
+        XmlPropertiesSerde.serialize(Map.of("a", "2"), source);
+        Files.setLastModifiedTime(source, modified);
+
+        assertEquals(Map.of("a", "2"), XmlPropertiesSnapshot.load(source));
+    }
+
+    @Test
+    void testCorruptSnapshotFallsBackToSource() throws IOException {
+
+        final var source = source(Map.of("a", "1", "b", "2"));
+        XmlPropertiesSnapshot.load(source);
+        final var snapshot = XmlPropertiesSnapshot.sidecar(source);
+        final var bytes = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 3));
+
+        assertEquals(Map.of("a", "1", "b", "2"), XmlPropertiesSnapshot.load(source));
+        assertEquals(bytes.length, Files.size(snapshot));
+    }
+
+    @Test
+    void testExplicitSnapshotPath() throws IOException {
+
+        final var source = source(Map.of("a", "1"));
+        final var snapshot = tempDir.resolve("cache").resolve("app.bin");
+        Files.createDirectories(snapshot.getParent());
+
+        assertEquals(Map.of("a", "1"), XmlPropertiesSnapshot.load(source, snapshot));
+        assertTrue(Files.isRegularFile(snapshot));
+        assertEquals(Map.of("a", "1"), XmlPropertiesSnapshot.load(source, snapshot));
+    }
+
+    /** Writes the map as the source properties file. */
+    private Path source(final Map<String, String> map) {
+
+        final var path = tempDir.resolve("app.xml");
+        XmlPropertiesSerde.serialize(map, path);
+        return path;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Insouciant Qualms © 2025 by Sascha Goldsmith is licensed under CC BY 4.0.
+ * To view a copy of this license, visit https://creativecommons.org/licenses/by/4.0.
+ * To reach the creator, visit https://www.linkedin.com/in/saschagoldsmith.
+ */
+
+package dev.iq.common.serde;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.iq.common.error.IoException;
+import dev.iq.common.event.Listener;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for the XmlPropertiesStore class covering caching, change detection and diffs. */
+final class XmlPropertiesStoreTest {
+
+    /** Maximum time to wait for the watcher to report a change. */
+    private static final long WAIT_SECONDS = 20L;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void testGetReturnsCachedSnapshot() {
+
+        final var path = tempDir.resolve("app.xml");
+        XmlPropertiesSerde.serialize(Map.of("a", "1"), path);
+
+        try (var store = new XmlPropertiesStore()) {
+            final var first = store.get(path);
+
+            assertEquals(Map.of("a", "1"), first);
+            assertSame(first, store.get(tempDir.resolve("./app.xml")));
+            assertEquals(Optional.of("1"), store.get(path, "a"));
+            assertEquals(Optional.empty(), store.get(path, "b"));
+            assertThrows(UnsupportedOperationException.class, () -> first.put("b", "2"));
+        }
+    }
+
+    @Test
+    void testMissingFileFails() {
+
+        try (var store = new XmlPropertiesStore()) {
+            assertThrows(IoException.class, () -> store.get(tempDir.resolve("missing.xml")));
+        }
+    }
+
+    @Test
+    void testListenerReceivesDiffAfterChange() throws InterruptedException {
+
+        final var path = tempDir.resolve("app.xml");
+        XmlPropertiesSerde.serialize(Map.of("keep", "1", "change", "old", "remove", "x"), path);
+        final var changes = new LinkedBlockingQueue<Map<String, String>>();
+        final Listener<Map<String, String>> listener = changes::add;
+
+        try (var store = new XmlPropertiesStore(Duration.ofMillis(50))) {
+            store.addListener(path, listener);
+            XmlPropertiesSerde.serialize(Map.of("keep", "1", "change", "new", "add", "y"), path);
+
+            final var expected = new HashMap<String, String>();
+            expected.put("change", "new");
+            expected.put("add", "y");
+            expected.put("remove", null);
+            assertEquals(expected, changes.poll(WAIT_SECONDS, TimeUnit.SECONDS));
+            assertEquals(Map.of("keep", "1", "change", "new", "add", "y"), store.get(path));
+        }
+    }
+
+    @Test
+    void testFailingListenerDoesNotStopOthers() throws InterruptedException {
+
+        final var path = tempDir.resolve("app.xml");
+        XmlPropertiesSerde.serialize(Map.of("a", "1"), path);
+        final var changes = new LinkedBlockingQueue<Map<String, String>>();
+
+        try (var store = new XmlPropertiesStore(Duration.ZERO)) {
+            store.addListener(path, c -> {
+                throw new IllegalStateException("boom");
+            });
+            store.addListener(path, changes::add);
+            XmlPropertiesSerde.serialize(Map.of("a", "2"), path);
+
+            assertEquals(Map.of("a", "2"), changes.poll(WAIT_SECONDS, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testDiff() {
+
+        final var diff = XmlPropertiesStore.diff(Map.of("a", "1", "b", "2"), Map.of("a", "1", "b", "3", "c", "4"));
+
+        assertEquals(Map.of("b", "3", "c", "4"), diff);
+        assertTrue(XmlPropertiesStore.diff(Map.of("a", "1"), Map.of("a", "1")).isEmpty());
+        assertTrue(XmlPropertiesStore.diff(Map.of("a", "1"), Map.of()).containsKey("a"));
+    }
+
+    @Test
+    void testNegativeDebounceRejected() {
+
+        assertThrows(IllegalArgumentException.class, () -> new XmlPropertiesStore(Duration.ofMillis(-1)));
+    }
+}